@@ -0,0 +1,212 @@
+package com.eventmanagement.admission;
+
+import com.eventmanagement.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Admission control in front of the registration path. Each event has a
+ * token bucket and all events share a global one sized to what the database
+ * sustains, so an on-sale burst is turned away before it reaches a
+ * connection. Requests that find no token join the event's virtual queue
+ * and get a signed ticket; the queue is served first-come first-served as
+ * tokens refill, and newcomers can't overtake it while anyone is waiting or
+ * holds a claim. A ticket whose turn has come takes its tokens when it is
+ * redeemed; if it isn't redeemed within the claim window its place goes to
+ * the next ticket. Past the queue limit requests are shed. Queues are per
+ * node. Bulk registrations don't queue: they take one token per row from a
+ * bucket of their own, so a 10,000-row import can't pass for one request.
+ */
+@Service
+public class AdmissionService {
+    public static final String TICKET_HEADER = "X-Queue-Ticket";
+    public static final String POSITION_HEADER = "X-Queue-Position";
+    private static final long MAX_RETRY_AFTER_SECONDS = 60;
+    
+    private final TokenBucket globalBucket;
+    private final TokenBucket bulkBucket;
+    private final double eventRate;
+    private final int eventBurst;
+    private final long maxQueue;
+    private final Duration ticketTtl;
+    private final Duration claimWindow;
+    private final byte[] ticketSecret;
+    private final Map<Long, EventAdmission> events = new ConcurrentHashMap<>();
+    private final Counter admitted;
+    private final Counter queued;
+    private final Counter shed;
+    
+    public AdmissionService(MeterRegistry meterRegistry,
+                            @Value("${admission.global-rate:200}") double globalRate,
+                            @Value("${admission.global-burst:100}") int globalBurst,
+                            @Value("${admission.bulk-rows-per-second:2000}") double bulkRowsPerSecond,
+                            @Value("${admission.bulk-burst-rows:10000}") int bulkBurstRows,
+                            @Value("${admission.event-rate:200}") double eventRate,
+                            @Value("${admission.event-burst:50}") int eventBurst,
+                            @Value("${admission.max-queue:100000}") long maxQueue,
+                            @Value("${admission.ticket-ttl-seconds:900}") long ticketTtlSeconds,
+                            @Value("${admission.claim-seconds:30}") long claimSeconds,
+                            @Value("${admission.ticket-secret:}") String ticketSecret) {
+        this.globalBucket = new TokenBucket(globalRate, globalBurst);
+        this.bulkBucket = new TokenBucket(bulkRowsPerSecond, bulkBurstRows);
+        this.eventRate = eventRate;
+        this.eventBurst = eventBurst;
+        this.maxQueue = maxQueue;
+        this.ticketTtl = Duration.ofSeconds(ticketTtlSeconds);
+        this.claimWindow = Duration.ofSeconds(claimSeconds);
+        this.ticketSecret = ticketSecret.isEmpty() ? randomSecret() : ticketSecret.getBytes(StandardCharsets.UTF_8);
+        this.admitted = outcome("admitted", meterRegistry);
+        this.queued = outcome("queued", meterRegistry);
+        this.shed = outcome("shed", meterRegistry);
+    }
+    
+    /**
+     * Returns if the request may proceed, otherwise throws
+     * {@link AdmissionRejectedException} with a ticket or a shed hint.
+     */
+    public void admit(Long eventId, String ticket) {
+        EventAdmission state = events.computeIfAbsent(eventId,
+                id -> new EventAdmission(id, new TokenBucket(eventRate, eventBurst)));
+        state.touch();
+        if (ticket != null && !ticket.isBlank()) {
+            redeem(state, ticket);
+        } else if (state.waiting() == 0 && state.claims() == 0 && tryAcquire(state, System.nanoTime())) {
+            admitted.increment();
+        } else {
+            enqueue(state);
+        }
+    }
+    
+    /**
+     * Admits a bulk registration of {@code rows} attendees, charging one
+     * bulk token per row, or throws {@link AdmissionRejectedException} with
+     * the wait until that many rows are free.
+     */
+    public void admitBulk(Long eventId, int rows) {
+        if (rows > bulkBucket.burst()) {
+            throw new IllegalArgumentException("At most " + bulkBucket.burst()
+                    + " attendees can be registered at once");
+        }
+        long waitNanos = bulkBucket.tryAcquire(System.nanoTime(), Math.max(1, rows));
+        if (waitNanos != 0) {
+            shed.increment();
+            long seconds = (long) Math.ceil(waitNanos / 1_000_000_000.0);
+            throw new AdmissionRejectedException(eventId, Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, seconds)),
+                    null, 0);
+        }
+        admitted.increment();
+    }
+    
+    // Serves waiting tickets as tokens refill, without taking the tokens: open claims hold them
+    @Scheduled(fixedDelayString = "${admission.tick-ms:50}")
+    public void advanceQueues() {
+        long now = System.nanoTime();
+        long nowMillis = System.currentTimeMillis();
+        long globalClaims = 0;
+        for (EventAdmission state : events.values()) {
+            state.releaseLapsedClaims(nowMillis);
+            globalClaims += state.claims();
+        }
+        long globalFree = globalBucket.available(now) - globalClaims;
+        for (EventAdmission state : events.values()) {
+            long eventFree = state.bucket().available(now) - state.claims();
+            while (state.waiting() > 0 && eventFree > 0 && globalFree > 0) {
+                state.admitNext(nowMillis + claimWindow.toMillis());
+                eventFree--;
+                globalFree--;
+            }
+            state.pruneRedeemed(nowMillis);
+            // Only once every ticket it issued has expired
+            if (state.waiting() == 0 && state.claims() == 0 && state.bucket().isFull(now)
+                    && nowMillis - state.lastActivityMillis() > ticketTtl.toMillis()) {
+                events.remove(state.eventId(), state);
+            }
+        }
+    }
+    
+    private void redeem(EventAdmission state, String value) {
+        QueueTicket ticket = QueueTicket.decode(value.trim(), ticketSecret);
+        if (ticket == null || !ticket.eventId().equals(state.eventId())) {
+            throw new IllegalArgumentException("Invalid queue ticket for event " + state.eventId());
+        }
+        if (ticket.expiresAtMillis() < System.currentTimeMillis()) {
+            // Expired tickets go to the back of the queue
+            enqueue(state);
+            return;
+        }
+        long ahead = state.ahead(ticket.position());
+        if (ahead > 0) {
+            throw new AdmissionRejectedException(state.eventId(), retryAfterSeconds(ahead), value, ahead);
+        }
+        Long claimUntil = state.claim(ticket.position());
+        if (claimUntil == null) {
+            if (state.isRedeemed(ticket.position())) {
+                throw new IllegalArgumentException("Queue ticket has already been used");
+            }
+            // Its turn came and lapsed unclaimed, so it goes to the back of the queue
+            enqueue(state);
+            return;
+        }
+        if (!tryAcquire(state, System.nanoTime())) {
+            // Other events' claims took the global tokens; keep the turn and retry shortly
+            state.unclaim(ticket.position(), claimUntil);
+            throw new AdmissionRejectedException(state.eventId(), 1, value, 0);
+        }
+        state.redeem(ticket.position(), ticket.expiresAtMillis());
+        admitted.increment();
+    }
+    
+    // Always throws: either a new ticket or a shed rejection
+    private void enqueue(EventAdmission state) {
+        long waiting = state.waiting();
+        if (waiting >= maxQueue) {
+            shed.increment();
+            throw new AdmissionRejectedException(state.eventId(), retryAfterSeconds(waiting), null, 0);
+        }
+        long position = state.issue();
+        long ahead = state.ahead(position);
+        QueueTicket ticket = new QueueTicket(state.eventId(), position, System.currentTimeMillis() + ticketTtl.toMillis());
+        queued.increment();
+        throw new AdmissionRejectedException(state.eventId(), retryAfterSeconds(ahead), ticket.encode(ticketSecret), ahead);
+    }
+    
+    // Event bucket first, so a dry hot event costs no global token; a dry global bucket refunds the event's
+    private boolean tryAcquire(EventAdmission state, long now) {
+        if (state.bucket().tryAcquire(now) != 0) {
+            return false;
+        }
+        if (globalBucket.tryAcquire(now) == 0) {
+            return true;
+        }
+        state.bucket().refund();
+        return false;
+    }
+    
+    private long retryAfterSeconds(long ahead) {
+        double rate = Math.min(eventRate, globalBucket.permitsPerSecond());
+        long seconds = (long) Math.ceil(ahead / rate);
+        return Math.max(1, Math.min(MAX_RETRY_AFTER_SECONDS, seconds));
+    }
+    
+    private static Counter outcome(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("admission.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
+    // Tickets then only verify on this node and until restart; set admission.ticket-secret to share them
+    private static byte[] randomSecret() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        return secret;
+    }
+}
@@ -0,0 +1,93 @@
+package com.eventmanagement.admission;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission state of one event: its token bucket and a virtual queue, which
+ * is two counters and the open claims. Tickets are numbered from
+ * {@code issued}; the queue tick moves {@code admittedUpTo} forward one
+ * ticket per token it could take, and each ticket it passes gets a claim.
+ * The token itself is only taken when the holder comes back to enter, so a
+ * claim nobody redeems in time lapses and frees its place instead of
+ * spending capacity.
+ */
+class EventAdmission {
+    private final Long eventId;
+    private final TokenBucket bucket;
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong admittedUpTo = new AtomicLong();
+    // Ticket position -> ticket expiry, so a redeemed ticket can't enter twice
+    private final Map<Long, Long> redeemed = new ConcurrentHashMap<>();
+    // Ticket position -> when its claim lapses, for tickets whose turn has come
+    private final Map<Long, Long> claims = new ConcurrentHashMap<>();
+    private volatile long lastActivityMillis = System.currentTimeMillis();
+    
+    EventAdmission(Long eventId, TokenBucket bucket) {
+        this.eventId = eventId;
+        this.bucket = bucket;
+    }
+    
+    Long eventId() {
+        return eventId;
+    }
+    
+    TokenBucket bucket() {
+        return bucket;
+    }
+    
+    long waiting() {
+        return issued.get() - admittedUpTo.get();
+    }
+    
+    long ahead(long position) {
+        return position - admittedUpTo.get();
+    }
+    
+    long issue() {
+        return issued.incrementAndGet();
+    }
+    
+    void admitNext(long claimUntilMillis) {
+        claims.put(admittedUpTo.incrementAndGet(), claimUntilMillis);
+    }
+    
+    int claims() {
+        return claims.size();
+    }
+    
+    /** Takes the ticket's claim, or returns null if it was used or lapsed. */
+    Long claim(long position) {
+        return claims.remove(position);
+    }
+    
+    // Puts back a claim whose holder found no token, keeping its turn
+    void unclaim(long position, long claimUntilMillis) {
+        claims.put(position, claimUntilMillis);
+    }
+    
+    void releaseLapsedClaims(long nowMillis) {
+        claims.values().removeIf(claimUntil -> claimUntil < nowMillis);
+    }
+    
+    void redeem(long position, long expiresAtMillis) {
+        redeemed.put(position, expiresAtMillis);
+    }
+    
+    boolean isRedeemed(long position) {
+        return redeemed.containsKey(position);
+    }
+    
+    void pruneRedeemed(long nowMillis) {
+        redeemed.values().removeIf(expiresAt -> expiresAt < nowMillis);
+    }
+    
+    void touch() {
+        lastActivityMillis = System.currentTimeMillis();
+    }
+    
+    long lastActivityMillis() {
+        return lastActivityMillis;
+    }
+}
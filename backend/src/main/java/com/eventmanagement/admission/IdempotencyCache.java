@@ -0,0 +1,85 @@
+package com.eventmanagement.admission;
+
+import com.eventmanagement.exception.AdmissionRejectedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of requests sent with an {@code Idempotency-Key}, so
+ * a client retrying after a timeout gets the original response instead of
+ * registering twice. A retry that arrives while the first attempt is still
+ * running waits for it. Failed attempts are forgotten and may be retried.
+ */
+@Component
+public class IdempotencyCache {
+    public static final String HEADER = "Idempotency-Key";
+    
+    private final Cache<String, Call> calls;
+    private final long waitMillis;
+    
+    public IdempotencyCache(@Value("${admission.idempotency.ttl-minutes:60}") long ttlMinutes,
+                            @Value("${admission.idempotency.max-keys:1000000}") long maxKeys,
+                            @Value("${admission.idempotency.wait-ms:5000}") long waitMillis) {
+        this.calls = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxKeys)
+                .build();
+        this.waitMillis = waitMillis;
+    }
+    
+    /**
+     * Runs the action once per key; {@code fingerprint} identifies the
+     * request body so a key reused for a different request is rejected.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Object fingerprint, Supplier<T> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        Call call = new Call(fingerprint, new CompletableFuture<>());
+        Call existing = calls.asMap().putIfAbsent(key, call);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(fingerprint)) {
+                throw new IllegalArgumentException("Idempotency key was already used for a different request");
+            }
+            return (T) await(existing);
+        }
+        try {
+            T result = action.get();
+            call.result().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            calls.asMap().remove(key, call);
+            call.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+    
+    private Object await(Call call) {
+        try {
+            return call.result().get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new AdmissionRejectedException("The original request with this idempotency key is still running", 1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        }
+    }
+    
+    private record Call(Object fingerprint, CompletableFuture<Object> result) {
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventmanagement.admission;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * A place in an event's virtual queue, handed to the client as an opaque
+ * HMAC-signed string so positions can't be forged or moved to another event.
+ */
+record QueueTicket(Long eventId, long position, long expiresAtMillis) {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    
+    String encode(byte[] secret) {
+        String payload = ENCODER.encodeToString(
+                (eventId + ":" + position + ":" + expiresAtMillis).getBytes(StandardCharsets.US_ASCII));
+        return payload + "." + ENCODER.encodeToString(sign(payload, secret));
+    }
+    
+    /**
+     * Returns null for anything that isn't a ticket signed with this secret.
+     */
+    static QueueTicket decode(String value, byte[] secret) {
+        int dot = value.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String payload = value.substring(0, dot);
+        try {
+            byte[] signature = DECODER.decode(value.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(payload, secret))) {
+                return null;
+            }
+            String[] parts = new String(DECODER.decode(payload), StandardCharsets.US_ASCII).split(":");
+            return new QueueTicket(Long.valueOf(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+    
+    private static byte[] sign(String payload, byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eventmanagement.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in its GCRA form: a single "theoretical arrival time" stands
+ * in for the token count and refill timestamp, so taking a token is one CAS
+ * and refilling needs no timer. Times are {@link System#nanoTime()} values.
+ */
+public class TokenBucket {
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final AtomicLong theoreticalArrival;
+    
+    public TokenBucket(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime());
+    }
+    
+    /**
+     * Takes a token if one is available; otherwise returns how many
+     * nanoseconds until one will be. Zero means the token was taken.
+     */
+    public long tryAcquire(long now) {
+        return tryAcquire(now, 1);
+    }
+    
+    /**
+     * Takes {@code permits} tokens at once, or none; otherwise returns how
+     * many nanoseconds until that many will be available.
+     */
+    public long tryAcquire(long now, int permits) {
+        if (permits < 1 || permits > burst()) {
+            throw new IllegalArgumentException("Permits must be between 1 and the burst of " + burst());
+        }
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos * permits;
+            long excess = next - now - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    /** Hands back a token taken by {@link #tryAcquire} that ended up unused. */
+    public void refund() {
+        theoreticalArrival.addAndGet(-intervalNanos);
+    }
+    
+    /** Tokens that could be taken right now, without taking any. */
+    public long available(long now) {
+        long used = Math.max(theoreticalArrival.get(), now) - now;
+        return Math.max(0, (capacityNanos - used) / intervalNanos);
+    }
+    
+    public boolean isFull(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+    
+    public double permitsPerSecond() {
+        return 1_000_000_000.0 / intervalNanos;
+    }
+    
+    public long burst() {
+        return capacityNanos / intervalNanos;
+    }
+}
@@ -0,0 +1,400 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.dto.RollupRebuildResponse;
+import com.eventmanagement.dto.RollupResponse;
+import com.eventmanagement.listener.AttendeeCountsFlushedEvent;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.EventRollup;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.EventRollupRepository;
+import com.eventmanagement.service.SeatInventoryService;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Registrations, capacity and gross revenue per organizer, category, event
+ * type and event day, kept up to date by applying each event's change as a
+ * delta (old contribution out, new one in) instead of re-aggregating.
+ * Attendee counts arrive with the seat inventory's write-behind flush; the
+ * totals are written behind to {@code event_rollups} for reporting tools.
+ */
+@Service
+public class AnalyticsRollupService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+    private static final int LOOKUP_CHUNK = 1000;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final EventRepository eventRepository;
+    private final EventRollupRepository eventRollupRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ForkJoinPool rebuildPool;
+    private final long rangeSize;
+    private final int writeBatchSize;
+    private final Map<Long, Map<RollupKey, RollupCell>> cellsByOrganizer = new ConcurrentHashMap<>();
+    // Guarded by lock, like every write to the cells
+    private final Map<Long, EventContribution> contributions = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<RollupKey> dirty = ConcurrentHashMap.newKeySet();
+    // Guarded by flushLock, which also keeps the flush off the table during a rebuild
+    private final Map<RollupKey, Long> rowIds = new HashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Set<Long> changedDuringRebuild;
+    
+    public AnalyticsRollupService(EventRepository eventRepository,
+                                  EventRollupRepository eventRollupRepository,
+                                  SeatInventoryService seatInventoryService,
+                                  PlatformTransactionManager transactionManager,
+                                  ShardRouter shardRouter,
+                                  @Value("${analytics.rebuild.parallelism:4}") int parallelism,
+                                  @Value("${analytics.rebuild.range-size:50000}") long rangeSize,
+                                  @Value("${analytics.write-batch-size:500}") int writeBatchSize) {
+        this.eventRepository = eventRepository;
+        this.eventRollupRepository = eventRollupRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        // Each range scan holds a pooled connection, so keep this below the pool size
+        this.rebuildPool = new ForkJoinPool(Math.max(1, parallelism));
+        this.rangeSize = rangeSize;
+        this.writeBatchSize = writeBatchSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+    
+    /**
+     * Recomputes every cell from the events table, scanning id ranges in
+     * parallel, swaps the result in and rewrites the rollup table. Events
+     * changed while the scan ran are re-read afterwards.
+     */
+    public RollupRebuildResponse rebuild() {
+        long started = System.currentTimeMillis();
+        flushLock.lock();
+        try {
+            lock.lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.unlock();
+            }
+            List<IdRange> ranges = IdRange.split(shardRouter, eventRepository::findMaxId, rangeSize);
+            Partial total = rebuildPool.submit(() -> ranges.parallelStream()
+                    .map(this::scan)
+                    .collect(Partial::new, Partial::merge, Partial::merge)).join();
+            
+            Set<Long> changed;
+            lock.lock();
+            try {
+                contributions.clear();
+                contributions.putAll(total.contributions);
+                cellsByOrganizer.clear();
+                total.cells.forEach((key, cell) ->
+                        cellsByOrganizer.computeIfAbsent(key.organizerId(), id -> new ConcurrentHashMap<>()).put(key, cell));
+                dirty.clear();
+                changed = changedDuringRebuild;
+                changedDuringRebuild = null;
+            } finally {
+                lock.unlock();
+            }
+            rewriteTable(new ArrayList<>(total.cells.values()));
+            refresh(changed);
+            
+            long durationMillis = System.currentTimeMillis() - started;
+            log.info("Analytics rollups rebuilt: {} events in {} cells in {} ms",
+                    total.contributions.size(), total.cells.size(), durationMillis);
+            return new RollupRebuildResponse(total.contributions.size(), total.cells.size(), durationMillis);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    public List<RollupResponse> query(Long organizerId, LocalDate from, LocalDate to, String category,
+                                      Event.EventType eventType, RollupGrouping grouping) {
+        Map<RollupKey, RollupCell> cells = cellsByOrganizer.getOrDefault(organizerId, Map.of());
+        Map<String, long[]> groups = new TreeMap<>();
+        for (RollupCell cell : cells.values()) {
+            RollupKey key = cell.key();
+            if ((from != null && key.day().isBefore(from)) || (to != null && key.day().isAfter(to))
+                    || (category != null && !category.equalsIgnoreCase(key.category()))
+                    || (eventType != null && eventType != key.eventType())) {
+                continue;
+            }
+            long[] totals = groups.computeIfAbsent(grouping.groupOf(key), g -> new long[4]);
+            totals[0] += cell.events();
+            totals[1] += cell.attendees();
+            totals[2] += cell.capacity();
+            totals[3] += cell.revenueCents();
+        }
+        List<RollupResponse> rows = new ArrayList<>(groups.size());
+        groups.forEach((group, totals) -> rows.add(new RollupResponse(group, totals[0], totals[1], totals[2],
+                totals[2] > 0 ? (double) totals[1] / totals[2] : 0, BigDecimal.valueOf(totals[3], 2))));
+        return rows;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            replace(change.eventId(), null);
+        } else {
+            replace(change.eventId(), EventContribution.of(withLiveAttendees(EventRollupRow.from(change.event()))));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        refresh(change.eventIds());
+    }
+    
+    @EventListener
+    public void onAttendeeCountsFlushed(AttendeeCountsFlushedEvent flushed) {
+        lock.lock();
+        try {
+            flushed.attendeesByEvent().forEach((eventId, attendees) -> {
+                EventContribution current = contributions.get(eventId);
+                if (current != null && current.attendees() != attendees) {
+                    replaceLocked(eventId, current.withAttendees(attendees));
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${analytics.flush-interval-ms:5000}")
+    public void flush() {
+        if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            List<RollupKey> keys = new ArrayList<>(dirty);
+            dirty.removeAll(keys);
+            if (keys.isEmpty()) {
+                return;
+            }
+            Map<Integer, List<RollupKey>> byShard;
+            try {
+                byShard = shardRouter.byOrganizerShard(keys, RollupKey::organizerId);
+            } catch (RuntimeException e) {
+                log.warn("Failed to route {} analytics rollup cells, will retry", keys.size(), e);
+                dirty.addAll(keys);
+                return;
+            }
+            byShard.forEach((shard, shardKeys) -> ShardContext.run(shard, () -> write(shardKeys)));
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    // Rows are on their organizer's shard
+    private void write(List<RollupKey> keys) {
+        Map<RollupKey, Long> inserted = new HashMap<>();
+        List<RollupKey> deleted = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                for (RollupKey key : keys) {
+                    RollupCell cell = find(key);
+                    Long rowId = rowIds.get(key);
+                    if (cell == null) {
+                        if (rowId != null) {
+                            eventRollupRepository.deleteRow(rowId);
+                            deleted.add(key);
+                        }
+                    } else if (rowId == null) {
+                        EventRollup row = toRow(cell);
+                        entityManager.persist(row);
+                        inserted.put(key, row.getId());
+                    } else {
+                        eventRollupRepository.updateTotals(rowId, cell.events(), cell.attendees(),
+                                cell.capacity(), cell.revenueCents(), now);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} analytics rollup cells, will retry", keys.size(), e);
+            dirty.addAll(keys);
+            return;
+        }
+        rowIds.putAll(inserted);
+        deleted.forEach(rowIds::remove);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        rebuildPool.shutdown();
+    }
+    
+    private Partial scan(IdRange range) {
+        Partial partial = new Partial();
+        for (EventRollupRow row : range.query(() -> eventRepository.findRollupRows(range.fromId(), range.toId()))) {
+            partial.add(row.eventId(), EventContribution.of(withLiveAttendees(row)));
+        }
+        return partial;
+    }
+    
+    private void refresh(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        shardRouter.byEventShard(eventIds, id -> id).forEach((shard, ids) -> {
+            for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOOKUP_CHUNK));
+                Map<Long, EventContribution> reloaded = new HashMap<>();
+                for (EventRollupRow row : ShardContext.call(shard, () -> eventRepository.findRollupRows(chunk))) {
+                    reloaded.put(row.eventId(), EventContribution.of(withLiveAttendees(row)));
+                }
+                // Ids that no longer load were deleted
+                chunk.forEach(id -> replace(id, reloaded.get(id)));
+            }
+        });
+    }
+    
+    // The seat counter is ahead of the column until its next flush
+    private EventRollupRow withLiveAttendees(EventRollupRow row) {
+        return seatInventoryService.findCounter(row.eventId())
+                .map(counter -> row.withAttendees(counter.currentAttendees()))
+                .orElse(row);
+    }
+    
+    private void replace(Long eventId, EventContribution contribution) {
+        lock.lock();
+        try {
+            replaceLocked(eventId, contribution);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void replaceLocked(Long eventId, EventContribution contribution) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(eventId);
+        }
+        EventContribution previous = contribution != null
+                ? contributions.put(eventId, contribution)
+                : contributions.remove(eventId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        if (contribution != null) {
+            apply(contribution, 1);
+        }
+    }
+    
+    private void apply(EventContribution contribution, int sign) {
+        RollupKey key = contribution.key();
+        Map<RollupKey, RollupCell> cells =
+                cellsByOrganizer.computeIfAbsent(key.organizerId(), id -> new ConcurrentHashMap<>());
+        RollupCell cell = cells.computeIfAbsent(key, RollupCell::new);
+        cell.add(contribution, sign);
+        if (cell.events() == 0) {
+            cells.remove(key);
+        }
+        dirty.add(key);
+    }
+    
+    private RollupCell find(RollupKey key) {
+        Map<RollupKey, RollupCell> cells = cellsByOrganizer.get(key.organizerId());
+        return cells == null ? null : cells.get(key);
+    }
+    
+    // Every shard is rewritten, including those left without cells
+    private void rewriteTable(List<RollupCell> cells) {
+        Map<Integer, List<RollupCell>> byShard = shardRouter.byOrganizerShard(cells, cell -> cell.key().organizerId());
+        Map<RollupKey, Long> ids = new HashMap<>(cells.size() * 2);
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            List<RollupCell> shardCells = byShard.getOrDefault(shard, List.of());
+            ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                eventRollupRepository.deleteAllRows();
+                List<EventRollup> batch = new ArrayList<>(writeBatchSize);
+                for (RollupCell cell : shardCells) {
+                    EventRollup row = toRow(cell);
+                    entityManager.persist(row);
+                    ids.put(cell.key(), row.getId());
+                    batch.add(row);
+                    // Pooled sequence ids let Hibernate send these as JDBC batches
+                    if (batch.size() == writeBatchSize) {
+                        entityManager.flush();
+                        entityManager.clear();
+                        batch.clear();
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            }));
+        }
+        rowIds.clear();
+        rowIds.putAll(ids);
+    }
+    
+    private static EventRollup toRow(RollupCell cell) {
+        RollupKey key = cell.key();
+        EventRollup row = new EventRollup(key.organizerId(), key.category(), key.eventType(), key.day());
+        row.setEventCount(cell.events());
+        row.setAttendees(cell.attendees());
+        row.setCapacity(cell.capacity());
+        row.setRevenueCents(cell.revenueCents());
+        return row;
+    }
+    
+    /**
+     * Result of scanning one id range; ranges are disjoint, so merging
+     * never sees the same event twice.
+     */
+    private static class Partial {
+        private final Map<Long, EventContribution> contributions = new HashMap<>();
+        private final Map<RollupKey, RollupCell> cells = new HashMap<>();
+        
+        void add(Long eventId, EventContribution contribution) {
+            if (contribution != null) {
+                contributions.put(eventId, contribution);
+                cells.computeIfAbsent(contribution.key(), RollupCell::new).add(contribution, 1);
+            }
+        }
+        
+        void merge(Partial other) {
+            contributions.putAll(other.contributions);
+            other.cells.forEach((key, cell) -> cells.merge(key, cell, (mine, theirs) -> {
+                mine.merge(theirs);
+                return mine;
+            }));
+        }
+    }
+}
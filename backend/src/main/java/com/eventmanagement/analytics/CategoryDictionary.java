@@ -0,0 +1,36 @@
+package com.eventmanagement.analytics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dictionary encoding of event categories: each distinct category, compared
+ * case-insensitively, gets a small int code. Codes are never reused.
+ */
+class CategoryDictionary {
+    static final int NONE = -1;
+    
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCode = new AtomicInteger();
+    
+    int encode(String category) {
+        if (category == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(normalize(category), c -> nextCode.getAndIncrement());
+    }
+    
+    int lookup(String category) {
+        return category == null ? NONE : codes.getOrDefault(normalize(category), NONE);
+    }
+    
+    int size() {
+        return codes.size();
+    }
+    
+    private static String normalize(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+}
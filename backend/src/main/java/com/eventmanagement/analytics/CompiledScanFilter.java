@@ -0,0 +1,93 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.model.Event;
+
+import java.util.Set;
+
+/**
+ * An {@link EventScanFilter} lowered to masks and primitives, so testing a
+ * slot is a handful of array reads and integer compares.
+ */
+final class CompiledScanFilter {
+    private static final int ANY_CATEGORY = -2;
+    
+    private final int statusMask;
+    private final int typeMask;
+    private final int categoryCode;
+    private final long startFrom;
+    private final long startTo;
+    private final double maxFillRate;
+    private final long maxPriceCents;
+    private final int minCapacity;
+    
+    private CompiledScanFilter(int statusMask, int typeMask, int categoryCode, long startFrom, long startTo,
+                               double maxFillRate, long maxPriceCents, int minCapacity) {
+        this.statusMask = statusMask;
+        this.typeMask = typeMask;
+        this.categoryCode = categoryCode;
+        this.startFrom = startFrom;
+        this.startTo = startTo;
+        this.maxFillRate = maxFillRate;
+        this.maxPriceCents = maxPriceCents;
+        this.minCapacity = minCapacity;
+    }
+    
+    /**
+     * Returns null when the filter cannot match anything, such as a category
+     * no event has ever had.
+     */
+    static CompiledScanFilter compile(EventScanFilter filter, CategoryDictionary categories) {
+        int categoryCode = ANY_CATEGORY;
+        if (filter.category() != null && !filter.category().isBlank()) {
+            categoryCode = categories.lookup(filter.category());
+            if (categoryCode == CategoryDictionary.NONE) {
+                return null;
+            }
+        }
+        return new CompiledScanFilter(
+                mask(filter.statuses()),
+                mask(filter.types()),
+                categoryCode,
+                filter.startFrom() != null ? EventColumns.epoch(filter.startFrom()) : Long.MIN_VALUE,
+                filter.startTo() != null ? EventColumns.epoch(filter.startTo()) : Long.MAX_VALUE,
+                filter.maxFillRate() != null ? filter.maxFillRate() : Double.NaN,
+                filter.maxPrice() != null ? EventContribution.toCents(filter.maxPrice(), false) : Long.MAX_VALUE,
+                filter.minCapacity() != null ? filter.minCapacity() : Integer.MIN_VALUE);
+    }
+    
+    boolean test(EventColumns columns, int slot) {
+        byte status = columns.status[slot];
+        if (status == EventColumns.FREE || (statusMask != 0 && (statusMask & (1 << status)) == 0)) {
+            return false;
+        }
+        if (typeMask != 0) {
+            byte type = columns.type[slot];
+            if (type == EventColumns.NULL_TYPE || (typeMask & (1 << type)) == 0) {
+                return false;
+            }
+        }
+        if (categoryCode != ANY_CATEGORY && columns.category[slot] != categoryCode) {
+            return false;
+        }
+        long start = columns.startEpoch[slot];
+        if (start < startFrom || start >= startTo || columns.priceCents[slot] >= maxPriceCents) {
+            return false;
+        }
+        int capacity = columns.capacity[slot];
+        if (capacity < minCapacity) {
+            return false;
+        }
+        // NaN compares false, so an unset bound never rejects
+        return !(columns.attendees[slot] >= maxFillRate * capacity);
+    }
+    
+    private static <E extends Enum<E>> int mask(Set<E> values) {
+        int mask = 0;
+        if (values != null) {
+            for (E value : values) {
+                mask |= 1 << value.ordinal();
+            }
+        }
+        return mask;
+    }
+}
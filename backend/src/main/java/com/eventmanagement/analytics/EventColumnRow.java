@@ -0,0 +1,23 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EventColumnRow(Long eventId, LocalDateTime startDateTime, LocalDateTime endDateTime,
+                             String category, Event.EventType eventType, Event.EventStatus status,
+                             Integer maxAttendees, Integer currentAttendees, BigDecimal ticketPrice,
+                             Boolean isFreeEvent) {
+    
+    public static EventColumnRow from(Event event) {
+        return new EventColumnRow(event.getId(), event.getStartDateTime(), event.getEndDateTime(),
+                event.getCategory(), event.getEventType(), event.getStatus(), event.getMaxAttendees(),
+                event.getCurrentAttendees(), event.getTicketPrice(), event.getIsFreeEvent());
+    }
+    
+    public EventColumnRow withAttendees(Integer attendees) {
+        return new EventColumnRow(eventId, startDateTime, endDateTime, category, eventType, status, maxAttendees,
+                attendees, ticketPrice, isFreeEvent);
+    }
+}
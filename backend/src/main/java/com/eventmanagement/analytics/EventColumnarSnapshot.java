@@ -0,0 +1,271 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.dto.EventScanResponse;
+import com.eventmanagement.listener.AttendeeCountsFlushedEvent;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.service.SeatInventoryService;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Column-oriented copy of the scan-relevant event attributes for ad-hoc
+ * analytical queries ("published conferences next month under 20% full
+ * below $50"). A scan is a fork-join pass over primitive arrays, with no
+ * entity hydration and no database round trip. Writers serialize on a lock;
+ * scans read without it and may see a row that is mid-update. Off unless
+ * analytics.columnar.enabled=true, since it loads every event at startup.
+ */
+@Service
+@ConditionalOnProperty(name = "analytics.columnar.enabled", havingValue = "true")
+public class EventColumnarSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(EventColumnarSnapshot.class);
+    private static final int LOOKUP_CHUNK = 1000;
+    
+    private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final ShardRouter shardRouter;
+    private final ForkJoinPool scanPool;
+    private final int leafSize;
+    private final long rangeSize;
+    private final CategoryDictionary categories = new CategoryDictionary();
+    // Guarded by lock, like every write to the columns
+    private final Map<Long, Integer> slotByEvent = new HashMap<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile EventColumns columns = new EventColumns(1024);
+    private Set<Long> changedDuringRebuild;
+    
+    public EventColumnarSnapshot(EventRepository eventRepository,
+                                 SeatInventoryService seatInventoryService,
+                                 ShardRouter shardRouter,
+                                 @Value("${analytics.columnar.parallelism:4}") int parallelism,
+                                 @Value("${analytics.columnar.leaf-size:16384}") int leafSize,
+                                 @Value("${analytics.rebuild.range-size:50000}") long rangeSize) {
+        this.eventRepository = eventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.shardRouter = shardRouter;
+        this.scanPool = new ForkJoinPool(Math.max(1, parallelism));
+        this.leafSize = Math.max(1024, leafSize);
+        this.rangeSize = rangeSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+    
+    /**
+     * Reloads every event into fresh columns and swaps them in. Events
+     * changed while the load ran are re-read afterwards.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.lock();
+        try {
+            changedDuringRebuild = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+        List<IdRange> ranges = IdRange.split(shardRouter, eventRepository::findMaxId, rangeSize);
+        List<EventColumnRow> rows = scanPool.submit(() -> ranges.parallelStream()
+                .map(range -> range.query(() -> eventRepository.findColumnRows(range.fromId(), range.toId())))
+                .flatMap(List::stream)
+                .collect(Collectors.toList())).join();
+        
+        EventColumns loaded = new EventColumns(Math.max(1024, Integer.highestOneBit(Math.max(1, rows.size())) * 2));
+        Map<Long, Integer> slots = new HashMap<>(rows.size() * 2);
+        for (EventColumnRow row : rows) {
+            int slot = slots.size();
+            loaded.write(slot, withLiveAttendees(row), categories.encode(row.category()));
+            slots.put(row.eventId(), slot);
+        }
+        loaded.size = slots.size();
+        
+        Set<Long> changed;
+        lock.lock();
+        try {
+            slotByEvent.clear();
+            slotByEvent.putAll(slots);
+            freeSlots.clear();
+            columns = loaded;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+        } finally {
+            lock.unlock();
+        }
+        refresh(changed);
+        log.info("Columnar event snapshot loaded: {} events, {} categories in {} ms",
+                rows.size(), categories.size(), System.currentTimeMillis() - started);
+    }
+    
+    /**
+     * Counts and totals every event matching the filter and returns the ids of
+     * the first {@code limit} matches in snapshot order.
+     */
+    public EventScanResponse scan(EventScanFilter filter, int limit) {
+        long started = System.nanoTime();
+        EventColumns snapshot = columns;
+        int size = snapshot.size;
+        CompiledScanFilter compiled = CompiledScanFilter.compile(filter, categories);
+        ScanResult result = compiled == null || size == 0
+                ? new ScanResult(0)
+                : scanPool.invoke(new ScanTask(snapshot, compiled, 0, size, leafSize, Math.max(0, limit)));
+        
+        List<Long> eventIds = new ArrayList<>(result.slotCount);
+        for (int i = 0; i < result.slotCount; i++) {
+            eventIds.add(snapshot.eventIds[result.slots[i]]);
+        }
+        return new EventScanResponse(result.matched, result.attendees, result.capacity,
+                result.capacity > 0 ? (double) result.attendees / result.capacity : 0,
+                BigDecimal.valueOf(result.revenueCents, 2), eventIds, (System.nanoTime() - started) / 1000);
+    }
+    
+    public int size() {
+        lock.lock();
+        try {
+            return slotByEvent.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            upsert(change.eventId(), null);
+        } else {
+            upsert(change.eventId(), withLiveAttendees(EventColumnRow.from(change.event())));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        byte status = (byte) change.status().ordinal();
+        lock.lock();
+        try {
+            for (Long eventId : change.eventIds()) {
+                Integer slot = slotByEvent.get(eventId);
+                if (slot != null) {
+                    columns.status[slot] = status;
+                }
+                if (changedDuringRebuild != null) {
+                    changedDuringRebuild.add(eventId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @EventListener
+    public void onAttendeeCountsFlushed(AttendeeCountsFlushedEvent flushed) {
+        lock.lock();
+        try {
+            flushed.attendeesByEvent().forEach((eventId, attendees) -> {
+                Integer slot = slotByEvent.get(eventId);
+                if (slot != null) {
+                    columns.attendees[slot] = attendees;
+                }
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdown();
+    }
+    
+    private void refresh(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        shardRouter.byEventShard(eventIds, id -> id).forEach((shard, ids) -> {
+            for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+                List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOOKUP_CHUNK));
+                Map<Long, EventColumnRow> reloaded = new HashMap<>();
+                for (EventColumnRow row : ShardContext.call(shard, () -> eventRepository.findColumnRows(chunk))) {
+                    reloaded.put(row.eventId(), withLiveAttendees(row));
+                }
+                // Ids that no longer load were deleted
+                chunk.forEach(id -> upsert(id, reloaded.get(id)));
+            }
+        });
+    }
+    
+    // The seat counter is ahead of the column until its next flush
+    private EventColumnRow withLiveAttendees(EventColumnRow row) {
+        return seatInventoryService.findCounter(row.eventId())
+                .map(counter -> row.withAttendees(counter.currentAttendees()))
+                .orElse(row);
+    }
+    
+    private void upsert(Long eventId, EventColumnRow row) {
+        lock.lock();
+        try {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(eventId);
+            }
+            Integer slot = slotByEvent.get(eventId);
+            if (row == null) {
+                if (slot != null) {
+                    slotByEvent.remove(eventId);
+                    columns.status[slot] = EventColumns.FREE;
+                    freeSlots.push(slot);
+                }
+                return;
+            }
+            if (slot == null) {
+                slot = allocateSlot();
+                slotByEvent.put(eventId, slot);
+            }
+            columns.write(slot, row, categories.encode(row.category()));
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private int allocateSlot() {
+        Integer free = freeSlots.poll();
+        if (free != null) {
+            return free;
+        }
+        EventColumns current = columns;
+        int slot = current.size;
+        if (slot == current.slots()) {
+            current = current.grow();
+            // Scans already running keep reading the old arrays
+            columns = current;
+        }
+        // Grown arrays are zero-filled, which reads as a live status
+        current.status[slot] = EventColumns.FREE;
+        current.size = slot + 1;
+        return slot;
+    }
+}
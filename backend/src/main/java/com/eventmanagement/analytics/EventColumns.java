@@ -0,0 +1,77 @@
+package com.eventmanagement.analytics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * One primitive array per event attribute, indexed by slot. Free slots have
+ * status {@link #FREE}. Enum attributes are stored as ordinals and times as
+ * epoch seconds of the (zone-less) local date-time.
+ */
+final class EventColumns {
+    static final byte FREE = -1;
+    static final byte NULL_TYPE = -1;
+    
+    final long[] eventIds;
+    final long[] startEpoch;
+    final long[] endEpoch;
+    final int[] capacity;
+    final int[] attendees;
+    final long[] priceCents;
+    final byte[] status;
+    final byte[] type;
+    final int[] category;
+    // Slots below size have been written at least once
+    volatile int size;
+    
+    EventColumns(int slots) {
+        eventIds = new long[slots];
+        startEpoch = new long[slots];
+        endEpoch = new long[slots];
+        capacity = new int[slots];
+        attendees = new int[slots];
+        priceCents = new long[slots];
+        status = new byte[slots];
+        type = new byte[slots];
+        category = new int[slots];
+    }
+    
+    private EventColumns(EventColumns from, int slots) {
+        eventIds = Arrays.copyOf(from.eventIds, slots);
+        startEpoch = Arrays.copyOf(from.startEpoch, slots);
+        endEpoch = Arrays.copyOf(from.endEpoch, slots);
+        capacity = Arrays.copyOf(from.capacity, slots);
+        attendees = Arrays.copyOf(from.attendees, slots);
+        priceCents = Arrays.copyOf(from.priceCents, slots);
+        status = Arrays.copyOf(from.status, slots);
+        type = Arrays.copyOf(from.type, slots);
+        category = Arrays.copyOf(from.category, slots);
+        size = from.size;
+    }
+    
+    int slots() {
+        return eventIds.length;
+    }
+    
+    EventColumns grow() {
+        return new EventColumns(this, Math.max(1024, slots() * 2));
+    }
+    
+    void write(int slot, EventColumnRow row, int categoryCode) {
+        eventIds[slot] = row.eventId();
+        startEpoch[slot] = epoch(row.startDateTime());
+        endEpoch[slot] = epoch(row.endDateTime());
+        capacity[slot] = row.maxAttendees() != null ? row.maxAttendees() : 0;
+        attendees[slot] = row.currentAttendees() != null ? row.currentAttendees() : 0;
+        priceCents[slot] = EventContribution.toCents(row.ticketPrice(), row.isFreeEvent());
+        type[slot] = row.eventType() != null ? (byte) row.eventType().ordinal() : NULL_TYPE;
+        category[slot] = categoryCode;
+        // Status last: it is what marks the slot as live
+        status[slot] = row.status() != null ? (byte) row.status().ordinal() : FREE;
+    }
+    
+    static long epoch(LocalDateTime time) {
+        return time != null ? time.toEpochSecond(ZoneOffset.UTC) : 0;
+    }
+}
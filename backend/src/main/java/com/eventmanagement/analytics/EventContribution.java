@@ -0,0 +1,46 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What one event adds to its rollup cell. Money is kept as a long count of
+ * cents, so revenue is an exact integer product and sums never round.
+ */
+record EventContribution(RollupKey key, long capacity, long attendees, long priceCents) {
+    // Drafts were never on sale and cancelled events were refunded
+    private static final Set<Event.EventStatus> EXCLUDED =
+            EnumSet.of(Event.EventStatus.DRAFT, Event.EventStatus.CANCELLED);
+    
+    static EventContribution of(EventRollupRow row) {
+        if (row.status() == null || EXCLUDED.contains(row.status())
+                || row.organizerId() == null || row.startDateTime() == null) {
+            return null;
+        }
+        RollupKey key = new RollupKey(row.organizerId(), row.category(), row.eventType(),
+                row.startDateTime().toLocalDate());
+        return new EventContribution(key,
+                row.maxAttendees() != null ? row.maxAttendees() : 0,
+                row.currentAttendees() != null ? row.currentAttendees() : 0,
+                toCents(row.ticketPrice(), row.isFreeEvent()));
+    }
+    
+    EventContribution withAttendees(long newAttendees) {
+        return new EventContribution(key, capacity, newAttendees, priceCents);
+    }
+    
+    long revenueCents() {
+        return Math.multiplyExact(priceCents, attendees);
+    }
+    
+    static long toCents(BigDecimal price, Boolean free) {
+        if (Boolean.TRUE.equals(free) || price == null) {
+            return 0;
+        }
+        return price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EventRollupRow(Long eventId, Long organizerId, String category, Event.EventType eventType,
+                             LocalDateTime startDateTime, Integer maxAttendees, Integer currentAttendees,
+                             BigDecimal ticketPrice, Boolean isFreeEvent, Event.EventStatus status) {
+    
+    public static EventRollupRow from(Event event) {
+        return new EventRollupRow(event.getId(),
+                event.getOrganizer() != null ? event.getOrganizer().getId() : null,
+                event.getCategory(), event.getEventType(), event.getStartDateTime(), event.getMaxAttendees(),
+                event.getCurrentAttendees(), event.getTicketPrice(), event.getIsFreeEvent(), event.getStatus());
+    }
+    
+    public EventRollupRow withAttendees(Integer attendees) {
+        return new EventRollupRow(eventId, organizerId, category, eventType, startDateTime, maxAttendees,
+                attendees, ticketPrice, isFreeEvent, status);
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Predicate of an ad-hoc event scan; null or empty fields match everything.
+ * Start times are a half-open range, and price and fill rate are strict upper
+ * bounds ("under 20% full with price below X").
+ */
+public record EventScanFilter(Set<Event.EventStatus> statuses, Set<Event.EventType> types, String category,
+                              LocalDateTime startFrom, LocalDateTime startTo, Double maxFillRate,
+                              BigDecimal maxPrice, Integer minCapacity) {
+}
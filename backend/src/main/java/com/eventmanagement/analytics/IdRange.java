@@ -0,0 +1,31 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * An event id range on one shard, the unit of work of the parallel
+ * rebuilds. Ids are unique across shards, so ranges never overlap.
+ */
+record IdRange(int shard, long fromId, long toId) {
+    
+    static List<IdRange> split(ShardRouter shardRouter, Supplier<Long> maxId, long rangeSize) {
+        List<IdRange> ranges = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            long max = ShardContext.call(shard, maxId);
+            for (long range = 0; range <= max / rangeSize; range++) {
+                ranges.add(new IdRange(shard, range * rangeSize, (range + 1) * rangeSize - 1));
+            }
+        }
+        return ranges;
+    }
+    
+    // Runs on a pool thread, which takes the range's shard for the query
+    <T> T query(Supplier<T> query) {
+        return ShardContext.call(shard, query);
+    }
+}
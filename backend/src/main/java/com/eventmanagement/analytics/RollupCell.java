@@ -0,0 +1,39 @@
+package com.eventmanagement.analytics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals of one rollup cell. Writers are serialized by the rollup
+ * service; the atomics let dashboards read without taking its lock.
+ */
+class RollupCell {
+    private final RollupKey key;
+    private final AtomicLong events = new AtomicLong();
+    private final AtomicLong attendees = new AtomicLong();
+    private final AtomicLong capacity = new AtomicLong();
+    private final AtomicLong revenueCents = new AtomicLong();
+    
+    RollupCell(RollupKey key) {
+        this.key = key;
+    }
+    
+    RollupKey key() { return key; }
+    long events() { return events.get(); }
+    long attendees() { return attendees.get(); }
+    long capacity() { return capacity.get(); }
+    long revenueCents() { return revenueCents.get(); }
+    
+    void add(EventContribution contribution, int sign) {
+        events.addAndGet(sign);
+        attendees.addAndGet(sign * contribution.attendees());
+        capacity.addAndGet(sign * contribution.capacity());
+        revenueCents.addAndGet(sign * contribution.revenueCents());
+    }
+    
+    void merge(RollupCell other) {
+        events.addAndGet(other.events());
+        attendees.addAndGet(other.attendees());
+        capacity.addAndGet(other.capacity());
+        revenueCents.addAndGet(other.revenueCents());
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventmanagement.analytics;
+
+public enum RollupGrouping {
+    DAY, CATEGORY, EVENT_TYPE;
+    
+    String groupOf(RollupKey key) {
+        return switch (this) {
+            case DAY -> key.day().toString();
+            case CATEGORY -> key.category() != null ? key.category() : "UNSPECIFIED";
+            case EVENT_TYPE -> key.eventType() != null ? key.eventType().name() : "UNSPECIFIED";
+        };
+    }
+}
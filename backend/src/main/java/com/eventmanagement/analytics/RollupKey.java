@@ -0,0 +1,12 @@
+package com.eventmanagement.analytics;
+
+import com.eventmanagement.model.Event;
+
+import java.time.LocalDate;
+
+/**
+ * Grain of the rollups: one cell per organizer, category, event type and
+ * event day.
+ */
+public record RollupKey(Long organizerId, String category, Event.EventType eventType, LocalDate day) {
+}
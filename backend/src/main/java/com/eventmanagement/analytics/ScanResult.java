@@ -0,0 +1,51 @@
+package com.eventmanagement.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Aggregates of one scanned slot range plus the first matching slots, up to
+ * the requested limit, in slot order.
+ */
+final class ScanResult {
+    long matched;
+    long attendees;
+    long capacity;
+    long revenueCents;
+    int[] slots;
+    int slotCount;
+    
+    ScanResult(int limit) {
+        this.slots = new int[Math.min(limit, 64)];
+        this.slotCount = 0;
+    }
+    
+    void add(EventColumns columns, int slot, int limit) {
+        matched++;
+        attendees += columns.attendees[slot];
+        capacity += columns.capacity[slot];
+        revenueCents += columns.priceCents[slot] * columns.attendees[slot];
+        if (slotCount < limit) {
+            if (slotCount == slots.length) {
+                slots = Arrays.copyOf(slots, Math.min(limit, slots.length * 2));
+            }
+            slots[slotCount++] = slot;
+        }
+    }
+    
+    // `other` covers the slots right after this one's range
+    ScanResult merge(ScanResult other, int limit) {
+        matched += other.matched;
+        attendees += other.attendees;
+        capacity += other.capacity;
+        revenueCents += other.revenueCents;
+        int take = Math.min(other.slotCount, limit - slotCount);
+        if (take > 0) {
+            if (slotCount + take > slots.length) {
+                slots = Arrays.copyOf(slots, slotCount + take);
+            }
+            System.arraycopy(other.slots, 0, slots, slotCount, take);
+            slotCount += take;
+        }
+        return this;
+    }
+}
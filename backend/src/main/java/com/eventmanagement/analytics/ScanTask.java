@@ -0,0 +1,45 @@
+package com.eventmanagement.analytics;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join scan of a slot range: splits in halves down to the leaf size,
+ * runs the predicate over each leaf in a tight loop, then merges left to
+ * right so the collected slots stay in slot order.
+ */
+class ScanTask extends RecursiveTask<ScanResult> {
+    private final EventColumns columns;
+    private final CompiledScanFilter filter;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+    private final int limit;
+    
+    ScanTask(EventColumns columns, CompiledScanFilter filter, int from, int to, int leafSize, int limit) {
+        this.columns = columns;
+        this.filter = filter;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+        this.limit = limit;
+    }
+    
+    @Override
+    protected ScanResult compute() {
+        if (to - from <= leafSize) {
+            ScanResult result = new ScanResult(limit);
+            for (int slot = from; slot < to; slot++) {
+                if (filter.test(columns, slot)) {
+                    result.add(columns, slot, limit);
+                }
+            }
+            return result;
+        }
+        int mid = (from + to) >>> 1;
+        ScanTask left = new ScanTask(columns, filter, from, mid, leafSize, limit);
+        ScanTask right = new ScanTask(columns, filter, mid, to, leafSize, limit);
+        right.fork();
+        ScanResult leftResult = left.compute();
+        return leftResult.merge(right.join(), limit);
+    }
+}
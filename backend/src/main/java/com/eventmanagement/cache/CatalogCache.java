@@ -0,0 +1,268 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.dto.CacheStatsResponse;
+import com.eventmanagement.dto.EventDetailsView;
+import com.eventmanagement.dto.OrganizerView;
+import com.eventmanagement.dto.VenueView;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.listener.OrganizerChangedEvent;
+import com.eventmanagement.listener.VenueChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.OrganizerRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.shard.ShardRouter;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of event, venue and organizer views. Entries are
+ * invalidated after commit from the entity listener events; because an event
+ * view embeds its venue and organizer, a venue or organizer change also drops
+ * every cached event that references it, found through reverse indexes kept
+ * alongside the cache.
+ */
+@Component
+public class CatalogCache {
+    // Rough per-object and per-char costs used to weigh entries in bytes
+    private static final int OBJECT_OVERHEAD = 64;
+    private static final int CHAR_BYTES = 2;
+    // Venue and organizer change stamps are kept per stripe of ids, so memory stays fixed
+    private static final int CHANGE_STRIPES = 1024;
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final OrganizerRepository organizerRepository;
+    private final ShardRouter shardRouter;
+    private final LoadingCache<Long, EventDetailsView> events;
+    private final LoadingCache<Long, VenueView> venues;
+    private final LoadingCache<Long, OrganizerView> organizers;
+    private final Map<Long, Set<Long>> eventsByVenue = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> eventsByOrganizer = new ConcurrentHashMap<>();
+    private final LongAdder eventInvalidations = new LongAdder();
+    private final LongAdder venueInvalidations = new LongAdder();
+    private final LongAdder organizerInvalidations = new LongAdder();
+    private final AtomicLong changeSequence = new AtomicLong();
+    private final AtomicLongArray venueChanges = new AtomicLongArray(CHANGE_STRIPES);
+    private final AtomicLongArray organizerChanges = new AtomicLongArray(CHANGE_STRIPES);
+    private final boolean enabled;
+    
+    public CatalogCache(EventRepository eventRepository,
+                        VenueRepository venueRepository,
+                        OrganizerRepository organizerRepository,
+                        ShardRouter shardRouter,
+                        MeterRegistry meterRegistry,
+                        @Value("${cache.catalog.max-weight-bytes:67108864}") long maxWeightBytes,
+                        @Value("${cache.catalog.ttl-seconds:600}") long ttlSeconds,
+                        @Value("${cache.catalog.enabled:true}") boolean enabled) {
+        this.eventRepository = eventRepository;
+        this.venueRepository = venueRepository;
+        this.organizerRepository = organizerRepository;
+        this.shardRouter = shardRouter;
+        this.enabled = enabled;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        // Events dominate the catalog, so they get most of the byte budget
+        this.events = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes * 3 / 4)
+                .weigher((Long id, EventDetailsView view) -> weigh(view))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .evictionListener((Long id, EventDetailsView view, RemovalCause cause) -> unlink(id, view))
+                .build(this::loadEvent);
+        this.venues = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes / 8)
+                .weigher((Long id, VenueView view) -> weigh(view))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::loadVenue);
+        this.organizers = Caffeine.newBuilder()
+                .maximumWeight(maxWeightBytes / 8)
+                .weigher((Long id, OrganizerView view) -> weigh(view))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::loadOrganizer);
+        CaffeineCacheMetrics.monitor(meterRegistry, events, "catalog.events");
+        CaffeineCacheMetrics.monitor(meterRegistry, venues, "catalog.venues");
+        CaffeineCacheMetrics.monitor(meterRegistry, organizers, "catalog.organizers");
+    }
+    
+    // With the cache disabled every read goes to the database, which is only
+    // useful for measuring what the cache saves
+    public EventDetailsView getEvent(Long eventId) {
+        EventDetailsView view = enabled ? events.get(eventId) : null;
+        // Null when loading kept racing changes to the event's venue or organizer: served, but not cached
+        return view != null ? view : EventDetailsView.from(readEvent(eventId));
+    }
+    
+    public VenueView getVenue(Long venueId) {
+        return enabled ? venues.get(venueId) : loadVenue(venueId);
+    }
+    
+    public OrganizerView getOrganizer(Long organizerId) {
+        return enabled ? organizers.get(organizerId) : loadOrganizer(organizerId);
+    }
+    
+    public List<CacheStatsResponse> stats() {
+        return List.of(
+                toResponse("events", events.estimatedSize(), events.stats(), eventInvalidations),
+                toResponse("venues", venues.estimatedSize(), venues.stats(), venueInvalidations),
+                toResponse("organizers", organizers.estimatedSize(), organizers.stats(), organizerInvalidations));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        invalidateEvent(change.eventId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        change.eventIds().forEach(this::invalidateEvent);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent change) {
+        stamp(venueChanges, change.venueId());
+        venues.invalidate(change.venueId());
+        venueInvalidations.increment();
+        invalidateEvents(eventsByVenue.remove(change.venueId()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizerChanged(OrganizerChangedEvent change) {
+        stamp(organizerChanges, change.organizerId());
+        organizers.invalidate(change.organizerId());
+        organizerInvalidations.increment();
+        invalidateEvents(eventsByOrganizer.remove(change.organizerId()));
+    }
+    
+    private void invalidateEvents(Set<Long> eventIds) {
+        if (eventIds != null) {
+            eventIds.forEach(this::invalidateEvent);
+        }
+    }
+    
+    private void invalidateEvent(Long eventId) {
+        EventDetailsView removed = events.asMap().remove(eventId);
+        if (removed != null) {
+            unlink(eventId, removed);
+            eventInvalidations.increment();
+        }
+    }
+    
+    // Runs inside the cache's compute for the key, so the retries are bounded;
+    // null leaves the entry out of the cache
+    private EventDetailsView loadEvent(Long eventId) {
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            long started = changeSequence.get();
+            EventDetailsView view = EventDetailsView.from(readEvent(eventId));
+            eventsByVenue.computeIfAbsent(view.venue().id(), id -> ConcurrentHashMap.newKeySet()).add(eventId);
+            eventsByOrganizer.computeIfAbsent(view.organizer().id(), id -> ConcurrentHashMap.newKeySet()).add(eventId);
+            // A change to this venue or organizer that committed before the
+            // links were added could not see them, so its data may be stale:
+            // read again. Changes after this point find the links and
+            // invalidate the entry; changes to other venues are ignored.
+            if (changedSince(venueChanges, view.venue().id(), started)
+                    || changedSince(organizerChanges, view.organizer().id(), started)) {
+                unlink(eventId, view);
+                continue;
+            }
+            return view;
+        }
+        return null;
+    }
+    
+    private void stamp(AtomicLongArray changes, Long id) {
+        long sequence = changeSequence.incrementAndGet();
+        changes.accumulateAndGet(stripe(id), sequence, Math::max);
+    }
+    
+    private static boolean changedSince(AtomicLongArray changes, Long id, long sequence) {
+        return changes.get(stripe(id)) > sequence;
+    }
+    
+    private static int stripe(Long id) {
+        return (int) (id & (CHANGE_STRIPES - 1));
+    }
+    
+    private Event readEvent(Long eventId) {
+        return shardRouter.callForEvent(eventId, () -> eventRepository.findWithVenueAndOrganizerById(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+    }
+    
+    private VenueView loadVenue(Long venueId) {
+        return venueRepository.findById(venueId)
+                .map(VenueView::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
+    }
+    
+    private OrganizerView loadOrganizer(Long organizerId) {
+        return shardRouter.callForOrganizer(organizerId, () -> organizerRepository.findById(organizerId))
+                .map(OrganizerView::from)
+                .orElseThrow(() -> new ResourceNotFoundException("Organizer not found with id: " + organizerId));
+    }
+    
+    private void unlink(Long eventId, EventDetailsView view) {
+        if (view == null) {
+            return;
+        }
+        unlink(eventsByVenue, view.venue().id(), eventId);
+        unlink(eventsByOrganizer, view.organizer().id(), eventId);
+    }
+    
+    private static void unlink(Map<Long, Set<Long>> index, Long key, Long eventId) {
+        index.computeIfPresent(key, (k, eventIds) -> {
+            eventIds.remove(eventId);
+            return eventIds.isEmpty() ? null : eventIds;
+        });
+    }
+    
+    private static CacheStatsResponse toResponse(String name, long size, CacheStats stats, LongAdder invalidations) {
+        return new CacheStatsResponse(name, size, stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount(), invalidations.sum(), stats.averageLoadPenalty() / 1_000_000.0);
+    }
+    
+    private static int weigh(EventDetailsView view) {
+        return OBJECT_OVERHEAD * 4 + chars(view.eventName(), view.description(), view.category(), view.imageUrl(),
+                view.eventUrl(), view.specialInstructions(), view.dressCode(), view.ageRestriction())
+                + weigh(view.venue()) + weigh(view.organizer());
+    }
+    
+    private static int weigh(VenueView view) {
+        return OBJECT_OVERHEAD * 4 + chars(view.venueName(), view.fullAddress(), view.city(), view.country(),
+                view.amenities(), view.imageUrl());
+    }
+    
+    private static int weigh(OrganizerView view) {
+        return OBJECT_OVERHEAD * 2 + chars(view.organizationName(), view.contactPerson(), view.email(),
+                view.phoneNumber(), view.websiteUrl());
+    }
+    
+    private static int chars(String... values) {
+        int bytes = 0;
+        for (String value : values) {
+            if (value != null) {
+                bytes += OBJECT_OVERHEAD + value.length() * CHAR_BYTES;
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,96 @@
+package com.eventmanagement.checkin;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over registration ids, shipped to scanners in the check-in
+ * package. Scanners reproduce the lookup from the bits and the hash count:
+ * h = fmix64(id) (MurmurHash3's 64-bit finalizer), h1 = low 32 bits,
+ * h2 = high 32 bits, and probe i tests bit (h1 + i * h2, as a non-negative
+ * int) mod bitCount, for i from 1 to hashes. Bits are numbered from the
+ * least significant bit of the first big-endian 64-bit word. Adding is
+ * lock-free, so ids can be added while scans read the filter.
+ */
+public final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashes;
+    
+    private BloomFilter(int wordCount, int hashes) {
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashes = hashes;
+    }
+    
+    /**
+     * Sized so that {@code expectedEntries} ids give a false positive rate of
+     * about {@code falsePositiveRate}.
+     */
+    public static BloomFilter create(int expectedEntries, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        int entries = Math.max(1, expectedEntries);
+        double bits = -entries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (long) Math.ceil(bits / Long.SIZE)));
+        int hashes = (int) Math.max(1, Math.round((double) wordCount * Long.SIZE / entries * Math.log(2)));
+        return new BloomFilter(wordCount, Math.min(hashes, 30));
+    }
+    
+    public void put(long id) {
+        long hash = fmix64(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, (current, add) -> current | add);
+            }
+        }
+    }
+    
+    public boolean mightContain(long id) {
+        long hash = fmix64(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = index(h1 + i * h2);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    public long bitCount() {
+        return bitCount;
+    }
+    
+    public int hashes() {
+        return hashes;
+    }
+    
+    public byte[] toByteArray() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES);
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return buffer.array();
+    }
+    
+    private long index(int combined) {
+        return (combined < 0 ? ~combined : combined) % bitCount;
+    }
+    
+    static long fmix64(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
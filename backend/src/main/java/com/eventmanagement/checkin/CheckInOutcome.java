@@ -0,0 +1,10 @@
+package com.eventmanagement.checkin;
+
+public enum CheckInOutcome {
+    ADMITTED,
+    DUPLICATE,
+    REVOKED,
+    // Signed for this event but not in the package, e.g. issued on another node after it was built
+    NOT_REGISTERED,
+    INVALID
+}
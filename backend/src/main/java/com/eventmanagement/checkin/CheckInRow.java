@@ -0,0 +1,6 @@
+package com.eventmanagement.checkin;
+
+import com.eventmanagement.model.Registration.RegistrationStatus;
+
+public record CheckInRow(Long registrationId, RegistrationStatus status) {
+}
@@ -0,0 +1,258 @@
+package com.eventmanagement.checkin;
+
+import com.eventmanagement.dto.CheckInPackageResponse;
+import com.eventmanagement.dto.CheckInResponse;
+import com.eventmanagement.dto.CheckInSyncResponse;
+import com.eventmanagement.dto.TicketResponse;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.listener.RegistrationCancelledEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Registration;
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Ticket check-in at the door without a database round trip per scan.
+ * Tickets carry an Ed25519 signature; each event's registrations are
+ * loaded once into a check-in package (a Bloom filter plus the cancelled
+ * registrations) shortly before it starts, and the same package is served
+ * to scanners so they can keep admitting while the venue network is down.
+ * Admissions go through a lock-free duplicate detector and reach the
+ * registrations table in batches. Off unless checkin.enabled=true.
+ */
+@Service
+@ConditionalOnProperty(name = "checkin.enabled", havingValue = "true")
+public class CheckInService {
+    private static final Logger log = LoggerFactory.getLogger(CheckInService.class);
+    private static final int UPDATE_CHUNK = 1000;
+    
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final TicketSigner ticketSigner;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final double falsePositiveRate;
+    private final Duration packageLead;
+    private final int syncBatch;
+    private final Map<Long, EventCheckIn> events = new ConcurrentHashMap<>();
+    private final Queue<Admission> pendingAdmissions = new ConcurrentLinkedQueue<>();
+    private final Map<CheckInOutcome, Counter> scans = new EnumMap<>(CheckInOutcome.class);
+    
+    public CheckInService(RegistrationRepository registrationRepository,
+                          EventRepository eventRepository,
+                          TicketSigner ticketSigner,
+                          PlatformTransactionManager transactionManager,
+                          ShardRouter shardRouter,
+                          MeterRegistry meterRegistry,
+                          @Value("${checkin.filter-false-positive-rate:0.001}") double falsePositiveRate,
+                          @Value("${checkin.package-lead-hours:24}") long packageLeadHours,
+                          @Value("${checkin.sync-batch:5000}") int syncBatch) {
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.ticketSigner = ticketSigner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.falsePositiveRate = falsePositiveRate;
+        this.packageLead = Duration.ofHours(packageLeadHours);
+        this.syncBatch = syncBatch;
+        for (CheckInOutcome outcome : CheckInOutcome.values()) {
+            scans.put(outcome, Counter.builder("checkin.scans")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+    
+    public TicketResponse issueTicket(Long eventId, Long registrationId) {
+        Registration registration = registrationRepository.findById(registrationId)
+                .filter(r -> r.getEvent().getId().equals(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Registration not found with id: " + registrationId));
+        if (!registration.isActive()) {
+            throw new IllegalArgumentException("Registration " + registrationId + " is " + registration.getStatus()
+                    + " and has no ticket");
+        }
+        EventCheckIn checkIn = events.get(eventId);
+        if (checkIn != null) {
+            // Registered after the package was built
+            checkIn.register(registrationId);
+        }
+        return new TicketResponse(eventId, registrationId, ticketSigner.issue(eventId, registrationId));
+    }
+    
+    public CheckInPackageResponse checkInPackage(Long eventId) {
+        EventCheckIn checkIn = checkInFor(eventId);
+        BloomFilter filter = checkIn.registered();
+        return new CheckInPackageResponse(eventId, checkIn.generatedAt(), ticketSigner.publicKey(),
+                checkIn.registrations(), filter.bitCount(), filter.hashes(),
+                Base64.getEncoder().encodeToString(filter.toByteArray()), checkIn.revoked());
+    }
+    
+    public CheckInResponse checkIn(Long eventId, String token) {
+        SignedTicket ticket = ticketSigner.verify(token);
+        CheckInOutcome outcome;
+        if (ticket == null || ticket.eventId() != eventId) {
+            outcome = CheckInOutcome.INVALID;
+        } else {
+            outcome = checkInFor(eventId).scan(ticket.registrationId());
+            if (outcome == CheckInOutcome.ADMITTED) {
+                pendingAdmissions.add(new Admission(eventId, ticket.registrationId()));
+            }
+        }
+        scans.get(outcome).increment();
+        return new CheckInResponse(outcome, ticket == null ? null : ticket.registrationId());
+    }
+    
+    /**
+     * Replays scans a device made while offline. The device has already let
+     * these people in; the outcomes say which scans were repeats.
+     */
+    public CheckInSyncResponse sync(Long eventId, List<String> tokens) {
+        Map<CheckInOutcome, Integer> outcomes = new EnumMap<>(CheckInOutcome.class);
+        for (String token : tokens) {
+            outcomes.merge(checkIn(eventId, token).outcome(), 1, Integer::sum);
+        }
+        return new CheckInSyncResponse(tokens.size(), outcomes);
+    }
+    
+    // Builds packages in bulk for events about to start, ahead of the first scan
+    @Scheduled(fixedDelayString = "${checkin.package-sweep-ms:60000}")
+    public void preparePackages() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> upcoming = shardRouter.gather(() -> eventRepository.findIdsStartingBetween(
+                EnumSet.of(Event.EventStatus.PUBLISHED, Event.EventStatus.ONGOING), now, now.plus(packageLead)));
+        int built = 0;
+        for (Long eventId : upcoming) {
+            if (!events.containsKey(eventId)) {
+                events.putIfAbsent(eventId, build(eventId));
+                built++;
+            }
+        }
+        if (built > 0) {
+            log.info("Built check-in packages for {} upcoming events", built);
+        }
+    }
+    
+    // Marks admitted registrations ATTENDED; the in-memory state stays authoritative for scans
+    @Scheduled(fixedDelayString = "${checkin.sync-interval-ms:2000}")
+    public void flushAdmissions() {
+        List<Admission> batch = new ArrayList<>();
+        Admission admission;
+        while (batch.size() < syncBatch && (admission = pendingAdmissions.poll()) != null) {
+            batch.add(admission);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<Admission>> byShard;
+        try {
+            byShard = shardRouter.byEventShard(batch, Admission::eventId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to route {} check-ins, will retry", batch.size(), e);
+            pendingAdmissions.addAll(batch);
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        byShard.forEach((shard, admissions) -> ShardContext.run(shard, () -> recordAdmissions(admissions, now)));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        while (!pendingAdmissions.isEmpty()) {
+            int before = pendingAdmissions.size();
+            flushAdmissions();
+            if (pendingAdmissions.size() >= before) {
+                break;
+            }
+        }
+    }
+    
+    private void recordAdmissions(List<Admission> admissions, LocalDateTime now) {
+        List<Long> registrationIds = admissions.stream().map(Admission::registrationId).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < registrationIds.size(); from += UPDATE_CHUNK) {
+                    registrationRepository.updateStatus(
+                            registrationIds.subList(from, Math.min(registrationIds.size(), from + UPDATE_CHUNK)),
+                            RegistrationStatus.CONFIRMED, RegistrationStatus.ATTENDED, now);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to record {} check-ins, will retry", admissions.size(), e);
+            pendingAdmissions.addAll(admissions);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationCancelled(RegistrationCancelledEvent cancellation) {
+        EventCheckIn checkIn = events.get(cancellation.eventId());
+        if (checkIn != null) {
+            checkIn.revoke(cancellation.registrationId());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        if (change.status() == Event.EventStatus.COMPLETED || change.status() == Event.EventStatus.CANCELLED) {
+            change.eventIds().forEach(events::remove);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            events.remove(change.eventId());
+        }
+    }
+    
+    private EventCheckIn checkInFor(Long eventId) {
+        EventCheckIn checkIn = events.get(eventId);
+        if (checkIn != null) {
+            return checkIn;
+        }
+        if (!shardRouter.callForEvent(eventId, () -> eventRepository.existsById(eventId))) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        // Built outside computeIfAbsent so the map bin is not locked during the query
+        EventCheckIn built = build(eventId);
+        checkIn = events.putIfAbsent(eventId, built);
+        return checkIn != null ? checkIn : built;
+    }
+    
+    private EventCheckIn build(Long eventId) {
+        return EventCheckIn.build(eventId, shardRouter.callForEvent(eventId,
+                () -> registrationRepository.findCheckInRows(eventId)), falsePositiveRate);
+    }
+    
+    private record Admission(Long eventId, Long registrationId) {
+    }
+}
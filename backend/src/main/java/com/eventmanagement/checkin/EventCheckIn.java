@@ -0,0 +1,89 @@
+package com.eventmanagement.checkin;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One event's door state: the filter of registrations that hold a seat,
+ * the cancelled ones, and who has been let in. Built once from the
+ * registrations and then kept current from the application's own events,
+ * so a scan is a signature check and a few memory lookups.
+ */
+final class EventCheckIn {
+    // Headroom for registrations added after the package is built
+    private static final double GROWTH = 1.25;
+    
+    private final Long eventId;
+    private final Instant generatedAt;
+    private final int registrations;
+    private final BloomFilter registered;
+    private final Set<Long> revoked = ConcurrentHashMap.newKeySet();
+    private final ScanSet admitted;
+    
+    private EventCheckIn(Long eventId, int registrations, double falsePositiveRate) {
+        this.eventId = eventId;
+        this.generatedAt = Instant.now();
+        this.registrations = registrations;
+        this.registered = BloomFilter.create((int) (registrations * GROWTH) + 64, falsePositiveRate);
+        this.admitted = new ScanSet(registrations);
+    }
+    
+    static EventCheckIn build(Long eventId, List<CheckInRow> rows, double falsePositiveRate) {
+        EventCheckIn checkIn = new EventCheckIn(eventId, rows.size(), falsePositiveRate);
+        for (CheckInRow row : rows) {
+            switch (row.status()) {
+                case CONFIRMED -> checkIn.registered.put(row.registrationId());
+                case ATTENDED -> {
+                    checkIn.registered.put(row.registrationId());
+                    checkIn.admitted.add(row.registrationId());
+                }
+                // Listed explicitly so a filter false positive can't let them in
+                case CANCELLED, NO_SHOW -> checkIn.revoked.add(row.registrationId());
+            }
+        }
+        return checkIn;
+    }
+    
+    CheckInOutcome scan(long registrationId) {
+        if (revoked.contains(registrationId)) {
+            return CheckInOutcome.REVOKED;
+        }
+        if (!registered.mightContain(registrationId)) {
+            return CheckInOutcome.NOT_REGISTERED;
+        }
+        return admitted.add(registrationId) ? CheckInOutcome.ADMITTED : CheckInOutcome.DUPLICATE;
+    }
+    
+    // Also lifts the revocation of a cancelled registration that was reactivated
+    void register(long registrationId) {
+        registered.put(registrationId);
+        revoked.remove(registrationId);
+    }
+    
+    void revoke(long registrationId) {
+        revoked.add(registrationId);
+    }
+    
+    Long eventId() {
+        return eventId;
+    }
+    
+    Instant generatedAt() {
+        return generatedAt;
+    }
+    
+    int registrations() {
+        return registrations;
+    }
+    
+    BloomFilter registered() {
+        return registered;
+    }
+    
+    List<Long> revoked() {
+        return new ArrayList<>(revoked);
+    }
+}
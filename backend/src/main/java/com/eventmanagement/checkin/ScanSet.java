@@ -0,0 +1,83 @@
+package com.eventmanagement.checkin;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registration ids already admitted to one event. An open-addressing table
+ * claimed with compare-and-set, so concurrent scanners never block each
+ * other and exactly one of two simultaneous scans of a ticket wins. Ids are
+ * never removed; past three-quarters full, the empty slot that ends a probe
+ * is sealed and new ids go to a concurrent set, so probe sequences stay
+ * short.
+ */
+final class ScanSet {
+    private static final long EMPTY = 0;
+    private static final long SEALED = -1;
+    
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final int threshold;
+    private final AtomicInteger size = new AtomicInteger();
+    private final Set<Long> overflow = ConcurrentHashMap.newKeySet();
+    
+    ScanSet(int expectedEntries) {
+        int target = Math.max(64, Math.min(1 << 29, expectedEntries) * 2);
+        int capacity = Integer.highestOneBit(target - 1) << 1;
+        this.slots = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        this.threshold = capacity / 4 * 3;
+    }
+    
+    /**
+     * Returns true if the id was not in the set, false for a repeat.
+     */
+    boolean add(long registrationId) {
+        if (registrationId <= 0) {
+            throw new IllegalArgumentException("Registration id must be positive: " + registrationId);
+        }
+        int slot = (int) BloomFilter.fmix64(registrationId) & mask;
+        while (true) {
+            long current = slots.get(slot);
+            if (current == registrationId) {
+                return false;
+            }
+            if (current == SEALED) {
+                return overflow.add(registrationId);
+            }
+            if (current == EMPTY) {
+                // A scan of the same id races for this same slot, so sealing
+                // it and claiming it can't both succeed
+                long claim = size.get() >= threshold ? SEALED : registrationId;
+                if (slots.compareAndSet(slot, EMPTY, claim)) {
+                    if (claim == SEALED) {
+                        return overflow.add(registrationId);
+                    }
+                    size.incrementAndGet();
+                    return true;
+                }
+                continue;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    boolean contains(long registrationId) {
+        int slot = (int) BloomFilter.fmix64(registrationId) & mask;
+        while (true) {
+            long current = slots.get(slot);
+            if (current == registrationId) {
+                return true;
+            }
+            if (current == EMPTY) {
+                return false;
+            }
+            if (current == SEALED) {
+                return overflow.contains(registrationId);
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+}
@@ -0,0 +1,4 @@
+package com.eventmanagement.checkin;
+
+public record SignedTicket(long eventId, long registrationId) {
+}
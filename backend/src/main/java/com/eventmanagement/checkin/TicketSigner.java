@@ -0,0 +1,110 @@
+package com.eventmanagement.checkin;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * Signs ticket tokens with Ed25519 so a scanner holding only the public key
+ * can tell a real ticket from a forged one without the database. A token is
+ * base64url(event id, registration id as two big-endian longs) "."
+ * base64url(signature over those 16 bytes), short enough for a QR code.
+ * Only created with checkin.enabled=true; startup then fails without
+ * configured keys, except in the "dev" profile, where a throwaway pair is
+ * generated.
+ */
+@Component
+@ConditionalOnProperty(name = "checkin.enabled", havingValue = "true")
+public class TicketSigner {
+    private static final Logger log = LoggerFactory.getLogger(TicketSigner.class);
+    private static final String ALGORITHM = "Ed25519";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int PAYLOAD_BYTES = 2 * Long.BYTES;
+    
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    
+    public TicketSigner(Environment environment,
+                        @Value("${checkin.signing-key:}") String signingKey,
+                        @Value("${checkin.verify-key:}") String verifyKey) {
+        if ((signingKey.isBlank() || verifyKey.isBlank()) && !environment.acceptsProfiles(Profiles.of("dev"))) {
+            // Generated keys would leave every ticket unverifiable after a restart and on other nodes
+            throw new IllegalStateException("checkin.enabled needs checkin.signing-key and checkin.verify-key; "
+                    + "only the dev profile runs with generated keys");
+        }
+        try {
+            if (signingKey.isBlank() || verifyKey.isBlank()) {
+                log.warn("checkin.signing-key/checkin.verify-key not set; dev profile, generating a key pair");
+                KeyPair pair = KeyPairGenerator.getInstance(ALGORITHM).generateKeyPair();
+                this.privateKey = pair.getPrivate();
+                this.publicKey = pair.getPublic();
+            } else {
+                KeyFactory keyFactory = KeyFactory.getInstance(ALGORITHM);
+                this.privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(signingKey)));
+                this.publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(verifyKey)));
+            }
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid ticket signing keys", e);
+        }
+    }
+    
+    public String issue(long eventId, long registrationId) {
+        byte[] payload = ByteBuffer.allocate(PAYLOAD_BYTES).putLong(eventId).putLong(registrationId).array();
+        try {
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initSign(privateKey);
+            signature.update(payload);
+            return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign ticket", e);
+        }
+    }
+    
+    /**
+     * Returns null for anything that isn't a token signed with this key.
+     */
+    public SignedTicket verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            if (payload.length != PAYLOAD_BYTES) {
+                return null;
+            }
+            Signature signature = Signature.getInstance(ALGORITHM);
+            signature.initVerify(publicKey);
+            signature.update(payload);
+            if (!signature.verify(DECODER.decode(token.substring(dot + 1)))) {
+                return null;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            return new SignedTicket(buffer.getLong(), buffer.getLong());
+        } catch (IllegalArgumentException | GeneralSecurityException e) {
+            return null;
+        }
+    }
+    
+    // X.509 SubjectPublicKeyInfo, base64, for scanners
+    public String publicKey() {
+        return Base64.getEncoder().encodeToString(publicKey.getEncoded());
+    }
+}
@@ -0,0 +1,25 @@
+package com.eventmanagement.config;
+
+import com.eventmanagement.monitoring.QueryCountInterceptor;
+import com.eventmanagement.shard.ShardRoutingInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    
+    private final QueryCountInterceptor queryCountInterceptor;
+    private final ShardRoutingInterceptor shardRoutingInterceptor;
+    
+    public WebConfig(QueryCountInterceptor queryCountInterceptor, ShardRoutingInterceptor shardRoutingInterceptor) {
+        this.queryCountInterceptor = queryCountInterceptor;
+        this.shardRoutingInterceptor = shardRoutingInterceptor;
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryCountInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(shardRoutingInterceptor).addPathPatterns("/api/**");
+    }
+}
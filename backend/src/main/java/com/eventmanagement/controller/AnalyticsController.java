@@ -0,0 +1,66 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.analytics.AnalyticsRollupService;
+import com.eventmanagement.analytics.EventColumnarSnapshot;
+import com.eventmanagement.analytics.EventScanFilter;
+import com.eventmanagement.analytics.RollupGrouping;
+import com.eventmanagement.dto.EventScanResponse;
+import com.eventmanagement.dto.RollupRebuildResponse;
+import com.eventmanagement.dto.RollupResponse;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.model.Event;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+    
+    private final AnalyticsRollupService analyticsRollupService;
+    private final Optional<EventColumnarSnapshot> eventColumnarSnapshot;
+    
+    public AnalyticsController(AnalyticsRollupService analyticsRollupService,
+                               Optional<EventColumnarSnapshot> eventColumnarSnapshot) {
+        this.analyticsRollupService = analyticsRollupService;
+        this.eventColumnarSnapshot = eventColumnarSnapshot;
+    }
+    
+    @GetMapping("/organizers/{organizerId}/rollups")
+    public List<RollupResponse> getOrganizerRollups(@PathVariable Long organizerId,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                    @RequestParam(required = false) String category,
+                                                    @RequestParam(required = false) Event.EventType eventType,
+                                                    @RequestParam(defaultValue = "DAY") RollupGrouping groupBy) {
+        return analyticsRollupService.query(organizerId, from, to, category, eventType, groupBy);
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    public RollupRebuildResponse rebuildRollups() {
+        return analyticsRollupService.rebuild();
+    }
+    
+    @GetMapping("/events/scan")
+    public EventScanResponse scanEvents(@RequestParam(required = false) Set<Event.EventStatus> status,
+                                        @RequestParam(required = false) Set<Event.EventType> eventType,
+                                        @RequestParam(required = false) String category,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startFrom,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTo,
+                                        @RequestParam(required = false) Double maxFillRate,
+                                        @RequestParam(required = false) BigDecimal maxPrice,
+                                        @RequestParam(required = false) Integer minCapacity,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        EventScanFilter filter = new EventScanFilter(status, eventType, category, startFrom, startTo,
+                maxFillRate, maxPrice, minCapacity);
+        return eventColumnarSnapshot
+                .orElseThrow(() -> new ResourceNotFoundException("Event scans need analytics.columnar.enabled=true"))
+                .scan(filter, Math.min(limit, 1000));
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.cache.CatalogCache;
+import com.eventmanagement.dto.CacheStatsResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+    
+    private final CatalogCache catalogCache;
+    
+    public CacheController(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+    
+    @GetMapping("/stats")
+    public List<CacheStatsResponse> getStats() {
+        return catalogCache.stats();
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.checkin.CheckInService;
+import com.eventmanagement.dto.CheckInPackageResponse;
+import com.eventmanagement.dto.CheckInRequest;
+import com.eventmanagement.dto.CheckInResponse;
+import com.eventmanagement.dto.CheckInSyncRequest;
+import com.eventmanagement.dto.CheckInSyncResponse;
+import com.eventmanagement.dto.TicketResponse;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@ConditionalOnProperty(name = "checkin.enabled", havingValue = "true")
+@RequestMapping("/api/events/{eventId}")
+public class CheckInController {
+    
+    private final CheckInService checkInService;
+    
+    public CheckInController(CheckInService checkInService) {
+        this.checkInService = checkInService;
+    }
+    
+    @GetMapping("/registrations/{registrationId}/ticket")
+    public TicketResponse getTicket(@PathVariable Long eventId, @PathVariable Long registrationId) {
+        return checkInService.issueTicket(eventId, registrationId);
+    }
+    
+    // For scanners to download before doors open and verify tickets offline
+    @GetMapping("/check-in/package")
+    public CheckInPackageResponse getPackage(@PathVariable Long eventId) {
+        return checkInService.checkInPackage(eventId);
+    }
+    
+    @PostMapping("/check-in")
+    public CheckInResponse checkIn(@PathVariable Long eventId, @Valid @RequestBody CheckInRequest request) {
+        return checkInService.checkIn(eventId, request.token());
+    }
+    
+    @PostMapping("/check-in/sync")
+    public CheckInSyncResponse sync(@PathVariable Long eventId, @Valid @RequestBody CheckInSyncRequest request) {
+        return checkInService.sync(eventId, request.tokens());
+    }
+}
@@ -0,0 +1,60 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.EventDetailsResponse;
+import com.eventmanagement.dto.EventPageResponse;
+import com.eventmanagement.dto.EventRequest;
+import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.monitoring.HotPathMetrics;
+import com.eventmanagement.service.EventService;
+import com.eventmanagement.shard.ShardRouter;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+    
+    private final EventService eventService;
+    private final HotPathMetrics hotPathMetrics;
+    private final ShardRouter shardRouter;
+    
+    public EventController(EventService eventService, HotPathMetrics hotPathMetrics, ShardRouter shardRouter) {
+        this.eventService = eventService;
+        this.hotPathMetrics = hotPathMetrics;
+        this.shardRouter = shardRouter;
+    }
+    
+    @GetMapping
+    public EventPageResponse listEvents(@RequestParam(required = false) List<Event.EventStatus> status,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        return hotPathMetrics.eventListing().record(() -> eventService.listEvents(status, from, to, cursor, pageSize));
+    }
+    
+    @GetMapping("/{eventId}")
+    public EventDetailsResponse getEvent(@PathVariable Long eventId) {
+        return eventService.getEventDetails(eventId);
+    }
+    
+    @PostMapping
+    public ResponseEntity<EventResponse> createEvent(@Valid @RequestBody EventRequest request) {
+        // New events go to their organizer's shard, which the path doesn't name
+        EventResponse event = shardRouter.callForOrganizer(request.organizerId(), () -> eventService.createEvent(request));
+        return ResponseEntity.status(HttpStatus.CREATED).body(event);
+    }
+    
+    @PutMapping("/{eventId}")
+    public EventResponse updateEvent(@PathVariable Long eventId, @Valid @RequestBody EventRequest request) {
+        return eventService.updateEvent(eventId, request);
+    }
+}
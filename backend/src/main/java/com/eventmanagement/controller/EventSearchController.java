@@ -0,0 +1,30 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.EventSearchHit;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.monitoring.HotPathMetrics;
+import com.eventmanagement.search.EventSearchIndex;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/events/search")
+public class EventSearchController {
+    
+    private final EventSearchIndex eventSearchIndex;
+    private final HotPathMetrics hotPathMetrics;
+    
+    public EventSearchController(EventSearchIndex eventSearchIndex, HotPathMetrics hotPathMetrics) {
+        this.eventSearchIndex = eventSearchIndex;
+        this.hotPathMetrics = hotPathMetrics;
+    }
+    
+    @GetMapping
+    public List<EventSearchHit> search(@RequestParam("q") String query,
+                                       @RequestParam(required = false) Event.EventStatus status,
+                                       @RequestParam(required = false) Event.EventType type,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        return hotPathMetrics.eventSearch().record(() -> eventSearchIndex.search(query, status, type, Math.min(limit, 100)));
+    }
+}
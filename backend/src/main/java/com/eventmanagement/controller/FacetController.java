@@ -0,0 +1,40 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.FacetSearchResponse;
+import com.eventmanagement.facet.EventFacetIndex;
+import com.eventmanagement.facet.VenueFacetIndex;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class FacetController {
+    
+    private final EventFacetIndex eventFacetIndex;
+    private final VenueFacetIndex venueFacetIndex;
+    
+    public FacetController(EventFacetIndex eventFacetIndex, VenueFacetIndex venueFacetIndex) {
+        this.eventFacetIndex = eventFacetIndex;
+        this.venueFacetIndex = venueFacetIndex;
+    }
+    
+    // e.g. /api/events/facets?eventType=CONFERENCE&eventType=WORKSHOP&free=true
+    @GetMapping("/events/facets")
+    public FacetSearchResponse eventFacets(@RequestParam MultiValueMap<String, String> params,
+                                           @RequestParam(defaultValue = "50") int limit) {
+        return eventFacetIndex.search(facetParams(params), Math.min(limit, 1000));
+    }
+    
+    @GetMapping("/venues/facets")
+    public FacetSearchResponse venueFacets(@RequestParam MultiValueMap<String, String> params,
+                                           @RequestParam(defaultValue = "50") int limit) {
+        return venueFacetIndex.search(facetParams(params), Math.min(limit, 1000));
+    }
+    
+    private static MultiValueMap<String, String> facetParams(MultiValueMap<String, String> params) {
+        MultiValueMap<String, String> facets = new LinkedMultiValueMap<>(params);
+        facets.remove("limit");
+        return facets;
+    }
+}
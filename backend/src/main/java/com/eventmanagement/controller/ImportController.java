@@ -0,0 +1,38 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.ImportReport;
+import com.eventmanagement.importer.ImportFormat;
+import com.eventmanagement.service.BulkImportService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+    
+    private final BulkImportService bulkImportService;
+    
+    public ImportController(BulkImportService bulkImportService) {
+        this.bulkImportService = bulkImportService;
+    }
+    
+    @PostMapping(value = "/venues", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReport importVenues(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportFormat format = ImportFormat.detect(file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return bulkImportService.importVenues(in, format);
+        }
+    }
+    
+    @PostMapping(value = "/organizers", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ImportReport importOrganizers(@RequestParam("file") MultipartFile file) throws IOException {
+        ImportFormat format = ImportFormat.detect(file.getOriginalFilename(), file.getContentType());
+        try (InputStream in = file.getInputStream()) {
+            return bulkImportService.importOrganizers(in, format);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.NotificationJobResponse;
+import com.eventmanagement.dto.NotificationRequest;
+import com.eventmanagement.notification.NotificationService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api")
+public class NotificationController {
+    
+    private final NotificationService notificationService;
+    
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+    
+    // Only records the job; poll the returned job for progress
+    @PostMapping("/events/{eventId}/notifications")
+    public ResponseEntity<NotificationJobResponse> notifyAttendees(@PathVariable Long eventId,
+                                                                   @Valid @RequestBody NotificationRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(notificationService.notifyAttendees(eventId, request.type()));
+    }
+    
+    @GetMapping("/notifications/{jobId}")
+    public NotificationJobResponse getJob(@PathVariable Long jobId) {
+        return notificationService.getJob(jobId);
+    }
+    
+    @PostMapping("/notifications/{jobId}/retry")
+    public ResponseEntity<NotificationJobResponse> retry(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(notificationService.retry(jobId));
+    }
+}
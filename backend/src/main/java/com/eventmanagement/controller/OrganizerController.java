@@ -0,0 +1,21 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.cache.CatalogCache;
+import com.eventmanagement.dto.OrganizerView;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/organizers")
+public class OrganizerController {
+    
+    private final CatalogCache catalogCache;
+    
+    public OrganizerController(CatalogCache catalogCache) {
+        this.catalogCache = catalogCache;
+    }
+    
+    @GetMapping("/{organizerId}")
+    public OrganizerView getOrganizer(@PathVariable Long organizerId) {
+        return catalogCache.getOrganizer(organizerId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.admission.AdmissionService;
+import com.eventmanagement.admission.IdempotencyCache;
+import com.eventmanagement.dto.OccurrenceOverrideRequest;
+import com.eventmanagement.dto.OccurrenceResponse;
+import com.eventmanagement.dto.RecurrenceRequest;
+import com.eventmanagement.dto.RecurrenceResponse;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.dto.RegistrationResponse;
+import com.eventmanagement.recurrence.RecurrenceService;
+import com.eventmanagement.service.RegistrationService;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/events/{eventId}")
+public class RecurrenceController {
+    
+    private final RecurrenceService recurrenceService;
+    private final RegistrationService registrationService;
+    private final AdmissionService admissionService;
+    private final IdempotencyCache idempotencyCache;
+    
+    public RecurrenceController(RecurrenceService recurrenceService,
+                                RegistrationService registrationService,
+                                AdmissionService admissionService,
+                                IdempotencyCache idempotencyCache) {
+        this.recurrenceService = recurrenceService;
+        this.registrationService = registrationService;
+        this.admissionService = admissionService;
+        this.idempotencyCache = idempotencyCache;
+    }
+    
+    @PutMapping("/recurrence")
+    public RecurrenceResponse setRecurrence(@PathVariable Long eventId, @Valid @RequestBody RecurrenceRequest request) {
+        return recurrenceService.setRecurrence(eventId, request.rule());
+    }
+    
+    @DeleteMapping("/recurrence")
+    public ResponseEntity<Void> clearRecurrence(@PathVariable Long eventId) {
+        recurrenceService.clearRecurrence(eventId);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/occurrences")
+    public List<OccurrenceResponse> getOccurrences(@PathVariable Long eventId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return recurrenceService.occurrences(eventId, from, to);
+    }
+    
+    @PutMapping("/occurrences/{occurrenceStart}")
+    public OccurrenceResponse overrideOccurrence(@PathVariable Long eventId,
+                                                 @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+                                                 @Valid @RequestBody OccurrenceOverrideRequest request) {
+        return recurrenceService.override(eventId, occurrenceStart, request);
+    }
+    
+    // Materializes the occurrence, then registers as RegistrationController does for a plain event
+    @PostMapping("/occurrences/{occurrenceStart}/registrations")
+    public ResponseEntity<RegistrationResponse> register(@PathVariable Long eventId,
+                                                         @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime occurrenceStart,
+                                                         @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+                                                         @RequestHeader(value = AdmissionService.TICKET_HEADER, required = false) String ticket,
+                                                         @Valid @RequestBody RegistrationRequest request) {
+        Long occurrenceId = recurrenceService.materialize(eventId, occurrenceStart);
+        String scope = idempotencyKey == null ? null : occurrenceId + ":" + idempotencyKey;
+        RegistrationResponse response = idempotencyCache.execute(scope, request, () -> {
+            admissionService.admit(occurrenceId, ticket);
+            return registrationService.register(occurrenceId, request);
+        });
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+}
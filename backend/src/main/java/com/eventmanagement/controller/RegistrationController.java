@@ -0,0 +1,109 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.admission.AdmissionService;
+import com.eventmanagement.admission.IdempotencyCache;
+import com.eventmanagement.dto.BulkRegistrationRequest;
+import com.eventmanagement.dto.BulkRegistrationResponse;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.dto.RegistrationResponse;
+import com.eventmanagement.monitoring.HotPathMetrics;
+import com.eventmanagement.service.RegistrationExportService;
+import com.eventmanagement.service.RegistrationService;
+import com.eventmanagement.shard.ShardContext;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/registrations")
+public class RegistrationController {
+    
+    private final RegistrationService registrationService;
+    private final RegistrationExportService registrationExportService;
+    private final HotPathMetrics hotPathMetrics;
+    private final AdmissionService admissionService;
+    private final IdempotencyCache idempotencyCache;
+    
+    public RegistrationController(RegistrationService registrationService,
+                                  RegistrationExportService registrationExportService,
+                                  HotPathMetrics hotPathMetrics,
+                                  AdmissionService admissionService,
+                                  IdempotencyCache idempotencyCache) {
+        this.registrationService = registrationService;
+        this.registrationExportService = registrationExportService;
+        this.hotPathMetrics = hotPathMetrics;
+        this.admissionService = admissionService;
+        this.idempotencyCache = idempotencyCache;
+    }
+    
+    // A retry with the same Idempotency-Key replays the first outcome without being admitted again
+    @PostMapping
+    public ResponseEntity<RegistrationResponse> register(@PathVariable Long eventId,
+                                                         @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+                                                         @RequestHeader(value = AdmissionService.TICKET_HEADER, required = false) String ticket,
+                                                         @Valid @RequestBody RegistrationRequest request) {
+        RegistrationResponse response = idempotencyCache.execute(idempotencyScope(eventId, idempotencyKey), request, () -> {
+            admissionService.admit(eventId, ticket);
+            return hotPathMetrics.singleRegistration().record(() -> registrationService.register(eventId, request));
+        });
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkRegistrationResponse> registerBulk(@PathVariable Long eventId,
+                                                                 @RequestHeader(value = IdempotencyCache.HEADER, required = false) String idempotencyKey,
+                                                                 @Valid @RequestBody BulkRegistrationRequest request) {
+        BulkRegistrationResponse response = idempotencyCache.execute(idempotencyScope(eventId, idempotencyKey), request, () -> {
+            admissionService.admitBulk(eventId, request.attendees().size());
+            hotPathMetrics.bulkRegistrationSize().record(request.attendees().size());
+            return hotPathMetrics.bulkRegistration().record(() -> registrationService.registerBulk(eventId, request));
+        });
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+    
+    @DeleteMapping("/{registrationId}")
+    public ResponseEntity<RegistrationResponse> cancel(@PathVariable Long eventId, @PathVariable Long registrationId) {
+        return ResponseEntity.ok(registrationService.cancel(eventId, registrationId));
+    }
+    
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable Long eventId,
+                                                        @RequestParam(defaultValue = "csv") String format) {
+        registrationExportService.checkEventExists(eventId);
+        String filename = "event-" + eventId + "-registrations";
+        // The body is written on an async thread, which the request's shard routing doesn't reach
+        int shard = ShardContext.current();
+        switch (format.toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + ".csv\"")
+                        .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                        .body(out -> {
+                            try (ShardContext.Scope scope = ShardContext.enter(shard)) {
+                                registrationExportService.writeCsv(eventId, out);
+                            }
+                        });
+            case "ndjson":
+                return ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + ".ndjson\"")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(out -> {
+                            try (ShardContext.Scope scope = ShardContext.enter(shard)) {
+                                registrationExportService.writeNdjson(eventId, out);
+                            }
+                        });
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+    
+    private static String idempotencyScope(Long eventId, String idempotencyKey) {
+        return idempotencyKey == null ? null : eventId + ":" + idempotencyKey;
+    }
+}
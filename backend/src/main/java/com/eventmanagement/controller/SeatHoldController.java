@@ -0,0 +1,72 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.AvailabilityResponse;
+import com.eventmanagement.dto.JournalEntryResponse;
+import com.eventmanagement.dto.SeatHoldRequest;
+import com.eventmanagement.dto.SeatHoldResponse;
+import com.eventmanagement.journal.RegistrationJournal;
+import com.eventmanagement.live.AvailabilityStreamService;
+import com.eventmanagement.service.SeatInventoryService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/events")
+public class SeatHoldController {
+    
+    private final SeatInventoryService seatInventoryService;
+    private final AvailabilityStreamService availabilityStreamService;
+    private final RegistrationJournal registrationJournal;
+    
+    public SeatHoldController(SeatInventoryService seatInventoryService,
+                              AvailabilityStreamService availabilityStreamService,
+                              RegistrationJournal registrationJournal) {
+        this.seatInventoryService = seatInventoryService;
+        this.availabilityStreamService = availabilityStreamService;
+        this.registrationJournal = registrationJournal;
+    }
+    
+    @GetMapping("/{eventId}/availability")
+    public AvailabilityResponse getAvailability(@PathVariable Long eventId) {
+        return seatInventoryService.availability(eventId);
+    }
+    
+    // Pushes an update whenever the counts or the event status change; replaces polling the endpoint above
+    @GetMapping(path = "/{eventId}/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAvailability(@PathVariable Long eventId) {
+        return availabilityStreamService.subscribe(eventId);
+    }
+    
+    // Seat changes from the registration journal, newest first
+    @GetMapping("/{eventId}/journal")
+    public List<JournalEntryResponse> getJournal(@PathVariable Long eventId,
+                                                 @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > 1000) {
+            throw new IllegalArgumentException("limit must be between 1 and 1000");
+        }
+        return registrationJournal.history(eventId, limit).stream()
+                .map(JournalEntryResponse::from)
+                .toList();
+    }
+    
+    // A hold is confirmed by registering with its holdId, so that every confirmed seat has a registration
+    @PostMapping("/{eventId}/holds")
+    public ResponseEntity<SeatHoldResponse> holdSeats(@PathVariable Long eventId,
+                                                      @Valid @RequestBody SeatHoldRequest request) {
+        SeatHoldResponse hold = SeatHoldResponse.from(seatInventoryService.hold(eventId, request.seats()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(hold);
+    }
+    
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID holdId) {
+        seatInventoryService.release(holdId);
+        return ResponseEntity.noContent().build();
+    }
+}
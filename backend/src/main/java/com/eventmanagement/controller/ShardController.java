@@ -0,0 +1,42 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.RebalanceResponse;
+import com.eventmanagement.dto.ShardMoveRequest;
+import com.eventmanagement.dto.ShardMoveResponse;
+import com.eventmanagement.dto.ShardStatsResponse;
+import com.eventmanagement.shard.ShardRebalancer;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/shards")
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardController {
+    
+    private final ShardRebalancer shardRebalancer;
+    
+    public ShardController(ShardRebalancer shardRebalancer) {
+        this.shardRebalancer = shardRebalancer;
+    }
+    
+    @GetMapping
+    public List<ShardStatsResponse> getShardStats() {
+        return shardRebalancer.stats();
+    }
+    
+    @PostMapping("/organizers/{organizerId}/move")
+    public ShardMoveResponse moveOrganizer(@PathVariable Long organizerId,
+                                           @Valid @RequestBody ShardMoveRequest request) {
+        return shardRebalancer.move(organizerId, request.target());
+    }
+    
+    @PostMapping("/rebalance")
+    public RebalanceResponse rebalance(@RequestParam(defaultValue = "true") boolean dryRun,
+                                       @RequestParam(defaultValue = "0.1") double tolerance,
+                                       @RequestParam(defaultValue = "10") int maxMoves) {
+        return shardRebalancer.rebalance(dryRun, tolerance, Math.min(maxMoves, 100));
+    }
+}
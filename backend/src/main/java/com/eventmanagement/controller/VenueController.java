@@ -0,0 +1,96 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.cache.CatalogCache;
+import com.eventmanagement.dto.NearbyVenueResponse;
+import com.eventmanagement.dto.SlotAvailabilityResponse;
+import com.eventmanagement.dto.TimeSlot;
+import com.eventmanagement.dto.VenueView;
+import com.eventmanagement.index.Booking;
+import com.eventmanagement.index.GeoHit;
+import com.eventmanagement.index.VenueAmenity;
+import com.eventmanagement.index.VenueGeoIndex;
+import com.eventmanagement.index.VenueScheduleIndex;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/venues")
+public class VenueController {
+    
+    private static final int MAX_RESULTS = 500;
+    
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final VenueGeoIndex venueGeoIndex;
+    private final CatalogCache catalogCache;
+    
+    public VenueController(VenueScheduleIndex venueScheduleIndex, VenueGeoIndex venueGeoIndex,
+                           CatalogCache catalogCache) {
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.venueGeoIndex = venueGeoIndex;
+        this.catalogCache = catalogCache;
+    }
+    
+    @GetMapping("/{venueId}")
+    public VenueView getVenue(@PathVariable Long venueId) {
+        return catalogCache.getVenue(venueId);
+    }
+    
+    @GetMapping("/{venueId}/availability")
+    public SlotAvailabilityResponse checkSlot(@PathVariable Long venueId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        Long conflictingEventId = venueScheduleIndex.findConflict(venueId, start, end, Set.of())
+                .map(Booking::eventId)
+                .orElse(null);
+        return new SlotAvailabilityResponse(venueId, start, end, conflictingEventId == null, conflictingEventId);
+    }
+    
+    @GetMapping("/{venueId}/free-slots")
+    public List<TimeSlot> getFreeSlots(@PathVariable Long venueId,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        return venueScheduleIndex.freeSlots(venueId, from, to);
+    }
+    
+    @GetMapping("/available")
+    public List<Long> getAvailableVenues(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                         @RequestParam(defaultValue = "1") int minCapacity) {
+        return venueScheduleIndex.findFreeVenues(date, minCapacity);
+    }
+    
+    @GetMapping("/nearby")
+    public List<NearbyVenueResponse> getNearbyVenues(@RequestParam double lat,
+                                                     @RequestParam double lon,
+                                                     @RequestParam(defaultValue = "10") double radiusKm,
+                                                     @RequestParam(defaultValue = "1") int minCapacity,
+                                                     @RequestParam(required = false) Set<VenueAmenity> amenities,
+                                                     @RequestParam(defaultValue = "50") int limit) {
+        return toResponses(venueGeoIndex.withinRadius(lat, lon, radiusKm, minCapacity,
+                VenueAmenity.mask(amenities), Math.min(Math.max(limit, 1), MAX_RESULTS)));
+    }
+    
+    @GetMapping("/nearest")
+    public List<NearbyVenueResponse> getNearestVenues(@RequestParam double lat,
+                                                      @RequestParam double lon,
+                                                      @RequestParam(defaultValue = "10") int k,
+                                                      @RequestParam(defaultValue = "1") int minCapacity,
+                                                      @RequestParam(required = false) Set<VenueAmenity> amenities,
+                                                      @RequestParam(defaultValue = "500") double maxRadiusKm) {
+        return toResponses(venueGeoIndex.nearest(lat, lon, Math.min(k, MAX_RESULTS), minCapacity,
+                VenueAmenity.mask(amenities), maxRadiusKm));
+    }
+    
+    private List<NearbyVenueResponse> toResponses(List<GeoHit> hits) {
+        return hits.stream()
+                .map(hit -> new NearbyVenueResponse(catalogCache.getVenue(hit.venueId()), hit.distanceKm()))
+                .toList();
+    }
+}
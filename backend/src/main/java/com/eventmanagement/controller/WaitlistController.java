@@ -0,0 +1,32 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.WaitlistResponse;
+import com.eventmanagement.service.WaitlistService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/events/{eventId}/waitlist")
+public class WaitlistController {
+    
+    private final WaitlistService waitlistService;
+    
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+    
+    @PostMapping
+    public ResponseEntity<WaitlistResponse> join(@PathVariable Long eventId,
+                                                 @Valid @RequestBody AttendeeRequest attendee) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(waitlistService.join(eventId, attendee));
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<Void> leave(@PathVariable Long eventId, @RequestParam String email) {
+        waitlistService.leave(eventId, email);
+        return ResponseEntity.noContent().build();
+    }
+}
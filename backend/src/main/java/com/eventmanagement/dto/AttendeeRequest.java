@@ -0,0 +1,32 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.*;
+
+import java.time.LocalDate;
+
+public record AttendeeRequest(
+        @NotBlank(message = "First name is required")
+        @Size(max = 50, message = "First name must be at most 50 characters")
+        String firstName,
+        
+        @NotBlank(message = "Last name is required")
+        @Size(max = 50, message = "Last name must be at most 50 characters")
+        String lastName,
+        
+        @NotBlank(message = "Email is required")
+        @Email(message = "Email should be valid")
+        String email,
+        
+        @Pattern(regexp = "^[+]?[0-9]{10,15}$", message = "Phone number should be valid")
+        String phoneNumber,
+        
+        @Past(message = "Date of birth must be in the past")
+        LocalDate dateOfBirth,
+        
+        String company,
+        
+        String jobTitle,
+        
+        @Size(max = 500, message = "Special requirements must be at most 500 characters")
+        String specialRequirements) {
+}
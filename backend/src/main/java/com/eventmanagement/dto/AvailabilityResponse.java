@@ -0,0 +1,11 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.inventory.SeatCounter;
+
+public record AvailabilityResponse(Long eventId, int capacity, int currentAttendees, int heldSeats, int availableSpots) {
+    
+    public static AvailabilityResponse from(SeatCounter counter) {
+        return new AvailabilityResponse(counter.getEventId(), counter.getCapacity(),
+                counter.currentAttendees(), counter.getHeld(), counter.availableSpots());
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.inventory.EventSeats;
+import com.eventmanagement.inventory.SeatCounter;
+import com.eventmanagement.model.Event;
+
+public record AvailabilityUpdate(Long eventId, Event.EventStatus status, int capacity, int heldSeats,
+                                 int availableSpots) {
+    
+    public static AvailabilityUpdate from(SeatCounter counter, Event.EventStatus status) {
+        return new AvailabilityUpdate(counter.getEventId(), status, counter.getCapacity(), counter.getHeld(),
+                counter.availableSpots());
+    }
+    
+    public static AvailabilityUpdate from(EventSeats seats, Event.EventStatus status) {
+        return new AvailabilityUpdate(seats.eventId(), status, seats.capacity(), 0, seats.availableSpots());
+    }
+}
@@ -0,0 +1,12 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkRegistrationRequest(
+        @NotEmpty(message = "At least one attendee is required")
+        @Size(max = 10000, message = "At most 10000 attendees can be registered at once")
+        List<AttendeeRequest> attendees) {
+}
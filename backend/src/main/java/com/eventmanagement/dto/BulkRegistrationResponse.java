@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record BulkRegistrationResponse(Long eventId, int registered, int newAttendees, long durationMillis) {
+}
@@ -0,0 +1,5 @@
+package com.eventmanagement.dto;
+
+public record CacheStatsResponse(String name, long size, long hits, long misses, double hitRate,
+                                 long evictions, long invalidations, double averageLoadMillis) {
+}
@@ -0,0 +1,14 @@
+package com.eventmanagement.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Everything a scanner needs to check tickets for one event offline: the
+ * key tickets are signed with, a Bloom filter of the registrations that
+ * hold a seat (base64 bits, see BloomFilter for the hashing), and the
+ * registrations that were cancelled.
+ */
+public record CheckInPackageResponse(Long eventId, Instant generatedAt, String publicKey, int registrations,
+                                     long filterBits, int filterHashes, String filter, List<Long> revoked) {
+}
@@ -0,0 +1,8 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record CheckInRequest(
+        @NotBlank(message = "Ticket token is required")
+        String token) {
+}
@@ -0,0 +1,6 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.checkin.CheckInOutcome;
+
+public record CheckInResponse(CheckInOutcome outcome, Long registrationId) {
+}
@@ -0,0 +1,12 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record CheckInSyncRequest(
+        @NotEmpty(message = "At least one scanned token is required")
+        @Size(max = 10000, message = "At most 10000 scans can be synced at once")
+        List<String> tokens) {
+}
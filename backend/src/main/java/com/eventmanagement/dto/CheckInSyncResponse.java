@@ -0,0 +1,8 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.checkin.CheckInOutcome;
+
+import java.util.Map;
+
+public record CheckInSyncResponse(int received, Map<CheckInOutcome, Integer> outcomes) {
+}
@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+/**
+ * Cached event details plus the live seat count, which changes too often to cache.
+ */
+public record EventDetailsResponse(EventDetailsView event, int availableSpots, boolean registrationOpen) {
+}
@@ -0,0 +1,23 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EventDetailsView(Long id, String eventName, String description, LocalDateTime startDateTime,
+                               LocalDateTime endDateTime, String category, Event.EventType eventType,
+                               Integer maxAttendees, BigDecimal ticketPrice, Boolean isFreeEvent,
+                               LocalDateTime registrationDeadline, Event.EventStatus status, String imageUrl,
+                               String eventUrl, String specialInstructions, String dressCode,
+                               String ageRestriction, VenueView venue, OrganizerView organizer) {
+    
+    public static EventDetailsView from(Event event) {
+        return new EventDetailsView(event.getId(), event.getEventName(), event.getDescription(),
+                event.getStartDateTime(), event.getEndDateTime(), event.getCategory(), event.getEventType(),
+                event.getMaxAttendees(), event.getTicketPrice(), event.getIsFreeEvent(),
+                event.getRegistrationDeadline(), event.getStatus(), event.getImageUrl(), event.getEventUrl(),
+                event.getSpecialInstructions(), event.getDressCode(), event.getAgeRestriction(),
+                VenueView.from(event.getVenue()), OrganizerView.from(event.getOrganizer()));
+    }
+}
@@ -0,0 +1,6 @@
+package com.eventmanagement.dto;
+
+import java.util.List;
+
+public record EventPageResponse(List<EventSummary> items, String nextCursor) {
+}
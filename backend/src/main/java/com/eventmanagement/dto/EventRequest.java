@@ -0,0 +1,58 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+import jakarta.validation.constraints.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EventRequest(
+        @NotBlank(message = "Event name is required")
+        @Size(min = 2, max = 150, message = "Event name must be between 2 and 150 characters")
+        String eventName,
+        
+        @Size(max = 2000, message = "Description must be at most 2000 characters")
+        String description,
+        
+        @NotNull(message = "Start date and time is required")
+        @Future(message = "Start date must be in the future")
+        LocalDateTime startDateTime,
+        
+        @NotNull(message = "End date and time is required")
+        LocalDateTime endDateTime,
+        
+        @NotBlank(message = "Category is required")
+        String category,
+        
+        Event.EventType eventType,
+        
+        @NotNull(message = "Maximum attendees is required")
+        @Min(value = 1, message = "Maximum attendees must be at least 1")
+        Integer maxAttendees,
+        
+        @DecimalMin(value = "0.00", message = "Ticket price cannot be negative")
+        BigDecimal ticketPrice,
+        
+        Boolean isFreeEvent,
+        
+        LocalDateTime registrationDeadline,
+        
+        Event.EventStatus status,
+        
+        String imageUrl,
+        
+        String eventUrl,
+        
+        @Size(max = 1000, message = "Special instructions must be at most 1000 characters")
+        String specialInstructions,
+        
+        String dressCode,
+        
+        String ageRestriction,
+        
+        @NotNull(message = "Venue is required")
+        Long venueId,
+        
+        @NotNull(message = "Organizer is required")
+        Long organizerId) {
+}
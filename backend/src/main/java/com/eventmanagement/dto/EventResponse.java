@@ -0,0 +1,23 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record EventResponse(Long id, String eventName, String description, LocalDateTime startDateTime,
+                            LocalDateTime endDateTime, String category, Event.EventType eventType,
+                            Integer maxAttendees, Integer availableSpots, BigDecimal ticketPrice,
+                            Boolean isFreeEvent, LocalDateTime registrationDeadline, Event.EventStatus status,
+                            String imageUrl, String eventUrl, String specialInstructions, String dressCode,
+                            String ageRestriction, Long venueId, Long organizerId) {
+    
+    public static EventResponse from(Event event) {
+        return new EventResponse(event.getId(), event.getEventName(), event.getDescription(),
+                event.getStartDateTime(), event.getEndDateTime(), event.getCategory(), event.getEventType(),
+                event.getMaxAttendees(), event.getAvailableSpots(), event.getTicketPrice(), event.getIsFreeEvent(),
+                event.getRegistrationDeadline(), event.getStatus(), event.getImageUrl(), event.getEventUrl(),
+                event.getSpecialInstructions(), event.getDressCode(), event.getAgeRestriction(),
+                event.getVenue().getId(), event.getOrganizer().getId());
+    }
+}
@@ -0,0 +1,8 @@
+package com.eventmanagement.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record EventScanResponse(long matched, long registrations, long capacity, double fillRate,
+                                BigDecimal grossRevenue, List<Long> eventIds, long durationMicros) {
+}
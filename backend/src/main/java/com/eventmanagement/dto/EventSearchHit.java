@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+
+public record EventSearchHit(Long eventId, String eventName, Event.EventStatus status,
+                             Event.EventType eventType, float score) {
+}
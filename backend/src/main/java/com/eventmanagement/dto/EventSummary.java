@@ -0,0 +1,17 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Listing row built directly by the query, so neither the long text columns
+ * nor the venue and organizer entities are loaded.
+ */
+public record EventSummary(Long id, String eventName, LocalDateTime startDateTime, LocalDateTime endDateTime,
+                           String category, Event.EventType eventType, Event.EventStatus status,
+                           BigDecimal ticketPrice, Boolean isFreeEvent, Integer maxAttendees,
+                           Integer currentAttendees, Long venueId, String venueName, String venueCity,
+                           Long organizerId, String organizationName) {
+}
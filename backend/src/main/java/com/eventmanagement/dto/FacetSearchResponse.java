@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record FacetSearchResponse(long total, List<Long> ids, Map<String, Map<String, Long>> facets) {
+}
@@ -0,0 +1,8 @@
+package com.eventmanagement.dto;
+
+import java.util.List;
+
+public record ImportReport(String type, int totalRows, int created, int updated, int failed,
+                           long durationMillis, double recordsPerSecond, List<RowError> errors,
+                           boolean errorsTruncated) {
+}
@@ -0,0 +1,14 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.journal.JournalEntry;
+import com.eventmanagement.journal.JournalEntryType;
+
+import java.time.Instant;
+
+public record JournalEntryResponse(Instant at, JournalEntryType type, int seats, int capacity) {
+    
+    public static JournalEntryResponse from(JournalEntry entry) {
+        return new JournalEntryResponse(Instant.ofEpochMilli(entry.timestampMillis()), entry.type(), entry.seats(),
+                entry.capacity());
+    }
+}
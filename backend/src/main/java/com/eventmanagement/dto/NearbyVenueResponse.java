@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record NearbyVenueResponse(VenueView venue, double distanceKm) {
+}
@@ -0,0 +1,16 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.NotificationJob;
+import com.eventmanagement.model.NotificationJob.JobStatus;
+import com.eventmanagement.model.NotificationJob.NotificationType;
+
+import java.time.LocalDateTime;
+
+public record NotificationJobResponse(Long id, Long eventId, NotificationType type, JobStatus status, Long sent,
+                                      String lastError, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    
+    public static NotificationJobResponse from(NotificationJob job) {
+        return new NotificationJobResponse(job.getId(), job.getEventId(), job.getType(), job.getStatus(), job.getSent(),
+                job.getLastError(), job.getCreatedAt(), job.getUpdatedAt());
+    }
+}
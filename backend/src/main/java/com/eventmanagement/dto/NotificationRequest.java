@@ -0,0 +1,9 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.NotificationJob.NotificationType;
+import jakarta.validation.constraints.NotNull;
+
+public record NotificationRequest(
+        @NotNull(message = "Notification type is required")
+        NotificationType type) {
+}
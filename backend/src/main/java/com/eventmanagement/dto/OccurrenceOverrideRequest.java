@@ -0,0 +1,15 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+import jakarta.validation.constraints.Min;
+
+import java.time.LocalDateTime;
+
+// Fields left null keep the occurrence's current values
+public record OccurrenceOverrideRequest(
+        LocalDateTime startDateTime,
+        LocalDateTime endDateTime,
+        @Min(value = 1, message = "Maximum attendees must be at least 1")
+        Integer maxAttendees,
+        Event.EventStatus status) {
+}
@@ -0,0 +1,15 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Event;
+
+import java.time.LocalDateTime;
+
+/**
+ * One occurrence of a recurring series. {@code eventId} is null until the
+ * occurrence is materialized by a registration or an override; until then
+ * it has the template's capacity and no attendees.
+ */
+public record OccurrenceResponse(Long seriesId, LocalDateTime occurrenceStart, Long eventId,
+                                 LocalDateTime startDateTime, LocalDateTime endDateTime, Event.EventStatus status,
+                                 int capacity, int currentAttendees, int availableSpots) {
+}
@@ -0,0 +1,14 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Organizer;
+
+public record OrganizerView(Long id, String organizationName, String contactPerson, String email,
+                            String phoneNumber, String websiteUrl, Organizer.OrganizationType organizationType,
+                            Organizer.OrganizerStatus status) {
+    
+    public static OrganizerView from(Organizer organizer) {
+        return new OrganizerView(organizer.getId(), organizer.getOrganizationName(), organizer.getContactPerson(),
+                organizer.getEmail(), organizer.getPhoneNumber(), organizer.getWebsiteUrl(),
+                organizer.getOrganizationType(), organizer.getStatus());
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+import java.util.List;
+
+public record RebalanceResponse(boolean dryRun, List<Long> loadBefore, List<Long> loadAfter,
+                                List<ShardMoveResponse> moves) {
+}
@@ -0,0 +1,10 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record RecurrenceRequest(
+        @NotBlank(message = "Recurrence rule is required")
+        @Size(max = 200, message = "Recurrence rule must be at most 200 characters")
+        String rule) {
+}
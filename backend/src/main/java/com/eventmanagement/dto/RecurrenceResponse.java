@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record RecurrenceResponse(Long eventId, String rule, List<LocalDateTime> nextOccurrences) {
+}
@@ -0,0 +1,13 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Registration.RegistrationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record RegistrationExportRow(Long registrationId, String confirmationCode, RegistrationStatus status,
+                                    LocalDateTime registrationDate, BigDecimal amountPaid,
+                                    String specialRequirements, Long attendeeId, String firstName,
+                                    String lastName, String email, String phoneNumber, String company,
+                                    String jobTitle, String dietaryRestrictions) {
+}
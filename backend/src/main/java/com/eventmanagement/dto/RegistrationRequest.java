@@ -0,0 +1,14 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record RegistrationRequest(
+        @NotNull(message = "Attendee is required")
+        @Valid
+        AttendeeRequest attendee,
+        
+        UUID holdId) {
+}
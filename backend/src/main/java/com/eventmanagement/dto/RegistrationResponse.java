@@ -0,0 +1,14 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Registration;
+
+import java.time.LocalDateTime;
+
+public record RegistrationResponse(Long id, Long eventId, Long attendeeId, String confirmationCode,
+                                   Registration.RegistrationStatus status, LocalDateTime registrationDate) {
+    
+    public static RegistrationResponse from(Registration registration, Long eventId, Long attendeeId) {
+        return new RegistrationResponse(registration.getId(), eventId, attendeeId,
+                registration.getConfirmationCode(), registration.getStatus(), registration.getRegistrationDate());
+    }
+}
@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record RollupRebuildResponse(int events, int cells, long durationMillis) {
+}
@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+import java.math.BigDecimal;
+
+public record RollupResponse(String group, long events, long registrations, long capacity, double fillRate,
+                             BigDecimal grossRevenue) {
+}
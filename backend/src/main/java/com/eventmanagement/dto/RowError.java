@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record RowError(int row, String field, String message) {
+}
@@ -0,0 +1,11 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record SeatHoldRequest(
+        @Min(value = 1, message = "At least one seat must be held")
+        // A hold is redeemed by one registration, which takes one seat
+        @Max(value = 1, message = "A hold is for one seat")
+        int seats) {
+}
@@ -0,0 +1,13 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.inventory.SeatHold;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SeatHoldResponse(UUID holdId, Long eventId, int seats, Instant expiresAt) {
+    
+    public static SeatHoldResponse from(SeatHold hold) {
+        return new SeatHoldResponse(hold.holdId(), hold.eventId(), hold.seats(), hold.expiresAt());
+    }
+}
@@ -0,0 +1,10 @@
+package com.eventmanagement.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record ShardMoveRequest(
+        @NotNull(message = "Target shard is required")
+        @Min(value = 0, message = "Target shard must not be negative")
+        Integer target) {
+}
@@ -0,0 +1,5 @@
+package com.eventmanagement.dto;
+
+public record ShardMoveResponse(Long organizerId, int fromShard, int toShard, long events, long registrations,
+                                long durationMillis) {
+}
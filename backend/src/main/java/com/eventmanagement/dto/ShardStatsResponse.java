@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record ShardStatsResponse(int shard, long organizers, long events, long registrations) {
+}
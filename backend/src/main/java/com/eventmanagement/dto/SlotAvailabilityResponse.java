@@ -0,0 +1,7 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+public record SlotAvailabilityResponse(Long venueId, LocalDateTime start, LocalDateTime end,
+                                       boolean available, Long conflictingEventId) {
+}
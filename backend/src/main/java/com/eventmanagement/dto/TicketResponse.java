@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record TicketResponse(Long eventId, Long registrationId, String token) {
+}
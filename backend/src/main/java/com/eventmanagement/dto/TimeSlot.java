@@ -0,0 +1,6 @@
+package com.eventmanagement.dto;
+
+import java.time.LocalDateTime;
+
+public record TimeSlot(LocalDateTime start, LocalDateTime end) {
+}
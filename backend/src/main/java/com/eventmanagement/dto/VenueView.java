@@ -0,0 +1,17 @@
+package com.eventmanagement.dto;
+
+import com.eventmanagement.model.Venue;
+
+public record VenueView(Long id, String venueName, String fullAddress, String city, String country,
+                        Double latitude, Double longitude, Integer capacity, String amenities,
+                        Boolean parkingAvailable, Boolean wifiAvailable, Boolean cateringAvailable,
+                        Boolean avEquipmentAvailable, Venue.VenueStatus status, String imageUrl) {
+    
+    public static VenueView from(Venue venue) {
+        return new VenueView(venue.getId(), venue.getVenueName(), venue.getFullAddress(), venue.getCity(),
+                venue.getCountry(), venue.getLatitude(), venue.getLongitude(), venue.getCapacity(),
+                venue.getAmenities(), venue.getParkingAvailable(), venue.getWifiAvailable(),
+                venue.getCateringAvailable(), venue.getAvEquipmentAvailable(), venue.getStatus(),
+                venue.getImageUrl());
+    }
+}
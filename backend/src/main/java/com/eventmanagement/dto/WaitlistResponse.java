@@ -0,0 +1,4 @@
+package com.eventmanagement.dto;
+
+public record WaitlistResponse(Long eventId, String email, long position, int waiting) {
+}
@@ -0,0 +1,36 @@
+package com.eventmanagement.exception;
+
+/**
+ * The registration was not let through to the database. With a ticket the
+ * caller holds a place in the event's virtual queue and should retry with it
+ * after the hinted delay; without one the request was shed outright.
+ */
+public class AdmissionRejectedException extends RuntimeException {
+    private final Long eventId;
+    private final long retryAfterSeconds;
+    private final String ticket;
+    private final long position;
+    
+    public AdmissionRejectedException(Long eventId, long retryAfterSeconds, String ticket, long position) {
+        super(ticket != null
+                ? "Event " + eventId + " is busy, you are number " + position + " in the queue"
+                : "Event " + eventId + " is too busy to queue more requests, please retry later");
+        this.eventId = eventId;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.ticket = ticket;
+        this.position = position;
+    }
+    
+    public AdmissionRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.eventId = null;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.ticket = null;
+        this.position = 0;
+    }
+    
+    public Long getEventId() { return eventId; }
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    public String getTicket() { return ticket; }
+    public long getPosition() { return position; }
+}
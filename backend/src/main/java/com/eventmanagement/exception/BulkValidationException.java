@@ -0,0 +1,16 @@
+package com.eventmanagement.exception;
+
+import com.eventmanagement.dto.RowError;
+
+import java.util.List;
+
+public class BulkValidationException extends RuntimeException {
+    private final List<RowError> errors;
+    
+    public BulkValidationException(List<RowError> errors) {
+        super(errors.size() + " row(s) failed validation");
+        this.errors = errors;
+    }
+    
+    public List<RowError> getErrors() { return errors; }
+}
@@ -0,0 +1,90 @@
+package com.eventmanagement.exception;
+
+import com.eventmanagement.admission.AdmissionService;
+import com.eventmanagement.dto.ErrorResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.List;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+    
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()));
+    }
+    
+    @ExceptionHandler(SeatsUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSeatsUnavailable(SeatsUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage()));
+    }
+    
+    @ExceptionHandler({RegistrationClosedException.class, DuplicateRegistrationException.class,
+            VenueBookingConflictException.class})
+    public ResponseEntity<ErrorResponse> handleRegistrationConflict(RuntimeException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(new ErrorResponse(HttpStatus.CONFLICT.value(), ex.getMessage()));
+    }
+    
+    // Queued requests get 429 with their ticket; shed ones get 503. Both say when to come back
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleAdmissionRejected(AdmissionRejectedException ex) {
+        HttpStatus status = ex.getTicket() != null ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        if (ex.getTicket() != null) {
+            response.header(AdmissionService.TICKET_HEADER, ex.getTicket())
+                    .header(AdmissionService.POSITION_HEADER, String.valueOf(ex.getPosition()));
+        }
+        return response.body(new ErrorResponse(status.value(), ex.getMessage()));
+    }
+    
+    // The organizer's rows are being copied to another shard
+    @ExceptionHandler(ShardMoveInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleShardMove(ShardMoveInProgressException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), ex.getMessage()));
+    }
+    
+    @ExceptionHandler(BulkValidationException.class)
+    public ResponseEntity<ErrorResponse> handleBulkValidation(BulkValidationException ex) {
+        List<String> details = ex.getErrors().stream()
+                .map(error -> "row " + error.row() + (error.field() != null ? ", " + error.field() : "") + ": " + error.message())
+                .toList();
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage(), details));
+    }
+    
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
+        List<String> details = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .toList();
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Validation failed", details));
+    }
+    
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest()
+                .body(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage()));
+    }
+    
+    // No pooled connection became free within the Hikari connection timeout;
+    // shedding the request beats queueing it behind the database
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleDatabaseBusy(CannotCreateTransactionException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "Database is busy, please retry"));
+    }
+}
@@ -0,0 +1,7 @@
+package com.eventmanagement.exception;
+
+public class RegistrationClosedException extends RuntimeException {
+    public RegistrationClosedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.eventmanagement.exception;
+
+public class SeatsUnavailableException extends RuntimeException {
+    private final Long eventId;
+    private final int requested;
+    private final int available;
+    
+    public SeatsUnavailableException(Long eventId, int requested, int available) {
+        super("Event " + eventId + " has " + available + " spots left, " + requested + " requested");
+        this.eventId = eventId;
+        this.requested = requested;
+        this.available = available;
+    }
+    
+    public Long getEventId() { return eventId; }
+    public int getRequested() { return requested; }
+    public int getAvailable() { return available; }
+}
@@ -0,0 +1,12 @@
+package com.eventmanagement.exception;
+
+public class ShardMoveInProgressException extends RuntimeException {
+    private final long retryAfterSeconds;
+    
+    public ShardMoveInProgressException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
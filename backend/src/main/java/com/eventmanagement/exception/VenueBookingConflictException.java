@@ -0,0 +1,15 @@
+package com.eventmanagement.exception;
+
+public class VenueBookingConflictException extends RuntimeException {
+    private final Long venueId;
+    private final Long conflictingEventId;
+    
+    public VenueBookingConflictException(Long venueId, Long conflictingEventId) {
+        super("Venue " + venueId + " is already booked by event " + conflictingEventId + " for the requested time");
+        this.venueId = venueId;
+        this.conflictingEventId = conflictingEventId;
+    }
+    
+    public Long getVenueId() { return venueId; }
+    public Long getConflictingEventId() { return conflictingEventId; }
+}
@@ -0,0 +1,30 @@
+package com.eventmanagement.facet;
+
+import java.util.Locale;
+
+public enum EventFacet implements FacetField {
+    EVENT_TYPE("eventType", true),
+    STATUS("status", true),
+    CATEGORY("category", false),
+    FREE("free", false),
+    AGE_RESTRICTION("ageRestriction", false);
+    
+    private final String param;
+    private final boolean enumValued;
+    
+    EventFacet(String param, boolean enumValued) {
+        this.param = param;
+        this.enumValued = enumValued;
+    }
+    
+    @Override
+    public String param() {
+        return param;
+    }
+    
+    @Override
+    public String normalize(String value) {
+        String trimmed = value.trim();
+        return enumValued ? trimmed.toUpperCase(Locale.ROOT) : trimmed.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.eventmanagement.facet;
+
+import com.eventmanagement.dto.FacetSearchResponse;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class EventFacetIndex {
+    private static final Logger log = LoggerFactory.getLogger(EventFacetIndex.class);
+    
+    private final EventRepository eventRepository;
+    private final ShardRouter shardRouter;
+    private final int rebuildPageSize;
+    private final FacetIndex<EventFacet> index = new FacetIndex<>(EventFacet.class);
+    
+    public EventFacetIndex(EventRepository eventRepository,
+                           ShardRouter shardRouter,
+                           @Value("${facet.rebuild-page-size:5000}") int rebuildPageSize) {
+        this.eventRepository = eventRepository;
+        this.shardRouter = shardRouter;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.run(shard, this::load);
+        }
+        index.optimize();
+        log.info("Event facet index built: {} events in {} ms", index.size(), System.currentTimeMillis() - started);
+    }
+    
+    public FacetSearchResponse search(Map<String, List<String>> facets, int limit) {
+        return index.query(FacetIndex.selection(EventFacet.class, facets), limit);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            index.remove(change.eventId());
+        } else {
+            index.put(change.eventId(), EventFacetRow.from(change.event()).facets());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        for (Long eventId : change.eventIds()) {
+            index.update(eventId, EventFacet.STATUS, change.status().name());
+        }
+    }
+    
+    // Pages through the current shard's events
+    private void load() {
+        long afterId = 0;
+        List<EventFacetRow> page;
+        do {
+            page = eventRepository.findFacetRows(afterId, PageRequest.of(0, rebuildPageSize));
+            Map<Long, Map<EventFacet, Set<String>>> rows = new HashMap<>(page.size() * 2);
+            page.forEach(row -> rows.put(row.eventId(), row.facets()));
+            index.putAll(rows);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).eventId();
+            }
+        } while (page.size() == rebuildPageSize);
+    }
+}
@@ -0,0 +1,35 @@
+package com.eventmanagement.facet;
+
+import com.eventmanagement.model.Event;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+public record EventFacetRow(Long eventId, Event.EventType eventType, Event.EventStatus status, String category,
+                            Boolean isFreeEvent, String ageRestriction) {
+    
+    static final String NONE = "none";
+    
+    public static EventFacetRow from(Event event) {
+        return new EventFacetRow(event.getId(), event.getEventType(), event.getStatus(), event.getCategory(),
+                event.getIsFreeEvent(), event.getAgeRestriction());
+    }
+    
+    Map<EventFacet, Set<String>> facets() {
+        Map<EventFacet, Set<String>> facets = new EnumMap<>(EventFacet.class);
+        if (eventType != null) {
+            facets.put(EventFacet.EVENT_TYPE, Set.of(eventType.name()));
+        }
+        if (status != null) {
+            facets.put(EventFacet.STATUS, Set.of(status.name()));
+        }
+        if (category != null && !category.isBlank()) {
+            facets.put(EventFacet.CATEGORY, Set.of(EventFacet.CATEGORY.normalize(category)));
+        }
+        facets.put(EventFacet.FREE, Set.of(String.valueOf(Boolean.TRUE.equals(isFreeEvent))));
+        facets.put(EventFacet.AGE_RESTRICTION, Set.of(ageRestriction == null || ageRestriction.isBlank()
+                ? NONE : EventFacet.AGE_RESTRICTION.normalize(ageRestriction)));
+        return facets;
+    }
+}
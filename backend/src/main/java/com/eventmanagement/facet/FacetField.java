@@ -0,0 +1,13 @@
+package com.eventmanagement.facet;
+
+/**
+ * An attribute a {@link FacetIndex} keeps one bitmap per value for. The
+ * request parameter name and value normalization live with the field so
+ * indexing and querying fold values the same way.
+ */
+public interface FacetField {
+    
+    String param();
+    
+    String normalize(String value);
+}
@@ -0,0 +1,270 @@
+package com.eventmanagement.facet;
+
+import com.eventmanagement.dto.FacetSearchResponse;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One compressed bitmap of row ids per facet value. Values selected within a
+ * field are OR-ed and fields are AND-ed; each field's counts are taken
+ * against the other fields' selections only, so the UI can offer the
+ * alternatives to what is already picked. Bitmaps hold ints and entity ids
+ * are longs that grow by the shard stride, so each id is given a dense row
+ * number; rows freed by removals are handed out again. Matching ids come
+ * back in row order, which is load order apart from reused rows.
+ */
+public class FacetIndex<F extends Enum<F> & FacetField> {
+    
+    private final Class<F> fieldType;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // All fields below are guarded by lock
+    private final Map<F, Map<String, RoaringBitmap>> bitmaps;
+    private final Map<Long, Integer> rowsById = new HashMap<>();
+    private final List<Map<F, Set<String>>> documents = new ArrayList<>();
+    private long[] idsByRow = new long[1024];
+    private final RoaringBitmap freeRows = new RoaringBitmap();
+    private final RoaringBitmap all = new RoaringBitmap();
+    
+    public FacetIndex(Class<F> fieldType) {
+        this.fieldType = fieldType;
+        this.bitmaps = new EnumMap<>(fieldType);
+        for (F field : fieldType.getEnumConstants()) {
+            bitmaps.put(field, new HashMap<>());
+        }
+    }
+    
+    /**
+     * Parses request parameters named after {@link FacetField#param()} into
+     * a selection; any other name is rejected.
+     */
+    public static <F extends Enum<F> & FacetField> Map<F, Set<String>> selection(Class<F> fieldType,
+                                                                              Map<String, List<String>> params) {
+        Map<String, F> byParam = new HashMap<>();
+        for (F field : fieldType.getEnumConstants()) {
+            byParam.put(field.param(), field);
+        }
+        Map<F, Set<String>> selection = new EnumMap<>(fieldType);
+        params.forEach((param, values) -> {
+            F field = byParam.get(param);
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown facet: " + param);
+            }
+            Set<String> normalized = selection.computeIfAbsent(field, f -> new HashSet<>());
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    normalized.add(field.normalize(value));
+                }
+            }
+        });
+        return selection;
+    }
+    
+    public void put(long id, Map<F, Set<String>> facets) {
+        lock.writeLock().lock();
+        try {
+            putLocked(rowFor(id), facets);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void putAll(Map<Long, Map<F, Set<String>>> rows) {
+        lock.writeLock().lock();
+        try {
+            rows.forEach((id, facets) -> putLocked(rowFor(id), facets));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Replaces the values of one field for a row already in the index.
+     */
+    public void update(long id, F field, String value) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.get(id);
+            if (row != null) {
+                Map<F, Set<String>> current = documents.get(row);
+                Map<F, Set<String>> updated = new EnumMap<>(current);
+                updated.put(field, Set.of(value));
+                putLocked(row, updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rowsById.remove(id);
+            if (row != null) {
+                removeValues(row, documents.set(row, null));
+                all.remove(row);
+                freeRows.add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(Map::clear);
+            rowsById.clear();
+            documents.clear();
+            freeRows.clear();
+            all.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Converts long runs to run-length containers; boolean facets over
+     * sequential ids compress well this way. Worth calling after a bulk load.
+     */
+    public void optimize() {
+        lock.writeLock().lock();
+        try {
+            all.runOptimize();
+            bitmaps.values().forEach(values -> values.values().forEach(RoaringBitmap::runOptimize));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public FacetSearchResponse query(Map<F, Set<String>> selection, int limit) {
+        lock.readLock().lock();
+        try {
+            Map<F, RoaringBitmap> filters = new EnumMap<>(fieldType);
+            selection.forEach((field, values) -> {
+                if (!values.isEmpty()) {
+                    Map<String, RoaringBitmap> byValue = bitmaps.get(field);
+                    List<RoaringBitmap> selected = new ArrayList<>(values.size());
+                    for (String value : values) {
+                        RoaringBitmap bitmap = byValue.get(value);
+                        if (bitmap != null) {
+                            selected.add(bitmap);
+                        }
+                    }
+                    filters.put(field, FastAggregation.or(selected.iterator()));
+                }
+            });
+            
+            RoaringBitmap matches = intersect(filters, null);
+            List<Long> ids = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+            IntIterator rows = matches.getIntIterator();
+            while (ids.size() < limit && rows.hasNext()) {
+                ids.add(idsByRow[rows.next()]);
+            }
+            
+            Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+            for (F field : fieldType.getEnumConstants()) {
+                RoaringBitmap base = intersect(filters, field);
+                List<Map.Entry<String, Long>> counts = new ArrayList<>();
+                bitmaps.get(field).forEach((value, bitmap) -> {
+                    long count = base == all ? bitmap.getLongCardinality() : RoaringBitmap.andCardinality(base, bitmap);
+                    if (count > 0) {
+                        counts.add(Map.entry(value, count));
+                    }
+                });
+                counts.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()));
+                Map<String, Long> ordered = new LinkedHashMap<>();
+                counts.forEach(entry -> ordered.put(entry.getKey(), entry.getValue()));
+                facets.put(field.param(), ordered);
+            }
+            return new FacetSearchResponse(matches.getLongCardinality(), ids, facets);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // The returned bitmap may be one of the index's own; callers only read it
+    private RoaringBitmap intersect(Map<F, RoaringBitmap> filters, F excluded) {
+        RoaringBitmap result = null;
+        for (Map.Entry<F, RoaringBitmap> filter : filters.entrySet()) {
+            if (filter.getKey() != excluded) {
+                result = result == null ? filter.getValue() : RoaringBitmap.and(result, filter.getValue());
+            }
+        }
+        return result != null ? result : all;
+    }
+    
+    private int rowFor(long id) {
+        Integer existing = rowsById.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        int row;
+        if (freeRows.isEmpty()) {
+            row = documents.size();
+            documents.add(null);
+            if (row == idsByRow.length) {
+                idsByRow = Arrays.copyOf(idsByRow, row * 2);
+            }
+        } else {
+            row = freeRows.first();
+            freeRows.remove(row);
+        }
+        idsByRow[row] = id;
+        rowsById.put(id, row);
+        return row;
+    }
+    
+    private void putLocked(int row, Map<F, Set<String>> facets) {
+        Map<F, Set<String>> previous = documents.set(row, facets);
+        if (previous != null) {
+            removeValues(row, previous);
+        }
+        facets.forEach((field, values) -> {
+            Map<String, RoaringBitmap> byValue = bitmaps.get(field);
+            for (String value : values) {
+                byValue.computeIfAbsent(value, v -> new RoaringBitmap()).add(row);
+            }
+        });
+        all.add(row);
+    }
+    
+    private void removeValues(int row, Map<F, Set<String>> facets) {
+        facets.forEach((field, values) -> {
+            Map<String, RoaringBitmap> byValue = bitmaps.get(field);
+            for (String value : values) {
+                RoaringBitmap bitmap = byValue.get(value);
+                if (bitmap != null) {
+                    bitmap.remove(row);
+                    if (bitmap.isEmpty()) {
+                        byValue.remove(value);
+                    }
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package com.eventmanagement.facet;
+
+import java.util.Locale;
+
+public enum VenueFacet implements FacetField {
+    PARKING("parking"),
+    WIFI("wifi"),
+    CATERING("catering"),
+    AV_EQUIPMENT("avEquipment"),
+    AMENITY("amenity");
+    
+    private final String param;
+    
+    VenueFacet(String param) {
+        this.param = param;
+    }
+    
+    @Override
+    public String param() {
+        return param;
+    }
+    
+    @Override
+    public String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventmanagement.facet;
+
+import com.eventmanagement.dto.FacetSearchResponse;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.VenueChangedEvent;
+import com.eventmanagement.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class VenueFacetIndex {
+    private static final Logger log = LoggerFactory.getLogger(VenueFacetIndex.class);
+    
+    private final VenueRepository venueRepository;
+    private final int rebuildPageSize;
+    private final FacetIndex<VenueFacet> index = new FacetIndex<>(VenueFacet.class);
+    
+    public VenueFacetIndex(VenueRepository venueRepository,
+                           @Value("${facet.rebuild-page-size:5000}") int rebuildPageSize) {
+        this.venueRepository = venueRepository;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        index.clear();
+        long afterId = 0;
+        List<VenueFacetRow> page;
+        do {
+            page = venueRepository.findFacetRows(afterId, PageRequest.of(0, rebuildPageSize));
+            Map<Long, Map<VenueFacet, Set<String>>> rows = new HashMap<>(page.size() * 2);
+            page.forEach(row -> rows.put(row.venueId(), row.facets()));
+            index.putAll(rows);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).venueId();
+            }
+        } while (page.size() == rebuildPageSize);
+        index.optimize();
+        log.info("Venue facet index built: {} venues in {} ms", index.size(), System.currentTimeMillis() - started);
+    }
+    
+    public FacetSearchResponse search(Map<String, List<String>> facets, int limit) {
+        return index.query(FacetIndex.selection(VenueFacet.class, facets), limit);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            index.remove(change.venueId());
+        } else {
+            index.put(change.venueId(), VenueFacetRow.from(change.venue()).facets());
+        }
+    }
+}
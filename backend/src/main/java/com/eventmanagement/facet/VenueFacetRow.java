@@ -0,0 +1,45 @@
+package com.eventmanagement.facet;
+
+import com.eventmanagement.model.Venue;
+
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public record VenueFacetRow(Long venueId, Boolean parkingAvailable, Boolean wifiAvailable,
+                            Boolean cateringAvailable, Boolean avEquipmentAvailable, String amenities) {
+    
+    // The amenities column is free text, conventionally a comma separated list
+    private static final Pattern AMENITY_SEPARATOR = Pattern.compile("[,;\\n]");
+    
+    public static VenueFacetRow from(Venue venue) {
+        return new VenueFacetRow(venue.getId(), venue.getParkingAvailable(), venue.getWifiAvailable(),
+                venue.getCateringAvailable(), venue.getAvEquipmentAvailable(), venue.getAmenities());
+    }
+    
+    Map<VenueFacet, Set<String>> facets() {
+        Map<VenueFacet, Set<String>> facets = new EnumMap<>(VenueFacet.class);
+        facets.put(VenueFacet.PARKING, flag(parkingAvailable));
+        facets.put(VenueFacet.WIFI, flag(wifiAvailable));
+        facets.put(VenueFacet.CATERING, flag(cateringAvailable));
+        facets.put(VenueFacet.AV_EQUIPMENT, flag(avEquipmentAvailable));
+        if (amenities != null) {
+            Set<String> values = new HashSet<>();
+            for (String amenity : AMENITY_SEPARATOR.split(amenities)) {
+                if (!amenity.isBlank()) {
+                    values.add(VenueFacet.AMENITY.normalize(amenity).replaceAll("\\s+", " "));
+                }
+            }
+            if (!values.isEmpty()) {
+                facets.put(VenueFacet.AMENITY, values);
+            }
+        }
+        return facets;
+    }
+    
+    private static Set<String> flag(Boolean value) {
+        return Set.of(String.valueOf(Boolean.TRUE.equals(value)));
+    }
+}
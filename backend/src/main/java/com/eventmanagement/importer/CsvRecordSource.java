@@ -0,0 +1,99 @@
+package com.eventmanagement.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 reader: the first line is the header, fields may be quoted and
+ * quoted fields may contain commas, doubled quotes and line breaks.
+ */
+class CsvRecordSource implements RecordSource {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Reader reader;
+    private final List<String> header;
+    private final StringBuilder field = new StringBuilder();
+    
+    CsvRecordSource(InputStream in) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<String> names = readLine();
+        if (names == null) {
+            throw new IllegalArgumentException("CSV input is empty, expected a header line");
+        }
+        this.header = new ArrayList<>(names.size());
+        for (String name : names) {
+            // A UTF-8 byte order mark would otherwise stick to the first column name
+            header.add(name.replace("\uFEFF", "").trim());
+        }
+    }
+    
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> values;
+        do {
+            values = readLine();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty());
+        
+        Map<String, String> record = new LinkedHashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), i < values.size() ? values.get(i) : null);
+        }
+        return record;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private List<String> readLine() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> values = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        values.add(field.toString());
+        return values;
+    }
+}
@@ -0,0 +1,27 @@
+package com.eventmanagement.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+public enum ImportFormat {
+    CSV, JSON;
+    
+    public RecordSource open(InputStream in, ObjectMapper objectMapper) throws IOException {
+        return this == CSV ? new CsvRecordSource(in) : new JsonRecordSource(in, objectMapper);
+    }
+    
+    public static ImportFormat detect(String filename, String contentType) {
+        String name = filename != null ? filename.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".json") || type.contains("json")) {
+            return JSON;
+        }
+        if (name.endsWith(".csv") || type.contains("csv")) {
+            return CSV;
+        }
+        throw new IllegalArgumentException("Unsupported import format, expected a .csv or .json file");
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventmanagement.importer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads a top-level JSON array one object at a time with the streaming
+ * parser instead of binding the whole document.
+ */
+class JsonRecordSource implements RecordSource {
+    
+    private final JsonParser parser;
+    private final ObjectMapper objectMapper;
+    
+    JsonRecordSource(InputStream in, ObjectMapper objectMapper) throws IOException {
+        this.parser = objectMapper.getFactory().createParser(in);
+        this.objectMapper = objectMapper;
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("JSON input must be an array of objects");
+        }
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, String> next() throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Expected a JSON object at line " + parser.currentLocation().getLineNr());
+        }
+        Map<String, Object> object = objectMapper.readValue(parser, Map.class);
+        Map<String, String> record = new LinkedHashMap<>(object.size() * 2);
+        object.forEach((name, value) -> record.put(name, value != null ? String.valueOf(value) : null));
+        return record;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.eventmanagement.importer;
+
+import com.eventmanagement.dto.RowError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Typed access to a raw record. Conversion failures are collected as row
+ * errors rather than thrown, so one pass reports every bad field.
+ */
+public class RecordFields {
+    
+    private final int row;
+    private final Map<String, String> values;
+    private final List<RowError> errors = new ArrayList<>();
+    
+    public RecordFields(int row, Map<String, String> values) {
+        this.row = row;
+        this.values = values;
+    }
+    
+    public String text(String name) {
+        String value = values.get(name);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+    
+    public Integer integer(String name) {
+        String value = text(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return reject(name, "Must be a whole number");
+        }
+    }
+    
+    public Double decimal(String name) {
+        String value = text(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.valueOf(value);
+        } catch (NumberFormatException e) {
+            return reject(name, "Must be a number");
+        }
+    }
+    
+    public Boolean bool(String name) {
+        String value = text(name);
+        if (value == null) {
+            return null;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1":
+                return Boolean.TRUE;
+            case "false", "no", "n", "0":
+                return Boolean.FALSE;
+            default:
+                return reject(name, "Must be true or false");
+        }
+    }
+    
+    public <E extends Enum<E>> E enumValue(String name, Class<E> type) {
+        String value = text(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return reject(name, "Unknown value '" + value + "'");
+        }
+    }
+    
+    public int row() {
+        return row;
+    }
+    
+    public List<RowError> errors() {
+        return errors;
+    }
+    
+    private <T> T reject(String name, String message) {
+        errors.add(new RowError(row, name, message));
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventmanagement.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pull-based reader yielding one record at a time as field name to raw value,
+ * so an import never holds more than the current batch in memory.
+ */
+public interface RecordSource extends Closeable {
+    
+    /**
+     * Returns the next record, or null at the end of the input.
+     */
+    Map<String, String> next() throws IOException;
+}
@@ -0,0 +1,10 @@
+package com.eventmanagement.index;
+
+import java.time.LocalDateTime;
+
+public record Booking(Long eventId, Long venueId, LocalDateTime start, LocalDateTime end) {
+    
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
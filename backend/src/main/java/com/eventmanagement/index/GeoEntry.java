@@ -0,0 +1,17 @@
+package com.eventmanagement.index;
+
+/**
+ * Flattened venue as stored in a grid cell: primitives only, so a cell scan
+ * filters on capacity and amenities without touching any other object.
+ */
+record GeoEntry(long venueId, double latitude, double longitude, int capacity, int amenities) {
+    
+    static GeoEntry from(VenueLocation location) {
+        return new GeoEntry(location.venueId(), location.latitude(), location.longitude(),
+                location.capacity() != null ? location.capacity() : 0, location.amenityMask());
+    }
+    
+    boolean matches(int minCapacity, int amenityMask) {
+        return capacity >= minCapacity && (amenities & amenityMask) == amenityMask;
+    }
+}
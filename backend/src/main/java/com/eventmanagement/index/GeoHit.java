@@ -0,0 +1,4 @@
+package com.eventmanagement.index;
+
+public record GeoHit(Long venueId, double distanceKm) {
+}
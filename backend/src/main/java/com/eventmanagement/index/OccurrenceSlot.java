@@ -0,0 +1,6 @@
+package com.eventmanagement.index;
+
+import java.time.LocalDateTime;
+
+public record OccurrenceSlot(Long templateId, LocalDateTime occurrenceStart, Long eventId) {
+}
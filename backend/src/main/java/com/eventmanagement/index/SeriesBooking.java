@@ -0,0 +1,36 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.recurrence.RecurrenceRule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The venue slots a recurring series holds: one per occurrence of its rule,
+ * each as long as the template. Occurrences that have an Event row of their
+ * own are booked by that row instead, so callers pass their slots to skip.
+ */
+public record SeriesBooking(Long templateId, Long venueId, LocalDateTime start, Duration length, RecurrenceRule rule) {
+    
+    public SeriesBooking(Long templateId, Long venueId, LocalDateTime start, LocalDateTime end, String rule) {
+        this(templateId, venueId, start, Duration.between(start, end), RecurrenceRule.parse(rule));
+    }
+    
+    /**
+     * The earliest occurrence not in {@code materialized} that overlaps
+     * [from, to).
+     */
+    public Optional<Booking> firstOverlapping(LocalDateTime from, LocalDateTime to,
+                                              Map<LocalDateTime, Long> materialized) {
+        // Starting after from - length is what makes an occurrence reach into the window
+        for (LocalDateTime slot : rule.between(start, from.minus(length), to, Integer.MAX_VALUE)) {
+            Booking occurrence = new Booking(templateId, venueId, slot, slot.plus(length));
+            if (occurrence.overlaps(from, to) && !materialized.containsKey(slot)) {
+                return Optional.of(occurrence);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,21 @@
+package com.eventmanagement.index;
+
+import java.util.Collection;
+
+public enum VenueAmenity {
+    PARKING, WIFI, CATERING, AV_EQUIPMENT;
+    
+    public int bit() {
+        return 1 << ordinal();
+    }
+    
+    public static int mask(Collection<VenueAmenity> amenities) {
+        int mask = 0;
+        if (amenities != null) {
+            for (VenueAmenity amenity : amenities) {
+                mask |= amenity.bit();
+            }
+        }
+        return mask;
+    }
+}
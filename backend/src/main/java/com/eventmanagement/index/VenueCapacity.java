@@ -0,0 +1,4 @@
+package com.eventmanagement.index;
+
+public record VenueCapacity(Long venueId, Integer capacity) {
+}
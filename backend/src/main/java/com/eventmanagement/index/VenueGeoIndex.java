@@ -0,0 +1,287 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Active venues bucketed into a fixed latitude/longitude grid. Each cell is
+ * an immutable array replaced on write, so lookups scan a handful of cells
+ * without locking; venue edits are rare enough that copying a cell is cheap.
+ */
+@Component
+public class VenueGeoIndex {
+    private static final Logger log = LoggerFactory.getLogger(VenueGeoIndex.class);
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final GeoEntry[] EMPTY = new GeoEntry[0];
+    private static final Comparator<GeoHit> BY_DISTANCE =
+            Comparator.comparingDouble(GeoHit::distanceKm).thenComparing(GeoHit::venueId);
+    
+    private final VenueRepository venueRepository;
+    private final double cellDegrees;
+    private final double cellKm;
+    private final int latCells;
+    private final int lonCells;
+    private final Map<Long, GeoEntry[]> cells = new ConcurrentHashMap<>();
+    private final Map<Long, GeoEntry> entriesByVenue = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    
+    public VenueGeoIndex(VenueRepository venueRepository,
+                         @Value("${venue.geo.cell-degrees:0.1}") double cellDegrees) {
+        long cellsAround = Math.round(360 / cellDegrees);
+        if (cellDegrees <= 0 || Math.abs(cellsAround * cellDegrees - 360) > 1e-9) {
+            throw new IllegalArgumentException("venue.geo.cell-degrees must divide 360, got " + cellDegrees);
+        }
+        this.venueRepository = venueRepository;
+        this.cellDegrees = cellDegrees;
+        this.cellKm = cellDegrees * KM_PER_DEGREE;
+        this.lonCells = (int) cellsAround;
+        this.latCells = (int) Math.ceil(lonCells / 2.0);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        Map<Long, List<GeoEntry>> byCell = new HashMap<>();
+        Map<Long, GeoEntry> byVenue = new HashMap<>();
+        for (VenueLocation location : venueRepository.findLocations(Venue.VenueStatus.ACTIVE)) {
+            GeoEntry entry = GeoEntry.from(location);
+            byVenue.put(entry.venueId(), entry);
+            byCell.computeIfAbsent(cellOf(entry.latitude(), entry.longitude()), k -> new ArrayList<>()).add(entry);
+        }
+        writeLock.lock();
+        try {
+            cells.clear();
+            entriesByVenue.clear();
+            byCell.forEach((cell, entries) -> cells.put(cell, entries.toArray(EMPTY)));
+            entriesByVenue.putAll(byVenue);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Venue geo index built: {} venues in {} cells in {} ms",
+                byVenue.size(), byCell.size(), System.currentTimeMillis() - started);
+    }
+    
+    /**
+     * Venues within {@code radiusKm} of the point, nearest first.
+     */
+    public List<GeoHit> withinRadius(double latitude, double longitude, double radiusKm,
+                                     int minCapacity, int amenityMask, int limit) {
+        checkPoint(latitude, longitude);
+        if (radiusKm <= 0) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        int rowFrom = row(Math.max(-90, latitude - latSpan));
+        int rowTo = row(Math.min(90, latitude + latSpan));
+        // Bounding box of a spherical cap; a cap covering a pole spans every longitude
+        double angular = radiusKm / EARTH_RADIUS_KM;
+        boolean coversPole = Math.abs(latitude) + latSpan >= 90 || angular >= Math.PI / 2;
+        double lonSpan = coversPole ? 180
+                : Math.toDegrees(Math.asin(Math.min(1, Math.sin(angular) / Math.cos(Math.toRadians(latitude)))));
+        int colFrom;
+        int colTo;
+        if (lonSpan >= 180) {
+            colFrom = 0;
+            colTo = lonCells - 1;
+        } else {
+            colFrom = (int) Math.floor((longitude - lonSpan + 180) / cellDegrees);
+            colTo = (int) Math.floor((longitude + lonSpan + 180) / cellDegrees);
+            colTo = Math.min(colTo, colFrom + lonCells - 1);
+        }
+        
+        List<GeoHit> hits = new ArrayList<>();
+        for (int row = rowFrom; row <= rowTo; row++) {
+            for (int col = colFrom; col <= colTo; col++) {
+                for (GeoEntry entry : cell(row, col)) {
+                    if (Math.abs(entry.latitude() - latitude) > latSpan || !entry.matches(minCapacity, amenityMask)) {
+                        continue;
+                    }
+                    double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+                    if (distance <= radiusKm) {
+                        hits.add(new GeoHit(entry.venueId(), distance));
+                    }
+                }
+            }
+        }
+        hits.sort(BY_DISTANCE);
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+    
+    /**
+     * The {@code k} nearest venues no further than {@code maxRadiusKm}, nearest
+     * first. Cells are visited in square rings around the point and the search
+     * stops once no unvisited ring can hold anything closer than the current k-th.
+     */
+    public List<GeoHit> nearest(double latitude, double longitude, int k,
+                                int minCapacity, int amenityMask, double maxRadiusKm) {
+        checkPoint(latitude, longitude);
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<GeoHit> best = new PriorityQueue<>(k, BY_DISTANCE.reversed());
+        int centerRow = row(latitude);
+        int centerCol = col(longitude);
+        // Every column gets exactly one offset in [minOffset, maxOffset], so
+        // each cell belongs to exactly one ring even once rings wrap the globe
+        int minOffset = -((lonCells - 1) / 2);
+        int maxOffset = lonCells / 2;
+        int maxRing = Math.max(latCells, maxOffset);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int dr = -ring; dr <= ring; dr++) {
+                int row = centerRow + dr;
+                if (row < 0 || row >= latCells) {
+                    continue;
+                }
+                if (Math.abs(dr) == ring) {
+                    for (int dc = Math.max(-ring, minOffset); dc <= Math.min(ring, maxOffset); dc++) {
+                        collect(cell(row, centerCol + dc), latitude, longitude, k, minCapacity, amenityMask,
+                                maxRadiusKm, best);
+                    }
+                } else {
+                    if (-ring >= minOffset) {
+                        collect(cell(row, centerCol - ring), latitude, longitude, k, minCapacity, amenityMask,
+                                maxRadiusKm, best);
+                    }
+                    if (ring <= maxOffset) {
+                        collect(cell(row, centerCol + ring), latitude, longitude, k, minCapacity, amenityMask,
+                                maxRadiusKm, best);
+                    }
+                }
+            }
+            double bound = ringDistanceBound(latitude, ring);
+            if (bound > maxRadiusKm || (best.size() == k && best.peek().distanceKm() <= bound)) {
+                break;
+            }
+        }
+        List<GeoHit> hits = new ArrayList<>(best);
+        hits.sort(BY_DISTANCE);
+        return hits;
+    }
+    
+    public void apply(Venue.VenueStatus status, VenueLocation location) {
+        writeLock.lock();
+        try {
+            unindex(location.venueId());
+            if (status == Venue.VenueStatus.ACTIVE && location.hasCoordinates()) {
+                GeoEntry entry = GeoEntry.from(location);
+                entriesByVenue.put(entry.venueId(), entry);
+                cells.merge(cellOf(entry.latitude(), entry.longitude()), new GeoEntry[]{entry}, VenueGeoIndex::concat);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public void remove(Long venueId) {
+        writeLock.lock();
+        try {
+            unindex(venueId);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+    
+    public int size() {
+        return entriesByVenue.size();
+    }
+    
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+    
+    /**
+     * Lower bound on the distance from a point in the center cell to any cell
+     * outside the first {@code ring} rings: such a cell is at least {@code ring}
+     * whole cells away in latitude or in longitude, and the shortest path
+     * across a longitude gap runs at the highest latitude it can reach.
+     */
+    private double ringDistanceBound(double latitude, int ring) {
+        double latBound = ring * cellKm;
+        double maxAbsLat = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double lonGap = Math.toRadians(Math.min(180, ring * cellDegrees));
+        double lonBound = 2 * EARTH_RADIUS_KM
+                * Math.asin(Math.cos(Math.toRadians(maxAbsLat)) * Math.sin(lonGap / 2));
+        return Math.min(latBound, lonBound);
+    }
+    
+    private void collect(GeoEntry[] entries, double latitude, double longitude, int k, int minCapacity,
+                         int amenityMask, double maxRadiusKm, PriorityQueue<GeoHit> best) {
+        for (GeoEntry entry : entries) {
+            if (!entry.matches(minCapacity, amenityMask)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance > maxRadiusKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new GeoHit(entry.venueId(), distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new GeoHit(entry.venueId(), distance));
+            }
+        }
+    }
+    
+    private void unindex(Long venueId) {
+        GeoEntry previous = entriesByVenue.remove(venueId);
+        if (previous != null) {
+            cells.computeIfPresent(cellOf(previous.latitude(), previous.longitude()), (cell, entries) -> {
+                GeoEntry[] remaining = Arrays.stream(entries)
+                        .filter(entry -> entry.venueId() != previous.venueId())
+                        .toArray(GeoEntry[]::new);
+                return remaining.length == 0 ? null : remaining;
+            });
+        }
+    }
+    
+    private GeoEntry[] cell(int row, int col) {
+        GeoEntry[] entries = cells.get((long) row * lonCells + Math.floorMod(col, lonCells));
+        return entries != null ? entries : EMPTY;
+    }
+    
+    private long cellOf(double latitude, double longitude) {
+        return (long) row(latitude) * lonCells + col(longitude);
+    }
+    
+    private int row(double latitude) {
+        return Math.min(latCells - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+    
+    private int col(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), lonCells);
+    }
+    
+    private static void checkPoint(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
+    
+    private static GeoEntry[] concat(GeoEntry[] existing, GeoEntry[] added) {
+        GeoEntry[] merged = Arrays.copyOf(existing, existing.length + added.length);
+        System.arraycopy(added, 0, merged, existing.length, added.length);
+        return merged;
+    }
+}
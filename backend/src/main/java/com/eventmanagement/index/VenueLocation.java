@@ -0,0 +1,27 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.model.Venue;
+
+public record VenueLocation(Long venueId, Double latitude, Double longitude, Integer capacity,
+                            Boolean parkingAvailable, Boolean wifiAvailable, Boolean cateringAvailable,
+                            Boolean avEquipmentAvailable) {
+    
+    public static VenueLocation from(Venue venue) {
+        return new VenueLocation(venue.getId(), venue.getLatitude(), venue.getLongitude(), venue.getCapacity(),
+                venue.getParkingAvailable(), venue.getWifiAvailable(), venue.getCateringAvailable(),
+                venue.getAvEquipmentAvailable());
+    }
+    
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+    
+    public int amenityMask() {
+        int mask = 0;
+        if (Boolean.TRUE.equals(parkingAvailable)) mask |= VenueAmenity.PARKING.bit();
+        if (Boolean.TRUE.equals(wifiAvailable)) mask |= VenueAmenity.WIFI.bit();
+        if (Boolean.TRUE.equals(cateringAvailable)) mask |= VenueAmenity.CATERING.bit();
+        if (Boolean.TRUE.equals(avEquipmentAvailable)) mask |= VenueAmenity.AV_EQUIPMENT.bit();
+        return mask;
+    }
+}
@@ -0,0 +1,245 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bookings of a single venue ordered by start time. Bookings can overlap (a
+ * series template and its first occurrence share a slot, and rows written
+ * before the index existed may clash), so each subtree also keeps the latest
+ * end among its bookings: a lookup skips every subtree that ends before the
+ * window opens, however long a booking elsewhere at the venue is or was.
+ * The tree is a treap, balanced by random priorities.
+ */
+class VenueSchedule {
+    private static final Comparator<Booking> BY_START =
+            Comparator.comparing(Booking::start).thenComparing(Booking::eventId);
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private int size;
+    
+    Optional<Booking> findConflict(LocalDateTime start, LocalDateTime end, Collection<Long> excludeEventIds) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(conflict(root, start, end, excludeEventIds));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    List<TimeSlot> freeSlots(LocalDateTime from, LocalDateTime to) {
+        lock.readLock().lock();
+        try {
+            List<TimeSlot> free = new ArrayList<>();
+            LocalDateTime cursor = latestEndStartingBefore(from);
+            if (cursor == null || cursor.isBefore(from)) {
+                cursor = from;
+            }
+            List<Booking> inWindow = new ArrayList<>();
+            startingBetween(root, from, to, inWindow);
+            for (Booking booking : inWindow) {
+                if (booking.start().isAfter(cursor)) {
+                    free.add(new TimeSlot(cursor, booking.start()));
+                }
+                if (booking.end().isAfter(cursor)) {
+                    cursor = booking.end();
+                }
+            }
+            if (cursor.isBefore(to)) {
+                free.add(new TimeSlot(cursor, to));
+            }
+            return free;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /** Every booking overlapping [start, end), in start order. */
+    List<Booking> overlapping(LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            List<Booking> found = new ArrayList<>();
+            collectOverlapping(root, start, end, found);
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    void add(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            Node[] split = split(root, booking, false);
+            Node[] rest = split(split[1], booking, true);
+            if (rest[0] == null) {
+                size++;
+            }
+            root = merge(merge(split[0], new Node(booking)), rest[1]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    void remove(Booking booking) {
+        lock.writeLock().lock();
+        try {
+            Node[] split = split(root, booking, false);
+            Node[] rest = split(split[1], booking, true);
+            if (rest[0] != null) {
+                size--;
+            }
+            root = merge(split[0], rest[1]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Earliest start first; a subtree is entered only if something in it ends after the window opens
+    private static Booking conflict(Node node, LocalDateTime start, LocalDateTime end,
+                                    Collection<Long> excludeEventIds) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return null;
+        }
+        Booking found = conflict(node.left, start, end, excludeEventIds);
+        if (found != null) {
+            return found;
+        }
+        // This booking and everything to its right start at or after the window's end
+        if (!node.booking.start().isBefore(end)) {
+            return null;
+        }
+        if (node.booking.overlaps(start, end) && !excludeEventIds.contains(node.booking.eventId())) {
+            return node.booking;
+        }
+        return conflict(node.right, start, end, excludeEventIds);
+    }
+    
+    private static void collectOverlapping(Node node, LocalDateTime start, LocalDateTime end, List<Booking> into) {
+        if (node == null || !node.maxEnd.isAfter(start)) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, into);
+        if (!node.booking.start().isBefore(end)) {
+            return;
+        }
+        if (node.booking.overlaps(start, end)) {
+            into.add(node.booking);
+        }
+        collectOverlapping(node.right, start, end, into);
+    }
+    
+    private LocalDateTime latestEndStartingBefore(LocalDateTime instant) {
+        LocalDateTime latest = null;
+        Node node = root;
+        while (node != null) {
+            if (node.booking.start().isBefore(instant)) {
+                latest = later(latest, later(node.booking.end(), maxEnd(node.left)));
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return latest;
+    }
+    
+    private static void startingBetween(Node node, LocalDateTime from, LocalDateTime to, List<Booking> into) {
+        if (node == null) {
+            return;
+        }
+        boolean afterFrom = !node.booking.start().isBefore(from);
+        boolean beforeTo = node.booking.start().isBefore(to);
+        if (afterFrom) {
+            startingBetween(node.left, from, to, into);
+        }
+        if (afterFrom && beforeTo) {
+            into.add(node.booking);
+        }
+        if (beforeTo) {
+            startingBetween(node.right, from, to, into);
+        }
+    }
+    
+    // Splits into bookings ordered before the key and the rest; inclusive also moves the key itself left
+    private static Node[] split(Node node, Booking key, boolean inclusive) {
+        if (node == null) {
+            return new Node[] {null, null};
+        }
+        int order = BY_START.compare(node.booking, key);
+        if (order < 0 || (inclusive && order == 0)) {
+            Node[] right = split(node.right, key, inclusive);
+            node.right = right[0];
+            node.update();
+            return new Node[] {node, right[1]};
+        }
+        Node[] left = split(node.left, key, inclusive);
+        node.left = left[1];
+        node.update();
+        return new Node[] {left[0], node};
+    }
+    
+    // Every booking in left orders before every booking in right
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+    
+    private static LocalDateTime maxEnd(Node node) {
+        return node != null ? node.maxEnd : null;
+    }
+    
+    private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+    
+    private static final class Node {
+        final Booking booking;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        // Latest end of any booking in this subtree
+        LocalDateTime maxEnd;
+        
+        Node(Booking booking) {
+            this.booking = booking;
+            this.maxEnd = booking.end();
+        }
+        
+        void update() {
+            maxEnd = later(booking.end(), later(maxEnd(left), maxEnd(right)));
+        }
+    }
+}
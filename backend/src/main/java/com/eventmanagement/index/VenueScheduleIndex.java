@@ -0,0 +1,378 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.dto.TimeSlot;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.recurrence.RecurrenceRule;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Every venue's bookings in memory, for conflict checks and free-slot
+ * lookups without a query. Recurring series hold the slots of their
+ * occurrences that have no Event row yet, expanded from the rule for
+ * whatever window is checked.
+ */
+@Component
+public class VenueScheduleIndex {
+    private static final Logger log = LoggerFactory.getLogger(VenueScheduleIndex.class);
+    
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final ShardRouter shardRouter;
+    private final Map<Long, VenueSchedule> schedules = new ConcurrentHashMap<>();
+    private final Map<Long, Booking> bookingsByEvent = new ConcurrentHashMap<>();
+    // Venue id -> template id -> series
+    private final Map<Long, Map<Long, SeriesBooking>> seriesByVenue = new ConcurrentHashMap<>();
+    private final Map<Long, SeriesBooking> seriesByTemplate = new ConcurrentHashMap<>();
+    // Template id -> materialized occurrence start -> the occurrence's event id
+    private final Map<Long, Map<LocalDateTime, Long>> occurrences = new ConcurrentHashMap<>();
+    // Active venues by capacity, for "capacity >= N" range lookups
+    private final NavigableMap<Integer, Set<Long>> venuesByCapacity = new TreeMap<>();
+    private final Map<Long, Integer> capacityByVenue = new ConcurrentHashMap<>();
+    private final ReadWriteLock capacityLock = new ReentrantReadWriteLock();
+    private final int maxOccurrences;
+    
+    public VenueScheduleIndex(EventRepository eventRepository, VenueRepository venueRepository, ShardRouter shardRouter,
+                              @Value("${recurrence.max-occurrences:1000}") int maxOccurrences) {
+        this.eventRepository = eventRepository;
+        this.venueRepository = venueRepository;
+        this.shardRouter = shardRouter;
+        this.maxOccurrences = maxOccurrences;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        schedules.clear();
+        bookingsByEvent.clear();
+        seriesByVenue.clear();
+        seriesByTemplate.clear();
+        occurrences.clear();
+        for (OccurrenceSlot slot : shardRouter.gather(() -> eventRepository.findOccurrenceSlots())) {
+            materialized(slot.templateId()).put(slot.occurrenceStart(), slot.eventId());
+        }
+        // Occurrences live on their template's shard, but gathering doesn't depend on it
+        shardRouter.gather(() -> eventRepository.findSeriesBookings(Event.EventStatus.CANCELLED))
+                .forEach(this::putSeries);
+        // Venues are on every shard but their bookings are spread across them
+        int overlapping = 0;
+        for (Booking booking : shardRouter.gather(() -> eventRepository.findVenueBookings(Event.EventStatus.CANCELLED))) {
+            // Both are kept; lookups find every booking that overlaps a window
+            Optional<Booking> conflict = findConflict(booking.venueId(), booking.start(), booking.end(), booking.eventId());
+            if (conflict.isPresent()) {
+                overlapping++;
+                log.debug("Event {} overlaps event {} at venue {}", booking.eventId(), conflict.get().eventId(),
+                        booking.venueId());
+            }
+            put(booking);
+        }
+        capacityLock.writeLock().lock();
+        try {
+            venuesByCapacity.clear();
+            capacityByVenue.clear();
+            for (VenueCapacity venue : venueRepository.findCapacities(Venue.VenueStatus.ACTIVE)) {
+                indexCapacity(venue.venueId(), venue.capacity());
+            }
+        } finally {
+            capacityLock.writeLock().unlock();
+        }
+        log.info("Venue schedule index built: {} bookings and {} series across {} venues, {} overlapping an earlier one, "
+                + "in {} ms", bookingsByEvent.size(), seriesByTemplate.size(), schedules.size(), overlapping,
+                System.currentTimeMillis() - started);
+    }
+    
+    public Optional<Booking> findConflict(Long venueId, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        return findConflict(venueId, start, end, excludeEventId != null ? Set.of(excludeEventId) : Set.of());
+    }
+    
+    /**
+     * A booking, or an unmaterialized occurrence of a series (reported as
+     * its template), that overlaps [start, end). Excluding a template skips
+     * its series' occurrences too.
+     */
+    public Optional<Booking> findConflict(Long venueId, LocalDateTime start, LocalDateTime end, Set<Long> excludeEventIds) {
+        VenueSchedule schedule = schedules.get(venueId);
+        Optional<Booking> conflict = schedule == null ? Optional.empty()
+                : schedule.findConflict(start, end, excludeEventIds);
+        if (conflict.isPresent()) {
+            return conflict;
+        }
+        for (SeriesBooking series : seriesAt(venueId)) {
+            if (!excludeEventIds.contains(series.templateId())) {
+                conflict = series.firstOverlapping(start, end, materialized(series.templateId()));
+                if (conflict.isPresent()) {
+                    return conflict;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * A booking or series that some occurrence of {@code rule}, for a series
+     * whose first occurrence is [start, end), would overlap. Bookings are
+     * checked against every occurrence, however far out; other series,
+     * whose rules may run forever too, against the first
+     * recurrence.max-occurrences. The template's own occurrences don't count.
+     */
+    public Optional<Booking> findSeriesConflict(Long venueId, Long templateId, RecurrenceRule rule,
+                                                LocalDateTime start, LocalDateTime end, Set<Long> excludeEventIds) {
+        SeriesBooking candidate = new SeriesBooking(templateId, venueId, start, Duration.between(start, end), rule);
+        Map<LocalDateTime, Long> own = templateId != null ? materialized(templateId) : Map.of();
+        Set<Long> skipped = new HashSet<>(excludeEventIds);
+        skipped.addAll(own.values());
+        if (templateId != null) {
+            skipped.add(templateId);
+        }
+        VenueSchedule schedule = schedules.get(venueId);
+        if (schedule != null) {
+            for (Booking booking : schedule.overlapping(start, LocalDateTime.MAX)) {
+                if (!skipped.contains(booking.eventId())) {
+                    Optional<Booking> hit = candidate.firstOverlapping(booking.start(), booking.end(), own);
+                    if (hit.isPresent()) {
+                        return Optional.of(booking);
+                    }
+                }
+            }
+        }
+        List<SeriesBooking> others = seriesAt(venueId).stream()
+                .filter(series -> !skipped.contains(series.templateId()))
+                .toList();
+        if (others.isEmpty()) {
+            return Optional.empty();
+        }
+        for (LocalDateTime slot : rule.between(start, start, LocalDateTime.MAX, maxOccurrences)) {
+            if (own.containsKey(slot)) {
+                continue;
+            }
+            LocalDateTime slotEnd = slot.plus(candidate.length());
+            for (SeriesBooking other : others) {
+                Optional<Booking> hit = other.firstOverlapping(slot, slotEnd, materialized(other.templateId()));
+                if (hit.isPresent()) {
+                    return hit;
+                }
+            }
+        }
+        return Optional.empty();
+    }
+    
+    public boolean isFree(Long venueId, LocalDateTime start, LocalDateTime end) {
+        return findConflict(venueId, start, end, Set.of()).isEmpty();
+    }
+    
+    public List<TimeSlot> freeSlots(Long venueId, LocalDateTime from, LocalDateTime to) {
+        VenueSchedule schedule = schedules.get(venueId);
+        List<TimeSlot> free = schedule == null ? List.of(new TimeSlot(from, to)) : schedule.freeSlots(from, to);
+        for (SeriesBooking series : seriesAt(venueId)) {
+            Map<LocalDateTime, Long> materialized = materialized(series.templateId());
+            for (LocalDateTime slot : series.rule().between(series.start(), from.minus(series.length()), to,
+                    Integer.MAX_VALUE)) {
+                if (!materialized.containsKey(slot)) {
+                    free = without(free, slot, slot.plus(series.length()));
+                }
+            }
+        }
+        return free;
+    }
+    
+    public List<Long> findFreeVenues(LocalDate date, int minCapacity) {
+        LocalDateTime from = date.atStartOfDay();
+        LocalDateTime to = date.plusDays(1).atStartOfDay();
+        List<Long> free = new ArrayList<>();
+        capacityLock.readLock().lock();
+        try {
+            for (Set<Long> venueIds : venuesByCapacity.tailMap(minCapacity, true).values()) {
+                for (Long venueId : venueIds) {
+                    if (isFree(venueId, from, to)) {
+                        free.add(venueId);
+                    }
+                }
+            }
+        } finally {
+            capacityLock.readLock().unlock();
+        }
+        return free;
+    }
+    
+    public Optional<Booking> bookingOf(Long eventId) {
+        return Optional.ofNullable(bookingsByEvent.get(eventId));
+    }
+    
+    /**
+     * Applies the event's current booking and returns the one it replaced,
+     * so callers can restore it if the transaction rolls back.
+     */
+    public Optional<Booking> apply(Event event) {
+        if (event.getStatus() == Event.EventStatus.CANCELLED || event.getVenue() == null
+                || event.getStartDateTime() == null || event.getEndDateTime() == null) {
+            return remove(event.getId());
+        }
+        Booking booking = new Booking(event.getId(), event.getVenue().getId(),
+                event.getStartDateTime(), event.getEndDateTime());
+        Optional<Booking> previous = remove(event.getId());
+        put(booking);
+        return previous;
+    }
+    
+    public Optional<Booking> remove(Long eventId) {
+        Booking previous = bookingsByEvent.remove(eventId);
+        if (previous != null) {
+            VenueSchedule schedule = schedules.get(previous.venueId());
+            if (schedule != null) {
+                schedule.remove(previous);
+            }
+        }
+        return Optional.ofNullable(previous);
+    }
+    
+    public void restore(Long eventId, Optional<Booking> previous) {
+        remove(eventId);
+        previous.ifPresent(this::put);
+    }
+    
+    /**
+     * Applies the event's current recurrence rule and returns the series it
+     * replaced, so callers can restore it if the transaction rolls back.
+     */
+    public Optional<SeriesBooking> applySeries(Event event) {
+        if (event.getRecurrenceRule() == null || event.getStatus() == Event.EventStatus.CANCELLED
+                || event.getVenue() == null || event.getStartDateTime() == null || event.getEndDateTime() == null) {
+            return removeSeries(event.getId());
+        }
+        Optional<SeriesBooking> previous = removeSeries(event.getId());
+        putSeries(new SeriesBooking(event.getId(), event.getVenue().getId(), event.getStartDateTime(),
+                event.getEndDateTime(), event.getRecurrenceRule()));
+        return previous;
+    }
+    
+    public Optional<SeriesBooking> removeSeries(Long templateId) {
+        SeriesBooking previous = seriesByTemplate.remove(templateId);
+        if (previous != null) {
+            Map<Long, SeriesBooking> atVenue = seriesByVenue.get(previous.venueId());
+            if (atVenue != null) {
+                atVenue.remove(templateId);
+            }
+        }
+        return Optional.ofNullable(previous);
+    }
+    
+    public void restoreSeries(Long templateId, Optional<SeriesBooking> previous) {
+        removeSeries(templateId);
+        previous.ifPresent(this::putSeries);
+    }
+    
+    /** Records that an occurrence's slot is now booked by its own row rather than the rule. */
+    public void addOccurrence(Long templateId, LocalDateTime occurrenceStart, Long eventId) {
+        materialized(templateId).put(occurrenceStart, eventId);
+    }
+    
+    public void removeOccurrence(Long templateId, LocalDateTime occurrenceStart) {
+        Map<LocalDateTime, Long> slots = occurrences.get(templateId);
+        if (slots != null) {
+            slots.remove(occurrenceStart);
+        }
+    }
+    
+    public void applyVenue(Long venueId, Venue.VenueStatus status, Integer capacity) {
+        capacityLock.writeLock().lock();
+        try {
+            unindexCapacity(venueId);
+            if (status == Venue.VenueStatus.ACTIVE && capacity != null) {
+                indexCapacity(venueId, capacity);
+            }
+        } finally {
+            capacityLock.writeLock().unlock();
+        }
+    }
+    
+    public void removeVenue(Long venueId) {
+        capacityLock.writeLock().lock();
+        try {
+            unindexCapacity(venueId);
+        } finally {
+            capacityLock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        return bookingsByEvent.size();
+    }
+    
+    private void putSeries(SeriesBooking series) {
+        seriesByTemplate.put(series.templateId(), series);
+        seriesByVenue.computeIfAbsent(series.venueId(), id -> new ConcurrentHashMap<>())
+                .put(series.templateId(), series);
+    }
+    
+    private Collection<SeriesBooking> seriesAt(Long venueId) {
+        Map<Long, SeriesBooking> atVenue = seriesByVenue.get(venueId);
+        return atVenue == null ? List.of() : atVenue.values();
+    }
+    
+    private Map<LocalDateTime, Long> materialized(Long templateId) {
+        return occurrences.computeIfAbsent(templateId, id -> new ConcurrentHashMap<>());
+    }
+    
+    // The free slots with [start, end) taken out of them
+    private static List<TimeSlot> without(List<TimeSlot> free, LocalDateTime start, LocalDateTime end) {
+        List<TimeSlot> remaining = new ArrayList<>(free.size() + 1);
+        for (TimeSlot slot : free) {
+            if (!slot.start().isBefore(end) || !start.isBefore(slot.end())) {
+                remaining.add(slot);
+                continue;
+            }
+            if (slot.start().isBefore(start)) {
+                remaining.add(new TimeSlot(slot.start(), start));
+            }
+            if (end.isBefore(slot.end())) {
+                remaining.add(new TimeSlot(end, slot.end()));
+            }
+        }
+        return remaining;
+    }
+    
+    private void put(Booking booking) {
+        bookingsByEvent.put(booking.eventId(), booking);
+        schedules.computeIfAbsent(booking.venueId(), id -> new VenueSchedule()).add(booking);
+    }
+    
+    private void indexCapacity(Long venueId, Integer capacity) {
+        capacityByVenue.put(venueId, capacity);
+        venuesByCapacity.computeIfAbsent(capacity, c -> ConcurrentHashMap.newKeySet()).add(venueId);
+    }
+    
+    private void unindexCapacity(Long venueId) {
+        Integer previous = capacityByVenue.remove(venueId);
+        if (previous != null) {
+            Set<Long> venueIds = venuesByCapacity.get(previous);
+            venueIds.remove(venueId);
+            if (venueIds.isEmpty()) {
+                venuesByCapacity.remove(previous);
+            }
+        }
+    }
+}
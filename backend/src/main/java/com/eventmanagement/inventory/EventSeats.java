@@ -0,0 +1,11 @@
+package com.eventmanagement.inventory;
+
+import com.eventmanagement.model.Event;
+
+// An event's seats as stored, for reads that shouldn't open a seat counter
+public record EventSeats(Long eventId, Event.EventStatus status, Integer capacity, Integer attendees) {
+    
+    public int availableSpots() {
+        return Math.max(0, capacity - attendees);
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventmanagement.inventory;
+
+/**
+ * Told about every change to a counter's confirmed seats or capacity, after
+ * it happened. Reserved and confirmed-held seats are only reported once the
+ * registrations holding them have committed; seats handed back because they
+ * never did are not reported at all.
+ */
+public interface SeatChangeListener {
+    SeatChangeListener NONE = new SeatChangeListener() {
+        @Override
+        public void seatsChanged(Long eventId, int delta) {
+        }
+        
+        @Override
+        public void capacityChanged(Long eventId, int capacity) {
+        }
+    };
+    
+    void seatsChanged(Long eventId, int delta);
+    
+    void capacityChanged(Long eventId, int capacity);
+}
@@ -0,0 +1,4 @@
+package com.eventmanagement.inventory;
+
+public record SeatCount(Long eventId, Long seats) {
+}
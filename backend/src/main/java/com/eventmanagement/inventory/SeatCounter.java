@@ -0,0 +1,238 @@
+package com.eventmanagement.inventory;
+
+import com.eventmanagement.model.SeatAvailability;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Free seats of one event, split across stripes so concurrent registrations
+ * CAS on different cache lines. A stripe never goes below zero, so the sum
+ * of all grants can never exceed capacity.
+ */
+public class SeatCounter implements SeatAvailability {
+    // Spread stripes 64 bytes apart to avoid false sharing
+    private static final int PADDING = 16;
+    
+    private final Long eventId;
+    private final int stripeCount;
+    private final AtomicIntegerArray freeSeats;
+    private final AtomicInteger confirmed;
+    private final AtomicInteger held = new AtomicInteger();
+    // Seats granted to registrations that have not committed yet
+    private final AtomicInteger pending = new AtomicInteger();
+    // Seats withdrawn by a capacity cut that were not free at the time
+    private final AtomicInteger deficit = new AtomicInteger();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final ReentrantLock capacityLock = new ReentrantLock();
+    private final SeatChangeListener listener;
+    private volatile int capacity;
+    
+    public SeatCounter(Long eventId, int capacity, int confirmed, int stripeCount) {
+        this(eventId, capacity, confirmed, stripeCount, SeatChangeListener.NONE);
+    }
+    
+    public SeatCounter(Long eventId, int capacity, int confirmed, int stripeCount, SeatChangeListener listener) {
+        this.eventId = eventId;
+        this.listener = listener;
+        this.stripeCount = Math.max(1, stripeCount);
+        this.freeSeats = new AtomicIntegerArray(this.stripeCount * PADDING);
+        this.confirmed = new AtomicInteger(Math.max(0, confirmed));
+        this.capacity = capacity;
+        
+        int free = Math.max(0, capacity - this.confirmed.get());
+        int share = free / this.stripeCount;
+        for (int i = 0; i < this.stripeCount; i++) {
+            freeSeats.set(slot(i), share);
+        }
+        freeSeats.addAndGet(slot(0), free - share * this.stripeCount);
+    }
+    
+    public Long getEventId() { return eventId; }
+    public int getCapacity() { return capacity; }
+    public int getHeld() { return held.get(); }
+    
+    // Includes seats whose registrations are still committing, which are no longer free
+    @Override
+    public int currentAttendees() {
+        return confirmed.get() + pending.get();
+    }
+    
+    /**
+     * Seats of committed registrations only: the count to write to the
+     * events row, which must never include seats that may yet roll back.
+     */
+    public int committedAttendees() {
+        return confirmed.get();
+    }
+    
+    @Override
+    public int availableSpots() {
+        int free = 0;
+        for (int i = 0; i < stripeCount; i++) {
+            free += freeSeats.get(slot(i));
+        }
+        return free;
+    }
+    
+    public boolean tryHold(int seats) {
+        if (!take(seats)) {
+            return false;
+        }
+        held.addAndGet(seats);
+        return true;
+    }
+    
+    // Pending until committed() reports the registration holding the seats durable
+    public void confirmHeld(int seats) {
+        held.addAndGet(-seats);
+        pending.addAndGet(seats);
+    }
+    
+    public void releaseHeld(int seats) {
+        held.addAndGet(-seats);
+        give(seats);
+    }
+    
+    // Pending until committed() reports the registration holding the seats durable
+    public boolean tryReserve(int seats) {
+        if (!take(seats)) {
+            return false;
+        }
+        pending.addAndGet(seats);
+        return true;
+    }
+    
+    /** Counts and reports seats from tryReserve or confirmHeld whose registrations committed. */
+    public void committed(int seats) {
+        pending.addAndGet(-seats);
+        confirmed.addAndGet(seats);
+        dirty.set(true);
+        listener.seatsChanged(eventId, seats);
+    }
+    
+    /**
+     * Gives back seats from tryReserve or confirmHeld whose registrations
+     * never committed. Unlike cancel it reports nothing, as nothing was
+     * counted or reported for them.
+     */
+    public void unreserve(int seats) {
+        pending.addAndGet(-seats);
+        give(seats);
+    }
+    
+    public void cancel(int seats) {
+        confirmed.addAndGet(-seats);
+        give(seats);
+        dirty.set(true);
+        listener.seatsChanged(eventId, -seats);
+    }
+    
+    public void resize(int newCapacity) {
+        capacityLock.lock();
+        try {
+            int delta = newCapacity - capacity;
+            capacity = newCapacity;
+            if (delta > 0) {
+                give(delta);
+            } else if (delta < 0) {
+                // Seats already sold or held stay valid; whatever is not free now
+                // is withheld from the next seats that come back
+                deficit.addAndGet(-delta - drain(-delta));
+            }
+            listener.capacityChanged(eventId, newCapacity);
+        } finally {
+            capacityLock.unlock();
+        }
+    }
+    
+    public boolean markClean() {
+        return dirty.compareAndSet(true, false);
+    }
+    
+    public void markDirty() {
+        dirty.set(true);
+    }
+    
+    private boolean take(int seats) {
+        if (seats <= 0) {
+            throw new IllegalArgumentException("Seat count must be positive");
+        }
+        int start = ThreadLocalRandom.current().nextInt(stripeCount);
+        int[] taken = null;
+        int remaining = seats;
+        for (int n = 0; n < stripeCount && remaining > 0; n++) {
+            int stripe = (start + n) % stripeCount;
+            int got = takeFromStripe(stripe, remaining);
+            if (got > 0) {
+                if (got < remaining || taken != null) {
+                    if (taken == null) {
+                        taken = new int[stripeCount];
+                    }
+                    taken[stripe] += got;
+                }
+                remaining -= got;
+            }
+        }
+        if (remaining == 0) {
+            return true;
+        }
+        // Could not satisfy the whole request: hand back the partial grab
+        if (taken != null) {
+            for (int i = 0; i < stripeCount; i++) {
+                if (taken[i] > 0) {
+                    freeSeats.addAndGet(slot(i), taken[i]);
+                }
+            }
+        }
+        return false;
+    }
+    
+    private int takeFromStripe(int stripe, int wanted) {
+        int index = slot(stripe);
+        while (true) {
+            int free = freeSeats.get(index);
+            if (free <= 0) {
+                return 0;
+            }
+            int got = Math.min(free, wanted);
+            if (freeSeats.compareAndSet(index, free, free - got)) {
+                return got;
+            }
+        }
+    }
+    
+    private void give(int seats) {
+        while (true) {
+            int owed = deficit.get();
+            if (owed == 0) {
+                break;
+            }
+            int paid = Math.min(owed, seats);
+            if (deficit.compareAndSet(owed, owed - paid)) {
+                seats -= paid;
+                break;
+            }
+        }
+        if (seats == 0) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(stripeCount);
+        freeSeats.addAndGet(slot(stripe), seats);
+    }
+    
+    private int drain(int seats) {
+        int remaining = seats;
+        for (int i = 0; i < stripeCount && remaining > 0; i++) {
+            remaining -= takeFromStripe(i, remaining);
+        }
+        return seats - remaining;
+    }
+    
+    private static int slot(int stripe) {
+        return stripe * PADDING;
+    }
+}
@@ -0,0 +1,11 @@
+package com.eventmanagement.inventory;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record SeatHold(UUID holdId, Long eventId, int seats, Instant expiresAt) {
+    
+    public boolean isExpired(Instant now) {
+        return now.isAfter(expiresAt);
+    }
+}
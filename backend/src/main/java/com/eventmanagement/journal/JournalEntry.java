@@ -0,0 +1,22 @@
+package com.eventmanagement.journal;
+
+public record JournalEntry(long timestampMillis, long eventId, JournalEntryType type, int seats, int capacity) {
+    
+    public static JournalEntry opened(long eventId, int attendees, int capacity) {
+        return new JournalEntry(System.currentTimeMillis(), eventId, JournalEntryType.OPENED, attendees, capacity);
+    }
+    
+    public static JournalEntry seats(long eventId, int delta) {
+        return delta >= 0
+                ? new JournalEntry(System.currentTimeMillis(), eventId, JournalEntryType.RESERVED, delta, 0)
+                : new JournalEntry(System.currentTimeMillis(), eventId, JournalEntryType.CANCELLED, -delta, 0);
+    }
+    
+    public static JournalEntry resized(long eventId, int capacity) {
+        return new JournalEntry(System.currentTimeMillis(), eventId, JournalEntryType.RESIZED, 0, capacity);
+    }
+    
+    public static JournalEntry closed(long eventId) {
+        return new JournalEntry(System.currentTimeMillis(), eventId, JournalEntryType.CLOSED, 0, 0);
+    }
+}
@@ -0,0 +1,22 @@
+package com.eventmanagement.journal;
+
+public enum JournalEntryType {
+    // A counter was created: seats holds the attendee count, capacity the capacity
+    OPENED,
+    RESERVED,
+    CANCELLED,
+    RESIZED,
+    // The counter was dropped because its event was deleted
+    CLOSED;
+    
+    private static final JournalEntryType[] VALUES = values();
+    
+    // Zero is left for never-written slots
+    byte code() {
+        return (byte) (ordinal() + 1);
+    }
+    
+    static JournalEntryType fromCode(byte code) {
+        return code >= 1 && code <= VALUES.length ? VALUES[code - 1] : null;
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventmanagement.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One preallocated, memory-mapped journal file of fixed-size entries:
+ * <pre>
+ *  0 timestamp millis (8)   8 event id (8)   16 seats (4)   20 capacity (4)
+ * 24 type code (1)         25 unused (3)    28 CRC32C of bytes 0-27 (4)
+ * </pre>
+ * A slot with type code zero has never been written. Reading stops at the
+ * first slot that is empty or fails its checksum, which is where a crash
+ * mid-write leaves the end of the journal.
+ */
+final class JournalSegment implements Closeable {
+    static final int ENTRY_BYTES = 32;
+    private static final int CHECKED_BYTES = 28;
+    
+    private final Path path;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final CRC32C crc = new CRC32C();
+    private int size;
+    private int forced;
+    
+    private JournalSegment(Path path, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+    
+    /**
+     * Maps the file for appending, creating it if needed, and positions
+     * after its last valid entry. Whatever follows is zeroed so a torn tail
+     * can't be mistaken for entries once the slots ahead of it are reused.
+     */
+    static JournalSegment openForAppend(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * ENTRY_BYTES);
+        JournalSegment segment = new JournalSegment(path, capacity, channel, buffer);
+        segment.size = segment.forEach(entry -> { });
+        segment.forced = segment.size;
+        boolean dirtyTail = false;
+        for (int slot = segment.size; slot < capacity; slot++) {
+            if (buffer.getLong(slot * ENTRY_BYTES) != 0 || buffer.getLong(slot * ENTRY_BYTES + 24) != 0) {
+                dirtyTail = true;
+                break;
+            }
+        }
+        if (dirtyTail) {
+            for (int offset = segment.size * ENTRY_BYTES; offset < capacity * ENTRY_BYTES; offset += 8) {
+                buffer.putLong(offset, 0);
+            }
+            buffer.force();
+        }
+        return segment;
+    }
+    
+    static JournalSegment openForRead(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        long length = Math.min(channel.size(), (long) capacity * ENTRY_BYTES);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        return new JournalSegment(path, (int) (length / ENTRY_BYTES), channel, buffer);
+    }
+    
+    Path path() {
+        return path;
+    }
+    
+    boolean isFull() {
+        return size == capacity;
+    }
+    
+    void append(JournalEntry entry) {
+        int offset = size * ENTRY_BYTES;
+        buffer.putLong(offset, entry.timestampMillis());
+        buffer.putLong(offset + 8, entry.eventId());
+        buffer.putInt(offset + 16, entry.seats());
+        buffer.putInt(offset + 20, entry.capacity());
+        buffer.put(offset + 24, entry.type().code());
+        buffer.put(offset + 25, (byte) 0);
+        buffer.putShort(offset + 26, (short) 0);
+        buffer.putInt(offset + CHECKED_BYTES, checksum(offset));
+        size++;
+    }
+    
+    /**
+     * Writes the entries appended since the last call through to the file.
+     */
+    void force() {
+        if (forced < size) {
+            buffer.force(forced * ENTRY_BYTES, (size - forced) * ENTRY_BYTES);
+            forced = size;
+        }
+    }
+    
+    /**
+     * Visits the valid entries in order and returns how many there were.
+     */
+    int forEach(Consumer<JournalEntry> visitor) {
+        int slot = 0;
+        for (; slot < capacity; slot++) {
+            int offset = slot * ENTRY_BYTES;
+            JournalEntryType type = JournalEntryType.fromCode(buffer.get(offset + 24));
+            if (type == null || buffer.getInt(offset + CHECKED_BYTES) != checksum(offset)) {
+                break;
+            }
+            visitor.accept(new JournalEntry(buffer.getLong(offset), buffer.getLong(offset + 8), type,
+                    buffer.getInt(offset + 16), buffer.getInt(offset + 20)));
+        }
+        return slot;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+    private int checksum(int offset) {
+        crc.reset();
+        crc.update(buffer.slice(offset, CHECKED_BYTES));
+        return (int) crc.getValue();
+    }
+}
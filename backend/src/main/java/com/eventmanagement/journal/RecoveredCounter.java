@@ -0,0 +1,4 @@
+package com.eventmanagement.journal;
+
+public record RecoveredCounter(long eventId, int attendees, int capacity) {
+}
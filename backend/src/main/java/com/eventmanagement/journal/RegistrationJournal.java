@@ -0,0 +1,430 @@
+package com.eventmanagement.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of seat changes on local disk, in memory-mapped
+ * segment files. Appends go on a lock-free queue, so request threads never
+ * block on it, and are written by one thread with group commit: each batch
+ * it drains is forced to disk once, and the futures of the whole batch
+ * complete together. Folding the journal gives every
+ * event's attendee count and capacity without touching the database.
+ * <p>
+ * Every few sealed segments a checkpoint folds them into one OPENED entry
+ * per open counter, written to a checkpoint file, and the segments it covers
+ * are deleted; the journal is then the latest checkpoint plus the segments
+ * after it. Each file's event ids are kept in memory so {@link #history}
+ * only reads the files that mention the event.
+ */
+@Component
+public class RegistrationJournal {
+    private static final Logger log = LoggerFactory.getLogger(RegistrationJournal.class);
+    private static final String PREFIX = "journal-";
+    private static final String CHECKPOINT_PREFIX = "checkpoint-";
+    private static final String SUFFIX = ".log";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentEntries;
+    private final int maxBatch;
+    private final int backlogWarning;
+    private final int checkpointSegments;
+    private final Queue<PendingAppend> queue = new ConcurrentLinkedQueue<>();
+    // Appends not yet drained by the writer; the one that lifts it from zero wakes the writer
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean running = true;
+    // Owned by the writer thread once it has started
+    private JournalSegment active;
+    private Set<Long> activeEvents;
+    private volatile long activeIndex;
+    // Index of the last segment the latest checkpoint covers, or -1
+    private volatile long checkpointedUpTo = -1;
+    private final AtomicBoolean checkpointing = new AtomicBoolean();
+    // History and recovery read files that a checkpoint deletes
+    private final ReadWriteLock files = new ReentrantReadWriteLock();
+    // Event ids in each file; complete for every file once recover() has run
+    private final Map<Path, Set<Long>> eventsByFile = new ConcurrentHashMap<>();
+    private volatile boolean indexed;
+    
+    public RegistrationJournal(@Value("${journal.enabled:true}") boolean enabled,
+                               @Value("${journal.directory:data/journal}") String directory,
+                               @Value("${journal.segment-entries:1048576}") int segmentEntries,
+                               @Value("${journal.max-batch:4096}") int maxBatch,
+                               @Value("${journal.backlog-warning:262144}") int backlogWarning,
+                               @Value("${journal.checkpoint-segments:4}") int checkpointSegments) {
+        if (segmentEntries <= 0 || segmentEntries > Integer.MAX_VALUE / JournalSegment.ENTRY_BYTES) {
+            throw new IllegalArgumentException("journal.segment-entries out of range: " + segmentEntries);
+        }
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.segmentEntries = segmentEntries;
+        this.maxBatch = maxBatch;
+        this.backlogWarning = backlogWarning;
+        this.checkpointSegments = checkpointSegments;
+        if (!enabled) {
+            this.writer = null;
+            return;
+        }
+        try {
+            Files.createDirectories(this.directory);
+            removeSuperseded();
+            List<Path> segments = segments();
+            activeIndex = segments.isEmpty() ? checkpointedUpTo + 1 : indexOf(segments.get(segments.size() - 1));
+            active = JournalSegment.openForAppend(segmentPath(activeIndex), segmentEntries);
+            activeEvents = eventsOf(active.path());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal in " + this.directory, e);
+        }
+        this.writer = Thread.ofPlatform().name("journal-writer").daemon().start(this::writeLoop);
+    }
+    
+    /**
+     * Queues an entry without blocking; the future completes once it is on
+     * disk. The queue is unbounded so no committed change is ever dropped; a
+     * backlog past journal.backlog-warning is logged, as it means the disk
+     * is not keeping up.
+     */
+    public CompletableFuture<Void> append(JournalEntry entry) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (!running) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Journal is closed"));
+        }
+        PendingAppend pending = new PendingAppend(entry, new CompletableFuture<>());
+        queue.offer(pending);
+        int waiting = backlog.getAndIncrement();
+        if (waiting == 0) {
+            LockSupport.unpark(writer);
+        } else if (waiting == backlogWarning) {
+            log.warn("Journal backlog passed {} entries; the disk is not keeping up", backlogWarning);
+        }
+        return pending.done();
+    }
+    
+    /**
+     * Folds the latest checkpoint and the segments after it, in parallel,
+     * into the counters that were open at the end of the journal, and
+     * indexes each file's event ids on the way.
+     */
+    public Map<Long, RecoveredCounter> recover() {
+        if (!enabled) {
+            return Map.of();
+        }
+        Map<Long, SeatHistory> histories;
+        files.readLock().lock();
+        try {
+            histories = journalFiles().parallelStream()
+                    .map(path -> {
+                        Map<Long, SeatHistory> folded = fold(path);
+                        indexFile(path, folded.keySet());
+                        return folded;
+                    })
+                    .reduce(Map.of(), SeatHistory::merge);
+            indexed = true;
+        } finally {
+            files.readLock().unlock();
+        }
+        Map<Long, RecoveredCounter> counters = new HashMap<>(histories.size() * 2);
+        histories.forEach((eventId, history) -> {
+            if (history.isOpen()) {
+                counters.put(eventId, new RecoveredCounter(eventId, history.attendees(), history.capacity()));
+            }
+        });
+        return counters;
+    }
+    
+    /**
+     * The most recent entries for one event, newest first, back to the
+     * latest checkpoint, whose entry for the event is its count at that
+     * point. Reads the files that mention the event from the newest
+     * backwards; until recover() has indexed them, every file.
+     */
+    public List<JournalEntry> history(long eventId, int limit) {
+        List<JournalEntry> newestFirst = new ArrayList<>();
+        if (!enabled) {
+            return newestFirst;
+        }
+        files.readLock().lock();
+        try {
+            List<Path> journal = journalFiles();
+            for (int i = journal.size() - 1; i >= 0 && newestFirst.size() < limit; i--) {
+                Set<Long> events = eventsByFile.get(journal.get(i));
+                if (indexed && (events == null || !events.contains(eventId))) {
+                    continue;
+                }
+                Deque<JournalEntry> matches = new ArrayDeque<>();
+                try (JournalSegment segment = JournalSegment.openForRead(journal.get(i), segmentEntries)) {
+                    segment.forEach(entry -> {
+                        if (entry.eventId() == eventId) {
+                            matches.push(entry);
+                        }
+                    });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                while (!matches.isEmpty() && newestFirst.size() < limit) {
+                    newestFirst.add(matches.pop());
+                }
+            }
+        } finally {
+            files.readLock().unlock();
+        }
+        return newestFirst;
+    }
+    
+    /**
+     * Folds the sealed segments not yet checkpointed into a new checkpoint
+     * and deletes them. Returns false if there was nothing to fold or
+     * another checkpoint is running. The writer starts one every
+     * journal.checkpoint-segments segments.
+     */
+    boolean checkpoint() {
+        long upTo = activeIndex - 1;
+        if (!enabled || upTo <= checkpointedUpTo || !checkpointing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            List<Path> covered = new ArrayList<>();
+            for (Path path : journalFiles()) {
+                if (!isSegment(path) || indexOf(path) <= upTo) {
+                    covered.add(path);
+                }
+            }
+            Map<Long, SeatHistory> histories = covered.stream()
+                    .map(this::fold)
+                    .reduce(Map.of(), SeatHistory::merge);
+            Path checkpoint = writeCheckpoint(upTo, histories);
+            files.writeLock().lock();
+            try {
+                checkpointedUpTo = upTo;
+                for (Path path : covered) {
+                    Files.deleteIfExists(path);
+                    eventsByFile.remove(path);
+                }
+            } finally {
+                files.writeLock().unlock();
+            }
+            log.info("Journal checkpoint through segment {}: {} open counters, {} files removed",
+                    upTo, eventsByFile.get(checkpoint).size(), covered.size());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Journal checkpoint through segment {} failed; the segments are kept", upTo, e);
+            return false;
+        } finally {
+            checkpointing.set(false);
+        }
+    }
+    
+    @PreDestroy
+    public void close() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            PendingAppend next = queue.poll();
+            if (next == null) {
+                // The timeout only covers a wake-up lost to the backlog count racing the drain
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(100));
+                continue;
+            }
+            do {
+                batch.add(next);
+            } while (batch.size() < maxBatch && (next = queue.poll()) != null);
+            backlog.addAndGet(-batch.size());
+            try {
+                for (PendingAppend pending : batch) {
+                    if (active.isFull()) {
+                        roll();
+                    }
+                    active.append(pending.entry());
+                    activeEvents.add(pending.entry().eventId());
+                }
+                active.force();
+                batch.forEach(pending -> pending.done().complete(null));
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to write {} journal entries", batch.size(), e);
+                batch.forEach(pending -> pending.done().completeExceptionally(e));
+            }
+            batch.clear();
+        }
+        try {
+            active.force();
+            active.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal segment {}", active.path(), e);
+        }
+    }
+    
+    private void roll() throws IOException {
+        active.force();
+        active.close();
+        active = JournalSegment.openForAppend(segmentPath(activeIndex + 1), segmentEntries);
+        activeEvents = eventsOf(active.path());
+        activeIndex++;
+        // Off the writer thread; a failed checkpoint is tried again at the next roll
+        if (checkpointSegments > 0 && activeIndex - checkpointedUpTo > checkpointSegments && !checkpointing.get()) {
+            Thread.ofVirtual().name("journal-checkpoint").start(this::checkpoint);
+        }
+    }
+    
+    // Written under a temporary name and renamed once forced, so a crash never leaves half a checkpoint
+    private Path writeCheckpoint(long upTo, Map<Long, SeatHistory> histories) throws IOException {
+        List<JournalEntry> open = new ArrayList<>();
+        histories.forEach((eventId, history) -> {
+            if (history.isOpen()) {
+                open.add(JournalEntry.opened(eventId, history.attendees(), history.capacity()));
+            }
+        });
+        Path checkpoint = directory.resolve(String.format("%s%012d%s", CHECKPOINT_PREFIX, upTo, SUFFIX));
+        Path temporary = directory.resolve(checkpoint.getFileName() + TEMPORARY_SUFFIX);
+        Files.deleteIfExists(temporary);
+        try (JournalSegment segment = JournalSegment.openForAppend(temporary, Math.max(1, open.size()))) {
+            open.forEach(segment::append);
+            segment.force();
+        }
+        Files.move(temporary, checkpoint, StandardCopyOption.ATOMIC_MOVE);
+        indexFile(checkpoint, open.stream().map(JournalEntry::eventId).toList());
+        return checkpoint;
+    }
+    
+    // A crash between writing a checkpoint and deleting what it covers leaves both; the checkpoint wins
+    private void removeSuperseded() throws IOException {
+        List<Path> checkpoints = checkpoints();
+        try (Stream<Path> listed = Files.list(directory)) {
+            for (Path path : listed.filter(path -> path.getFileName().toString().endsWith(TEMPORARY_SUFFIX)).toList()) {
+                Files.delete(path);
+            }
+        }
+        if (checkpoints.isEmpty()) {
+            return;
+        }
+        Path latest = checkpoints.get(checkpoints.size() - 1);
+        checkpointedUpTo = indexOf(latest);
+        for (Path checkpoint : checkpoints.subList(0, checkpoints.size() - 1)) {
+            Files.delete(checkpoint);
+        }
+        for (Path segment : segments()) {
+            if (indexOf(segment) <= checkpointedUpTo) {
+                Files.delete(segment);
+            }
+        }
+    }
+    
+    private void indexFile(Path path, Collection<Long> eventIds) {
+        eventsOf(path).addAll(eventIds);
+    }
+    
+    private Set<Long> eventsOf(Path path) {
+        return eventsByFile.computeIfAbsent(path, file -> ConcurrentHashMap.newKeySet());
+    }
+    
+    private Map<Long, SeatHistory> fold(Path path) {
+        Map<Long, SeatHistory> histories = new HashMap<>();
+        // Checkpoints hold one entry per open counter, however many that is
+        int capacity = isSegment(path) ? segmentEntries : Integer.MAX_VALUE / JournalSegment.ENTRY_BYTES;
+        try (JournalSegment segment = JournalSegment.openForRead(path, capacity)) {
+            segment.forEach(entry -> histories.computeIfAbsent(entry.eventId(), id -> new SeatHistory()).apply(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read journal segment " + path, e);
+        }
+        return histories;
+    }
+    
+    // The latest checkpoint, then the segments after it, in journal order
+    private List<Path> journalFiles() {
+        List<Path> journal = new ArrayList<>();
+        long after = checkpointedUpTo;
+        if (after >= 0) {
+            journal.add(directory.resolve(String.format("%s%012d%s", CHECKPOINT_PREFIX, after, SUFFIX)));
+        }
+        for (Path segment : segments()) {
+            if (indexOf(segment) > after) {
+                journal.add(segment);
+            }
+        }
+        return journal;
+    }
+    
+    private List<Path> segments() {
+        return list(PREFIX);
+    }
+    
+    private List<Path> checkpoints() {
+        return list(CHECKPOINT_PREFIX);
+    }
+    
+    // Files are numbered consecutively with zero padding, so name order is journal order
+    private List<Path> list(String prefix) {
+        try (Stream<Path> listed = Files.list(directory)) {
+            return listed.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal directory " + directory, e);
+        }
+    }
+    
+    private static boolean isSegment(Path path) {
+        return path.getFileName().toString().startsWith(PREFIX);
+    }
+    
+    private static long indexOf(Path path) {
+        String name = path.getFileName().toString();
+        String prefix = isSegment(path) ? PREFIX : CHECKPOINT_PREFIX;
+        return Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length()));
+    }
+    
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%012d%s", PREFIX, index, SUFFIX));
+    }
+    
+    private record PendingAppend(JournalEntry entry, CompletableFuture<Void> done) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.eventmanagement.journal;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * What a stretch of the journal says about one event's counter. Without an
+ * OPENED or CLOSED entry in the stretch it is a relative change to whatever
+ * came before; with one it stands on its own. That makes folding segments
+ * independently and merging the results in order give the same answer as
+ * one sequential pass.
+ */
+final class SeatHistory {
+    private boolean absolute;
+    private boolean closed;
+    private int attendees;
+    private int capacity;
+    private boolean capacityKnown;
+    
+    void apply(JournalEntry entry) {
+        switch (entry.type()) {
+            case OPENED -> {
+                absolute = true;
+                closed = false;
+                attendees = entry.seats();
+                capacity = entry.capacity();
+                capacityKnown = true;
+            }
+            case RESERVED -> attendees += entry.seats();
+            case CANCELLED -> attendees -= entry.seats();
+            case RESIZED -> {
+                capacity = entry.capacity();
+                capacityKnown = true;
+            }
+            case CLOSED -> {
+                absolute = true;
+                closed = true;
+                attendees = 0;
+                capacityKnown = false;
+            }
+        }
+    }
+    
+    boolean isOpen() {
+        return absolute && !closed && capacityKnown;
+    }
+    
+    int attendees() {
+        return attendees;
+    }
+    
+    int capacity() {
+        return capacity;
+    }
+    
+    /**
+     * Per-event histories of an earlier stretch followed by a later one.
+     * Neither input is modified.
+     */
+    static Map<Long, SeatHistory> merge(Map<Long, SeatHistory> earlier, Map<Long, SeatHistory> later) {
+        Map<Long, SeatHistory> merged = new HashMap<>(earlier);
+        later.forEach((eventId, next) -> merged.merge(eventId, next, SeatHistory::then));
+        return merged;
+    }
+    
+    private static SeatHistory then(SeatHistory earlier, SeatHistory later) {
+        if (later.absolute) {
+            return later;
+        }
+        SeatHistory combined = new SeatHistory();
+        combined.absolute = earlier.absolute;
+        combined.closed = earlier.closed;
+        combined.attendees = earlier.attendees + later.attendees;
+        combined.capacityKnown = later.capacityKnown || earlier.capacityKnown;
+        combined.capacity = later.capacityKnown ? later.capacity : earlier.capacity;
+        return combined;
+    }
+}
@@ -0,0 +1,308 @@
+package com.eventmanagement.lifecycle;
+
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.service.SeatInventoryService;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Moves events through PUBLISHED -> ONGOING -> COMPLETED at their start and
+ * end times, and closes registration at the deadline, without scanning the
+ * events table. Upcoming instants sit in a priority queue; each tick pops only
+ * the timers that are due and applies them as one bulk update per transition.
+ */
+@Component
+public class EventLifecycleScheduler {
+    private static final Logger log = LoggerFactory.getLogger(EventLifecycleScheduler.class);
+    private static final int UPDATE_CHUNK = 1000;
+    
+    private final EventRepository eventRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    // Guarded by lock
+    private final PriorityQueue<LifecycleTimer> timers = new PriorityQueue<>(LifecycleTimer.BY_DUE);
+    private final Map<Long, Schedule> schedules = new HashMap<>();
+    private long nextGeneration;
+    // Timers in the queue whose schedule was replaced, cancelled or retired
+    private int staleTimers;
+    
+    public EventLifecycleScheduler(EventRepository eventRepository,
+                                   SeatInventoryService seatInventoryService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager,
+                                   ShardRouter shardRouter) {
+        this.eventRepository = eventRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        List<LifecycleSchedule> schedules = shardRouter.gather(() -> eventRepository.findLifecycleSchedules(
+                EnumSet.of(Event.EventStatus.PUBLISHED, Event.EventStatus.ONGOING)));
+        lock.lock();
+        try {
+            timers.clear();
+            this.schedules.clear();
+            staleTimers = 0;
+            schedules.forEach(this::scheduleInternal);
+        } finally {
+            lock.unlock();
+        }
+        // Transitions missed while the application was down fire on the first tick
+        log.info("Event lifecycle scheduler built: {} timers for {} events in {} ms",
+                timers.size(), this.schedules.size(), System.currentTimeMillis() - started);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        // A series template's own times are just its first occurrence's; the
+        // materialized occurrences carry their own timers
+        if (change.changeType() == ChangeType.DELETED || change.event().getRecurrenceRule() != null) {
+            cancel(change.eventId());
+        } else {
+            schedule(LifecycleSchedule.from(change.event()));
+        }
+    }
+    
+    /**
+     * Replaces any timers of the event with ones for its current times and
+     * status. Events that are not PUBLISHED or ONGOING (drafts, postponed,
+     * cancelled, completed) are left without timers.
+     */
+    public void schedule(LifecycleSchedule schedule) {
+        lock.lock();
+        try {
+            scheduleInternal(schedule);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public void cancel(Long eventId) {
+        lock.lock();
+        try {
+            drop(schedules.remove(eventId));
+            compactIfStale();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int scheduledEvents() {
+        lock.lock();
+        try {
+            return schedules.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    public int queuedTimers() {
+        lock.lock();
+        try {
+            return timers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${lifecycle.tick-ms:1000}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        List<LifecycleTimer> due = pollDue(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<LifecycleTimer>> byShard;
+        try {
+            byShard = shardRouter.byEventShard(due, LifecycleTimer::eventId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to route {} lifecycle transitions, will retry", due.size(), e);
+            requeue(due);
+            return;
+        }
+        // One transaction per shard; a shard that fails retries on its own
+        byShard.forEach((shard, shardTimers) -> ShardContext.run(shard, () -> apply(shardTimers, now)));
+    }
+    
+    private void apply(List<LifecycleTimer> due, LocalDateTime now) {
+        // EnumMap iterates in declaration order, so an event that is both
+        // starting and ending in this tick goes ONGOING before COMPLETED
+        Map<Transition, List<Long>> byTransition = new EnumMap<>(Transition.class);
+        for (LifecycleTimer timer : due) {
+            byTransition.computeIfAbsent(timer.transition(), t -> new ArrayList<>()).add(timer.eventId());
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> byTransition.forEach((transition, eventIds) -> {
+                if (transition.getTarget() != null) {
+                    applyTransition(transition, eventIds, now);
+                }
+            }));
+        } catch (RuntimeException e) {
+            log.warn("Failed to apply {} lifecycle transitions, will retry", due.size(), e);
+            requeue(due);
+            return;
+        }
+        byTransition.getOrDefault(Transition.REGISTRATION_CLOSE, List.of())
+                .forEach(seatInventoryService::releaseHolds);
+        retire(due);
+    }
+    
+    private void applyTransition(Transition transition, List<Long> eventIds, LocalDateTime now) {
+        List<Long> changed = new ArrayList<>(eventIds.size());
+        for (int from = 0; from < eventIds.size(); from += UPDATE_CHUNK) {
+            List<Long> chunk = eventIds.subList(from, Math.min(eventIds.size(), from + UPDATE_CHUNK));
+            // Locks the rows still in a source status, so an edit that cancelled or
+            // postponed the event in the meantime is not overwritten
+            List<Long> eligible = eventRepository.lockIdsInStatus(chunk, transition.getFrom());
+            if (!eligible.isEmpty()) {
+                eventRepository.updateStatus(eligible, transition.getTarget(), now);
+                changed.addAll(eligible);
+            }
+        }
+        if (!changed.isEmpty()) {
+            // Delivered to the caches and indexes after commit
+            eventPublisher.publishEvent(new EventStatusChangedEvent(changed, transition.getTarget()));
+            log.debug("{} events moved to {}", changed.size(), transition.getTarget());
+        }
+    }
+    
+    private List<LifecycleTimer> pollDue(LocalDateTime now) {
+        List<LifecycleTimer> due = new ArrayList<>();
+        lock.lock();
+        try {
+            while (!timers.isEmpty() && !timers.peek().dueAt().isAfter(now)) {
+                LifecycleTimer timer = timers.poll();
+                if (isCurrent(timer)) {
+                    schedules.get(timer.eventId()).pending--;
+                    due.add(timer);
+                } else {
+                    staleTimers--;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return due;
+    }
+    
+    private void requeue(List<LifecycleTimer> due) {
+        lock.lock();
+        try {
+            for (LifecycleTimer timer : due) {
+                if (isCurrent(timer)) {
+                    schedules.get(timer.eventId()).pending++;
+                    timers.add(timer);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    // The END timer is the last one of a schedule; once it has fired the event
+    // needs no schedule entry until it is rescheduled
+    private void retire(List<LifecycleTimer> fired) {
+        lock.lock();
+        try {
+            for (LifecycleTimer timer : fired) {
+                if (timer.transition() == Transition.END && isCurrent(timer)) {
+                    drop(schedules.remove(timer.eventId()));
+                }
+            }
+            compactIfStale();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private boolean isCurrent(LifecycleTimer timer) {
+        Schedule schedule = schedules.get(timer.eventId());
+        return schedule != null && schedule.generation == timer.generation();
+    }
+    
+    // The dropped schedule's timers stay queued until they reach the head or
+    // the queue is compacted
+    private void drop(Schedule schedule) {
+        if (schedule != null) {
+            staleTimers += schedule.pending;
+        }
+    }
+    
+    // Editing events far ahead would otherwise pile up stale timers; rebuilding
+    // once they outnumber the live ones keeps the queue at most twice its size
+    private void compactIfStale() {
+        if (staleTimers > timers.size() - staleTimers) {
+            timers.removeIf(timer -> !isCurrent(timer));
+            staleTimers = 0;
+        }
+    }
+    
+    private void scheduleInternal(LifecycleSchedule schedule) {
+        drop(schedules.remove(schedule.eventId()));
+        long generation = ++nextGeneration;
+        int pending = 0;
+        Event.EventStatus status = schedule.status();
+        if (schedule.registrationDeadline() != null && Transition.REGISTRATION_CLOSE.appliesTo(status)) {
+            timers.add(new LifecycleTimer(schedule.registrationDeadline(), schedule.eventId(),
+                    Transition.REGISTRATION_CLOSE, generation));
+            pending++;
+        }
+        if (schedule.startDateTime() != null && Transition.START.appliesTo(status)) {
+            timers.add(new LifecycleTimer(schedule.startDateTime(), schedule.eventId(), Transition.START, generation));
+            pending++;
+        }
+        if (schedule.endDateTime() != null && Transition.END.appliesTo(status)) {
+            timers.add(new LifecycleTimer(schedule.endDateTime(), schedule.eventId(), Transition.END, generation));
+            pending++;
+        }
+        if (pending > 0) {
+            schedules.put(schedule.eventId(), new Schedule(generation, pending));
+        }
+        compactIfStale();
+    }
+    
+    // The generation ties queued timers to this schedule; pending counts the
+    // ones still in the queue
+    private static final class Schedule {
+        final long generation;
+        int pending;
+        
+        Schedule(long generation, int pending) {
+            this.generation = generation;
+            this.pending = pending;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.eventmanagement.lifecycle;
+
+import com.eventmanagement.model.Event;
+
+import java.time.LocalDateTime;
+
+public record LifecycleSchedule(Long eventId, Event.EventStatus status, LocalDateTime startDateTime,
+                                LocalDateTime endDateTime, LocalDateTime registrationDeadline) {
+    
+    public static LifecycleSchedule from(Event event) {
+        return new LifecycleSchedule(event.getId(), event.getStatus(), event.getStartDateTime(),
+                event.getEndDateTime(), event.getRegistrationDeadline());
+    }
+}
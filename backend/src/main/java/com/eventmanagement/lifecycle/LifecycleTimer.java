@@ -0,0 +1,17 @@
+package com.eventmanagement.lifecycle;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * A pending transition. The generation ties the timer to the schedule it was
+ * created from; rescheduling an event bumps the generation, and timers from
+ * older generations are dropped when they reach the head of the queue, or
+ * earlier when the scheduler compacts the queue.
+ */
+record LifecycleTimer(LocalDateTime dueAt, Long eventId, Transition transition, long generation) {
+    
+    static final Comparator<LifecycleTimer> BY_DUE = Comparator.comparing(LifecycleTimer::dueAt)
+            .thenComparing(LifecycleTimer::eventId)
+            .thenComparing(LifecycleTimer::transition);
+}
@@ -0,0 +1,29 @@
+package com.eventmanagement.lifecycle;
+
+import com.eventmanagement.model.Event.EventStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+public enum Transition {
+    // No status change; frees seat holds that can no longer be confirmed
+    REGISTRATION_CLOSE(null, EnumSet.of(EventStatus.PUBLISHED)),
+    START(EventStatus.ONGOING, EnumSet.of(EventStatus.PUBLISHED)),
+    END(EventStatus.COMPLETED, EnumSet.of(EventStatus.PUBLISHED, EventStatus.ONGOING));
+    
+    private final EventStatus target;
+    private final Set<EventStatus> from;
+    
+    Transition(EventStatus target, Set<EventStatus> from) {
+        this.target = target;
+        this.from = from;
+    }
+    
+    public EventStatus getTarget() { return target; }
+    
+    public Set<EventStatus> getFrom() { return from; }
+    
+    public boolean appliesTo(EventStatus status) {
+        return from.contains(status);
+    }
+}
@@ -0,0 +1,10 @@
+package com.eventmanagement.listener;
+
+import java.util.Map;
+
+/**
+ * Published after the seat inventory has written current attendee counts
+ * back to the events table.
+ */
+public record AttendeeCountsFlushedEvent(Map<Long, Integer> attendeesByEvent) {
+}
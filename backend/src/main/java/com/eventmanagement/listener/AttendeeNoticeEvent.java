@@ -0,0 +1,9 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.model.NotificationJob.NotificationType;
+
+/**
+ * Published when a change to an event has to be told to all its attendees.
+ */
+public record AttendeeNoticeEvent(Long eventId, NotificationType type) {
+}
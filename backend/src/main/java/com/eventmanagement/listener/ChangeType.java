@@ -0,0 +1,5 @@
+package com.eventmanagement.listener;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
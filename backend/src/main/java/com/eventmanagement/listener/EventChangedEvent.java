@@ -0,0 +1,10 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.model.Event;
+
+public record EventChangedEvent(Event event, ChangeType changeType) {
+    
+    public Long eventId() {
+        return event.getId();
+    }
+}
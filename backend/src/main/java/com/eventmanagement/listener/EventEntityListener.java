@@ -0,0 +1,135 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.exception.VenueBookingConflictException;
+import com.eventmanagement.index.Booking;
+import com.eventmanagement.index.SeriesBooking;
+import com.eventmanagement.index.VenueScheduleIndex;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.recurrence.RecurrenceRule;
+import com.eventmanagement.service.SeatInventoryService;
+import com.eventmanagement.util.TransactionCallbacks;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class EventEntityListener {
+    
+    private final SeatInventoryService seatInventoryService;
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public EventEntityListener(@Lazy SeatInventoryService seatInventoryService,
+                               @Lazy VenueScheduleIndex venueScheduleIndex,
+                               ApplicationEventPublisher eventPublisher) {
+        this.seatInventoryService = seatInventoryService;
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    // Only attaches a counter that already exists: listings and searches load
+    // many events that are never booked, and without a counter the row's own
+    // count is current. Counters are made on the registration and availability paths
+    @PostLoad
+    public void onLoad(Event event) {
+        seatInventoryService.findCounter(event.getId()).ifPresent(event::setSeatAvailability);
+    }
+    
+    @PrePersist
+    public void beforeCreate(Event event) {
+        checkVenueBooking(event);
+    }
+    
+    @PostPersist
+    public void afterCreate(Event event) {
+        updateSchedule(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event, ChangeType.CREATED));
+    }
+    
+    @PreUpdate
+    public void beforeUpdate(Event event) {
+        checkVenueBooking(event);
+        seatInventoryService.syncCapacity(event);
+        // The inventory owns the attendee count; never let a stale entity overwrite it
+        seatInventoryService.findCounter(event.getId())
+                .ifPresent(counter -> event.setCurrentAttendees(counter.committedAttendees()));
+    }
+    
+    @PostUpdate
+    public void afterUpdate(Event event) {
+        updateSchedule(event);
+        eventPublisher.publishEvent(new EventChangedEvent(event, ChangeType.UPDATED));
+    }
+    
+    @PostRemove
+    public void afterRemove(Event event) {
+        Optional<Booking> previous = venueScheduleIndex.remove(event.getId());
+        Optional<SeriesBooking> previousSeries = venueScheduleIndex.removeSeries(event.getId());
+        TransactionCallbacks.afterRollback(() -> {
+            venueScheduleIndex.restore(event.getId(), previous);
+            venueScheduleIndex.restoreSeries(event.getId(), previousSeries);
+        });
+        if (event.getSeriesTemplate() != null) {
+            Long templateId = event.getSeriesTemplate().getId();
+            venueScheduleIndex.removeOccurrence(templateId, event.getOccurrenceStart());
+            TransactionCallbacks.afterRollback(() ->
+                    venueScheduleIndex.addOccurrence(templateId, event.getOccurrenceStart(), event.getId()));
+        }
+        TransactionCallbacks.afterCommit(() -> seatInventoryService.evict(event.getId()));
+        eventPublisher.publishEvent(new EventChangedEvent(event, ChangeType.DELETED));
+    }
+    
+    private void checkVenueBooking(Event event) {
+        if (event.getStatus() == Event.EventStatus.CANCELLED || event.getVenue() == null
+                || event.getVenue().getId() == null
+                || event.getStartDateTime() == null || event.getEndDateTime() == null) {
+            return;
+        }
+        Long venueId = event.getVenue().getId();
+        Set<Long> excluded = new HashSet<>();
+        if (event.getId() != null) {
+            excluded.add(event.getId());
+        }
+        // A series' first occurrence fills the slot its template already books
+        if (event.getSeriesTemplate() != null) {
+            excluded.add(event.getSeriesTemplate().getId());
+        }
+        // A series books every occurrence its rule will produce, not just the first
+        Optional<Booking> conflict = event.getRecurrenceRule() != null
+                ? venueScheduleIndex.findSeriesConflict(venueId, event.getId(),
+                        RecurrenceRule.parse(event.getRecurrenceRule()), event.getStartDateTime(),
+                        event.getEndDateTime(), excluded)
+                : venueScheduleIndex.findConflict(venueId, event.getStartDateTime(), event.getEndDateTime(), excluded);
+        conflict.ifPresent(booking -> {
+            throw new VenueBookingConflictException(venueId, booking.eventId());
+        });
+    }
+    
+    // Applied at flush time, while the transaction still holds the venue lock,
+    // so a concurrent booking for the same venue sees it; undone on rollback
+    private void updateSchedule(Event event) {
+        Optional<Booking> previous = venueScheduleIndex.apply(event);
+        Optional<SeriesBooking> previousSeries = venueScheduleIndex.applySeries(event);
+        TransactionCallbacks.afterRollback(() -> {
+            venueScheduleIndex.restore(event.getId(), previous);
+            venueScheduleIndex.restoreSeries(event.getId(), previousSeries);
+        });
+        // The occurrence's own row books its slot from now on, in place of the rule
+        if (event.getSeriesTemplate() != null && event.getOccurrenceStart() != null) {
+            Long templateId = event.getSeriesTemplate().getId();
+            venueScheduleIndex.addOccurrence(templateId, event.getOccurrenceStart(), event.getId());
+            TransactionCallbacks.afterRollback(() ->
+                    venueScheduleIndex.removeOccurrence(templateId, event.getOccurrenceStart()));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.model.Event;
+
+import java.util.List;
+
+/**
+ * Published for status changes written with bulk updates, which bypass the
+ * entity listeners and so never produce an {@link EventChangedEvent}.
+ */
+public record EventStatusChangedEvent(List<Long> eventIds, Event.EventStatus status) {
+}
@@ -0,0 +1,10 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.model.Organizer;
+
+public record OrganizerChangedEvent(Organizer organizer, ChangeType changeType) {
+    
+    public Long organizerId() {
+        return organizer.getId();
+    }
+}
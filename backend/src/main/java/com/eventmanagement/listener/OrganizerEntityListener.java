@@ -0,0 +1,33 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.model.Organizer;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OrganizerEntityListener {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public OrganizerEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostPersist
+    public void afterCreate(Organizer organizer) {
+        eventPublisher.publishEvent(new OrganizerChangedEvent(organizer, ChangeType.CREATED));
+    }
+    
+    @PostUpdate
+    public void afterUpdate(Organizer organizer) {
+        eventPublisher.publishEvent(new OrganizerChangedEvent(organizer, ChangeType.UPDATED));
+    }
+    
+    @PostRemove
+    public void afterRemove(Organizer organizer) {
+        eventPublisher.publishEvent(new OrganizerChangedEvent(organizer, ChangeType.DELETED));
+    }
+}
@@ -0,0 +1,4 @@
+package com.eventmanagement.listener;
+
+public record RegistrationCancelledEvent(Long eventId, Long registrationId) {
+}
@@ -0,0 +1,10 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.model.Venue;
+
+public record VenueChangedEvent(Venue venue, ChangeType changeType) {
+    
+    public Long venueId() {
+        return venue.getId();
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventmanagement.listener;
+
+import com.eventmanagement.index.VenueGeoIndex;
+import com.eventmanagement.index.VenueLocation;
+import com.eventmanagement.index.VenueScheduleIndex;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.util.TransactionCallbacks;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+@Component
+public class VenueEntityListener {
+    
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final VenueGeoIndex venueGeoIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public VenueEntityListener(@Lazy VenueScheduleIndex venueScheduleIndex,
+                               @Lazy VenueGeoIndex venueGeoIndex,
+                               ApplicationEventPublisher eventPublisher) {
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.venueGeoIndex = venueGeoIndex;
+        this.eventPublisher = eventPublisher;
+    }
+    
+    @PostPersist
+    public void afterCreate(Venue venue) {
+        updateIndexes(venue);
+        eventPublisher.publishEvent(new VenueChangedEvent(venue, ChangeType.CREATED));
+    }
+    
+    @PostUpdate
+    public void afterUpdate(Venue venue) {
+        updateIndexes(venue);
+        eventPublisher.publishEvent(new VenueChangedEvent(venue, ChangeType.UPDATED));
+    }
+    
+    @PostRemove
+    public void afterRemove(Venue venue) {
+        Long venueId = venue.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            venueScheduleIndex.removeVenue(venueId);
+            venueGeoIndex.remove(venueId);
+        });
+        eventPublisher.publishEvent(new VenueChangedEvent(venue, ChangeType.DELETED));
+    }
+    
+    private void updateIndexes(Venue venue) {
+        Long venueId = venue.getId();
+        Venue.VenueStatus status = venue.getStatus();
+        Integer capacity = venue.getCapacity();
+        VenueLocation location = VenueLocation.from(venue);
+        TransactionCallbacks.afterCommit(() -> {
+            venueScheduleIndex.applyVenue(venueId, status, capacity);
+            venueGeoIndex.apply(status, location);
+        });
+    }
+}
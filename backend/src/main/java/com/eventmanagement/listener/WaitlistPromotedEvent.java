@@ -0,0 +1,9 @@
+package com.eventmanagement.listener;
+
+import java.util.List;
+
+/**
+ * Published after waitlisted attendees have been registered for the event.
+ */
+public record WaitlistPromotedEvent(Long eventId, List<String> emails) {
+}
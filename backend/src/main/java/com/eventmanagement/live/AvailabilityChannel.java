@@ -0,0 +1,55 @@
+package com.eventmanagement.live;
+
+import com.eventmanagement.dto.AvailabilityUpdate;
+import com.eventmanagement.model.Event;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Subscribers of one event plus what they were last sent. Status comes from
+ * entity change events; seat counts are sampled from the counter by the
+ * broadcast tick.
+ */
+class AvailabilityChannel {
+    private final Long eventId;
+    private final Set<AvailabilitySubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private volatile Event.EventStatus status;
+    // Only touched by the broadcast tick
+    private AvailabilityUpdate lastSent;
+    private long lastSentAt;
+    
+    AvailabilityChannel(Long eventId, Event.EventStatus status) {
+        this.eventId = eventId;
+        this.status = status;
+    }
+    
+    Long eventId() {
+        return eventId;
+    }
+    
+    Set<AvailabilitySubscriber> subscribers() {
+        return subscribers;
+    }
+    
+    Event.EventStatus status() {
+        return status;
+    }
+    
+    void setStatus(Event.EventStatus status) {
+        this.status = status;
+    }
+    
+    /**
+     * Returns the update to broadcast, or null when nothing changed and the
+     * heartbeat is not due yet.
+     */
+    AvailabilityUpdate nextBroadcast(AvailabilityUpdate current, long now, long heartbeatMillis) {
+        if (current.equals(lastSent) && now - lastSentAt < heartbeatMillis) {
+            return null;
+        }
+        lastSent = current;
+        lastSentAt = now;
+        return current;
+    }
+}
@@ -0,0 +1,151 @@
+package com.eventmanagement.live;
+
+import com.eventmanagement.dto.AvailabilityUpdate;
+import com.eventmanagement.inventory.EventSeats;
+import com.eventmanagement.inventory.SeatCounter;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.service.SeatInventoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent availability updates per event, replacing per-second polling
+ * of the availability endpoint. A tick samples each watched event's seat
+ * counter and broadcasts only when the counts or status changed, so an
+ * event gets at most one update per tick however many seats moved. Idle
+ * streams hold no thread (async servlet requests); writes run on virtual
+ * threads, one at a time per subscriber.
+ */
+@Service
+public class AvailabilityStreamService {
+    
+    private final SeatInventoryService seatInventoryService;
+    private final long emitterTimeoutMillis;
+    private final long heartbeatMillis;
+    private final Map<Long, AvailabilityChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    
+    public AvailabilityStreamService(SeatInventoryService seatInventoryService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${live.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                     @Value("${live.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.seatInventoryService = seatInventoryService;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        Gauge.builder("availability.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open availability streams")
+                .register(meterRegistry);
+        Gauge.builder("availability.stream.events", channels, Map::size)
+                .description("Events with at least one open availability stream")
+                .register(meterRegistry);
+    }
+    
+    public SseEmitter subscribe(Long eventId) {
+        // A stream alone must not open a counter, so without one the first update
+        // comes from the row; with a counter and an open channel nothing is read
+        Optional<SeatCounter> counter = seatInventoryService.findCounter(eventId);
+        AvailabilityChannel existing = channels.get(eventId);
+        EventSeats seats = counter.isPresent() && existing != null ? null : seatInventoryService.storedSeats(eventId);
+        Event.EventStatus status = existing != null ? existing.status() : seats.status();
+        if (status != Event.EventStatus.PUBLISHED && status != Event.EventStatus.ONGOING) {
+            throw new IllegalArgumentException("Event " + eventId + " is " + status
+                    + "; availability streams are only open for published or ongoing events");
+        }
+        
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        AvailabilitySubscriber subscriber = new AvailabilitySubscriber(emitter);
+        // compute() serializes with the removal of an emptied channel, so the
+        // subscriber never lands in a channel that is already gone
+        AvailabilityChannel channel = channels.compute(eventId, (id, current) -> {
+            AvailabilityChannel target = current != null ? current : new AvailabilityChannel(id, status);
+            target.subscribers().add(subscriber);
+            return target;
+        });
+        subscriberCount.incrementAndGet();
+        emitter.onCompletion(() -> unsubscribe(channel, subscriber));
+        emitter.onTimeout(() -> unsubscribe(channel, subscriber));
+        emitter.onError(e -> unsubscribe(channel, subscriber));
+        subscriber.offer(counter.map(live -> AvailabilityUpdate.from(live, channel.status()))
+                .orElseGet(() -> AvailabilityUpdate.from(seats, channel.status())), sender);
+        return emitter;
+    }
+    
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+    
+    @Scheduled(fixedRateString = "${live.broadcast-interval-ms:250}")
+    public void broadcast() {
+        long now = System.currentTimeMillis();
+        for (AvailabilityChannel channel : channels.values()) {
+            Optional<SeatCounter> counter = seatInventoryService.findCounter(channel.eventId());
+            if (counter.isEmpty()) {
+                continue;
+            }
+            AvailabilityUpdate update = channel.nextBroadcast(
+                    AvailabilityUpdate.from(counter.get(), channel.status()), now, heartbeatMillis);
+            if (update != null) {
+                for (AvailabilitySubscriber subscriber : channel.subscribers()) {
+                    subscriber.offer(update, sender);
+                }
+            }
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            AvailabilityChannel channel = channels.remove(change.eventId());
+            if (channel != null) {
+                channel.subscribers().forEach(AvailabilitySubscriber::close);
+            }
+            return;
+        }
+        AvailabilityChannel channel = channels.get(change.eventId());
+        if (channel != null) {
+            channel.setStatus(change.event().getStatus());
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        for (Long eventId : change.eventIds()) {
+            AvailabilityChannel channel = channels.get(eventId);
+            if (channel != null) {
+                channel.setStatus(change.status());
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.subscribers().forEach(AvailabilitySubscriber::close));
+        channels.clear();
+        sender.shutdown();
+    }
+    
+    private void unsubscribe(AvailabilityChannel channel, AvailabilitySubscriber subscriber) {
+        if (channel.subscribers().remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            channels.computeIfPresent(channel.eventId(), (id, current) ->
+                    current == channel && current.subscribers().isEmpty() ? null : current);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventmanagement.live;
+
+import com.eventmanagement.dto.AvailabilityUpdate;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One open stream. Holds at most one unsent update: a newer update replaces
+ * it, so a slow client skips intermediate states instead of queueing them,
+ * and only a subscriber with something to write occupies a sender thread.
+ */
+class AvailabilitySubscriber {
+    private final SseEmitter emitter;
+    private final AtomicReference<AvailabilityUpdate> pending = new AtomicReference<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private volatile boolean closed;
+    
+    AvailabilitySubscriber(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+    
+    SseEmitter emitter() {
+        return emitter;
+    }
+    
+    boolean isClosed() {
+        return closed;
+    }
+    
+    void offer(AvailabilityUpdate update, Executor sender) {
+        if (closed) {
+            return;
+        }
+        pending.set(update);
+        if (sending.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(sender));
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+            }
+        }
+    }
+    
+    void close() {
+        closed = true;
+        emitter.complete();
+    }
+    
+    private void drain(Executor sender) {
+        AvailabilityUpdate update;
+        while (!closed && (update = pending.getAndSet(null)) != null) {
+            try {
+                emitter.send(SseEmitter.event().name("availability").data(update, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; the emitter's callbacks unregister it
+                closed = true;
+                emitter.completeWithError(e);
+            }
+        }
+        sending.set(false);
+        // An update offered after the loop saw an empty slot would otherwise wait for the next one
+        if (!closed && pending.get() != null && sending.compareAndSet(false, true)) {
+            sender.execute(() -> drain(sender));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventmanagement.model;
 
+import com.eventmanagement.listener.EventEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
@@ -7,7 +8,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events",
+       uniqueConstraints = @UniqueConstraint(name = "uk_events_series_occurrence", columnNames = {"series_template_id", "occurrence_start"}),
+       indexes = @Index(name = "idx_events_start_id", columnList = "start_date_time, id"))
+@EntityListeners(EventEntityListener.class)
 public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -80,6 +84,19 @@ public class Event {
     @JoinColumn(name = "organizer_id", nullable = false)
     private Organizer organizer;
     
+    // RRULE making this event the template of a recurring series; its own
+    // start and end are the first occurrence's
+    @Column(name = "recurrence_rule", length = 200)
+    private String recurrenceRule;
+    
+    // Set on an occurrence materialized from a series, with the slot it fills
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "series_template_id")
+    private Event seriesTemplate;
+    
+    @Column(name = "occurrence_start")
+    private LocalDateTime occurrenceStart;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -89,6 +106,9 @@ public class Event {
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Registration> registrations;
     
+    @Transient
+    private SeatAvailability seatAvailability;
+    
     public enum EventType {
         CONFERENCE, WORKSHOP, SEMINAR, CONCERT, EXHIBITION, SPORTS, SOCIAL, CORPORATE, WEDDING, BIRTHDAY
     }
@@ -193,6 +213,15 @@ public class Event {
     public Organizer getOrganizer() { return organizer; }
     public void setOrganizer(Organizer organizer) { this.organizer = organizer; }
     
+    public String getRecurrenceRule() { return recurrenceRule; }
+    public void setRecurrenceRule(String recurrenceRule) { this.recurrenceRule = recurrenceRule; }
+    
+    public Event getSeriesTemplate() { return seriesTemplate; }
+    public void setSeriesTemplate(Event seriesTemplate) { this.seriesTemplate = seriesTemplate; }
+    
+    public LocalDateTime getOccurrenceStart() { return occurrenceStart; }
+    public void setOccurrenceStart(LocalDateTime occurrenceStart) { this.occurrenceStart = occurrenceStart; }
+    
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
@@ -202,11 +231,17 @@ public class Event {
     public List<Registration> getRegistrations() { return registrations; }
     public void setRegistrations(List<Registration> registrations) { this.registrations = registrations; }
     
+    public SeatAvailability getSeatAvailability() { return seatAvailability; }
+    public void setSeatAvailability(SeatAvailability seatAvailability) { this.seatAvailability = seatAvailability; }
+    
     public boolean hasAvailableSpots() {
-        return currentAttendees < maxAttendees;
+        return getAvailableSpots() > 0;
     }
     
     public Integer getAvailableSpots() {
+        if (seatAvailability != null) {
+            return seatAvailability.availableSpots();
+        }
         return maxAttendees - currentAttendees;
     }
     
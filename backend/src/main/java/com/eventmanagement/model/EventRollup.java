@@ -0,0 +1,91 @@
+package com.eventmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "event_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_event_rollup_cell",
+               columnNames = {"organizer_id", "category", "event_type", "rollup_day"}),
+       indexes = @Index(name = "idx_event_rollup_organizer_day", columnList = "organizer_id, rollup_day"))
+public class EventRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_rollup_seq")
+    @SequenceGenerator(name = "event_rollup_seq", sequenceName = "event_rollup_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "organizer_id", nullable = false)
+    private Long organizerId;
+    
+    private String category;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type")
+    private Event.EventType eventType;
+    
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+    
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+    
+    @Column(nullable = false)
+    private long attendees;
+    
+    @Column(nullable = false)
+    private long capacity;
+    
+    @Column(name = "revenue_cents", nullable = false)
+    private long revenueCents;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public EventRollup() {}
+    
+    public EventRollup(Long organizerId, String category, Event.EventType eventType, LocalDate day) {
+        this.organizerId = organizerId;
+        this.category = category;
+        this.eventType = eventType;
+        this.day = day;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getOrganizerId() { return organizerId; }
+    public void setOrganizerId(Long organizerId) { this.organizerId = organizerId; }
+    
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+    
+    public Event.EventType getEventType() { return eventType; }
+    public void setEventType(Event.EventType eventType) { this.eventType = eventType; }
+    
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+    
+    public long getEventCount() { return eventCount; }
+    public void setEventCount(long eventCount) { this.eventCount = eventCount; }
+    
+    public long getAttendees() { return attendees; }
+    public void setAttendees(long attendees) { this.attendees = attendees; }
+    
+    public long getCapacity() { return capacity; }
+    public void setCapacity(long capacity) { this.capacity = capacity; }
+    
+    public long getRevenueCents() { return revenueCents; }
+    public void setRevenueCents(long revenueCents) { this.revenueCents = revenueCents; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
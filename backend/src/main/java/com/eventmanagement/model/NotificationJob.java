@@ -0,0 +1,114 @@
+package com.eventmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One fan-out of a notice to every attendee of an event. The cursor is the
+ * last registration id delivered, so a restarted job carries on after it.
+ * The event is referenced by id only: a cancellation notice has to outlive
+ * the event row.
+ */
+@Entity
+@Table(name = "notification_jobs",
+       indexes = {@Index(name = "idx_notification_job_status", columnList = "status"),
+                  @Index(name = "idx_notification_job_event_type", columnList = "event_id, type")})
+public class NotificationJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_job_seq")
+    @SequenceGenerator(name = "notification_job_seq", sequenceName = "notification_job_seq", allocationSize = 1)
+    private Long id;
+    
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+    
+    @Enumerated(EnumType.STRING)
+    private JobStatus status;
+    
+    @Column(name = "last_registration_id", nullable = false)
+    private Long cursor;
+    
+    @Column(nullable = false)
+    private Long sent;
+    
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum NotificationType {
+        REMINDER, VENUE_CHANGED, POSTPONED, CANCELLED
+    }
+    
+    public enum JobStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = JobStatus.PENDING;
+        }
+        if (cursor == null) {
+            cursor = 0L;
+        }
+        if (sent == null) {
+            sent = 0L;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public NotificationJob() {}
+    
+    public NotificationJob(Long eventId, NotificationType type) {
+        this.eventId = eventId;
+        this.type = type;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getEventId() { return eventId; }
+    public void setEventId(Long eventId) { this.eventId = eventId; }
+    
+    public NotificationType getType() { return type; }
+    public void setType(NotificationType type) { this.type = type; }
+    
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+    
+    public Long getCursor() { return cursor; }
+    public void setCursor(Long cursor) { this.cursor = cursor; }
+    
+    public Long getSent() { return sent; }
+    public void setSent(Long sent) { this.sent = sent; }
+    
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+}
@@ -1,5 +1,6 @@
 package com.eventmanagement.model;
 
+import com.eventmanagement.listener.OrganizerEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
@@ -7,9 +8,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "organizers")
+@EntityListeners(OrganizerEntityListener.class)
 public class Organizer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organizer_seq")
+    @SequenceGenerator(name = "organizer_seq", sequenceName = "organizer_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Organization name is required")
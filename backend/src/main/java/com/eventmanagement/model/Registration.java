@@ -0,0 +1,101 @@
+package com.eventmanagement.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "registrations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_registration_event_attendee", columnNames = {"event_id", "attendee_id"}),
+       indexes = @Index(name = "idx_registration_event", columnList = "event_id, id"))
+public class Registration {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_seq")
+    @SequenceGenerator(name = "registration_seq", sequenceName = "registration_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "attendee_id", nullable = false)
+    private Attendee attendee;
+    
+    @Column(name = "confirmation_code", unique = true, length = 32)
+    private String confirmationCode;
+    
+    @Enumerated(EnumType.STRING)
+    private RegistrationStatus status;
+    
+    @Column(name = "amount_paid", precision = 10, scale = 2)
+    private BigDecimal amountPaid;
+    
+    @Column(name = "special_requirements", length = 500)
+    private String specialRequirements;
+    
+    @Column(name = "registration_date")
+    private LocalDateTime registrationDate;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum RegistrationStatus {
+        CONFIRMED, CANCELLED, ATTENDED, NO_SHOW
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        registrationDate = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = RegistrationStatus.CONFIRMED;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public Registration() {}
+    
+    public Registration(Event event, Attendee attendee, String confirmationCode) {
+        this.event = event;
+        this.attendee = attendee;
+        this.confirmationCode = confirmationCode;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Event getEvent() { return event; }
+    public void setEvent(Event event) { this.event = event; }
+    
+    public Attendee getAttendee() { return attendee; }
+    public void setAttendee(Attendee attendee) { this.attendee = attendee; }
+    
+    public String getConfirmationCode() { return confirmationCode; }
+    public void setConfirmationCode(String confirmationCode) { this.confirmationCode = confirmationCode; }
+    
+    public RegistrationStatus getStatus() { return status; }
+    public void setStatus(RegistrationStatus status) { this.status = status; }
+    
+    public BigDecimal getAmountPaid() { return amountPaid; }
+    public void setAmountPaid(BigDecimal amountPaid) { this.amountPaid = amountPaid; }
+    
+    public String getSpecialRequirements() { return specialRequirements; }
+    public void setSpecialRequirements(String specialRequirements) { this.specialRequirements = specialRequirements; }
+    
+    public LocalDateTime getRegistrationDate() { return registrationDate; }
+    public void setRegistrationDate(LocalDateTime registrationDate) { this.registrationDate = registrationDate; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    
+    public boolean isActive() {
+        return status == RegistrationStatus.CONFIRMED || status == RegistrationStatus.ATTENDED;
+    }
+}
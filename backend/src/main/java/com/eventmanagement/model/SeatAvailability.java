@@ -0,0 +1,6 @@
+package com.eventmanagement.model;
+
+public interface SeatAvailability {
+    int availableSpots();
+    int currentAttendees();
+}
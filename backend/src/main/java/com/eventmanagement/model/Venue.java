@@ -1,5 +1,6 @@
 package com.eventmanagement.model;
 
+import com.eventmanagement.listener.VenueEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.time.LocalDateTime;
@@ -7,9 +8,11 @@ import java.util.List;
 
 @Entity
 @Table(name = "venues")
+@EntityListeners(VenueEntityListener.class)
 public class Venue {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "venue_seq")
+    @SequenceGenerator(name = "venue_seq", sequenceName = "venue_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Venue name is required")
@@ -31,6 +34,14 @@ public class Venue {
     
     private String country;
     
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     @NotNull(message = "Capacity is required")
     @Min(value = 1, message = "Capacity must be at least 1")
     private Integer capacity;
@@ -49,7 +60,7 @@ public class Venue {
     @Column(name = "contact_email")
     private String contactEmail;
     
-    @Column(name = "rental_cost", precision = 10, scale = 2)
+    @Column(name = "rental_cost")
     private Double rentalCost;
     
     @Column(name = "amenities", length = 1000)
@@ -144,6 +155,12 @@ public class Venue {
     public String getCountry() { return country; }
     public void setCountry(String country) { this.country = country; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public Integer getCapacity() { return capacity; }
     public void setCapacity(Integer capacity) { this.capacity = capacity; }
     
@@ -0,0 +1,126 @@
+package com.eventmanagement.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "waitlist_entries",
+       indexes = @Index(name = "idx_waitlist_event_status_position", columnList = "event_id, status, position"))
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "waitlist_seq")
+    @SequenceGenerator(name = "waitlist_seq", sequenceName = "waitlist_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id", nullable = false)
+    private Event event;
+    
+    @Column(nullable = false)
+    private String email;
+    
+    @Column(name = "first_name", length = 50)
+    private String firstName;
+    
+    @Column(name = "last_name", length = 50)
+    private String lastName;
+    
+    @Column(name = "phone_number")
+    private String phoneNumber;
+    
+    @Column(name = "date_of_birth")
+    private LocalDate dateOfBirth;
+    
+    private String company;
+    
+    @Column(name = "job_title")
+    private String jobTitle;
+    
+    @Column(name = "special_requirements", length = 500)
+    private String specialRequirements;
+    
+    @Column(nullable = false)
+    private Long position;
+    
+    @Enumerated(EnumType.STRING)
+    private WaitlistStatus status;
+    
+    @Column(name = "joined_at")
+    private LocalDateTime joinedAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    public enum WaitlistStatus {
+        WAITING, PROMOTED, LEFT, SKIPPED
+    }
+    
+    @PrePersist
+    protected void onCreate() {
+        if (joinedAt == null) {
+            joinedAt = LocalDateTime.now();
+        }
+        updatedAt = LocalDateTime.now();
+        if (status == null) {
+            status = WaitlistStatus.WAITING;
+        }
+    }
+    
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+    
+    // Constructors
+    public WaitlistEntry() {}
+    
+    public WaitlistEntry(Event event, String email, Long position) {
+        this.event = event;
+        this.email = email;
+        this.position = position;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Event getEvent() { return event; }
+    public void setEvent(Event event) { this.event = event; }
+    
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+    
+    public String getLastName() { return lastName; }
+    public void setLastName(String lastName) { this.lastName = lastName; }
+    
+    public String getPhoneNumber() { return phoneNumber; }
+    public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
+    
+    public LocalDate getDateOfBirth() { return dateOfBirth; }
+    public void setDateOfBirth(LocalDate dateOfBirth) { this.dateOfBirth = dateOfBirth; }
+    
+    public String getCompany() { return company; }
+    public void setCompany(String company) { this.company = company; }
+    
+    public String getJobTitle() { return jobTitle; }
+    public void setJobTitle(String jobTitle) { this.jobTitle = jobTitle; }
+    
+    public String getSpecialRequirements() { return specialRequirements; }
+    public void setSpecialRequirements(String specialRequirements) { this.specialRequirements = specialRequirements; }
+    
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+    
+    public WaitlistStatus getStatus() { return status; }
+    public void setStatus(WaitlistStatus status) { this.status = status; }
+    
+    public LocalDateTime getJoinedAt() { return joinedAt; }
+    public void setJoinedAt(LocalDateTime joinedAt) { this.joinedAt = joinedAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,13 +0,0 @@
-package com.eventmanagement.model;
-
-import jakarta.persistence.*;
-import jakarta.validation.constraints.*;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
-
-@Entity
-@Table(name = "attendees")
-public class Attendee {
-    @Id
-    @GeneratedValue(strategy = GenerationType.
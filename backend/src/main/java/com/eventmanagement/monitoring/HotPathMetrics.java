@@ -0,0 +1,54 @@
+package com.eventmanagement.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Latency histograms for the registration, listing and search paths, timed
+ * around the service call so transaction commit is included.
+ */
+@Component
+public class HotPathMetrics {
+    
+    private final Timer singleRegistration;
+    private final Timer bulkRegistration;
+    private final DistributionSummary bulkRegistrationSize;
+    private final Timer eventListing;
+    private final Timer eventSearch;
+    
+    public HotPathMetrics(MeterRegistry meterRegistry) {
+        this.singleRegistration = latency("registration.latency", "type", "single", meterRegistry);
+        this.bulkRegistration = latency("registration.latency", "type", "bulk", meterRegistry);
+        this.bulkRegistrationSize = DistributionSummary.builder("registration.bulk.size")
+                .description("Attendees per bulk registration")
+                .baseUnit("attendees")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(10_000.0)
+                .register(meterRegistry);
+        this.eventListing = latency("events.listing.latency", "query", "keyset", meterRegistry);
+        this.eventSearch = latency("events.search.latency", "query", "fulltext", meterRegistry);
+    }
+    
+    public Timer singleRegistration() { return singleRegistration; }
+    
+    public Timer bulkRegistration() { return bulkRegistration; }
+    
+    public DistributionSummary bulkRegistrationSize() { return bulkRegistrationSize; }
+    
+    public Timer eventListing() { return eventListing; }
+    
+    public Timer eventSearch() { return eventSearch; }
+    
+    private static Timer latency(String name, String tagKey, String tagValue, MeterRegistry meterRegistry) {
+        return Timer.builder(name)
+                .tag(tagKey, tagValue)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,60 @@
+package com.eventmanagement.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.function.Supplier;
+
+/**
+ * Sees every SQL statement Hibernate prepares and counts it against the
+ * current request. Hibernate instantiates this class itself (see
+ * hibernate.session_factory.statement_inspector), so the per-request state
+ * lives in a thread local opened and closed by {@link QueryCountInterceptor}.
+ * Work the request hands to other threads, such as the per-shard queries of
+ * a scatter-gather, is counted when it is wrapped with {@link #counted}.
+ */
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<QueryTally> CURRENT = new ThreadLocal<>();
+    
+    @Override
+    public String inspect(String sql) {
+        QueryTally tally = CURRENT.get();
+        if (tally != null) {
+            tally.record(sql);
+        }
+        return sql;
+    }
+    
+    /**
+     * Counts the statements {@code work} runs against the calling thread's
+     * request, on whichever thread it ends up running.
+     */
+    public static <T> Supplier<T> counted(Supplier<T> work) {
+        QueryTally tally = CURRENT.get();
+        if (tally == null) {
+            return work;
+        }
+        return () -> {
+            QueryTally previous = CURRENT.get();
+            CURRENT.set(tally);
+            try {
+                return work.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+    
+    static void begin() {
+        CURRENT.set(new QueryTally());
+    }
+    
+    static QueryTally end() {
+        QueryTally tally = CURRENT.get();
+        CURRENT.remove();
+        return tally;
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventmanagement.monitoring;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records the number of SQL statements per request and logs requests that
+ * execute the same select shape many times, the signature of an N+1 over a
+ * lazy association.
+ */
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+    private static final Logger log = LoggerFactory.getLogger(QueryCountInterceptor.class);
+    private static final int LOGGED_SQL_LENGTH = 300;
+    
+    // Hibernate's SQL for a single-row or collection load: "... from <table> <alias> where <alias>.<column>=?"
+    private static final Pattern LOAD_BY_KEY = Pattern.compile("from (\\w+) \\w+ where \\w+\\.(\\w+)\\s*=\\s*\\?$");
+    private static final Map<String, String> ASSOCIATIONS = Map.of(
+            "venues.id", "Event.venue",
+            "organizers.id", "Event.organizer",
+            "events.venue_id", "Venue.events",
+            "events.organizer_id", "Organizer.events",
+            "registrations.event_id", "Event.registrations",
+            "attendees.id", "Registration.attendee");
+    
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+    
+    public QueryCountInterceptor(MeterRegistry meterRegistry,
+                                 @Value("${monitoring.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCountInspector.begin();
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The rest runs on another thread; don't leave the tally on this one
+        QueryCountInspector.end();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryTally tally = QueryCountInspector.end();
+        if (tally == null) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements executed per request")
+                .tags("method", request.getMethod(), "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(tally.getTotal());
+        
+        for (Map.Entry<String, Integer> repeated : tally.repeatedSelects(nPlusOneThreshold)) {
+            String association = associationOf(repeated.getKey());
+            Counter.builder("hibernate.n_plus_one.suspected")
+                    .description("Requests repeating one select shape at least the N+1 threshold")
+                    .tags("uri", uri, "association", association)
+                    .register(meterRegistry)
+                    .increment();
+            String sql = repeated.getKey();
+            log.warn("Possible N+1 on {} {} ({}): {} executions of [{}]", request.getMethod(), uri, association,
+                    repeated.getValue(), sql.length() > LOGGED_SQL_LENGTH ? sql.substring(0, LOGGED_SQL_LENGTH) + "..." : sql);
+        }
+    }
+    
+    private static String associationOf(String sql) {
+        Matcher matcher = LOAD_BY_KEY.matcher(sql);
+        if (!matcher.find()) {
+            return "unknown";
+        }
+        return ASSOCIATIONS.getOrDefault(matcher.group(1) + "." + matcher.group(2), matcher.group(1));
+    }
+}
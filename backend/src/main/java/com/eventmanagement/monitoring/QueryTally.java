@@ -0,0 +1,44 @@
+package com.eventmanagement.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Statements executed while handling one request, grouped by shape. Shard
+ * queries record into it from the gather threads while the request's own
+ * thread waits for them, so it takes concurrent records.
+ */
+class QueryTally {
+    // IN lists of different lengths are the same query for N+1 purposes
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\?(\\s*,\\s*\\?)+\\)");
+    
+    private final Map<String, Integer> selectsByShape = new ConcurrentHashMap<>();
+    private final AtomicInteger total = new AtomicInteger();
+    
+    void record(String sql) {
+        total.incrementAndGet();
+        if (sql.regionMatches(true, 0, "select", 0, 6)) {
+            String shape = IN_LIST.matcher(sql.trim().toLowerCase(Locale.ROOT)).replaceAll("(?)");
+            selectsByShape.merge(shape, 1, Integer::sum);
+        }
+    }
+    
+    int getTotal() {
+        return total.get();
+    }
+    
+    List<Map.Entry<String, Integer>> repeatedSelects(int threshold) {
+        List<Map.Entry<String, Integer>> repeated = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : selectsByShape.entrySet()) {
+            if (entry.getValue() >= threshold) {
+                repeated.add(entry);
+            }
+        }
+        return repeated;
+    }
+}
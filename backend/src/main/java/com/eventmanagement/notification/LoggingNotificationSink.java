@@ -0,0 +1,20 @@
+package com.eventmanagement.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Default sink for development: delivers nothing
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingNotificationSink implements NotificationSink {
+    private static final Logger log = LoggerFactory.getLogger(LoggingNotificationSink.class);
+    
+    @Override
+    public void send(List<OutboundNotification> batch) {
+        log.debug("Would send {} notifications for job {}", batch.size(), batch.get(0).jobId());
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventmanagement.notification;
+
+import com.eventmanagement.model.NotificationJob.NotificationType;
+
+/**
+ * Subject and body of each notice. Event placeholders: eventName,
+ * startDateTime, venueName, venueAddress, organizerName; attendee
+ * placeholders: firstName, lastName, email, confirmationCode.
+ */
+record NotificationMessages(String subject, String body) {
+    private static final String SIGNATURE = "\n\n{{organizerName}}";
+    
+    static NotificationMessages forType(NotificationType type) {
+        return switch (type) {
+            case REMINDER -> new NotificationMessages(
+                    "Reminder: {{eventName}} on {{startDateTime}}",
+                    "Hi {{firstName}},\n\nThis is a reminder that {{eventName}} starts on {{startDateTime}} at "
+                            + "{{venueName}}, {{venueAddress}}.\nYour confirmation code is {{confirmationCode}}."
+                            + SIGNATURE);
+            case VENUE_CHANGED -> new NotificationMessages(
+                    "New venue for {{eventName}}",
+                    "Hi {{firstName}},\n\n{{eventName}} on {{startDateTime}} has moved to {{venueName}}, "
+                            + "{{venueAddress}}.\nYour registration ({{confirmationCode}}) is still valid."
+                            + SIGNATURE);
+            case POSTPONED -> new NotificationMessages(
+                    "{{eventName}} has been postponed",
+                    "Hi {{firstName}},\n\n{{eventName}}, planned for {{startDateTime}}, has been postponed. "
+                            + "We will let you know the new date.\nYour confirmation code is {{confirmationCode}}."
+                            + SIGNATURE);
+            case CANCELLED -> new NotificationMessages(
+                    "{{eventName}} has been cancelled",
+                    "Hi {{firstName}},\n\nWe are sorry to tell you that {{eventName}}, planned for "
+                            + "{{startDateTime}}, has been cancelled.\nYour confirmation code was {{confirmationCode}}."
+                            + SIGNATURE);
+        };
+    }
+}
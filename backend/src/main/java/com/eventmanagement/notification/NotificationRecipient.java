@@ -0,0 +1,5 @@
+package com.eventmanagement.notification;
+
+public record NotificationRecipient(Long registrationId, String email, String firstName, String lastName,
+                                    String confirmationCode) {
+}
@@ -0,0 +1,307 @@
+package com.eventmanagement.notification;
+
+import com.eventmanagement.admission.TokenBucket;
+import com.eventmanagement.dto.NotificationJobResponse;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.exception.ShardMoveInProgressException;
+import com.eventmanagement.listener.AttendeeNoticeEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.NotificationJob;
+import com.eventmanagement.model.NotificationJob.JobStatus;
+import com.eventmanagement.model.NotificationJob.NotificationType;
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.NotificationJobRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans a notice out to every attendee of an event in the background.
+ * Triggers only record a job and return. A worker renders the templates
+ * once for the event, walks the registrations in keyset pages and hands
+ * the sink batches at a paced rate, retrying a failed batch with backoff.
+ * After each delivered batch the job's cursor is saved, so after a restart
+ * the job resumes at the next batch instead of sending again from the start.
+ * Delivery is at least once: a batch that was sent but not yet recorded is
+ * sent again.
+ */
+@Service
+public class NotificationService {
+    private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
+    private static final Set<RegistrationStatus> RECIPIENT_STATUSES =
+            EnumSet.of(RegistrationStatus.CONFIRMED, RegistrationStatus.ATTENDED);
+    private static final DateTimeFormatter START_FORMAT =
+            DateTimeFormatter.ofPattern("EEEE d MMMM yyyy 'at' HH:mm", Locale.ENGLISH);
+    private static final long MAX_BACKOFF_MILLIS = 60_000;
+    private static final int MAX_ERROR_LENGTH = 500;
+    
+    private final NotificationJobRepository jobRepository;
+    private final RegistrationRepository registrationRepository;
+    private final EventRepository eventRepository;
+    private final NotificationSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ExecutorService workers;
+    private final TokenBucket pace;
+    private final int pageSize;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Duration reminderLead;
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    private final Counter sent;
+    private final Counter failed;
+    
+    public NotificationService(NotificationJobRepository jobRepository,
+                               RegistrationRepository registrationRepository,
+                               EventRepository eventRepository,
+                               NotificationSink sink,
+                               PlatformTransactionManager transactionManager,
+                               ShardRouter shardRouter,
+                               MeterRegistry meterRegistry,
+                               @Value("${notification.workers:2}") int workers,
+                               @Value("${notification.rate:200}") double rate,
+                               @Value("${notification.burst:100}") int burst,
+                               @Value("${notification.page-size:1000}") int pageSize,
+                               @Value("${notification.batch-size:100}") int batchSize,
+                               @Value("${notification.max-attempts:5}") int maxAttempts,
+                               @Value("${notification.retry-backoff-ms:1000}") long retryBackoffMillis,
+                               @Value("${notification.reminder-lead-hours:24}") long reminderLeadHours) {
+        this.jobRepository = jobRepository;
+        this.registrationRepository = registrationRepository;
+        this.eventRepository = eventRepository;
+        this.sink = sink;
+        // Triggers arrive in after-commit listeners, where the caller's transaction can no longer commit
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.shardRouter = shardRouter;
+        this.workers = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("notification-", 0).factory());
+        this.pace = new TokenBucket(rate, burst);
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.reminderLead = Duration.ofHours(reminderLeadHours);
+        this.sent = Counter.builder("notification.messages").tag("outcome", "sent").register(meterRegistry);
+        this.failed = Counter.builder("notification.messages").tag("outcome", "failed").register(meterRegistry);
+    }
+    
+    public NotificationJobResponse notifyAttendees(Long eventId, NotificationType type) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+        return NotificationJobResponse.from(enqueue(eventId, type));
+    }
+    
+    public NotificationJobResponse getJob(Long jobId) {
+        return NotificationJobResponse.from(findJob(jobId));
+    }
+    
+    // Resumes a failed job from its cursor, e.g. once the sink is reachable again
+    public NotificationJobResponse retry(Long jobId) {
+        NotificationJob job = transactionTemplate.execute(status -> {
+            NotificationJob failedJob = findJob(jobId);
+            if (failedJob.getStatus() != JobStatus.FAILED) {
+                throw new IllegalArgumentException("Notification job " + jobId + " is " + failedJob.getStatus()
+                        + " and cannot be retried");
+            }
+            failedJob.setStatus(JobStatus.PENDING);
+            failedJob.setLastError(null);
+            return jobRepository.save(failedJob);
+        });
+        submit(jobId);
+        return NotificationJobResponse.from(job);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttendeeNotice(AttendeeNoticeEvent notice) {
+        enqueue(notice.eventId(), notice.type());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        List<Long> unfinished = shardRouter.gather(() ->
+                jobRepository.findIdsByStatusIn(EnumSet.of(JobStatus.PENDING, JobStatus.RUNNING)));
+        unfinished.forEach(this::submit);
+        if (!unfinished.isEmpty()) {
+            log.info("Resuming {} notification jobs", unfinished.size());
+        }
+    }
+    
+    // One reminder per event, queued once it starts within the lead time
+    @Scheduled(fixedDelayString = "${notification.reminder-sweep-ms:60000}")
+    public void queueReminders() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long eventId : shardRouter.gather(() -> eventRepository.findIdsStartingBetween(
+                EnumSet.of(Event.EventStatus.PUBLISHED), now, now.plus(reminderLead)))) {
+            try {
+                shardRouter.runForEvent(eventId, () -> {
+                    if (!jobRepository.existsByEventIdAndType(eventId, NotificationType.REMINDER)) {
+                        enqueue(eventId, NotificationType.REMINDER);
+                    }
+                });
+            } catch (ShardMoveInProgressException e) {
+                // The next sweep queues it on the event's new shard
+            }
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted jobs stay RUNNING and resume from their cursor on the next start
+        workers.shutdownNow();
+    }
+    
+    // Jobs live on their event's shard
+    private NotificationJob enqueue(Long eventId, NotificationType type) {
+        NotificationJob job = shardRouter.callForEvent(eventId, () ->
+                transactionTemplate.execute(status -> jobRepository.save(new NotificationJob(eventId, type))));
+        submit(job.getId());
+        return job;
+    }
+    
+    private void submit(Long jobId) {
+        workers.execute(() -> ShardContext.run(shardRouter.shardOfNotificationJob(jobId), () -> run(jobId)));
+    }
+    
+    private void run(Long jobId) {
+        if (!running.add(jobId)) {
+            return;
+        }
+        try {
+            FanOut fanOut = transactionTemplate.execute(status -> start(jobId));
+            if (fanOut == null) {
+                return;
+            }
+            long cursor = fanOut.cursor();
+            while (true) {
+                List<NotificationRecipient> page = registrationRepository.findNotificationRecipients(
+                        fanOut.eventId(), RECIPIENT_STATUSES, cursor, PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+                for (int from = 0; from < page.size(); from += batchSize) {
+                    List<NotificationRecipient> recipients = page.subList(from, Math.min(page.size(), from + batchSize));
+                    deliver(fanOut.render(jobId, recipients));
+                    cursor = recipients.get(recipients.size() - 1).registrationId();
+                    long delivered = recipients.size();
+                    long newCursor = cursor;
+                    transactionTemplate.executeWithoutResult(status ->
+                            jobRepository.updateProgress(jobId, newCursor, delivered, LocalDateTime.now()));
+                }
+            }
+            finish(jobId, JobStatus.COMPLETED, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Notification job {} failed", jobId, e);
+            String message = String.valueOf(e.getMessage());
+            finish(jobId, JobStatus.FAILED, message.substring(0, Math.min(MAX_ERROR_LENGTH, message.length())));
+        } finally {
+            running.remove(jobId);
+        }
+    }
+    
+    private FanOut start(Long jobId) {
+        NotificationJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.isFinished()) {
+            return null;
+        }
+        Event event = eventRepository.findWithVenueAndOrganizerById(job.getEventId()).orElse(null);
+        if (event == null) {
+            job.setStatus(JobStatus.FAILED);
+            job.setLastError("Event " + job.getEventId() + " no longer exists");
+            return null;
+        }
+        job.setStatus(JobStatus.RUNNING);
+        Map<String, String> eventValues = Map.of(
+                "eventName", event.getEventName(),
+                "startDateTime", START_FORMAT.format(event.getStartDateTime()),
+                "venueName", event.getVenue().getVenueName(),
+                "venueAddress", event.getVenue().getFullAddress(),
+                "organizerName", event.getOrganizer().getOrganizationName());
+        NotificationMessages messages = NotificationMessages.forType(job.getType());
+        return new FanOut(job.getEventId(), job.getCursor(),
+                NotificationTemplate.compile(messages.subject(), eventValues),
+                NotificationTemplate.compile(messages.body(), eventValues));
+    }
+    
+    private void deliver(List<OutboundNotification> batch) throws InterruptedException {
+        for (int i = 0; i < batch.size(); i++) {
+            long wait;
+            while ((wait = pace.tryAcquire(System.nanoTime())) > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                sink.send(batch);
+                sent.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Shut down while sending a notification batch");
+                }
+                failed.increment(batch.size());
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                long backoff = Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << Math.min(attempt - 1, 16));
+                log.debug("Notification batch failed (attempt {}), retrying in {} ms", attempt, backoff, e);
+                TimeUnit.MILLISECONDS.sleep(backoff);
+            }
+        }
+    }
+    
+    private void finish(Long jobId, JobStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx ->
+                jobRepository.updateStatus(jobId, status, error, LocalDateTime.now()));
+    }
+    
+    private NotificationJob findJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification job not found with id: " + jobId));
+    }
+    
+    private record FanOut(Long eventId, long cursor, NotificationTemplate subject, NotificationTemplate body) {
+    
+        List<OutboundNotification> render(Long jobId, List<NotificationRecipient> recipients) {
+            List<OutboundNotification> batch = new ArrayList<>(recipients.size());
+            for (NotificationRecipient recipient : recipients) {
+                batch.add(new OutboundNotification(jobId, recipient.registrationId(), recipient.email(),
+                        subject.render(recipient), body.render(recipient)));
+            }
+            return batch;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.eventmanagement.notification;
+
+import java.util.List;
+
+/**
+ * Where rendered notifications go. A batch either goes through or the call
+ * throws, in which case the whole batch is retried, so sinks must tolerate
+ * receiving a message twice. Chosen with notification.sink.
+ */
+public interface NotificationSink {
+    
+    void send(List<OutboundNotification> batch);
+}
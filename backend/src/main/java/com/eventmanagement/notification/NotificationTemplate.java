@@ -0,0 +1,74 @@
+package com.eventmanagement.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message template compiled once per fan-out: placeholders for the event
+ * are filled in at compile time, leaving literal segments and the attendee
+ * placeholders, so rendering for one attendee is a few appends.
+ */
+final class NotificationTemplate {
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{(\\w+)}}");
+    private static final Map<String, Function<NotificationRecipient, String>> RECIPIENT_FIELDS = Map.of(
+            "firstName", NotificationRecipient::firstName,
+            "lastName", NotificationRecipient::lastName,
+            "email", NotificationRecipient::email,
+            "confirmationCode", NotificationRecipient::confirmationCode);
+    
+    private final String[] literals;
+    private final List<Function<NotificationRecipient, String>> fields;
+    private final int literalLength;
+    
+    private NotificationTemplate(String[] literals, List<Function<NotificationRecipient, String>> fields) {
+        this.literals = literals;
+        this.fields = fields;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+    
+    static NotificationTemplate compile(String text, Map<String, String> eventValues) {
+        List<String> literals = new ArrayList<>();
+        List<Function<NotificationRecipient, String>> fields = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        int last = 0;
+        while (matcher.find()) {
+            literal.append(text, last, matcher.start());
+            String name = matcher.group(1);
+            if (eventValues.containsKey(name)) {
+                literal.append(eventValues.get(name));
+            } else if (RECIPIENT_FIELDS.containsKey(name)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                fields.add(RECIPIENT_FIELDS.get(name));
+            } else {
+                throw new IllegalArgumentException("Unknown placeholder in notification template: " + name);
+            }
+            last = matcher.end();
+        }
+        literal.append(text, last, text.length());
+        literals.add(literal.toString());
+        return new NotificationTemplate(literals.toArray(String[]::new), fields);
+    }
+    
+    String render(NotificationRecipient recipient) {
+        if (fields.isEmpty()) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(literalLength + 16 * fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            out.append(literals[i]);
+            String value = fields.get(i).apply(recipient);
+            out.append(value != null ? value : "");
+        }
+        return out.append(literals[fields.size()]).toString();
+    }
+}
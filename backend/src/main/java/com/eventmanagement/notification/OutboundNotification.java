@@ -0,0 +1,4 @@
+package com.eventmanagement.notification;
+
+public record OutboundNotification(Long jobId, Long registrationId, String to, String subject, String body) {
+}
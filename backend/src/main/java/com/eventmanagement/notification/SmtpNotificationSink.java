@@ -0,0 +1,42 @@
+package com.eventmanagement.notification;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends through the SMTP server configured with spring.mail.*. The mail
+ * sender delivers a whole batch over one connection.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "smtp")
+public class SmtpNotificationSink implements NotificationSink {
+    
+    private final JavaMailSender mailSender;
+    private final String from;
+    
+    public SmtpNotificationSink(JavaMailSender mailSender,
+                                @Value("${notification.smtp.from}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+    
+    @Override
+    public void send(List<OutboundNotification> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            OutboundNotification notification = batch.get(i);
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(from);
+            message.setTo(notification.to());
+            message.setSubject(notification.subject());
+            message.setText(notification.body());
+            messages[i] = message;
+        }
+        mailSender.send(messages);
+    }
+}
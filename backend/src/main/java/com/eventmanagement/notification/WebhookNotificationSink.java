@@ -0,0 +1,65 @@
+package com.eventmanagement.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts each batch as one JSON array to a webhook, e.g. a mail provider's
+ * bulk API. Anything but a 2xx fails the batch.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.sink", havingValue = "webhook")
+public class WebhookNotificationSink implements NotificationSink {
+    
+    private final ObjectMapper objectMapper;
+    private final HttpClient client;
+    private final URI url;
+    private final Duration timeout;
+    
+    public WebhookNotificationSink(ObjectMapper objectMapper,
+                                   @Value("${notification.webhook.url}") String url,
+                                   @Value("${notification.webhook.timeout-ms:10000}") long timeoutMillis) {
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+    
+    @Override
+    public void send(List<OutboundNotification> batch) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(batch)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize notification batch", e);
+        }
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Webhook " + url + " unreachable", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while sending notifications", e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Webhook " + url + " answered " + response.statusCode());
+        }
+    }
+}
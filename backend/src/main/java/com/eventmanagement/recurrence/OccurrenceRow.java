@@ -0,0 +1,10 @@
+package com.eventmanagement.recurrence;
+
+import com.eventmanagement.model.Event;
+
+import java.time.LocalDateTime;
+
+public record OccurrenceRow(Long eventId, LocalDateTime occurrenceStart, LocalDateTime startDateTime,
+                            LocalDateTime endDateTime, Event.EventStatus status, Integer maxAttendees,
+                            Integer currentAttendees) {
+}
@@ -0,0 +1,224 @@
+package com.eventmanagement.recurrence;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * The subset of an RFC 5545 RRULE that event series use: FREQ=DAILY, WEEKLY
+ * or MONTHLY, INTERVAL, BYDAY (weekly only) and either COUNT or UNTIL.
+ * Occurrences are computed on demand for a window rather than stored; a rule
+ * without COUNT jumps straight to the window, so far-off windows cost the
+ * same as near ones. Monthly rules skip months without the start's day, as
+ * RFC 5545 does.
+ */
+public final class RecurrenceRule {
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    
+    public enum Frequency {
+        DAILY, WEEKLY, MONTHLY
+    }
+    
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> byDay;
+    private final Integer count;
+    private final LocalDateTime until;
+    
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> byDay, Integer count,
+                           LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.byDay = byDay;
+        this.count = count;
+        this.until = until;
+    }
+    
+    public static RecurrenceRule parse(String rule) {
+        String body = rule.trim();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> byDay = EnumSet.noneOf(DayOfWeek.class);
+        Integer count = null;
+        LocalDateTime until = null;
+        for (String part : body.split(";")) {
+            int eq = part.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String name = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim().toUpperCase(Locale.ROOT);
+            try {
+                switch (name) {
+                    case "FREQ" -> frequency = frequencyOf(value);
+                    case "INTERVAL" -> interval = Integer.parseInt(value);
+                    case "COUNT" -> count = Integer.valueOf(value);
+                    case "UNTIL" -> until = parseUntil(value);
+                    case "BYDAY" -> {
+                        for (String day : value.split(",")) {
+                            byDay.add(dayOf(day.trim()));
+                        }
+                    }
+                    default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + name);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid recurrence rule value: " + part);
+            }
+        }
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs FREQ: " + rule);
+        }
+        if (interval < 1 || (count != null && count < 1)) {
+            throw new IllegalArgumentException("INTERVAL and COUNT must be positive: " + rule);
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("Recurrence rule can't have both COUNT and UNTIL: " + rule);
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported with FREQ=WEEKLY: " + rule);
+        }
+        return new RecurrenceRule(frequency, interval, byDay, count, until);
+    }
+    
+    /**
+     * Occurrence starts of a series beginning at {@code start} that fall in
+     * [from, to), in order, at most {@code limit} of them.
+     */
+    public List<LocalDateTime> between(LocalDateTime start, LocalDateTime from, LocalDateTime to, int limit) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        // COUNT numbers occurrences from the start, so those rules walk from period zero
+        long period = count == null ? firstPeriod(start, from) : 0;
+        int seen = 0;
+        while (occurrences.size() < limit) {
+            LocalDateTime periodStart = periodStart(start, period);
+            if (!periodStart.isBefore(to) || (until != null && periodStart.isAfter(until))) {
+                break;
+            }
+            for (LocalDateTime candidate : candidates(start, periodStart)) {
+                if (candidate.isBefore(start)) {
+                    continue;
+                }
+                if ((count != null && seen >= count) || (until != null && candidate.isAfter(until))
+                        || !candidate.isBefore(to)) {
+                    return occurrences;
+                }
+                seen++;
+                if (!candidate.isBefore(from) && occurrences.size() < limit) {
+                    occurrences.add(candidate);
+                }
+            }
+            period++;
+        }
+        return occurrences;
+    }
+    
+    public boolean occursAt(LocalDateTime start, LocalDateTime candidate) {
+        return between(start, candidate, candidate.plusNanos(1), 1).contains(candidate);
+    }
+    
+    public String format() {
+        StringJoiner rule = new StringJoiner(";");
+        rule.add("FREQ=" + frequency);
+        if (interval != 1) {
+            rule.add("INTERVAL=" + interval);
+        }
+        if (!byDay.isEmpty()) {
+            StringJoiner days = new StringJoiner(",");
+            byDay.forEach(day -> days.add(day.name().substring(0, 2)));
+            rule.add("BYDAY=" + days);
+        }
+        if (count != null) {
+            rule.add("COUNT=" + count);
+        }
+        if (until != null) {
+            rule.add("UNTIL=" + UNTIL_DATE_TIME.format(until));
+        }
+        return rule.toString();
+    }
+    
+    // The start of the period containing from, or an earlier one
+    private long firstPeriod(LocalDateTime start, LocalDateTime from) {
+        if (!from.isAfter(start)) {
+            return 0;
+        }
+        long units = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(start.toLocalDate(), from.toLocalDate());
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekStart(start).toLocalDate(), from.toLocalDate());
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(from));
+        };
+        return Math.max(0, units / interval);
+    }
+    
+    private LocalDateTime periodStart(LocalDateTime start, long period) {
+        long units = period * interval;
+        return switch (frequency) {
+            case DAILY -> start.plusDays(units);
+            case WEEKLY -> weekStart(start).plusWeeks(units);
+            case MONTHLY -> start.withDayOfMonth(1).plusMonths(units);
+        };
+    }
+    
+    private List<LocalDateTime> candidates(LocalDateTime start, LocalDateTime periodStart) {
+        return switch (frequency) {
+            case DAILY -> List.of(periodStart);
+            case WEEKLY -> {
+                if (byDay.isEmpty()) {
+                    yield List.of(periodStart.with(TemporalAdjusters.nextOrSame(start.getDayOfWeek())));
+                }
+                List<LocalDateTime> days = new ArrayList<>(byDay.size());
+                byDay.forEach(day -> days.add(periodStart.with(TemporalAdjusters.nextOrSame(day))));
+                yield days;
+            }
+            case MONTHLY -> {
+                YearMonth month = YearMonth.from(periodStart);
+                yield month.isValidDay(start.getDayOfMonth())
+                        ? List.of(periodStart.withDayOfMonth(start.getDayOfMonth()))
+                        : List.of();
+            }
+        };
+    }
+    
+    private static LocalDateTime weekStart(LocalDateTime start) {
+        return start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+    
+    private static Frequency frequencyOf(String value) {
+        for (Frequency frequency : Frequency.values()) {
+            if (frequency.name().equals(value)) {
+                return frequency;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported FREQ: " + value);
+    }
+    
+    private static DayOfWeek dayOf(String code) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (day.name().startsWith(code) && code.length() == 2) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Unknown BYDAY value: " + code);
+    }
+    
+    private static LocalDateTime parseUntil(String value) {
+        String local = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        return local.length() == 8
+                ? LocalDate.parse(local, UNTIL_DATE).atTime(23, 59, 59)
+                : LocalDateTime.parse(local, UNTIL_DATE_TIME);
+    }
+}
@@ -0,0 +1,256 @@
+package com.eventmanagement.recurrence;
+
+import com.eventmanagement.dto.OccurrenceOverrideRequest;
+import com.eventmanagement.dto.OccurrenceResponse;
+import com.eventmanagement.dto.RecurrenceResponse;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.exception.VenueBookingConflictException;
+import com.eventmanagement.index.VenueScheduleIndex;
+import com.eventmanagement.inventory.SeatCounter;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.service.SeatInventoryService;
+import com.eventmanagement.shard.ShardRouter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Recurring series as a template event plus a rule, instead of one row per
+ * occurrence. Occurrences are expanded from the rule for whatever window is
+ * asked for; an occurrence only becomes an Event row of its own (pointing
+ * back at the template) when someone registers for it or it is changed, and
+ * from then on it has its own capacity, seat counter and lifecycle.
+ */
+@Service
+public class RecurrenceService {
+    private static final int NEXT_OCCURRENCES = 5;
+    
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final SeatInventoryService seatInventoryService;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxOccurrences;
+    
+    public RecurrenceService(EventRepository eventRepository,
+                             VenueRepository venueRepository,
+                             VenueScheduleIndex venueScheduleIndex,
+                             SeatInventoryService seatInventoryService,
+                             ShardRouter shardRouter,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${recurrence.max-occurrences:1000}") int maxOccurrences) {
+        this.eventRepository = eventRepository;
+        this.venueRepository = venueRepository;
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.seatInventoryService = seatInventoryService;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxOccurrences = maxOccurrences;
+    }
+    
+    @Transactional
+    public RecurrenceResponse setRecurrence(Long eventId, String rule) {
+        Event event = findEvent(eventId);
+        if (event.getSeriesTemplate() != null) {
+            throw new IllegalArgumentException("Event " + eventId + " is an occurrence of event "
+                    + event.getSeriesTemplate().getId() + " and can't recur itself");
+        }
+        RecurrenceRule parsed = RecurrenceRule.parse(rule);
+        checkSeriesFree(event, parsed);
+        event.setRecurrenceRule(parsed.format());
+        eventRepository.saveAndFlush(event);
+        List<LocalDateTime> next = parsed.between(event.getStartDateTime(), LocalDateTime.now(), LocalDateTime.MAX,
+                NEXT_OCCURRENCES);
+        return new RecurrenceResponse(eventId, event.getRecurrenceRule(), next);
+    }
+    
+    @Transactional
+    public void clearRecurrence(Long eventId) {
+        Event event = findTemplate(eventId);
+        if (eventRepository.existsBySeriesTemplateId(eventId)) {
+            throw new IllegalArgumentException("Event " + eventId + " has materialized occurrences; cancel them instead");
+        }
+        event.setRecurrenceRule(null);
+        eventRepository.save(event);
+    }
+    
+    /**
+     * The series' occurrences starting in [from, to): expanded from the rule,
+     * with materialized ones (including any whose slot the rule no longer
+     * produces) in place of their slot.
+     */
+    @Transactional(readOnly = true)
+    public List<OccurrenceResponse> occurrences(Long eventId, LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+        Event template = findTemplate(eventId);
+        RecurrenceRule rule = RecurrenceRule.parse(template.getRecurrenceRule());
+        Duration length = Duration.between(template.getStartDateTime(), template.getEndDateTime());
+        int capacity = template.getMaxAttendees() != null ? template.getMaxAttendees() : 0;
+        
+        Map<LocalDateTime, OccurrenceRow> materialized = new HashMap<>();
+        for (OccurrenceRow row : eventRepository.findOccurrenceRows(eventId, from, to)) {
+            materialized.put(row.occurrenceStart(), row);
+        }
+        List<OccurrenceResponse> occurrences = new ArrayList<>();
+        for (LocalDateTime slot : rule.between(template.getStartDateTime(), from, to, maxOccurrences)) {
+            OccurrenceRow row = materialized.remove(slot);
+            occurrences.add(row != null ? toResponse(eventId, row)
+                    : new OccurrenceResponse(eventId, slot, null, slot, slot.plus(length), template.getStatus(),
+                            capacity, 0, capacity));
+        }
+        if (!materialized.isEmpty()) {
+            materialized.values().forEach(row -> occurrences.add(toResponse(eventId, row)));
+            occurrences.sort(Comparator.comparing(OccurrenceResponse::occurrenceStart));
+        }
+        return occurrences;
+    }
+    
+    /**
+     * Returns the id of the Event row for the occurrence, creating it from
+     * the template on first use.
+     */
+    public Long materialize(Long eventId, LocalDateTime occurrenceStart) {
+        Optional<Long> existing = eventRepository.findOccurrenceId(eventId, occurrenceStart);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            return transactionTemplate.execute(status -> createOccurrence(eventId, occurrenceStart));
+        } catch (DataIntegrityViolationException e) {
+            // Another request materialized the same slot first
+            return eventRepository.findOccurrenceId(eventId, occurrenceStart).orElseThrow(() -> e);
+        }
+    }
+    
+    public OccurrenceResponse override(Long eventId, LocalDateTime occurrenceStart, OccurrenceOverrideRequest request) {
+        Long occurrenceId = materialize(eventId, occurrenceStart);
+        OccurrenceRow row = transactionTemplate.execute(status -> {
+            Event occurrence = findEvent(occurrenceId);
+            LocalDateTime start = request.startDateTime() != null ? request.startDateTime() : occurrence.getStartDateTime();
+            LocalDateTime end = request.endDateTime() != null ? request.endDateTime() : occurrence.getEndDateTime();
+            if (!end.isAfter(start)) {
+                throw new IllegalArgumentException("End date must be after start date");
+            }
+            if (!start.equals(occurrence.getStartDateTime()) || !end.equals(occurrence.getEndDateTime())) {
+                checkVenueFree(occurrence, start, end, occurrenceId);
+            }
+            occurrence.setStartDateTime(start);
+            occurrence.setEndDateTime(end);
+            if (request.maxAttendees() != null) {
+                occurrence.setMaxAttendees(request.maxAttendees());
+            }
+            if (request.status() != null) {
+                occurrence.setStatus(request.status());
+            }
+            Event saved = eventRepository.saveAndFlush(occurrence);
+            return new OccurrenceRow(saved.getId(), saved.getOccurrenceStart(), saved.getStartDateTime(),
+                    saved.getEndDateTime(), saved.getStatus(), saved.getMaxAttendees(), saved.getCurrentAttendees());
+        });
+        return toResponse(eventId, row);
+    }
+    
+    private Long createOccurrence(Long eventId, LocalDateTime occurrenceStart) {
+        Event template = findTemplate(eventId);
+        RecurrenceRule rule = RecurrenceRule.parse(template.getRecurrenceRule());
+        if (!rule.occursAt(template.getStartDateTime(), occurrenceStart)) {
+            throw new ResourceNotFoundException("Event " + eventId + " has no occurrence at " + occurrenceStart);
+        }
+        if (!occurrenceStart.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Occurrence " + occurrenceStart + " of event " + eventId + " has already started");
+        }
+        Duration offset = Duration.between(template.getStartDateTime(), occurrenceStart);
+        LocalDateTime end = template.getEndDateTime().plus(offset);
+        // The template's own booking is its first occurrence, so it doesn't count as a conflict
+        checkVenueFree(template, occurrenceStart, end, eventId);
+        
+        Event occurrence = new Event(template.getEventName(), template.getDescription(), occurrenceStart, end,
+                template.getCategory(), template.getMaxAttendees(), template.getVenue(), template.getOrganizer());
+        occurrence.setEventType(template.getEventType());
+        occurrence.setTicketPrice(template.getTicketPrice());
+        occurrence.setIsFreeEvent(template.getIsFreeEvent());
+        if (template.getRegistrationDeadline() != null) {
+            occurrence.setRegistrationDeadline(template.getRegistrationDeadline().plus(offset));
+        }
+        occurrence.setStatus(template.getStatus());
+        occurrence.setImageUrl(template.getImageUrl());
+        occurrence.setEventUrl(template.getEventUrl());
+        occurrence.setSpecialInstructions(template.getSpecialInstructions());
+        occurrence.setDressCode(template.getDressCode());
+        occurrence.setAgeRestriction(template.getAgeRestriction());
+        occurrence.setSeriesTemplate(template);
+        occurrence.setOccurrenceStart(occurrenceStart);
+        return eventRepository.saveAndFlush(occurrence).getId();
+    }
+    
+    // Every occurrence the rule will produce, not only the ones materialized so far
+    private void checkSeriesFree(Event event, RecurrenceRule rule) {
+        if (event.getVenue() == null || event.getStatus() == Event.EventStatus.CANCELLED) {
+            return;
+        }
+        Long venueId = lockVenue(event);
+        venueScheduleIndex.findSeriesConflict(venueId, event.getId(), rule, event.getStartDateTime(),
+                event.getEndDateTime(), Set.of()).ifPresent(conflict -> {
+                    throw new VenueBookingConflictException(venueId, conflict.eventId());
+                });
+    }
+    
+    private void checkVenueFree(Event event, LocalDateTime start, LocalDateTime end, Long excludedEventId) {
+        Long venueId = lockVenue(event);
+        if (event.getStatus() != Event.EventStatus.CANCELLED) {
+            venueScheduleIndex.findConflict(venueId, start, end, excludedEventId).ifPresent(conflict -> {
+                throw new VenueBookingConflictException(venueId, conflict.eventId());
+            });
+        }
+    }
+    
+    // Serializes bookings per venue until commit, across shards too, as event edits do
+    private Long lockVenue(Event event) {
+        Long venueId = event.getVenue().getId();
+        shardRouter.lockVenue(venueId);
+        venueRepository.findByIdForUpdate(venueId)
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + venueId));
+        return venueId;
+    }
+    
+    private OccurrenceResponse toResponse(Long seriesId, OccurrenceRow row) {
+        Optional<SeatCounter> counter = seatInventoryService.findCounter(row.eventId());
+        int capacity = counter.map(SeatCounter::getCapacity)
+                .orElse(row.maxAttendees() != null ? row.maxAttendees() : 0);
+        int attendees = counter.map(SeatCounter::currentAttendees)
+                .orElse(row.currentAttendees() != null ? row.currentAttendees() : 0);
+        int available = counter.map(SeatCounter::availableSpots).orElse(Math.max(0, capacity - attendees));
+        return new OccurrenceResponse(seriesId, row.occurrenceStart(), row.eventId(), row.startDateTime(),
+                row.endDateTime(), row.status(), capacity, attendees, available);
+    }
+    
+    private Event findTemplate(Long eventId) {
+        Event event = findEvent(eventId);
+        if (event.getRecurrenceRule() == null) {
+            throw new ResourceNotFoundException("Event " + eventId + " is not a recurring series");
+        }
+        return event;
+    }
+    
+    private Event findEvent(Long id) {
+        return eventRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+    }
+}
@@ -0,0 +1,17 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.model.Attendee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AttendeeRepository extends JpaRepository<Attendee, Long> {
+    
+    Optional<Attendee> findByEmail(String email);
+    
+    List<Attendee> findByEmailIn(Collection<String> emails);
+}
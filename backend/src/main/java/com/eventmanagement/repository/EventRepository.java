@@ -0,0 +1,146 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.analytics.EventColumnRow;
+import com.eventmanagement.analytics.EventRollupRow;
+import com.eventmanagement.dto.EventSummary;
+import com.eventmanagement.facet.EventFacetRow;
+import com.eventmanagement.index.Booking;
+import com.eventmanagement.index.OccurrenceSlot;
+import com.eventmanagement.index.SeriesBooking;
+import com.eventmanagement.inventory.EventSeats;
+import com.eventmanagement.inventory.SeatCount;
+import com.eventmanagement.lifecycle.LifecycleSchedule;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.recurrence.OccurrenceRow;
+import com.eventmanagement.search.SearchDocument;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EventRepository extends JpaRepository<Event, Long> {
+    
+    @Modifying
+    @Query("update Event e set e.currentAttendees = :attendees where e.id = :id")
+    int updateCurrentAttendees(@Param("id") Long id, @Param("attendees") Integer attendees);
+    
+    @Query("select new com.eventmanagement.inventory.SeatCount(e.id, cast(coalesce(e.currentAttendees, 0) as Long)) " +
+           "from Event e where e.id in :ids")
+    List<SeatCount> findCurrentAttendees(@Param("ids") Collection<Long> ids);
+    
+    @Query("select coalesce(e.maxAttendees, 0) - coalesce(e.currentAttendees, 0) from Event e where e.id = :id")
+    Optional<Integer> findAvailableSpots(@Param("id") Long id);
+    
+    @Query("select new com.eventmanagement.inventory.EventSeats(e.id, e.status, coalesce(e.maxAttendees, 0), " +
+           "coalesce(e.currentAttendees, 0)) from Event e where e.id = :id")
+    Optional<EventSeats> findSeats(@Param("id") Long id);
+    
+    @Query("select new com.eventmanagement.index.Booking(e.id, e.venue.id, e.startDateTime, e.endDateTime) " +
+           "from Event e where e.status <> :excluded")
+    List<Booking> findVenueBookings(@Param("excluded") Event.EventStatus excluded);
+    
+    @Query("select new com.eventmanagement.index.SeriesBooking(e.id, e.venue.id, e.startDateTime, e.endDateTime, " +
+           "e.recurrenceRule) from Event e where e.recurrenceRule is not null and e.status <> :excluded")
+    List<SeriesBooking> findSeriesBookings(@Param("excluded") Event.EventStatus excluded);
+    
+    @Query("select new com.eventmanagement.index.OccurrenceSlot(e.seriesTemplate.id, e.occurrenceStart, e.id) " +
+           "from Event e where e.seriesTemplate is not null")
+    List<OccurrenceSlot> findOccurrenceSlots();
+    
+    @Query("select new com.eventmanagement.search.SearchDocument(e.id, e.eventName, e.description, e.category, " +
+           "e.specialInstructions, e.status, e.eventType) from Event e where e.id > :afterId order by e.id")
+    List<SearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("select new com.eventmanagement.facet.EventFacetRow(e.id, e.eventType, e.status, e.category, " +
+           "e.isFreeEvent, e.ageRestriction) from Event e where e.id > :afterId order by e.id")
+    List<EventFacetRow> findFacetRows(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("select e from Event e join fetch e.venue join fetch e.organizer where e.id = :id")
+    Optional<Event> findWithVenueAndOrganizerById(@Param("id") Long id);
+    
+    // Seeks past the cursor on the (start_date_time, id) index instead of
+    // skipping rows, so every page costs the same; one query per page. The
+    // leading startDateTime >= :afterStart repeats what the OR implies, but
+    // H2 only turns a plain comparison into an index range start
+    @Query("select new com.eventmanagement.dto.EventSummary(e.id, e.eventName, e.startDateTime, e.endDateTime, " +
+           "e.category, e.eventType, e.status, e.ticketPrice, e.isFreeEvent, e.maxAttendees, e.currentAttendees, " +
+           "v.id, v.venueName, v.city, o.id, o.organizationName) " +
+           "from Event e join e.venue v join e.organizer o " +
+           "where e.startDateTime >= :afterStart and e.status in :statuses and (e.startDateTime > :afterStart " +
+           "or (e.startDateTime = :afterStart and e.id > :afterId)) and e.startDateTime < :before " +
+           "order by e.startDateTime, e.id")
+    List<EventSummary> findSummariesAfter(@Param("statuses") Collection<Event.EventStatus> statuses,
+                                          @Param("afterStart") LocalDateTime afterStart,
+                                          @Param("afterId") Long afterId,
+                                          @Param("before") LocalDateTime before,
+                                          Pageable pageable);
+    
+    @Query("select new com.eventmanagement.lifecycle.LifecycleSchedule(e.id, e.status, e.startDateTime, " +
+           "e.endDateTime, e.registrationDeadline) from Event e where e.status in :statuses and e.recurrenceRule is null")
+    List<LifecycleSchedule> findLifecycleSchedules(@Param("statuses") Collection<Event.EventStatus> statuses);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Event e where e.id in :ids and e.status in :statuses")
+    List<Long> lockIdsInStatus(@Param("ids") Collection<Long> ids,
+                               @Param("statuses") Collection<Event.EventStatus> statuses);
+    
+    @Modifying
+    @Query("update Event e set e.status = :status, e.updatedAt = :updatedAt where e.id in :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") Event.EventStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Query("select coalesce(max(e.id), 0) from Event e")
+    long findMaxId();
+    
+    @Query("select e.status from Event e where e.id = :id")
+    Optional<Event.EventStatus> findStatusById(@Param("id") Long id);
+    
+    @Query("select e.id from Event e where e.status in :statuses and e.startDateTime between :from and :to")
+    List<Long> findIdsStartingBetween(@Param("statuses") Collection<Event.EventStatus> statuses,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+    
+    @Query("select new com.eventmanagement.recurrence.OccurrenceRow(e.id, e.occurrenceStart, e.startDateTime, " +
+           "e.endDateTime, e.status, e.maxAttendees, e.currentAttendees) from Event e " +
+           "where e.seriesTemplate.id = :templateId and e.occurrenceStart >= :from and e.occurrenceStart < :to")
+    List<OccurrenceRow> findOccurrenceRows(@Param("templateId") Long templateId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+    
+    @Query("select e.id from Event e where e.seriesTemplate.id = :templateId and e.occurrenceStart = :occurrenceStart")
+    Optional<Long> findOccurrenceId(@Param("templateId") Long templateId,
+                                    @Param("occurrenceStart") LocalDateTime occurrenceStart);
+    
+    boolean existsBySeriesTemplateId(Long templateId);
+    
+    @Query("select new com.eventmanagement.analytics.EventRollupRow(e.id, e.organizer.id, e.category, e.eventType, " +
+           "e.startDateTime, e.maxAttendees, e.currentAttendees, e.ticketPrice, e.isFreeEvent, e.status) " +
+           "from Event e where e.id between :fromId and :toId")
+    List<EventRollupRow> findRollupRows(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    @Query("select new com.eventmanagement.analytics.EventRollupRow(e.id, e.organizer.id, e.category, e.eventType, " +
+           "e.startDateTime, e.maxAttendees, e.currentAttendees, e.ticketPrice, e.isFreeEvent, e.status) " +
+           "from Event e where e.id in :ids")
+    List<EventRollupRow> findRollupRows(@Param("ids") Collection<Long> ids);
+    
+    @Query("select new com.eventmanagement.analytics.EventColumnRow(e.id, e.startDateTime, e.endDateTime, " +
+           "e.category, e.eventType, e.status, e.maxAttendees, e.currentAttendees, e.ticketPrice, e.isFreeEvent) " +
+           "from Event e where e.id between :fromId and :toId")
+    List<EventColumnRow> findColumnRows(@Param("fromId") Long fromId, @Param("toId") Long toId);
+    
+    @Query("select new com.eventmanagement.analytics.EventColumnRow(e.id, e.startDateTime, e.endDateTime, " +
+           "e.category, e.eventType, e.status, e.maxAttendees, e.currentAttendees, e.ticketPrice, e.isFreeEvent) " +
+           "from Event e where e.id in :ids")
+    List<EventColumnRow> findColumnRows(@Param("ids") Collection<Long> ids);
+}
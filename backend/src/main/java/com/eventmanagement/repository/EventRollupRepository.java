@@ -0,0 +1,32 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.model.EventRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface EventRollupRepository extends JpaRepository<EventRollup, Long> {
+    
+    @Modifying
+    @Query("update EventRollup r set r.eventCount = :events, r.attendees = :attendees, r.capacity = :capacity, " +
+           "r.revenueCents = :revenueCents, r.updatedAt = :now where r.id = :id")
+    int updateTotals(@Param("id") Long id,
+                     @Param("events") long events,
+                     @Param("attendees") long attendees,
+                     @Param("capacity") long capacity,
+                     @Param("revenueCents") long revenueCents,
+                     @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("delete from EventRollup r where r.id = :id")
+    int deleteRow(@Param("id") Long id);
+    
+    @Modifying
+    @Query("delete from EventRollup r")
+    int deleteAllRows();
+}
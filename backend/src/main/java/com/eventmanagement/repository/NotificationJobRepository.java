@@ -0,0 +1,38 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.model.NotificationJob;
+import com.eventmanagement.model.NotificationJob.JobStatus;
+import com.eventmanagement.model.NotificationJob.NotificationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface NotificationJobRepository extends JpaRepository<NotificationJob, Long> {
+    
+    @Query("select j.id from NotificationJob j where j.status in :statuses order by j.id")
+    List<Long> findIdsByStatusIn(@Param("statuses") Collection<JobStatus> statuses);
+    
+    boolean existsByEventIdAndType(Long eventId, NotificationType type);
+    
+    @Modifying
+    @Query("update NotificationJob j set j.cursor = :cursor, j.sent = j.sent + :delivered, j.updatedAt = :now " +
+           "where j.id = :id")
+    int updateProgress(@Param("id") Long id,
+                       @Param("cursor") Long cursor,
+                       @Param("delivered") long delivered,
+                       @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("update NotificationJob j set j.status = :status, j.lastError = :error, j.updatedAt = :now where j.id = :id")
+    int updateStatus(@Param("id") Long id,
+                     @Param("status") JobStatus status,
+                     @Param("error") String error,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,17 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.model.Organizer;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrganizerRepository extends JpaRepository<Organizer, Long> {
+    
+    @Query("select o from Organizer o where lower(o.email) in :emails")
+    List<Organizer> findByEmailInIgnoreCase(@Param("emails") Collection<String> emails);
+}
@@ -0,0 +1,75 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.checkin.CheckInRow;
+import com.eventmanagement.dto.RegistrationExportRow;
+import com.eventmanagement.inventory.SeatCount;
+import com.eventmanagement.model.Registration;
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import com.eventmanagement.notification.NotificationRecipient;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface RegistrationRepository extends JpaRepository<Registration, Long> {
+    
+    @Query("select new com.eventmanagement.inventory.SeatCount(r.event.id, count(r)) from Registration r " +
+           "where r.event.id in :eventIds and r.status in :statuses group by r.event.id")
+    List<SeatCount> countByEvents(@Param("eventIds") Collection<Long> eventIds,
+                                  @Param("statuses") Collection<RegistrationStatus> statuses);
+    
+    @Query("select a.email from Registration r join r.attendee a " +
+           "where r.event.id = :eventId and r.status in :statuses and a.email in :emails")
+    List<String> findRegisteredEmails(@Param("eventId") Long eventId,
+                                      @Param("statuses") Collection<RegistrationStatus> statuses,
+                                      @Param("emails") Collection<String> emails);
+    
+    @Query("select r from Registration r join fetch r.attendee a " +
+           "where r.event.id = :eventId and r.status in :statuses and a.email in :emails")
+    List<Registration> findByEmails(@Param("eventId") Long eventId,
+                                    @Param("statuses") Collection<RegistrationStatus> statuses,
+                                    @Param("emails") Collection<String> emails);
+    
+    // Scrolls a server-side cursor instead of materializing the list; the
+    // rows are DTOs, so nothing accumulates in the persistence context
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+                 @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select new com.eventmanagement.dto.RegistrationExportRow(r.id, r.confirmationCode, r.status, " +
+           "r.registrationDate, r.amountPaid, r.specialRequirements, a.id, a.firstName, a.lastName, a.email, " +
+           "a.phoneNumber, a.company, a.jobTitle, a.dietaryRestrictions) " +
+           "from Registration r join r.attendee a where r.event.id = :eventId order by r.id")
+    Stream<RegistrationExportRow> streamExportRows(@Param("eventId") Long eventId);
+    
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("select new com.eventmanagement.checkin.CheckInRow(r.id, r.status) from Registration r " +
+           "where r.event.id = :eventId")
+    List<CheckInRow> findCheckInRows(@Param("eventId") Long eventId);
+    
+    // Bulk updates skip @PreUpdate, hence the explicit updatedAt
+    @Modifying
+    @Query("update Registration r set r.status = :to, r.updatedAt = :updatedAt where r.id in :ids and r.status = :from")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("from") RegistrationStatus from,
+                     @Param("to") RegistrationStatus to,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Keyset pages in id order, which is also the fan-out's resume cursor
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("select new com.eventmanagement.notification.NotificationRecipient(r.id, a.email, a.firstName, " +
+           "a.lastName, r.confirmationCode) from Registration r join r.attendee a " +
+           "where r.event.id = :eventId and r.status in :statuses and r.id > :afterId order by r.id")
+    List<NotificationRecipient> findNotificationRecipients(@Param("eventId") Long eventId,
+                                                           @Param("statuses") Collection<RegistrationStatus> statuses,
+                                                           @Param("afterId") Long afterId,
+                                                           Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.facet.VenueFacetRow;
+import com.eventmanagement.index.VenueCapacity;
+import com.eventmanagement.index.VenueLocation;
+import com.eventmanagement.model.Venue;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface VenueRepository extends JpaRepository<Venue, Long> {
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select v from Venue v where v.id = :id")
+    Optional<Venue> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("select new com.eventmanagement.index.VenueCapacity(v.id, v.capacity) from Venue v where v.status = :status")
+    List<VenueCapacity> findCapacities(@Param("status") Venue.VenueStatus status);
+    
+    @Query("select new com.eventmanagement.index.VenueLocation(v.id, v.latitude, v.longitude, v.capacity, " +
+           "v.parkingAvailable, v.wifiAvailable, v.cateringAvailable, v.avEquipmentAvailable) " +
+           "from Venue v where v.status = :status and v.latitude is not null and v.longitude is not null")
+    List<VenueLocation> findLocations(@Param("status") Venue.VenueStatus status);
+    
+    @Query("select v from Venue v where lower(v.venueName) in :names")
+    List<Venue> findByVenueNameInIgnoreCase(@Param("names") Collection<String> names);
+    
+    @Query("select new com.eventmanagement.facet.VenueFacetRow(v.id, v.parkingAvailable, v.wifiAvailable, " +
+           "v.cateringAvailable, v.avEquipmentAvailable, v.amenities) from Venue v where v.id > :afterId order by v.id")
+    List<VenueFacetRow> findFacetRows(@Param("afterId") Long afterId, Pageable pageable);
+}
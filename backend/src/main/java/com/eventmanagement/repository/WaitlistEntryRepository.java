@@ -0,0 +1,31 @@
+package com.eventmanagement.repository;
+
+import com.eventmanagement.model.WaitlistEntry;
+import com.eventmanagement.model.WaitlistEntry.WaitlistStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    
+    @Query("select w from WaitlistEntry w where w.status = :status order by w.event.id, w.position")
+    List<WaitlistEntry> findByStatusInQueueOrder(@Param("status") WaitlistStatus status);
+    
+    // Entries are addressed by event and position because the in-memory
+    // waitlist moves on before the write-behind flush has assigned their ids
+    @Modifying
+    @Query("update WaitlistEntry w set w.status = :status, w.updatedAt = :now " +
+           "where w.event.id = :eventId and w.position in :positions and w.status = :from")
+    int updateStatus(@Param("eventId") Long eventId,
+                     @Param("positions") Collection<Long> positions,
+                     @Param("from") WaitlistStatus from,
+                     @Param("status") WaitlistStatus status,
+                     @Param("now") LocalDateTime now);
+}
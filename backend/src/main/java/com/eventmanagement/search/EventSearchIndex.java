@@ -0,0 +1,395 @@
+package com.eventmanagement.search;
+
+import com.eventmanagement.dto.EventSearchHit;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index over event text fields with BM25 ranking. Updated documents
+ * get a new doc id and the old one is tombstoned; tombstones are compacted
+ * away once they make up a quarter of the index.
+ */
+@Component
+public class EventSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(EventSearchIndex.class);
+    
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+    private static final float INSTRUCTIONS_WEIGHT = 0.5f;
+    private static final float PREFIX_BOOST = 0.7f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    
+    private final EventRepository eventRepository;
+    private final ShardRouter shardRouter;
+    private final int rebuildPageSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // All fields below are guarded by lock
+    private final NavigableMap<String, PostingList> terms = new TreeMap<>();
+    private final Map<Long, Integer> docByEvent = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private long[] docEventIds = new long[1024];
+    private String[] docNames = new String[1024];
+    private byte[] docStatus = new byte[1024];
+    private byte[] docType = new byte[1024];
+    private float[] docLength = new float[1024];
+    private int docCount;
+    private int liveCount;
+    private double totalLength;
+    
+    // Dense score arrays, one per doc, reused across searches. Searches are
+    // CPU-bound, so the pool holds one per core; a search that finds it empty
+    // allocates an array that is kept only if the pool has room for it
+    private final BlockingQueue<float[]> scorePool =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    
+    public EventSearchIndex(EventRepository eventRepository,
+                            ShardRouter shardRouter,
+                            @Value("${search.rebuild-page-size:5000}") int rebuildPageSize) {
+        this.eventRepository = eventRepository;
+        this.shardRouter = shardRouter;
+        this.rebuildPageSize = rebuildPageSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        clear();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.run(shard, this::load);
+        }
+        log.info("Event search index built: {} events, {} terms in {} ms",
+                size(), termCount(), System.currentTimeMillis() - started);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            remove(change.eventId());
+        } else {
+            index(SearchDocument.from(change.event()));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        byte status = (byte) change.status().ordinal();
+        lock.writeLock().lock();
+        try {
+            for (Long eventId : change.eventIds()) {
+                Integer doc = docByEvent.get(eventId);
+                if (doc != null) {
+                    docStatus[doc] = status;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void index(SearchDocument document) {
+        AnalyzedDocument analyzed = analyze(document);
+        lock.writeLock().lock();
+        try {
+            addInternal(analyzed);
+            if (docCount - liveCount > Math.max(10_000, liveCount / 4)) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(Long eventId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(eventId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public List<EventSearchHit> search(String query, Event.EventStatus status, Event.EventType type, int limit) {
+        List<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            float[] scores = borrowScores(docCount);
+            int[] touched = new int[16];
+            int touchedCount = 0;
+            float avgLength = (float) (totalLength / liveCount);
+            
+            for (int t = 0; t < tokens.size(); t++) {
+                String token = tokens.get(t);
+                boolean last = t == tokens.size() - 1;
+                // The last token is what the user is still typing, so it also matches as a prefix
+                for (Map.Entry<PostingList, Float> match : matches(token, last).entrySet()) {
+                    PostingList postings = match.getKey();
+                    float idf = (float) Math.log(1 + (liveCount - postings.size() + 0.5) / (postings.size() + 0.5));
+                    float boost = match.getValue() * Math.max(idf, 0.01f);
+                    for (int i = 0; i < postings.size(); i++) {
+                        int doc = postings.doc(i);
+                        if (!live.get(doc)
+                                || (status != null && docStatus[doc] != status.ordinal())
+                                || (type != null && docType[doc] != type.ordinal())) {
+                            continue;
+                        }
+                        float tf = postings.frequency(i);
+                        float norm = K1 * (1 - B + B * docLength[doc] / avgLength);
+                        if (scores[doc] == 0) {
+                            if (touchedCount == touched.length) {
+                                touched = Arrays.copyOf(touched, touchedCount * 2);
+                            }
+                            touched[touchedCount++] = doc;
+                        }
+                        scores[doc] += boost * tf * (K1 + 1) / (tf + norm);
+                    }
+                }
+            }
+            List<EventSearchHit> hits = topHits(scores, touched, touchedCount, limit);
+            // Only returned once topHits has zeroed it; a search that failed drops its array
+            scorePool.offer(scores);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Pages through the current shard's events
+    private void load() {
+        long afterId = 0;
+        List<SearchDocument> page;
+        do {
+            page = eventRepository.findSearchDocuments(afterId, PageRequest.of(0, rebuildPageSize));
+            // Tokenizing dominates indexing cost, so it runs across cores;
+            // appending the postings afterwards is a cheap sequential step
+            List<AnalyzedDocument> analyzed = page.parallelStream().map(EventSearchIndex::analyze).toList();
+            lock.writeLock().lock();
+            try {
+                analyzed.forEach(this::addInternal);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).eventId();
+            }
+        } while (page.size() == rebuildPageSize);
+    }
+    
+    private Map<PostingList, Float> matches(String token, boolean prefix) {
+        Map<PostingList, Float> matches = new HashMap<>();
+        PostingList exact = terms.get(token);
+        if (exact != null) {
+            matches.put(exact, 1.0f);
+        }
+        if (prefix) {
+            Collection<PostingList> expansions = terms.subMap(token, false, token + Character.MAX_VALUE, false).values();
+            Iterator<PostingList> it = expansions.iterator();
+            for (int n = 0; n < MAX_PREFIX_EXPANSIONS && it.hasNext(); n++) {
+                matches.putIfAbsent(it.next(), PREFIX_BOOST);
+            }
+        }
+        return matches;
+    }
+    
+    private List<EventSearchHit> topHits(float[] scores, int[] touched, int touchedCount, int limit) {
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble((Integer doc) -> scores[doc]));
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            if (top.size() < limit) {
+                top.add(doc);
+            } else if (scores[doc] > scores[top.peek()]) {
+                top.poll();
+                top.add(doc);
+            }
+        }
+        List<EventSearchHit> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int doc = top.poll();
+            hits.add(new EventSearchHit(docEventIds[doc], docNames[doc],
+                    Event.EventStatus.values()[docStatus[doc]], typeOf(doc), scores[doc]));
+        }
+        for (int i = 0; i < touchedCount; i++) {
+            scores[touched[i]] = 0;
+        }
+        hits.sort(Comparator.comparingDouble(EventSearchHit::score).reversed());
+        return hits;
+    }
+    
+    private Event.EventType typeOf(int doc) {
+        return docType[doc] < 0 ? null : Event.EventType.values()[docType[doc]];
+    }
+    
+    private float[] borrowScores(int size) {
+        float[] scores = scorePool.poll();
+        if (scores == null || scores.length < size) {
+            // Headroom so that a growing index doesn't replace the pooled arrays on every search
+            scores = new float[size + size / 8];
+        }
+        return scores;
+    }
+    
+    private void addInternal(AnalyzedDocument analyzed) {
+        SearchDocument document = analyzed.document();
+        removeInternal(document.eventId());
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        docEventIds[doc] = document.eventId();
+        docNames[doc] = document.eventName();
+        docStatus[doc] = (byte) (document.status() == null ? 0 : document.status().ordinal());
+        docType[doc] = (byte) (document.eventType() == null ? -1 : document.eventType().ordinal());
+        docLength[doc] = analyzed.length();
+        for (Map.Entry<String, Float> term : analyzed.frequencies().entrySet()) {
+            terms.computeIfAbsent(term.getKey(), key -> new PostingList()).add(doc, term.getValue());
+        }
+        docByEvent.put(document.eventId(), doc);
+        live.set(doc);
+        liveCount++;
+        totalLength += analyzed.length();
+    }
+    
+    private void removeInternal(Long eventId) {
+        Integer doc = docByEvent.remove(eventId);
+        if (doc != null) {
+            live.clear(doc);
+            liveCount--;
+            totalLength -= docLength[doc];
+            docNames[doc] = null;
+        }
+    }
+    
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (live.get(doc)) {
+                remap[doc] = next;
+                docEventIds[next] = docEventIds[doc];
+                docNames[next] = docNames[doc];
+                docStatus[next] = docStatus[doc];
+                docType[next] = docType[doc];
+                docLength[next] = docLength[doc];
+                next++;
+            } else {
+                remap[doc] = -1;
+            }
+        }
+        Iterator<PostingList> lists = terms.values().iterator();
+        while (lists.hasNext()) {
+            PostingList postings = lists.next();
+            postings.compact(remap);
+            if (postings.size() == 0) {
+                lists.remove();
+            }
+        }
+        docByEvent.replaceAll((eventId, doc) -> remap[doc]);
+        Arrays.fill(docNames, next, docCount, null);
+        live.clear();
+        live.set(0, next);
+        docCount = next;
+    }
+    
+    private void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            docByEvent.clear();
+            live.clear();
+            docCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void ensureCapacity(int size) {
+        if (size <= docEventIds.length) {
+            return;
+        }
+        int capacity = Math.max(size, docEventIds.length * 2);
+        docEventIds = Arrays.copyOf(docEventIds, capacity);
+        docNames = Arrays.copyOf(docNames, capacity);
+        docStatus = Arrays.copyOf(docStatus, capacity);
+        docType = Arrays.copyOf(docType, capacity);
+        docLength = Arrays.copyOf(docLength, capacity);
+    }
+    
+    private static AnalyzedDocument analyze(SearchDocument document) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        length += addField(frequencies, document.eventName(), NAME_WEIGHT);
+        length += addField(frequencies, document.category(), CATEGORY_WEIGHT);
+        length += addField(frequencies, document.description(), DESCRIPTION_WEIGHT);
+        length += addField(frequencies, document.specialInstructions(), INSTRUCTIONS_WEIGHT);
+        return new AnalyzedDocument(document, frequencies, length);
+    }
+    
+    private static float addField(Map<String, Float> frequencies, String text, float weight) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Float::sum);
+        }
+        return tokens.size() * weight;
+    }
+    
+    private record AnalyzedDocument(SearchDocument document, Map<String, Float> frequencies, float length) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.eventmanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * Documents containing one term, in ascending doc id order because doc ids
+ * are only ever appended.
+ */
+class PostingList {
+    private int[] docs = new int[4];
+    private float[] frequencies = new float[4];
+    private int size;
+    
+    void add(int doc, float frequency) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size * 2);
+            frequencies = Arrays.copyOf(frequencies, size * 2);
+        }
+        docs[size] = doc;
+        frequencies[size] = frequency;
+        size++;
+    }
+    
+    int size() { return size; }
+    int doc(int i) { return docs[i]; }
+    float frequency(int i) { return frequencies[i]; }
+    
+    // Drops removed docs and renumbers the rest; remap is monotonic so order is kept
+    void compact(int[] remap) {
+        int written = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = remap[docs[i]];
+            if (doc >= 0) {
+                docs[written] = doc;
+                frequencies[written] = frequencies[i];
+                written++;
+            }
+        }
+        size = written;
+        if (size < docs.length / 4 && docs.length > 4) {
+            docs = Arrays.copyOf(docs, Math.max(4, size * 2));
+            frequencies = Arrays.copyOf(frequencies, docs.length);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.eventmanagement.search;
+
+import com.eventmanagement.model.Event;
+
+public record SearchDocument(Long eventId, String eventName, String description, String category,
+                             String specialInstructions, Event.EventStatus status, Event.EventType eventType) {
+    
+    public static SearchDocument from(Event event) {
+        return new SearchDocument(event.getId(), event.getEventName(), event.getDescription(), event.getCategory(),
+                event.getSpecialInstructions(), event.getStatus(), event.getEventType());
+    }
+}
@@ -0,0 +1,390 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.ImportReport;
+import com.eventmanagement.dto.RowError;
+import com.eventmanagement.importer.ImportFormat;
+import com.eventmanagement.importer.RecordFields;
+import com.eventmanagement.importer.RecordSource;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.OrganizerRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Staged import of partner catalogs: records are streamed from the input in
+ * batches, each batch is converted and bean-validated in parallel, checked
+ * for duplicate keys within the file, then upserted in one transaction with
+ * JDBC batching. Bad rows are reported and skipped; they never fail the
+ * whole import.
+ */
+@Service
+public class BulkImportService {
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final VenueRepository venueRepository;
+    private final OrganizerRepository organizerRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final ForkJoinPool validationPool;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    
+    public BulkImportService(VenueRepository venueRepository,
+                             OrganizerRepository organizerRepository,
+                             Validator validator,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             ShardRouter shardRouter,
+                             @Value("${import.batch-size:1000}") int batchSize,
+                             @Value("${import.parallelism:0}") int parallelism,
+                             @Value("${import.max-reported-errors:1000}") int maxReportedErrors) {
+        this.venueRepository = venueRepository;
+        this.organizerRepository = organizerRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        // Separate from the common pool so imports don't starve parallel streams elsewhere
+        this.validationPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+    
+    public ImportReport importVenues(InputStream in, ImportFormat format) throws IOException {
+        try (RecordSource source = format.open(in, objectMapper)) {
+            return run("venues", source, BulkImportService::toVenue, BulkImportService::venueKey,
+                    this::findExistingVenues, BulkImportService::copyVenue, venue -> venue.setId(null), false);
+        }
+    }
+    
+    public ImportReport importOrganizers(InputStream in, ImportFormat format) throws IOException {
+        try (RecordSource source = format.open(in, objectMapper)) {
+            return run("organizers", source, BulkImportService::toOrganizer, BulkImportService::organizerKey,
+                    this::findExistingOrganizers, BulkImportService::copyOrganizer, organizer -> organizer.setId(null),
+                    true);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        validationPool.shutdown();
+    }
+    
+    private <T> ImportReport run(String type, RecordSource source, Function<RecordFields, T> mapper,
+                                 Function<T, String> keyOf, Function<Collection<String>, Map<String, T>> findExisting,
+                                 BiConsumer<T, T> copy, Consumer<T> clearId, boolean sharded) throws IOException {
+        long started = System.nanoTime();
+        ImportTally tally = new ImportTally(maxReportedErrors);
+        // Key to first row, across the whole file
+        Map<String, Integer> seenKeys = new HashMap<>();
+        List<Map<String, String>> batch = new ArrayList<>(batchSize);
+        int firstRow = 0;
+        Map<String, String> record;
+        do {
+            record = source.next();
+            if (record != null) {
+                batch.add(record);
+            }
+            if (batch.size() == batchSize || (record == null && !batch.isEmpty())) {
+                List<Converted<T>> converted = convert(batch, firstRow, mapper);
+                List<Converted<T>> accepted = new ArrayList<>(converted.size());
+                for (Converted<T> row : converted) {
+                    if (!row.errors().isEmpty()) {
+                        tally.reject(row.errors());
+                        continue;
+                    }
+                    Integer previous = seenKeys.putIfAbsent(keyOf.apply(row.entity()), row.row());
+                    if (previous != null) {
+                        tally.reject(List.of(new RowError(row.row(), "key", "Duplicate of row " + previous)));
+                        continue;
+                    }
+                    accepted.add(row);
+                }
+                upsert(accepted, keyOf, findExisting, copy, clearId, sharded, tally);
+                tally.total += batch.size();
+                firstRow += batch.size();
+                batch.clear();
+            }
+        } while (record != null);
+        
+        long durationMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+        double recordsPerSecond = tally.total * 1000.0 / durationMillis;
+        log.info("Imported {}: {} rows, {} created, {} updated, {} failed in {} ms ({} records/s)",
+                type, tally.total, tally.created, tally.updated, tally.failed, durationMillis, Math.round(recordsPerSecond));
+        return new ImportReport(type, tally.total, tally.created, tally.updated, tally.failed, durationMillis,
+                recordsPerSecond, tally.errors, tally.truncated);
+    }
+    
+    private <T> List<Converted<T>> convert(List<Map<String, String>> batch, int firstRow, Function<RecordFields, T> mapper) {
+        // Validator instances are thread-safe and cache constraint metadata per
+        // class, so the per-row cost here is only the checks themselves
+        return validationPool.submit(() -> IntStream.range(0, batch.size())
+                .parallel()
+                .mapToObj(i -> {
+                    RecordFields fields = new RecordFields(firstRow + i, batch.get(i));
+                    T entity = mapper.apply(fields);
+                    List<RowError> errors = fields.errors();
+                    for (ConstraintViolation<T> violation : validator.validate(entity)) {
+                        errors.add(new RowError(fields.row(), violation.getPropertyPath().toString(), violation.getMessage()));
+                    }
+                    return new Converted<>(fields.row(), entity, errors);
+                })
+                .toList()).join();
+    }
+    
+    /**
+     * Venues go to shard 0 and are replicated from there. Organizers that
+     * already exist are updated on the shard that holds them and new ones are
+     * created on one placement shard per batch, so each shard commits its own
+     * part of the batch. If a write fails, the rows it held are retried one
+     * at a time, so only the rows the database rejects are reported.
+     */
+    private <T> void upsert(List<Converted<T>> rows, Function<T, String> keyOf,
+                            Function<Collection<String>, Map<String, T>> findExisting,
+                            BiConsumer<T, T> copy, Consumer<T> clearId, boolean sharded, ImportTally tally) {
+        List<Converted<T>> pending = rows;
+        try {
+            int placement = sharded ? shardRouter.placeOrganizer() : 0;
+            for (int shard = 0; sharded && shard < shardRouter.shardCount(); shard++) {
+                if (shard != placement) {
+                    try (ShardContext.Scope scope = ShardContext.enter(shard)) {
+                        pending = write(pending, keyOf, findExisting, copy, false, tally);
+                    }
+                }
+            }
+            try (ShardContext.Scope scope = ShardContext.enter(placement)) {
+                pending = write(pending, keyOf, findExisting, copy, true, tally);
+            }
+        } catch (RuntimeException e) {
+            if (pending.size() == 1) {
+                Converted<T> row = pending.get(0);
+                log.debug("Import row {} failed", row.row(), e);
+                tally.reject(List.of(new RowError(row.row(), null,
+                        "Write failed: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage())));
+                return;
+            }
+            log.warn("Import batch of {} rows failed, retrying them one at a time", pending.size(), e);
+            for (Converted<T> row : pending) {
+                // The rolled-back persist left a sequence id on new entities
+                clearId.accept(row.entity());
+                upsert(List.of(row), keyOf, findExisting, copy, clearId, sharded, tally);
+            }
+        }
+    }
+    
+    // Updates the rows that exist on the current shard and, with create, persists the rest; returns the rows left
+    private <T> List<Converted<T>> write(List<Converted<T>> rows, Function<T, String> keyOf,
+                                        Function<Collection<String>, Map<String, T>> findExisting,
+                                        BiConsumer<T, T> copy, boolean create, ImportTally tally) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        List<Converted<T>> left = new ArrayList<>();
+        int[] counts = transactionTemplate.execute(status -> {
+            List<String> keys = rows.stream().map(row -> keyOf.apply(row.entity())).toList();
+            Map<String, T> existing = findExisting.apply(keys);
+            int created = 0;
+            int updated = 0;
+            for (Converted<T> row : rows) {
+                T current = existing.get(keyOf.apply(row.entity()));
+                if (current != null) {
+                    copy.accept(row.entity(), current);
+                    updated++;
+                } else if (create) {
+                    entityManager.persist(row.entity());
+                    created++;
+                } else {
+                    left.add(row);
+                }
+            }
+            entityManager.flush();
+            entityManager.clear();
+            return new int[] {created, updated};
+        });
+        tally.created += counts[0];
+        tally.updated += counts[1];
+        return left;
+    }
+    
+    private Map<String, Venue> findExistingVenues(Collection<String> keys) {
+        List<String> names = keys.stream().map(key -> key.substring(0, key.indexOf('|'))).distinct().toList();
+        Map<String, Venue> existing = new HashMap<>();
+        for (Venue venue : venueRepository.findByVenueNameInIgnoreCase(names)) {
+            existing.putIfAbsent(venueKey(venue), venue);
+        }
+        return existing;
+    }
+    
+    private Map<String, Organizer> findExistingOrganizers(Collection<String> keys) {
+        Map<String, Organizer> existing = new HashMap<>();
+        for (Organizer organizer : organizerRepository.findByEmailInIgnoreCase(keys)) {
+            existing.putIfAbsent(organizerKey(organizer), organizer);
+        }
+        return existing;
+    }
+    
+    // Venues have no unique column; name and city identify a partner's venue
+    private static String venueKey(Venue venue) {
+        return normalize(venue.getVenueName()) + "|" + normalize(venue.getCity());
+    }
+    
+    private static String organizerKey(Organizer organizer) {
+        return normalize(organizer.getEmail());
+    }
+    
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : "";
+    }
+    
+    private static Venue toVenue(RecordFields fields) {
+        Venue venue = new Venue(fields.text("venueName"), fields.text("address"), fields.text("city"),
+                fields.integer("capacity"));
+        venue.setState(fields.text("state"));
+        venue.setPostalCode(fields.text("postalCode"));
+        venue.setCountry(fields.text("country"));
+        venue.setLatitude(fields.decimal("latitude"));
+        venue.setLongitude(fields.decimal("longitude"));
+        venue.setDescription(fields.text("description"));
+        venue.setContactPerson(fields.text("contactPerson"));
+        venue.setContactPhone(fields.text("contactPhone"));
+        venue.setContactEmail(fields.text("contactEmail"));
+        venue.setRentalCost(fields.decimal("rentalCost"));
+        venue.setAmenities(fields.text("amenities"));
+        venue.setParkingAvailable(fields.bool("parkingAvailable"));
+        venue.setWifiAvailable(fields.bool("wifiAvailable"));
+        venue.setCateringAvailable(fields.bool("cateringAvailable"));
+        venue.setAvEquipmentAvailable(fields.bool("avEquipmentAvailable"));
+        venue.setStatus(fields.enumValue("status", Venue.VenueStatus.class));
+        venue.setImageUrl(fields.text("imageUrl"));
+        return venue;
+    }
+    
+    private static Organizer toOrganizer(RecordFields fields) {
+        Organizer organizer = new Organizer(fields.text("organizationName"), fields.text("contactPerson"),
+                fields.text("email"), fields.text("phoneNumber"), fields.text("address"));
+        organizer.setCity(fields.text("city"));
+        organizer.setState(fields.text("state"));
+        organizer.setPostalCode(fields.text("postalCode"));
+        organizer.setCountry(fields.text("country"));
+        organizer.setDescription(fields.text("description"));
+        organizer.setWebsiteUrl(fields.text("websiteUrl"));
+        organizer.setSocialMediaLinks(fields.text("socialMediaLinks"));
+        organizer.setOrganizationType(fields.enumValue("organizationType", Organizer.OrganizationType.class));
+        organizer.setRegistrationNumber(fields.text("registrationNumber"));
+        organizer.setStatus(fields.enumValue("status", Organizer.OrganizerStatus.class));
+        return organizer;
+    }
+    
+    private static void copyVenue(Venue from, Venue to) {
+        to.setAddress(from.getAddress());
+        to.setState(from.getState());
+        to.setPostalCode(from.getPostalCode());
+        to.setCountry(from.getCountry());
+        to.setLatitude(from.getLatitude());
+        to.setLongitude(from.getLongitude());
+        to.setCapacity(from.getCapacity());
+        to.setDescription(from.getDescription());
+        to.setContactPerson(from.getContactPerson());
+        to.setContactPhone(from.getContactPhone());
+        to.setContactEmail(from.getContactEmail());
+        to.setRentalCost(from.getRentalCost());
+        to.setAmenities(from.getAmenities());
+        if (from.getParkingAvailable() != null) {
+            to.setParkingAvailable(from.getParkingAvailable());
+        }
+        if (from.getWifiAvailable() != null) {
+            to.setWifiAvailable(from.getWifiAvailable());
+        }
+        if (from.getCateringAvailable() != null) {
+            to.setCateringAvailable(from.getCateringAvailable());
+        }
+        if (from.getAvEquipmentAvailable() != null) {
+            to.setAvEquipmentAvailable(from.getAvEquipmentAvailable());
+        }
+        if (from.getStatus() != null) {
+            to.setStatus(from.getStatus());
+        }
+        to.setImageUrl(from.getImageUrl());
+    }
+    
+    private static void copyOrganizer(Organizer from, Organizer to) {
+        to.setOrganizationName(from.getOrganizationName());
+        to.setContactPerson(from.getContactPerson());
+        to.setPhoneNumber(from.getPhoneNumber());
+        to.setAddress(from.getAddress());
+        to.setCity(from.getCity());
+        to.setState(from.getState());
+        to.setPostalCode(from.getPostalCode());
+        to.setCountry(from.getCountry());
+        to.setDescription(from.getDescription());
+        to.setWebsiteUrl(from.getWebsiteUrl());
+        to.setSocialMediaLinks(from.getSocialMediaLinks());
+        to.setOrganizationType(from.getOrganizationType());
+        to.setRegistrationNumber(from.getRegistrationNumber());
+        if (from.getStatus() != null) {
+            to.setStatus(from.getStatus());
+        }
+    }
+    
+    private record Converted<T>(int row, T entity, List<RowError> errors) {
+    }
+    
+    private static class ImportTally {
+        private final int maxErrors;
+        private final List<RowError> errors = new ArrayList<>();
+        private int total;
+        private int created;
+        private int updated;
+        private int failed;
+        private boolean truncated;
+        
+        ImportTally(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+        
+        void reject(List<RowError> rowErrors) {
+            failed++;
+            for (RowError error : rowErrors) {
+                if (errors.size() < maxErrors) {
+                    errors.add(error);
+                } else {
+                    truncated = true;
+                }
+            }
+        }
+    }
+}
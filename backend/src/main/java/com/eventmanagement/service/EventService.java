@@ -0,0 +1,194 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.cache.CatalogCache;
+import com.eventmanagement.dto.EventDetailsResponse;
+import com.eventmanagement.dto.EventDetailsView;
+import com.eventmanagement.dto.EventPageResponse;
+import com.eventmanagement.dto.EventRequest;
+import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.dto.EventSummary;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.exception.VenueBookingConflictException;
+import com.eventmanagement.index.Booking;
+import com.eventmanagement.index.VenueScheduleIndex;
+import com.eventmanagement.listener.AttendeeNoticeEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.NotificationJob.NotificationType;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.recurrence.RecurrenceRule;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.OrganizerRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import com.eventmanagement.util.KeysetCursor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+public class EventService {
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final Comparator<EventSummary> LISTING_ORDER =
+            Comparator.comparing(EventSummary::startDateTime).thenComparing(EventSummary::id);
+    
+    private final EventRepository eventRepository;
+    private final VenueRepository venueRepository;
+    private final OrganizerRepository organizerRepository;
+    private final VenueScheduleIndex venueScheduleIndex;
+    private final CatalogCache catalogCache;
+    private final SeatInventoryService seatInventoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    
+    public EventService(EventRepository eventRepository,
+                        VenueRepository venueRepository,
+                        OrganizerRepository organizerRepository,
+                        VenueScheduleIndex venueScheduleIndex,
+                        CatalogCache catalogCache,
+                        SeatInventoryService seatInventoryService,
+                        ApplicationEventPublisher eventPublisher,
+                        ShardRouter shardRouter) {
+        this.eventRepository = eventRepository;
+        this.venueRepository = venueRepository;
+        this.organizerRepository = organizerRepository;
+        this.venueScheduleIndex = venueScheduleIndex;
+        this.catalogCache = catalogCache;
+        this.seatInventoryService = seatInventoryService;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+    }
+    
+    public EventDetailsResponse getEventDetails(Long id) {
+        EventDetailsView event = catalogCache.getEvent(id);
+        int availableSpots = seatInventoryService.availableSpots(id);
+        LocalDateTime deadline = event.registrationDeadline();
+        boolean registrationOpen = event.status() == Event.EventStatus.PUBLISHED && availableSpots > 0
+                && (deadline == null || LocalDateTime.now().isBefore(deadline));
+        return new EventDetailsResponse(event, availableSpots, registrationOpen);
+    }
+    
+    @Transactional(readOnly = true)
+    public EventPageResponse listEvents(Collection<Event.EventStatus> statuses, LocalDateTime from,
+                                        LocalDateTime to, String cursor, int limit) {
+        KeysetCursor after = cursor != null
+                ? KeysetCursor.decode(cursor)
+                : new KeysetCursor(from != null ? from : LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+        Collection<Event.EventStatus> filter = statuses == null || statuses.isEmpty()
+                ? EnumSet.allOf(Event.EventStatus.class) : statuses;
+        LocalDateTime before = to != null ? to : END_OF_TIME;
+        // One extra row tells whether there is a next page without a count query; with
+        // several shards each returns its first limit + 1 and the merged order is cut again
+        List<EventSummary> rows = shardRouter.gather(() -> eventRepository.findSummariesAfter(filter,
+                after.startDateTime(), after.id(), before, PageRequest.of(0, limit + 1)));
+        if (shardRouter.shardCount() > 1) {
+            rows = rows.stream().sorted(LISTING_ORDER).limit(limit + 1).toList();
+        }
+        if (rows.size() <= limit) {
+            return new EventPageResponse(rows, null);
+        }
+        List<EventSummary> page = rows.subList(0, limit);
+        EventSummary last = page.get(limit - 1);
+        return new EventPageResponse(page, new KeysetCursor(last.startDateTime(), last.id()).encode());
+    }
+    
+    @Transactional
+    public EventResponse createEvent(EventRequest request) {
+        Event event = new Event();
+        apply(event, request);
+        return EventResponse.from(eventRepository.save(event));
+    }
+    
+    @Transactional
+    public EventResponse updateEvent(Long id, EventRequest request) {
+        Event event = findEvent(id);
+        Event.EventStatus previousStatus = event.getStatus();
+        Long previousVenueId = event.getVenue().getId();
+        apply(event, request);
+        EventResponse response = EventResponse.from(eventRepository.saveAndFlush(event));
+        noticeFor(previousStatus, previousVenueId, event)
+                .ifPresent(type -> eventPublisher.publishEvent(new AttendeeNoticeEvent(id, type)));
+        return response;
+    }
+    
+    // Changes every attendee has to hear about; the fan-out starts after commit
+    private static Optional<NotificationType> noticeFor(Event.EventStatus previousStatus, Long previousVenueId,
+                                                        Event event) {
+        if (event.getStatus() != previousStatus && event.getStatus() == Event.EventStatus.CANCELLED) {
+            return Optional.of(NotificationType.CANCELLED);
+        }
+        if (event.getStatus() != previousStatus && event.getStatus() == Event.EventStatus.POSTPONED) {
+            return Optional.of(NotificationType.POSTPONED);
+        }
+        if (event.getStatus() != Event.EventStatus.CANCELLED && !event.getVenue().getId().equals(previousVenueId)) {
+            return Optional.of(NotificationType.VENUE_CHANGED);
+        }
+        return Optional.empty();
+    }
+    
+    private void apply(Event event, EventRequest request) {
+        if (!request.endDateTime().isAfter(request.startDateTime())) {
+            throw new IllegalArgumentException("End date must be after start date");
+        }
+        // Events live on their organizer's shard; callers route there before the transaction
+        if (shardRouter.shardOfOrganizer(request.organizerId()) != ShardContext.current()) {
+            throw new IllegalArgumentException("Organizer " + request.organizerId()
+                    + " is on another shard; move the organizer rather than the event");
+        }
+        // Serializes bookings per venue until commit, across shards too; the schedule
+        // index is updated at flush, so the next writer for this venue sees this booking
+        shardRouter.lockVenue(request.venueId());
+        Venue venue = venueRepository.findByIdForUpdate(request.venueId())
+                .orElseThrow(() -> new ResourceNotFoundException("Venue not found with id: " + request.venueId()));
+        Organizer organizer = organizerRepository.findById(request.organizerId())
+                .orElseThrow(() -> new ResourceNotFoundException("Organizer not found with id: " + request.organizerId()));
+        if (request.status() != Event.EventStatus.CANCELLED) {
+            // Moving a series moves every occurrence its rule has yet to materialize
+            Optional<Booking> conflict = event.getRecurrenceRule() != null
+                    ? venueScheduleIndex.findSeriesConflict(venue.getId(), event.getId(),
+                            RecurrenceRule.parse(event.getRecurrenceRule()), request.startDateTime(),
+                            request.endDateTime(), Set.of())
+                    : venueScheduleIndex.findConflict(venue.getId(), request.startDateTime(), request.endDateTime(),
+                            event.getId());
+            conflict.ifPresent(booking -> {
+                throw new VenueBookingConflictException(venue.getId(), booking.eventId());
+            });
+        }
+        
+        event.setEventName(request.eventName());
+        event.setDescription(request.description());
+        event.setStartDateTime(request.startDateTime());
+        event.setEndDateTime(request.endDateTime());
+        event.setCategory(request.category());
+        event.setEventType(request.eventType());
+        event.setMaxAttendees(request.maxAttendees());
+        event.setTicketPrice(request.ticketPrice());
+        event.setIsFreeEvent(request.isFreeEvent());
+        event.setRegistrationDeadline(request.registrationDeadline());
+        if (request.status() != null) {
+            event.setStatus(request.status());
+        }
+        event.setImageUrl(request.imageUrl());
+        event.setEventUrl(request.eventUrl());
+        event.setSpecialInstructions(request.specialInstructions());
+        event.setDressCode(request.dressCode());
+        event.setAgeRestriction(request.ageRestriction());
+        event.setVenue(venue);
+        event.setOrganizer(organizer);
+    }
+    
+    private Event findEvent(Long id) {
+        return eventRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + id));
+    }
+}
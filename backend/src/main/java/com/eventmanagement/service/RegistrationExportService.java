@@ -0,0 +1,165 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.RegistrationExportRow;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes an event's registrations straight to the response stream while
+ * scrolling the database cursor, so memory use does not depend on the
+ * number of rows exported.
+ */
+@Service
+public class RegistrationExportService {
+    private static final String CSV_HEADER = "registration_id,confirmation_code,status,registration_date,amount_paid," +
+            "special_requirements,attendee_id,first_name,last_name,email,phone_number,company,job_title," +
+            "dietary_restrictions";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final ObjectMapper objectMapper;
+    private final int clearInterval;
+    
+    public RegistrationExportService(EventRepository eventRepository,
+                                     RegistrationRepository registrationRepository,
+                                     ObjectMapper objectMapper,
+                                     @Value("${export.clear-interval:1000}") int clearInterval) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.objectMapper = objectMapper;
+        this.clearInterval = clearInterval;
+    }
+    
+    /**
+     * Called before the response is committed, so a missing event is still a 404.
+     */
+    public void checkEventExists(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event not found with id: " + eventId);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public long writeCsv(Long eventId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = forEachRow(eventId, row -> {
+            writer.write(String.valueOf(row.registrationId()));
+            writeCsvField(writer, row.confirmationCode());
+            writeCsvField(writer, row.status() != null ? row.status().name() : null);
+            writeCsvField(writer, row.registrationDate() != null ? row.registrationDate().toString() : null);
+            writeCsvField(writer, row.amountPaid() != null ? row.amountPaid().toPlainString() : null);
+            writeCsvField(writer, row.specialRequirements());
+            writeCsvField(writer, String.valueOf(row.attendeeId()));
+            writeCsvField(writer, row.firstName());
+            writeCsvField(writer, row.lastName());
+            writeCsvField(writer, row.email());
+            writeCsvField(writer, row.phoneNumber());
+            writeCsvField(writer, row.company());
+            writeCsvField(writer, row.jobTitle());
+            writeCsvField(writer, row.dietaryRestrictions());
+            writer.write('\n');
+        });
+        writer.flush();
+        return rows;
+    }
+    
+    @Transactional(readOnly = true)
+    public long writeNdjson(Long eventId, OutputStream out) throws IOException {
+        // The generator buffers internally; keeping its flushes away from the
+        // servlet stream lets the container send full chunks instead of one per row
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        long rows = forEachRow(eventId, row -> {
+            objectMapper.writeValue(generator, row);
+            generator.writeRaw('\n');
+        });
+        generator.close();
+        out.flush();
+        return rows;
+    }
+    
+    private long forEachRow(Long eventId, RowWriter rowWriter) throws IOException {
+        long count = 0;
+        try (Stream<RegistrationExportRow> rows = registrationRepository.streamExportRows(eventId)) {
+            Iterator<RegistrationExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.write(iterator.next());
+                if (++count % clearInterval == 0) {
+                    // Guards against anything the session picked up along the way
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+    
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        // Leading formula characters would be evaluated by spreadsheet apps; a
+        // plain number such as an E.164 phone number is not a formula
+        char first = value.charAt(0);
+        boolean formula = (first == '=' || first == '+' || first == '-' || first == '@') && !isNumber(value);
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    // An optional sign, digits and at most one decimal point
+    private static boolean isNumber(String value) {
+        int start = value.charAt(0) == '+' || value.charAt(0) == '-' ? 1 : 0;
+        boolean digits = false;
+        boolean point = false;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
+    
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(RegistrationExportRow row) throws IOException;
+    }
+}
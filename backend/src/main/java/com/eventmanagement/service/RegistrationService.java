@@ -0,0 +1,342 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.BulkRegistrationRequest;
+import com.eventmanagement.dto.BulkRegistrationResponse;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.dto.RegistrationResponse;
+import com.eventmanagement.dto.RowError;
+import com.eventmanagement.exception.BulkValidationException;
+import com.eventmanagement.exception.DuplicateRegistrationException;
+import com.eventmanagement.exception.RegistrationClosedException;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.inventory.SeatHold;
+import com.eventmanagement.listener.RegistrationCancelledEvent;
+import com.eventmanagement.model.Attendee;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Registration;
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import com.eventmanagement.repository.AttendeeRepository;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.util.TransactionCallbacks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class RegistrationService {
+    private static final Set<RegistrationStatus> ACTIVE_STATUSES =
+            EnumSet.of(RegistrationStatus.CONFIRMED, RegistrationStatus.ATTENDED);
+    // The (event, attendee) key covers these too, so registering again reuses the row
+    private static final Set<RegistrationStatus> INACTIVE_STATUSES = EnumSet.complementOf(EnumSet.copyOf(ACTIVE_STATUSES));
+    // Keeps IN-lists well below the database parameter limit
+    private static final int LOOKUP_CHUNK = 1000;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final EventRepository eventRepository;
+    private final AttendeeRepository attendeeRepository;
+    private final RegistrationRepository registrationRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    
+    public RegistrationService(EventRepository eventRepository,
+                               AttendeeRepository attendeeRepository,
+                               RegistrationRepository registrationRepository,
+                               SeatInventoryService seatInventoryService,
+                               Validator validator,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${registration.bulk.chunk-size:500}") int chunkSize) {
+        this.eventRepository = eventRepository;
+        this.attendeeRepository = attendeeRepository;
+        this.registrationRepository = registrationRepository;
+        this.seatInventoryService = seatInventoryService;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+    
+    @Transactional
+    public RegistrationResponse register(Long eventId, RegistrationRequest request) {
+        Event event = findOpenEvent(eventId);
+        AttendeeRequest row = request.attendee();
+        String email = normalizeEmail(row.email());
+        if (!registrationRepository.findRegisteredEmails(eventId, ACTIVE_STATUSES, List.of(email)).isEmpty()) {
+            throw new DuplicateRegistrationException(email + " is already registered for event " + eventId);
+        }
+        
+        if (request.holdId() != null) {
+            SeatHold hold = seatInventoryService.confirm(request.holdId(), eventId);
+            settleSeats(hold.eventId(), hold.seats());
+        } else {
+            seatInventoryService.reserve(eventId, 1);
+            settleSeats(eventId, 1);
+        }
+        
+        List<Registration> inactive = registrationRepository.findByEmails(eventId, INACTIVE_STATUSES, List.of(email));
+        if (!inactive.isEmpty()) {
+            Registration registration = inactive.get(0);
+            reactivate(eventId, email, registration, row, ticketPrice(event));
+            return RegistrationResponse.from(registration, eventId, registration.getAttendee().getId());
+        }
+        Attendee attendee = attendeeRepository.findByEmail(email)
+                .orElseGet(() -> attendeeRepository.save(toAttendee(row, email)));
+        Registration registration = newRegistration(event, attendee, row, ticketPrice(event));
+        registrationRepository.save(registration);
+        return RegistrationResponse.from(registration, eventId, attendee.getId());
+    }
+    
+    @Transactional
+    public BulkRegistrationResponse registerBulk(Long eventId, BulkRegistrationRequest request) {
+        long started = System.nanoTime();
+        Event event = findOpenEvent(eventId);
+        BigDecimal price = ticketPrice(event);
+        List<AttendeeRequest> rows = request.attendees();
+        Map<String, Integer> rowByEmail = validate(eventId, rows);
+        Map<String, Long> existingAttendees = findAttendeeIds(rowByEmail.keySet());
+        
+        // One inventory update for the whole group; the write-behind flush then
+        // writes current_attendees once instead of once per attendee
+        seatInventoryService.reserve(eventId, rows.size());
+        settleSeats(eventId, rows.size());
+        int newAttendees = persistRegistrations(eventId, price, rows, existingAttendees,
+                findInactiveRegistrationIds(eventId, rowByEmail.keySet()));
+        
+        long durationMillis = (System.nanoTime() - started) / 1_000_000;
+        return new BulkRegistrationResponse(eventId, rows.size(), newAttendees, durationMillis);
+    }
+    
+    /**
+     * Registers attendees promoted from the waitlist. The caller has already
+     * reserved one seat per row; rows whose email already holds a seat for the
+     * event are skipped and returned so the caller can hand their seats back.
+     * A cancelled registration is reactivated, like any other registration.
+     */
+    @Transactional
+    public Set<String> registerPromoted(Long eventId, List<AttendeeRequest> rows) {
+        Event event = findOpenEvent(eventId);
+        Map<String, AttendeeRequest> byEmail = new LinkedHashMap<>(rows.size() * 2);
+        for (AttendeeRequest row : rows) {
+            byEmail.putIfAbsent(normalizeEmail(row.email()), row);
+        }
+        Set<String> alreadyRegistered = new HashSet<>();
+        for (List<String> chunk : chunks(byEmail.keySet())) {
+            for (String email : registrationRepository.findRegisteredEmails(eventId, ACTIVE_STATUSES, chunk)) {
+                alreadyRegistered.add(normalizeEmail(email));
+            }
+        }
+        byEmail.keySet().removeAll(alreadyRegistered);
+        persistRegistrations(eventId, ticketPrice(event), new ArrayList<>(byEmail.values()),
+                findAttendeeIds(byEmail.keySet()), findInactiveRegistrationIds(eventId, byEmail.keySet()));
+        return alreadyRegistered;
+    }
+    
+    @Transactional
+    public RegistrationResponse cancel(Long eventId, Long registrationId) {
+        Registration registration = registrationRepository.findById(registrationId)
+                .filter(r -> r.getEvent().getId().equals(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Registration not found with id: " + registrationId));
+        if (registration.getStatus() != RegistrationStatus.CONFIRMED) {
+            throw new IllegalArgumentException("Registration " + registrationId + " is " + registration.getStatus()
+                    + " and cannot be cancelled");
+        }
+        registration.setStatus(RegistrationStatus.CANCELLED);
+        // The seat only goes back once the cancellation is durable; the event
+        // below then lets the waitlist promote into it
+        TransactionCallbacks.afterCommit(() -> seatInventoryService.cancel(eventId, 1));
+        eventPublisher.publishEvent(new RegistrationCancelledEvent(eventId, registrationId));
+        return RegistrationResponse.from(registration, eventId, registration.getAttendee().getId());
+    }
+    
+    private int persistRegistrations(Long eventId, BigDecimal price, List<AttendeeRequest> rows,
+                                     Map<String, Long> existingAttendees, Map<String, Long> inactiveRegistrations) {
+        int newAttendees = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            AttendeeRequest row = rows.get(i);
+            String email = normalizeEmail(row.email());
+            Long registrationId = inactiveRegistrations.get(email);
+            if (registrationId != null) {
+                reactivate(eventId, email, entityManager.find(Registration.class, registrationId), row, price);
+            } else {
+                Long attendeeId = existingAttendees.get(email);
+                Attendee attendee;
+                if (attendeeId == null) {
+                    attendee = toAttendee(row, email);
+                    entityManager.persist(attendee);
+                    newAttendees++;
+                } else {
+                    attendee = entityManager.getReference(Attendee.class, attendeeId);
+                }
+                entityManager.persist(newRegistration(entityManager.getReference(Event.class, eventId), attendee, row, price));
+            }
+            
+            // Pooled sequence ids let Hibernate send these as JDBC batches;
+            // clearing keeps the persistence context from growing with the group
+            if ((i + 1) % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return newAttendees;
+    }
+    
+    private Map<String, Long> findAttendeeIds(Collection<String> emails) {
+        Map<String, Long> attendeeIds = new HashMap<>();
+        for (List<String> chunk : chunks(emails)) {
+            for (Attendee attendee : attendeeRepository.findByEmailIn(chunk)) {
+                attendeeIds.put(normalizeEmail(attendee.getEmail()), attendee.getId());
+            }
+        }
+        return attendeeIds;
+    }
+    
+    private Map<String, Long> findInactiveRegistrationIds(Long eventId, Collection<String> emails) {
+        Map<String, Long> registrationIds = new HashMap<>();
+        for (List<String> chunk : chunks(emails)) {
+            for (Registration registration : registrationRepository.findByEmails(eventId, INACTIVE_STATUSES, chunk)) {
+                registrationIds.put(normalizeEmail(registration.getAttendee().getEmail()), registration.getId());
+            }
+        }
+        return registrationIds;
+    }
+    
+    private Map<String, Integer> validate(Long eventId, List<AttendeeRequest> rows) {
+        List<RowError> errors = new ArrayList<>();
+        Map<String, Integer> rowByEmail = new LinkedHashMap<>(rows.size() * 2);
+        for (int i = 0; i < rows.size(); i++) {
+            AttendeeRequest row = rows.get(i);
+            if (row == null) {
+                errors.add(new RowError(i, null, "Attendee is required"));
+                continue;
+            }
+            for (ConstraintViolation<AttendeeRequest> violation : validator.validate(row)) {
+                errors.add(new RowError(i, violation.getPropertyPath().toString(), violation.getMessage()));
+            }
+            if (row.email() != null) {
+                Integer previous = rowByEmail.putIfAbsent(normalizeEmail(row.email()), i);
+                if (previous != null) {
+                    errors.add(new RowError(i, "email", "Duplicate of row " + previous));
+                }
+            }
+        }
+        if (errors.isEmpty()) {
+            for (List<String> chunk : chunks(rowByEmail.keySet())) {
+                for (String email : registrationRepository.findRegisteredEmails(eventId, ACTIVE_STATUSES, chunk)) {
+                    errors.add(new RowError(rowByEmail.get(normalizeEmail(email)), "email",
+                            "Already registered for this event"));
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors);
+        }
+        return rowByEmail;
+    }
+    
+    private Event findOpenEvent(Long eventId) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        requireOpen(event);
+        return event;
+    }
+    
+    // Shared with seat holds, so a seat can only be held where it could be registered
+    static void requireOpen(Event event) {
+        if (event.getRecurrenceRule() != null) {
+            throw new RegistrationClosedException("Event " + event.getId()
+                    + " is a recurring series; register for one of its occurrences");
+        }
+        LocalDateTime deadline = event.getRegistrationDeadline();
+        if (event.getStatus() != Event.EventStatus.PUBLISHED
+                || (deadline != null && !LocalDateTime.now().isBefore(deadline))) {
+            throw new RegistrationClosedException("Registration is closed for event " + event.getId());
+        }
+    }
+    
+    // The journal hears of the seats only once their registrations are durable, so a crash before the
+    // commit can't leave it counting them; a rollback hands them back without a journal entry
+    private void settleSeats(Long eventId, int seats) {
+        TransactionCallbacks.afterCommit(() -> seatInventoryService.committed(eventId, seats));
+        TransactionCallbacks.afterRollback(() -> seatInventoryService.unreserve(eventId, seats));
+    }
+    
+    private static Registration newRegistration(Event event, Attendee attendee, AttendeeRequest row, BigDecimal price) {
+        Registration registration = new Registration(event, attendee, newConfirmationCode());
+        registration.setSpecialRequirements(row.specialRequirements());
+        registration.setAmountPaid(price);
+        return registration;
+    }
+    
+    // The status change is conditional, so of two requests reactivating the same
+    // row only one gets it; a fresh code keeps the cancelled confirmation void
+    private void reactivate(Long eventId, String email, Registration registration, AttendeeRequest row,
+                            BigDecimal price) {
+        if (registrationRepository.updateStatus(List.of(registration.getId()), registration.getStatus(),
+                RegistrationStatus.CONFIRMED, LocalDateTime.now()) == 0) {
+            throw new DuplicateRegistrationException(email + " is already registered for event " + eventId);
+        }
+        registration.setStatus(RegistrationStatus.CONFIRMED);
+        registration.setConfirmationCode(newConfirmationCode());
+        registration.setRegistrationDate(LocalDateTime.now());
+        registration.setSpecialRequirements(row.specialRequirements());
+        registration.setAmountPaid(price);
+    }
+    
+    private static Attendee toAttendee(AttendeeRequest row, String email) {
+        Attendee attendee = new Attendee(row.firstName(), row.lastName(), email);
+        attendee.setPhoneNumber(row.phoneNumber());
+        attendee.setDateOfBirth(row.dateOfBirth());
+        attendee.setCompany(row.company());
+        attendee.setJobTitle(row.jobTitle());
+        return attendee;
+    }
+    
+    private static BigDecimal ticketPrice(Event event) {
+        if (Boolean.TRUE.equals(event.getIsFreeEvent()) || event.getTicketPrice() == null) {
+            return BigDecimal.ZERO;
+        }
+        return event.getTicketPrice();
+    }
+    
+    private static String newConfirmationCode() {
+        return UUID.randomUUID().toString().replace("-", "").toUpperCase(Locale.ROOT);
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static List<List<String>> chunks(Collection<String> values) {
+        List<String> all = new ArrayList<>(values);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += LOOKUP_CHUNK) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + LOOKUP_CHUNK)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,456 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.AvailabilityResponse;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.exception.SeatsUnavailableException;
+import com.eventmanagement.inventory.EventSeats;
+import com.eventmanagement.inventory.SeatChangeListener;
+import com.eventmanagement.inventory.SeatCounter;
+import com.eventmanagement.inventory.SeatHold;
+import com.eventmanagement.journal.JournalEntry;
+import com.eventmanagement.journal.RecoveredCounter;
+import com.eventmanagement.journal.RegistrationJournal;
+import com.eventmanagement.listener.AttendeeCountsFlushedEvent;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import com.eventmanagement.util.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+@Service
+public class SeatInventoryService implements SeatChangeListener {
+    private static final Logger log = LoggerFactory.getLogger(SeatInventoryService.class);
+    // Registrations that hold a seat, which is what the attendee count counts
+    private static final Set<RegistrationStatus> SEAT_HOLDING =
+            EnumSet.of(RegistrationStatus.CONFIRMED, RegistrationStatus.ATTENDED);
+    // Keeps IN-lists well below the database parameter limit
+    private static final int RECOVERY_CHUNK = 1000;
+    
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegistrationJournal journal;
+    private final ShardRouter shardRouter;
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    private final Map<UUID, SeatHold> holds = new ConcurrentHashMap<>();
+    private final int stripes;
+    private final Duration holdTtl;
+    
+    public SeatInventoryService(EventRepository eventRepository,
+                                RegistrationRepository registrationRepository,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher,
+                                RegistrationJournal journal,
+                                ShardRouter shardRouter,
+                                @Value("${inventory.stripes:8}") int stripes,
+                                @Value("${inventory.hold-ttl-seconds:300}") long holdTtlSeconds) {
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Counts are also written back from after-commit listeners, where the finished transaction can't be joined
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.journal = journal;
+        this.shardRouter = shardRouter;
+        this.stripes = stripes;
+        this.holdTtl = Duration.ofSeconds(holdTtlSeconds);
+    }
+    
+    public SeatCounter counterFor(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            return counter;
+        }
+        // Load outside the map so its bin is not locked during the query
+        Event event = shardRouter.callForEvent(eventId, () -> eventRepository.findById(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        int capacity = event.getMaxAttendees() != null ? event.getMaxAttendees() : 0;
+        int attendees = event.getCurrentAttendees() != null ? event.getCurrentAttendees() : 0;
+        OpeningListener opening = new OpeningListener();
+        SeatCounter created = new SeatCounter(eventId, capacity, attendees, stripes, opening);
+        // Whoever wins the put journals the OPENED entry; the counter's own changes wait for it
+        SeatCounter existing = counters.putIfAbsent(eventId, created);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            journal.append(JournalEntry.opened(eventId, attendees, capacity));
+        } finally {
+            opening.opened.countDown();
+        }
+        return created;
+    }
+    
+    public Optional<SeatCounter> findCounter(Long eventId) {
+        return Optional.ofNullable(counters.get(eventId));
+    }
+    
+    /**
+     * Free seats for reads such as the event page, which don't make a
+     * counter: without one the row's own count is current.
+     */
+    public int availableSpots(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            return counter.availableSpots();
+        }
+        return shardRouter.callForEvent(eventId, () -> eventRepository.findAvailableSpots(eventId))
+                .map(spots -> Math.max(0, spots))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+    }
+    
+    // The stored counts, for reads that must not open a counter when there is none
+    public EventSeats storedSeats(Long eventId) {
+        return shardRouter.callForEvent(eventId, () -> eventRepository.findSeats(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+    }
+    
+    public AvailabilityResponse availability(Long eventId) {
+        SeatCounter counter = counters.get(eventId);
+        if (counter != null) {
+            return AvailabilityResponse.from(counter);
+        }
+        EventSeats seats = storedSeats(eventId);
+        return new AvailabilityResponse(eventId, seats.capacity(), seats.attendees(), 0, seats.availableSpots());
+    }
+    
+    /**
+     * Holds seats only while the event takes registrations, so a hold never
+     * reopens the counter of a finished event.
+     */
+    public SeatHold hold(Long eventId, int seats) {
+        Event event = shardRouter.callForEvent(eventId, () -> eventRepository.findById(eventId))
+                .orElseThrow(() -> new ResourceNotFoundException("Event not found with id: " + eventId));
+        RegistrationService.requireOpen(event);
+        SeatCounter counter = counterFor(eventId);
+        if (!counter.tryHold(seats)) {
+            throw new SeatsUnavailableException(eventId, seats, counter.availableSpots());
+        }
+        SeatHold hold = new SeatHold(UUID.randomUUID(), eventId, seats, Instant.now().plus(holdTtl));
+        holds.put(hold.holdId(), hold);
+        return hold;
+    }
+    
+    /**
+     * Turns a hold on one seat of the event into a reservation. A hold for
+     * another event is refused before it is consumed, so it stays usable.
+     */
+    public SeatHold confirm(UUID holdId, Long eventId) {
+        SeatHold hold = holds.get(holdId);
+        if (hold == null) {
+            throw new ResourceNotFoundException("Seat hold not found or expired: " + holdId);
+        }
+        if (!hold.eventId().equals(eventId) || hold.seats() != 1) {
+            throw new IllegalArgumentException("Seat hold " + holdId + " is not a single seat for event " + eventId);
+        }
+        // remove(key, value) guards against a concurrent confirm or expiry of the same hold
+        if (!holds.remove(holdId, hold)) {
+            throw new ResourceNotFoundException("Seat hold not found or expired: " + holdId);
+        }
+        SeatCounter counter = counterFor(hold.eventId());
+        if (hold.isExpired(Instant.now())) {
+            counter.releaseHeld(hold.seats());
+            throw new ResourceNotFoundException("Seat hold not found or expired: " + holdId);
+        }
+        counter.confirmHeld(hold.seats());
+        return hold;
+    }
+    
+    // A hold outlives its counter only when the event was retired, so there is nothing to give back
+    public void release(UUID holdId) {
+        SeatHold hold = holds.remove(holdId);
+        if (hold != null) {
+            releaseHeld(hold);
+        }
+    }
+    
+    public void releaseHolds(Long eventId) {
+        for (SeatHold hold : holds.values()) {
+            if (hold.eventId().equals(eventId) && holds.remove(hold.holdId(), hold)) {
+                releaseHeld(hold);
+            }
+        }
+    }
+    
+    public void reserve(Long eventId, int seats) {
+        SeatCounter counter = counterFor(eventId);
+        if (!counter.tryReserve(seats)) {
+            throw new SeatsUnavailableException(eventId, seats, counter.availableSpots());
+        }
+    }
+    
+    public void cancel(Long eventId, int seats) {
+        counterFor(eventId).cancel(seats);
+    }
+    
+    // For reserved or confirmed-held seats whose registrations committed
+    public void committed(Long eventId, int seats) {
+        counterFor(eventId).committed(seats);
+    }
+    
+    // For reserved or confirmed-held seats whose registrations rolled back
+    public void unreserve(Long eventId, int seats) {
+        counterFor(eventId).unreserve(seats);
+    }
+    
+    // Called while the event is flushed; the live counter only changes once the update commits
+    public void syncCapacity(Event event) {
+        Long eventId = event.getId();
+        Integer capacity = event.getMaxAttendees();
+        if (capacity == null) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            SeatCounter counter = counters.get(eventId);
+            if (counter != null && counter.getCapacity() != capacity) {
+                counter.resize(capacity);
+            }
+        });
+    }
+    
+    public void evict(Long eventId) {
+        SeatCounter counter = counters.remove(eventId);
+        if (counter != null) {
+            holds.values().removeIf(hold -> hold.eventId().equals(eventId));
+            journal.append(JournalEntry.closed(eventId));
+        }
+    }
+    
+    // Finished events take no more registrations, so their counters go once the count is written back
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventStatusChanged(EventStatusChangedEvent change) {
+        if (isFinished(change.status())) {
+            change.eventIds().forEach(this::retire);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.UPDATED && isFinished(change.event().getStatus())) {
+            retire(change.eventId());
+        }
+    }
+    
+    @Override
+    public void seatsChanged(Long eventId, int delta) {
+        journal.append(JournalEntry.seats(eventId, delta));
+    }
+    
+    @Override
+    public void capacityChanged(Long eventId, int capacity) {
+        journal.append(JournalEntry.resized(eventId, capacity));
+    }
+    
+    /**
+     * Rebuilds the counters that were open when the application last stopped
+     * from the registration journal, and writes their attendee counts to the
+     * database in case the last flush never happened. Runs before the other
+     * startup rebuilds so they read the corrected counts.
+     * <p>
+     * Seats are journaled after their transaction commits and the write is
+     * not waited for, so a crash can lose the tail of the journal while the
+     * registrations are in the database. The journal's count is therefore a
+     * lower bound: each counter starts from the highest of it, the event's
+     * stored count and its active registrations, and the stored count is
+     * only ever raised.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void recover() {
+        long started = System.nanoTime();
+        Map<Long, RecoveredCounter> recovered = journal.recover();
+        if (recovered.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> attendees = new HashMap<>(recovered.size() * 2);
+        shardRouter.byEventShard(recovered.values(), RecoveredCounter::eventId).forEach((shard, counters) ->
+                ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status -> {
+                    for (int from = 0; from < counters.size(); from += RECOVERY_CHUNK) {
+                        attendees.putAll(reconcile(counters.subList(from,
+                                Math.min(counters.size(), from + RECOVERY_CHUNK))));
+                    }
+                })));
+        int raised = 0;
+        for (RecoveredCounter counter : recovered.values()) {
+            Integer count = attendees.get(counter.eventId());
+            if (count == null) {
+                journal.append(JournalEntry.closed(counter.eventId()));
+                continue;
+            }
+            if (count != counter.attendees()) {
+                raised++;
+            }
+            counters.putIfAbsent(counter.eventId(), new SeatCounter(counter.eventId(), counter.capacity(), count,
+                    stripes, this));
+        }
+        log.info("Recovered seat counters for {} events from the registration journal in {} ms, {} behind the database",
+                attendees.size(), Duration.ofNanos(System.nanoTime() - started).toMillis(), raised);
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.hold-sweep-interval-ms:1000}")
+    public void expireHolds() {
+        Instant now = Instant.now();
+        for (SeatHold hold : holds.values()) {
+            // remove(key, value) guards against a concurrent confirm of the same hold
+            if (hold.isExpired(now) && holds.remove(hold.holdId(), hold)) {
+                releaseHeld(hold);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${inventory.flush-interval-ms:500}")
+    public void flush() {
+        List<SeatCounter> dirty = new ArrayList<>();
+        for (SeatCounter counter : counters.values()) {
+            if (counter.markClean()) {
+                dirty.add(counter);
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> attendees = new HashMap<>(dirty.size() * 2);
+        for (SeatCounter counter : dirty) {
+            attendees.put(counter.getEventId(), counter.committedAttendees());
+        }
+        try {
+            writeAttendees(attendees);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush seat inventory for {} events, will retry", dirty.size(), e);
+            dirty.forEach(SeatCounter::markDirty);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    // Events that no longer exist are left out, so their counters are closed
+    private Map<Long, Integer> reconcile(List<RecoveredCounter> recovered) {
+        List<Long> eventIds = recovered.stream().map(RecoveredCounter::eventId).toList();
+        Map<Long, Long> stored = new HashMap<>(eventIds.size() * 2);
+        eventRepository.findCurrentAttendees(eventIds).forEach(row -> stored.put(row.eventId(), row.seats()));
+        Map<Long, Long> registered = new HashMap<>(eventIds.size() * 2);
+        registrationRepository.countByEvents(eventIds, SEAT_HOLDING)
+                .forEach(row -> registered.put(row.eventId(), row.seats()));
+        Map<Long, Integer> attendees = new HashMap<>(eventIds.size() * 2);
+        for (RecoveredCounter counter : recovered) {
+            Long current = stored.get(counter.eventId());
+            if (current == null) {
+                continue;
+            }
+            long active = registered.getOrDefault(counter.eventId(), 0L);
+            long count = Math.max(counter.attendees(), Math.max(current, active));
+            if (count > current) {
+                eventRepository.updateCurrentAttendees(counter.eventId(), (int) count);
+            }
+            attendees.put(counter.eventId(), (int) count);
+        }
+        return attendees;
+    }
+    
+    private void writeAttendees(Map<Long, Integer> attendees) {
+        shardRouter.byEventShard(attendees.keySet(), eventId -> eventId).forEach((shard, eventIds) ->
+                ShardContext.run(shard, () -> transactionTemplate.executeWithoutResult(status ->
+                        eventIds.forEach(eventId -> eventRepository.updateCurrentAttendees(eventId, attendees.get(eventId))))));
+        eventPublisher.publishEvent(new AttendeeCountsFlushedEvent(attendees));
+    }
+    
+    private void releaseHeld(SeatHold hold) {
+        SeatCounter counter = counters.get(hold.eventId());
+        if (counter != null) {
+            counter.releaseHeld(hold.seats());
+        }
+    }
+    
+    // Like evict, but the event stays, so its row gets the counter's last count first
+    private void retire(Long eventId) {
+        SeatCounter counter = counters.remove(eventId);
+        if (counter == null) {
+            return;
+        }
+        holds.values().removeIf(hold -> hold.eventId().equals(eventId));
+        if (counter.markClean()) {
+            try {
+                writeAttendees(Map.of(eventId, counter.committedAttendees()));
+            } catch (RuntimeException e) {
+                log.warn("Failed to write the final seat count of event {}, keeping its counter", eventId, e);
+                counter.markDirty();
+                counters.putIfAbsent(eventId, counter);
+                return;
+            }
+        }
+        journal.append(JournalEntry.closed(eventId));
+    }
+    
+    private static boolean isFinished(Event.EventStatus status) {
+        return status == Event.EventStatus.COMPLETED || status == Event.EventStatus.CANCELLED;
+    }
+    
+    // A new counter's listener, holding its changes back until its OPENED entry is in the journal
+    private final class OpeningListener implements SeatChangeListener {
+        private final CountDownLatch opened = new CountDownLatch(1);
+        
+        @Override
+        public void seatsChanged(Long eventId, int delta) {
+            awaitOpened();
+            SeatInventoryService.this.seatsChanged(eventId, delta);
+        }
+        
+        @Override
+        public void capacityChanged(Long eventId, int capacity) {
+            awaitOpened();
+            SeatInventoryService.this.capacityChanged(eventId, capacity);
+        }
+        
+        // A latch rather than a monitor, so a virtual thread waiting here is not pinned
+        private void awaitOpened() {
+            boolean interrupted = false;
+            while (opened.getCount() > 0) {
+                try {
+                    opened.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.cache.CatalogCache;
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.EventDetailsView;
+import com.eventmanagement.dto.WaitlistResponse;
+import com.eventmanagement.exception.DuplicateRegistrationException;
+import com.eventmanagement.exception.RegistrationClosedException;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.inventory.SeatCounter;
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.EventChangedEvent;
+import com.eventmanagement.listener.RegistrationCancelledEvent;
+import com.eventmanagement.listener.WaitlistPromotedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.WaitlistEntry;
+import com.eventmanagement.model.WaitlistEntry.WaitlistStatus;
+import com.eventmanagement.repository.WaitlistEntryRepository;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import com.eventmanagement.waitlist.EventWaitlist;
+import com.eventmanagement.waitlist.WaitlistTicket;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Per-event waitlists held in memory and written behind in batches. Seats
+ * freed by cancellations or capacity increases are handed to the head of
+ * the queue in bulk: the promoter reserves them on the event's
+ * {@link SeatCounter} first, so a promotion can never oversell the event.
+ */
+@Service
+public class WaitlistService {
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+    
+    private final CatalogCache catalogCache;
+    private final SeatInventoryService seatInventoryService;
+    private final RegistrationService registrationService;
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor promotionExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+    private final Map<Long, EventWaitlist> waitlists = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<WaitlistTicket> pendingInserts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<StatusChange> pendingStatusChanges = new ConcurrentLinkedQueue<>();
+    private final int maxPerEvent;
+    private final int promotionBatchSize;
+    private final int flushBatchSize;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    public WaitlistService(CatalogCache catalogCache,
+                           SeatInventoryService seatInventoryService,
+                           RegistrationService registrationService,
+                           WaitlistEntryRepository waitlistEntryRepository,
+                           ApplicationEventPublisher eventPublisher,
+                           @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor promotionExecutor,
+                           PlatformTransactionManager transactionManager,
+                           ShardRouter shardRouter,
+                           @Value("${waitlist.max-per-event:100000}") int maxPerEvent,
+                           @Value("${waitlist.promotion-batch-size:500}") int promotionBatchSize,
+                           @Value("${waitlist.flush-batch-size:1000}") int flushBatchSize) {
+        this.catalogCache = catalogCache;
+        this.seatInventoryService = seatInventoryService;
+        this.registrationService = registrationService;
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.eventPublisher = eventPublisher;
+        this.promotionExecutor = promotionExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardRouter = shardRouter;
+        this.maxPerEvent = maxPerEvent;
+        this.promotionBatchSize = promotionBatchSize;
+        this.flushBatchSize = flushBatchSize;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        waitlists.clear();
+        int restored = 0;
+        // Shards hold disjoint events, so each event's entries stay in queue order
+        for (WaitlistEntry entry : shardRouter.gather(() -> waitlistEntryRepository.findByStatusInQueueOrder(WaitlistStatus.WAITING))) {
+            Long eventId = entry.getEvent().getId();
+            waitlists.computeIfAbsent(eventId, id -> new EventWaitlist(id, 0))
+                    .restore(new WaitlistTicket(eventId, entry.getEmail(), toAttendeeRequest(entry), entry.getPosition()));
+            restored++;
+        }
+        log.info("Waitlists restored: {} entries across {} events in {} ms",
+                restored, waitlists.size(), System.currentTimeMillis() - started);
+    }
+    
+    public WaitlistResponse join(Long eventId, AttendeeRequest attendee) {
+        if (!isOpen(catalogCache.getEvent(eventId))) {
+            throw new RegistrationClosedException("Registration is closed for event " + eventId);
+        }
+        EventWaitlist waitlist = waitlists.computeIfAbsent(eventId, id -> new EventWaitlist(id, 0));
+        if (waitlist.size() >= maxPerEvent) {
+            throw new RegistrationClosedException("The waitlist for event " + eventId + " is full");
+        }
+        String email = normalizeEmail(attendee.email());
+        WaitlistTicket ticket = waitlist.newTicket(email, attendee);
+        if (ticket == null) {
+            throw new DuplicateRegistrationException(email + " is already on the waitlist for event " + eventId);
+        }
+        // Queued for the insert before it becomes promotable, so a flush always
+        // writes an entry no later than its status change
+        pendingInserts.add(ticket);
+        waitlist.enqueue(ticket);
+        
+        SeatCounter counter = seatInventoryService.findCounter(eventId).orElse(null);
+        if (counter != null && counter.availableSpots() > 0) {
+            requestPromotion(eventId);
+        }
+        return new WaitlistResponse(eventId, email, ticket.getPosition(), waitlist.size());
+    }
+    
+    public void leave(Long eventId, String email) {
+        String normalized = normalizeEmail(email);
+        EventWaitlist waitlist = waitlists.get(eventId);
+        WaitlistTicket ticket = waitlist == null ? null : waitlist.leave(normalized);
+        if (ticket == null) {
+            throw new ResourceNotFoundException(normalized + " is not waiting for event " + eventId);
+        }
+        pendingStatusChanges.add(new StatusChange(eventId, ticket.getPosition(), WaitlistStatus.LEFT));
+    }
+    
+    public int size(Long eventId) {
+        EventWaitlist waitlist = waitlists.get(eventId);
+        return waitlist == null ? 0 : waitlist.size();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRegistrationCancelled(RegistrationCancelledEvent cancellation) {
+        requestPromotion(cancellation.eventId());
+    }
+    
+    // Covers maxAttendees being raised: the entity listener has already
+    // resized the seat counter by the time this runs after commit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent change) {
+        if (change.changeType() == ChangeType.DELETED) {
+            waitlists.remove(change.eventId());
+        } else {
+            requestPromotion(change.eventId());
+        }
+    }
+    
+    public void requestPromotion(Long eventId) {
+        EventWaitlist waitlist = waitlists.get(eventId);
+        // One queued task per event is enough; a burst of triggers collapses into it
+        if (waitlist != null && !waitlist.isEmpty() && waitlist.markPromotionQueued()) {
+            promotionExecutor.execute(() -> {
+                waitlist.clearPromotionQueued();
+                promote(waitlist);
+            });
+        }
+    }
+    
+    /**
+     * Catches seats freed without an event, such as expired holds, and
+     * promotions that failed and were put back.
+     */
+    @Scheduled(fixedDelayString = "${waitlist.promotion-sweep-ms:2000}")
+    public void sweep() {
+        for (EventWaitlist waitlist : waitlists.values()) {
+            if (waitlist.isEmpty()) {
+                continue;
+            }
+            SeatCounter counter = seatInventoryService.findCounter(waitlist.getEventId()).orElse(null);
+            if (counter == null || counter.availableSpots() > 0) {
+                promote(waitlist);
+            }
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${waitlist.flush-interval-ms:200}")
+    public void flush() {
+        // Status changes are drained first: each one refers to an entry whose
+        // insert was queued before it, so it is in this batch or an earlier one
+        List<StatusChange> changes = drain(pendingStatusChanges);
+        List<WaitlistTicket> inserts = drain(pendingInserts);
+        if (changes.isEmpty() && inserts.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<StatusChange>> changesByShard;
+        Map<Integer, List<WaitlistTicket>> insertsByShard;
+        try {
+            changesByShard = shardRouter.byEventShard(changes, StatusChange::eventId);
+            insertsByShard = shardRouter.byEventShard(inserts, WaitlistTicket::getEventId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to route {} waitlist joins and {} status changes, will retry",
+                    inserts.size(), changes.size(), e);
+            pendingInserts.addAll(inserts);
+            pendingStatusChanges.addAll(changes);
+            return;
+        }
+        // An entry and its status change are for the same event, so they share a shard and a transaction
+        Set<Integer> shards = new TreeSet<>(changesByShard.keySet());
+        shards.addAll(insertsByShard.keySet());
+        for (Integer shard : shards) {
+            ShardContext.run(shard, () -> flush(insertsByShard.getOrDefault(shard, List.of()),
+                    changesByShard.getOrDefault(shard, List.of())));
+        }
+    }
+    
+    private void flush(List<WaitlistTicket> inserts, List<StatusChange> changes) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                writeInserts(inserts);
+                writeStatusChanges(changes);
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} waitlist joins and {} status changes, will retry",
+                    inserts.size(), changes.size(), e);
+            pendingInserts.addAll(inserts);
+            pendingStatusChanges.addAll(changes);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+    
+    private void promote(EventWaitlist waitlist) {
+        Long eventId = waitlist.getEventId();
+        try {
+            waitlist.promote(() -> shardRouter.runForEvent(eventId, () -> {
+                // Keep going while seats and waiting attendees remain
+                boolean more = true;
+                while (more) {
+                    more = promoteBatch(waitlist) > 0;
+                }
+            }));
+        } catch (ResourceNotFoundException e) {
+            waitlists.remove(eventId, waitlist);
+        } catch (RuntimeException e) {
+            log.warn("Waitlist promotion failed for event {}, will retry", eventId, e);
+        }
+    }
+    
+    private int promoteBatch(EventWaitlist waitlist) {
+        Long eventId = waitlist.getEventId();
+        if (!isOpen(catalogCache.getEvent(eventId))) {
+            return 0;
+        }
+        SeatCounter counter = seatInventoryService.counterFor(eventId);
+        int free = Math.min(counter.availableSpots(), promotionBatchSize);
+        if (free <= 0) {
+            return 0;
+        }
+        List<WaitlistTicket> claimed = waitlist.claim(free);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        // All-or-nothing on the counter; shrink if a concurrent registration
+        // took some of the seats after they were counted
+        int seats = claimed.size();
+        while (seats > 0 && !counter.tryReserve(seats)) {
+            seats = Math.min(seats - 1, counter.availableSpots());
+        }
+        if (seats < claimed.size()) {
+            waitlist.putBack(new ArrayList<>(claimed.subList(seats, claimed.size())));
+        }
+        if (seats <= 0) {
+            return 0;
+        }
+        List<WaitlistTicket> batch = claimed.subList(0, seats);
+        
+        Set<String> skipped;
+        try {
+            skipped = registrationService.registerPromoted(eventId,
+                    batch.stream().map(WaitlistTicket::getAttendee).toList());
+        } catch (RuntimeException e) {
+            counter.unreserve(seats);
+            waitlist.putBack(batch);
+            if (e instanceof RegistrationClosedException) {
+                return 0;
+            }
+            throw e;
+        }
+        if (!skipped.isEmpty()) {
+            counter.unreserve(skipped.size());
+        }
+        // Only now, with the registrations committed, are the seats journaled
+        if (seats > skipped.size()) {
+            counter.committed(seats - skipped.size());
+        }
+        waitlist.remove(batch);
+        
+        List<String> promoted = new ArrayList<>(batch.size() - skipped.size());
+        for (WaitlistTicket ticket : batch) {
+            boolean wasSkipped = skipped.contains(ticket.getEmail());
+            if (!wasSkipped) {
+                promoted.add(ticket.getEmail());
+            }
+            pendingStatusChanges.add(new StatusChange(eventId, ticket.getPosition(),
+                    wasSkipped ? WaitlistStatus.SKIPPED : WaitlistStatus.PROMOTED));
+        }
+        if (!promoted.isEmpty()) {
+            eventPublisher.publishEvent(new WaitlistPromotedEvent(eventId, promoted));
+        }
+        log.debug("Promoted {} attendees from the waitlist of event {}", promoted.size(), eventId);
+        return batch.size();
+    }
+    
+    private void writeInserts(List<WaitlistTicket> inserts) {
+        for (int i = 0; i < inserts.size(); i++) {
+            WaitlistTicket ticket = inserts.get(i);
+            entityManager.persist(toEntry(entityManager.getReference(Event.class, ticket.getEventId()), ticket));
+            // Pooled sequence ids let Hibernate send these as JDBC batches
+            if ((i + 1) % flushBatchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    private void writeStatusChanges(List<StatusChange> changes) {
+        Map<Long, Map<WaitlistStatus, List<Long>>> grouped = new HashMap<>();
+        for (StatusChange change : changes) {
+            grouped.computeIfAbsent(change.eventId(), id -> new HashMap<>())
+                    .computeIfAbsent(change.status(), s -> new ArrayList<>())
+                    .add(change.position());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        grouped.forEach((eventId, byStatus) -> byStatus.forEach((status, positions) -> {
+            for (int from = 0; from < positions.size(); from += flushBatchSize) {
+                waitlistEntryRepository.updateStatus(eventId,
+                        positions.subList(from, Math.min(positions.size(), from + flushBatchSize)),
+                        WaitlistStatus.WAITING, status, now);
+            }
+        }));
+    }
+    
+    private static boolean isOpen(EventDetailsView event) {
+        LocalDateTime deadline = event.registrationDeadline();
+        return event.status() == Event.EventStatus.PUBLISHED
+                && (deadline == null || LocalDateTime.now().isBefore(deadline));
+    }
+    
+    private static WaitlistEntry toEntry(Event event, WaitlistTicket ticket) {
+        AttendeeRequest attendee = ticket.getAttendee();
+        WaitlistEntry entry = new WaitlistEntry(event, ticket.getEmail(), ticket.getPosition());
+        entry.setFirstName(attendee.firstName());
+        entry.setLastName(attendee.lastName());
+        entry.setPhoneNumber(attendee.phoneNumber());
+        entry.setDateOfBirth(attendee.dateOfBirth());
+        entry.setCompany(attendee.company());
+        entry.setJobTitle(attendee.jobTitle());
+        entry.setSpecialRequirements(attendee.specialRequirements());
+        return entry;
+    }
+    
+    private static AttendeeRequest toAttendeeRequest(WaitlistEntry entry) {
+        return new AttendeeRequest(entry.getFirstName(), entry.getLastName(), entry.getEmail(),
+                entry.getPhoneNumber(), entry.getDateOfBirth(), entry.getCompany(), entry.getJobTitle(),
+                entry.getSpecialRequirements());
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    private static <T> List<T> drain(ConcurrentLinkedQueue<T> queue) {
+        List<T> drained = new ArrayList<>();
+        for (T item = queue.poll(); item != null; item = queue.poll()) {
+            drained.add(item);
+        }
+        return drained;
+    }
+    
+    private record StatusChange(Long eventId, long position, WaitlistStatus status) {
+    }
+}
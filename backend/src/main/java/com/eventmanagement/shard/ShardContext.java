@@ -0,0 +1,74 @@
+package com.eventmanagement.shard;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * The shard the current thread's database work goes to. Unset means shard 0,
+ * which is also the only shard when sharding is off. A transaction stays on
+ * the shard it started on, so switching to another one while a transaction
+ * is active is refused rather than silently ignored.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+    
+    private ShardContext() {}
+    
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : 0;
+    }
+    
+    /**
+     * Routes the thread to {@code shard} until the returned scope is closed,
+     * then restores the previous shard.
+     */
+    public static Scope enter(int shard) {
+        Integer previous = CURRENT.get();
+        int from = previous != null ? previous : 0;
+        if (from != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard + " inside a transaction on shard " + from);
+        }
+        CURRENT.set(shard);
+        return new Scope(previous);
+    }
+    
+    public static <T> T call(int shard, Supplier<T> work) {
+        try (Scope scope = enter(shard)) {
+            return work.get();
+        }
+    }
+    
+    public static void run(int shard, Runnable work) {
+        try (Scope scope = enter(shard)) {
+            work.run();
+        }
+    }
+    
+    // For the request interceptor, which routes a whole request and clears it afterwards
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+    
+    static void clear() {
+        CURRENT.remove();
+    }
+    
+    public static final class Scope implements AutoCloseable {
+        private final Integer previous;
+        
+        private Scope(Integer previous) {
+            this.previous = previous;
+        }
+        
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.eventmanagement.shard;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The shards' own connection pools, for work that must reach a specific
+ * shard regardless of the thread's routing or transaction: locating rows,
+ * schema setup and moving organizers.
+ */
+public record ShardDataSources(List<DataSource> shards) implements AutoCloseable {
+    
+    public DataSource get(int shard) {
+        return shards.get(shard);
+    }
+    
+    public int size() {
+        return shards.size();
+    }
+    
+    @Override
+    public void close() throws Exception {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.eventmanagement.shard;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Keeps sharding to a single application node. Where organizers and events
+ * live is cached in each node's {@link ShardRouter}, and a move fences off
+ * requests only on the node running {@link ShardRebalancer}, so a second
+ * node would keep routing a moved organizer to the shard it left. Each node
+ * locks a row on shard 0 at startup and holds it until shutdown; a second
+ * node finds the row locked and fails to start.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardNodeLock {
+    private static final Logger log = LoggerFactory.getLogger(ShardNodeLock.class);
+    private static final String TABLE = "shard_node_lock";
+    
+    private final Connection connection;
+    
+    public ShardNodeLock(ShardDataSources dataSources,
+                         @Value("${sharding.node-lock-timeout-seconds:5}") int timeoutSeconds) throws SQLException {
+        DataSource home = dataSources.get(0);
+        JdbcTemplate jdbc = new JdbcTemplate(home);
+        jdbc.execute("create table if not exists " + TABLE + " (id int primary key)");
+        // Doesn't touch the row when it is there, so this never waits on another node's lock
+        jdbc.update("insert into " + TABLE + " (id) select 1 where not exists (select id from " + TABLE + ")");
+        connection = home.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            String sql = "select id from " + TABLE + " where id = 1 for update";
+            try (PreparedStatement lock = connection.prepareStatement(sql)) {
+                lock.setQueryTimeout(timeoutSeconds);
+                lock.executeQuery().close();
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw new IllegalStateException("Another application node is running with sharding enabled; "
+                    + "sharding supports a single node", e);
+        }
+        log.info("Holding the sharding node lock on shard 0");
+    }
+    
+    @PreDestroy
+    public void release() throws SQLException {
+        try {
+            connection.rollback();
+        } finally {
+            connection.close();
+        }
+    }
+}
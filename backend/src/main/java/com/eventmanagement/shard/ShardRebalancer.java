@@ -0,0 +1,328 @@
+package com.eventmanagement.shard;
+
+import com.eventmanagement.dto.RebalanceResponse;
+import com.eventmanagement.dto.ShardMoveResponse;
+import com.eventmanagement.dto.ShardStatsResponse;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Moves an organizer, with its events, registrations, waitlists,
+ * notification jobs and rollups, from one shard to another, and evens out
+ * shards by registration load. Requests for the organizer get a 503 while it
+ * moves. The rows are copied in one transaction on the target and deleted in
+ * one on the source, so a failure on either side leaves the organizer where
+ * it was. The source deletes exactly the rows that were copied; if anything
+ * of the organizer's is still there afterwards, it was written after the
+ * copy was read, and the move is rolled back on both sides. Attendees are
+ * copied rather than moved, since they may also be registered with other
+ * organizers on the source.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardRebalancer {
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final String ORGANIZER_LOADS =
+            "select e.organizer_id, count(distinct e.id), count(r.id) from events e "
+                    + "left join registrations r on r.event_id = e.id group by e.organizer_id";
+    
+    private final ShardRouter shardRouter;
+    private final List<JdbcTemplate> shards;
+    private final List<TransactionTemplate> transactions;
+    private final long drainMillis;
+    private final ReentrantLock moveLock = new ReentrantLock();
+    
+    public ShardRebalancer(ShardRouter shardRouter,
+                           ShardDataSources dataSources,
+                           @Value("${sharding.move-drain-ms:500}") long drainMillis) {
+        this.shardRouter = shardRouter;
+        this.shards = dataSources.shards().stream().map(JdbcTemplate::new).toList();
+        this.transactions = dataSources.shards().stream()
+                .map(pool -> new TransactionTemplate(new DataSourceTransactionManager(pool)))
+                .toList();
+        this.drainMillis = drainMillis;
+    }
+    
+    public List<ShardStatsResponse> stats() {
+        List<ShardStatsResponse> stats = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbc = shards.get(shard);
+            stats.add(new ShardStatsResponse(shard, count(jdbc, "organizers"), count(jdbc, "events"),
+                    count(jdbc, "registrations")));
+        }
+        return stats;
+    }
+    
+    public ShardMoveResponse move(Long organizerId, int target) {
+        if (target < 0 || target >= shards.size()) {
+            throw new IllegalArgumentException("Target shard must be between 0 and " + (shards.size() - 1));
+        }
+        // One move at a time, so two moves never fence the same events
+        moveLock.lock();
+        try {
+            return moveInternal(organizerId, target);
+        } finally {
+            moveLock.unlock();
+        }
+    }
+    
+    /**
+     * Moves the organizers that best close the gap between the heaviest and
+     * the lightest shard, one at a time, until the gap is within tolerance
+     * of the average load. Load is an organizer's events plus registrations.
+     * A dry run only reports the moves it would make.
+     */
+    public RebalanceResponse rebalance(boolean dryRun, double tolerance, int maxMoves) {
+        List<Map<Long, long[]>> organizers = new ArrayList<>(shards.size());
+        long[] loads = new long[shards.size()];
+        for (int shard = 0; shard < shards.size(); shard++) {
+            Map<Long, long[]> byOrganizer = new HashMap<>();
+            shards.get(shard).query(ORGANIZER_LOADS, rs -> {
+                byOrganizer.put(rs.getLong(1), new long[] {rs.getLong(2), rs.getLong(3)});
+            });
+            organizers.add(byOrganizer);
+            loads[shard] = byOrganizer.values().stream().mapToLong(ShardRebalancer::load).sum();
+        }
+        List<Long> loadBefore = boxed(loads);
+        double slack = tolerance * average(loads);
+        Set<Long> skipped = new HashSet<>();
+        List<ShardMoveResponse> moves = new ArrayList<>();
+        while (moves.size() < maxMoves) {
+            int heaviest = 0;
+            int lightest = 0;
+            for (int shard = 1; shard < loads.length; shard++) {
+                heaviest = loads[shard] > loads[heaviest] ? shard : heaviest;
+                lightest = loads[shard] < loads[lightest] ? shard : lightest;
+            }
+            long gap = loads[heaviest] - loads[lightest];
+            if (gap <= slack) {
+                break;
+            }
+            // The largest organizer that still narrows the gap when moved
+            Map.Entry<Long, long[]> candidate = organizers.get(heaviest).entrySet().stream()
+                    .filter(entry -> !skipped.contains(entry.getKey()))
+                    .filter(entry -> load(entry.getValue()) > 0 && load(entry.getValue()) < gap)
+                    .max(Comparator.comparingLong(entry -> load(entry.getValue())))
+                    .orElse(null);
+            if (candidate == null) {
+                break;
+            }
+            Long organizerId = candidate.getKey();
+            long[] counts = candidate.getValue();
+            ShardMoveResponse move;
+            if (dryRun) {
+                move = new ShardMoveResponse(organizerId, heaviest, lightest, counts[0], counts[1], 0);
+            } else {
+                try {
+                    move = move(organizerId, lightest);
+                } catch (RuntimeException e) {
+                    log.warn("Skipping organizer {} in rebalance: {}", organizerId, e.getMessage());
+                    skipped.add(organizerId);
+                    continue;
+                }
+            }
+            organizers.get(heaviest).remove(organizerId);
+            organizers.get(lightest).put(organizerId, counts);
+            loads[heaviest] -= load(counts);
+            loads[lightest] += load(counts);
+            moves.add(move);
+        }
+        return new RebalanceResponse(dryRun, loadBefore, boxed(loads), moves);
+    }
+    
+    private ShardMoveResponse moveInternal(Long organizerId, int target) {
+        long started = System.currentTimeMillis();
+        int source = shardRouter.shardOfOrganizer(organizerId);
+        JdbcTemplate from = shards.get(source);
+        if (from.queryForObject("select count(*) from organizers where id = ?", Long.class, organizerId) == 0) {
+            throw new ResourceNotFoundException("Organizer not found with id: " + organizerId);
+        }
+        if (source == target) {
+            throw new IllegalArgumentException("Organizer " + organizerId + " is already on shard " + target);
+        }
+        List<Long> eventIds = eventIdsOf(from, organizerId);
+        Set<Long> fenced = new HashSet<>(eventIds);
+        shardRouter.beginMove(organizerId, fenced);
+        try {
+            // Lets requests routed before the fence finish on the source. The fence
+            // is this node's only; other nodes must not write while a move runs
+            Thread.sleep(drainMillis);
+            // Events created just before the fence went up
+            eventIds = eventIdsOf(from, organizerId);
+            fenced.addAll(eventIds);
+            shardRouter.beginMove(organizerId, fenced);
+            Long activeJobs = from.queryForObject("select count(*) from notification_jobs where status in ('PENDING', 'RUNNING')"
+                    + " and event_id in (select id from events where organizer_id = ?)", Long.class, organizerId);
+            if (activeJobs > 0) {
+                throw new IllegalArgumentException("Organizer " + organizerId + " has " + activeJobs
+                        + " notification jobs in progress; move it once they have finished");
+            }
+            Copy copy = copy(organizerId, eventIds, source, target);
+            try {
+                transactions.get(source).executeWithoutResult(status -> {
+                    delete(from, copy, List.of());
+                    requireNothingLeft(from, copy, source);
+                });
+            } catch (RuntimeException e) {
+                undo(copy, target);
+                throw e;
+            }
+            shardRouter.finishMove(organizerId, fenced, copy.jobIds(), target);
+            log.info("Moved organizer {} from shard {} to {}: {} events, {} registrations",
+                    organizerId, source, target, eventIds.size(), copy.registrationIds().size());
+            return new ShardMoveResponse(organizerId, source, target, eventIds.size(),
+                    copy.registrationIds().size(), System.currentTimeMillis() - started);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shardRouter.abortMove(organizerId, fenced);
+            throw new IllegalStateException("Interrupted while moving organizer " + organizerId, e);
+        } catch (RuntimeException e) {
+            shardRouter.abortMove(organizerId, fenced);
+            throw e;
+        }
+    }
+    
+    private Copy copy(Long organizerId, List<Long> eventIds, int source, int target) {
+        JdbcTemplate from = shards.get(source);
+        JdbcTemplate to = shards.get(target);
+        List<Map<String, Object>> events = ShardRows.select(from, "events", "organizer_id", List.of(organizerId));
+        // Series templates before their occurrences
+        events.sort(Comparator.comparing((Map<String, Object> row) -> row.get("SERIES_TEMPLATE_ID") != null));
+        List<Map<String, Object>> registrations = ShardRows.select(from, "registrations", "event_id", eventIds);
+        List<Map<String, Object>> waitlist = ShardRows.select(from, "waitlist_entries", "event_id", eventIds);
+        List<Map<String, Object>> jobs = ShardRows.select(from, "notification_jobs", "event_id", eventIds);
+        List<Map<String, Object>> rollups = ShardRows.select(from, "event_rollups", "organizer_id", List.of(organizerId));
+        Set<Long> attendeeIds = new HashSet<>();
+        registrations.forEach(row -> attendeeIds.add(id(row, "ATTENDEE_ID")));
+        List<Map<String, Object>> attendees = ShardRows.select(from, "attendees", "id", attendeeIds);
+        List<Long> insertedAttendees = new ArrayList<>();
+        transactions.get(target).executeWithoutResult(status -> {
+            ShardRows.insert(to, "organizers", ShardRows.select(from, "organizers", "id", List.of(organizerId)));
+            ShardRows.insert(to, "events", events);
+            // An attendee already on the target, matched by email, keeps the target's row
+            Map<Long, Long> attendeeOnTarget = new HashMap<>();
+            for (Map<String, Object> attendee : attendees) {
+                Long sourceId = id(attendee, "ID");
+                List<Long> existing = to.queryForList("select id from attendees where email = ?",
+                        Long.class, attendee.get("EMAIL"));
+                if (existing.isEmpty()) {
+                    // Copied by an earlier move and since renamed on one side
+                    existing = to.queryForList("select id from attendees where id = ?", Long.class, sourceId);
+                }
+                if (existing.isEmpty()) {
+                    ShardRows.insert(to, "attendees", List.of(attendee));
+                    insertedAttendees.add(sourceId);
+                    attendeeOnTarget.put(sourceId, sourceId);
+                } else {
+                    attendeeOnTarget.put(sourceId, existing.get(0));
+                }
+            }
+            registrations.forEach(row -> row.put("ATTENDEE_ID", attendeeOnTarget.get(id(row, "ATTENDEE_ID"))));
+            ShardRows.insert(to, "registrations", registrations);
+            ShardRows.insert(to, "waitlist_entries", waitlist);
+            ShardRows.insert(to, "notification_jobs", jobs);
+            ShardRows.insert(to, "event_rollups", rollups);
+        });
+        return new Copy(organizerId, ids(events, row -> row.get("SERIES_TEMPLATE_ID") != null),
+                ids(events, row -> row.get("SERIES_TEMPLATE_ID") == null), ids(registrations, row -> true),
+                ids(waitlist, row -> true), ids(jobs, row -> true), ids(rollups, row -> true), insertedAttendees);
+    }
+    
+    private void undo(Copy copy, int target) {
+        try {
+            transactions.get(target).executeWithoutResult(status ->
+                    delete(shards.get(target), copy, copy.insertedAttendees()));
+        } catch (RuntimeException e) {
+            log.error("Failed to remove the copy of organizer {} from shard {}; delete it before moving again",
+                    copy.organizerId(), target, e);
+        }
+    }
+    
+    // Children first, and only the copied rows: a row written since the copy was read must not go with them
+    private static void delete(JdbcTemplate jdbc, Copy copy, Collection<Long> attendeeIds) {
+        ShardRows.delete(jdbc, "event_rollups", "id", copy.rollupIds());
+        ShardRows.delete(jdbc, "notification_jobs", "id", copy.jobIds());
+        ShardRows.delete(jdbc, "waitlist_entries", "id", copy.waitlistIds());
+        ShardRows.delete(jdbc, "registrations", "id", copy.registrationIds());
+        ShardRows.delete(jdbc, "events", "id", copy.occurrenceIds());
+        ShardRows.delete(jdbc, "events", "id", copy.templateIds());
+        ShardRows.delete(jdbc, "organizers", "id", List.of(copy.organizerId()));
+        ShardRows.delete(jdbc, "attendees", "id", attendeeIds);
+    }
+    
+    // Throwing rolls the source delete back, and the caller then removes the copy from the target
+    private static void requireNothingLeft(JdbcTemplate jdbc, Copy copy, int source) {
+        List<Long> eventIds = new ArrayList<>(copy.occurrenceIds());
+        eventIds.addAll(copy.templateIds());
+        List<Long> organizer = List.of(copy.organizerId());
+        long left = ShardRows.count(jdbc, "events", "organizer_id", organizer)
+                + ShardRows.count(jdbc, "event_rollups", "organizer_id", organizer)
+                + ShardRows.count(jdbc, "notification_jobs", "event_id", eventIds)
+                + ShardRows.count(jdbc, "waitlist_entries", "event_id", eventIds)
+                + ShardRows.count(jdbc, "registrations", "event_id", eventIds);
+        if (left > 0) {
+            throw new IllegalStateException("Organizer " + copy.organizerId() + " has " + left
+                    + " rows on shard " + source + " written after they were copied; the move was rolled back");
+        }
+    }
+    
+    private static List<Long> eventIdsOf(JdbcTemplate jdbc, Long organizerId) {
+        return jdbc.queryForList("select id from events where organizer_id = ?", Long.class, organizerId);
+    }
+    
+    private static long count(JdbcTemplate jdbc, String table) {
+        Long count = jdbc.queryForObject("select count(*) from " + table, Long.class);
+        return count != null ? count : 0;
+    }
+    
+    private static List<Long> ids(List<Map<String, Object>> rows, Predicate<Map<String, Object>> filter) {
+        return rows.stream().filter(filter).map(row -> id(row, "ID")).toList();
+    }
+    
+    private static Long id(Map<String, Object> row, String column) {
+        return ((Number) row.get(column)).longValue();
+    }
+    
+    private static long load(long[] counts) {
+        return counts[0] + counts[1];
+    }
+    
+    private static double average(long[] loads) {
+        long total = 0;
+        for (long load : loads) {
+            total += load;
+        }
+        return (double) total / loads.length;
+    }
+    
+    private static List<Long> boxed(long[] loads) {
+        List<Long> boxed = new ArrayList<>(loads.length);
+        for (long load : loads) {
+            boxed.add(load);
+        }
+        return boxed;
+    }
+    
+    private record Copy(Long organizerId, List<Long> occurrenceIds, List<Long> templateIds,
+                        List<Long> registrationIds, List<Long> waitlistIds, List<Long> jobIds, List<Long> rollupIds,
+                        List<Long> insertedAttendees) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.eventmanagement.shard;
+
+import com.eventmanagement.exception.ShardMoveInProgressException;
+import com.eventmanagement.monitoring.QueryCountInspector;
+import com.eventmanagement.util.TransactionCallbacks;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Knows which shard holds an organizer and, with it, the organizer's events,
+ * registrations and notification jobs. Venues are on every shard. Rows are
+ * found by asking each shard's own pool, starting with the shard the id was
+ * allocated on, and the answer is cached; moved organizers update the cache.
+ * The cache is this node's own, which is why sharding runs on a single node,
+ * see {@link ShardNodeLock}. With sharding off there is one shard and every
+ * lookup is shard 0.
+ */
+@Component
+public class ShardRouter {
+    private static final long MOVE_RETRY_AFTER_SECONDS = 2;
+    
+    private final List<JdbcTemplate> shards;
+    private final int idStride;
+    private final Cache<Long, Integer> eventShards;
+    private final Cache<Long, Integer> organizerShards;
+    private final Cache<Long, Integer> jobShards;
+    private final Set<Long> movingOrganizers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> movingEvents = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextPlacement = new AtomicInteger();
+    private final ExecutorService gatherExecutor;
+    
+    public ShardRouter(Optional<ShardDataSources> dataSources,
+                       @Value("${sharding.id-stride:16}") int idStride,
+                       @Value("${sharding.location-cache-size:1000000}") long locationCacheSize) {
+        this.shards = dataSources.map(sources -> sources.shards().stream().map(JdbcTemplate::new).toList())
+                .orElse(List.of());
+        this.idStride = idStride;
+        this.eventShards = Caffeine.newBuilder().maximumSize(locationCacheSize).build();
+        this.organizerShards = Caffeine.newBuilder().maximumSize(locationCacheSize).build();
+        this.jobShards = Caffeine.newBuilder().maximumSize(locationCacheSize / 10).build();
+        // Gather tasks block in JDBC, so they get platform threads, one per shard;
+        // concurrent gathers queue for them rather than piling up threads
+        this.gatherExecutor = shards.size() > 1
+                ? Executors.newFixedThreadPool(shards.size(),
+                        Thread.ofPlatform().name("shard-gather-", 0).daemon().factory())
+                : null;
+    }
+    
+    public int shardCount() {
+        return Math.max(1, shards.size());
+    }
+    
+    public int shardOfEvent(Long eventId) {
+        if (shardCount() == 1) {
+            return 0;
+        }
+        if (movingEvents.contains(eventId)) {
+            throw moving("Event " + eventId);
+        }
+        return locate(eventShards, "events", eventId, allocatedOn(eventId));
+    }
+    
+    public int shardOfOrganizer(Long organizerId) {
+        if (shardCount() == 1) {
+            return 0;
+        }
+        if (movingOrganizers.contains(organizerId)) {
+            throw moving("Organizer " + organizerId);
+        }
+        // Organizer ids come from pooled sequence blocks, so the id says little about the shard
+        return locate(organizerShards, "organizers", organizerId, 0);
+    }
+    
+    public int shardOfNotificationJob(Long jobId) {
+        if (shardCount() == 1) {
+            return 0;
+        }
+        return locate(jobShards, "notification_jobs", jobId, allocatedOn(jobId));
+    }
+    
+    // Round robin; the rebalancer evens out organizers that turn out large
+    public int placeOrganizer() {
+        return Math.floorMod(nextPlacement.getAndIncrement(), shardCount());
+    }
+    
+    public <T> T callForEvent(Long eventId, Supplier<T> work) {
+        return ShardContext.call(shardOfEvent(eventId), work);
+    }
+    
+    public void runForEvent(Long eventId, Runnable work) {
+        ShardContext.run(shardOfEvent(eventId), work);
+    }
+    
+    public <T> T callForOrganizer(Long organizerId, Supplier<T> work) {
+        return ShardContext.call(shardOfOrganizer(organizerId), work);
+    }
+    
+    /**
+     * Runs the query on every shard in parallel and concatenates the results
+     * in shard order. Callers re-sort and cut when the query is ordered or
+     * limited. The statements count against the calling request.
+     */
+    public <T> List<T> gather(Supplier<List<T>> query) {
+        if (shardCount() == 1) {
+            return query.get();
+        }
+        Supplier<List<T>> counted = QueryCountInspector.counted(query);
+        List<Future<List<T>>> parts = new ArrayList<>(shardCount());
+        for (int shard = 0; shard < shardCount(); shard++) {
+            int target = shard;
+            parts.add(gatherExecutor.submit(() -> ShardContext.call(target, counted)));
+        }
+        List<T> results = new ArrayList<>();
+        for (Future<List<T>> part : parts) {
+            results.addAll(join(part));
+        }
+        return results;
+    }
+    
+    /**
+     * Groups items by the shard of their event, for write-behind flushes that
+     * need one transaction per shard.
+     */
+    public <T> Map<Integer, List<T>> byEventShard(Collection<T> items, Function<T, Long> eventIdOf) {
+        return groupBy(items, item -> shardOfEvent(eventIdOf.apply(item)));
+    }
+    
+    public <T> Map<Integer, List<T>> byOrganizerShard(Collection<T> items, Function<T, Long> organizerIdOf) {
+        return groupBy(items, item -> shardOfOrganizer(organizerIdOf.apply(item)));
+    }
+    
+    /**
+     * Serializes bookings of a venue across shards until the current
+     * transaction completes. Every shard has its own copy of the venue row,
+     * so the caller's lock on the local copy only orders bookings made on the
+     * same shard; this also locks the copy on shard 0, where venues are
+     * written, over a connection of its own. Callers take it before the local
+     * lock so every booking acquires the two in the same order.
+     */
+    public void lockVenue(Long venueId) {
+        // On shard 0, or unsharded, the caller's own row lock is the shard 0 lock
+        if (shardCount() == 1 || ShardContext.current() == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Venue " + venueId + " can only be locked inside a transaction");
+        }
+        DataSource home = shards.get(0).getDataSource();
+        Connection connection = DataSourceUtils.getConnection(home);
+        try {
+            connection.setAutoCommit(false);
+            String sql = "select id from venues where id = ? for update";
+            try (PreparedStatement lock = connection.prepareStatement(sql)) {
+                lock.setLong(1, venueId);
+                lock.executeQuery().close();
+            }
+        } catch (SQLException | RuntimeException e) {
+            release(connection, home);
+            throw new IllegalStateException("Could not lock venue " + venueId + " on shard 0", e);
+        }
+        TransactionCallbacks.afterCompletion(() -> release(connection, home));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (gatherExecutor != null) {
+            gatherExecutor.shutdownNow();
+        }
+    }
+    
+    // Requests for the organizer and its events get a 503 until finishMove or abortMove
+    void beginMove(Long organizerId, Collection<Long> eventIds) {
+        movingOrganizers.add(organizerId);
+        movingEvents.addAll(eventIds);
+    }
+    
+    void finishMove(Long organizerId, Collection<Long> eventIds, Collection<Long> jobIds, int target) {
+        organizerShards.put(organizerId, target);
+        eventIds.forEach(id -> eventShards.put(id, target));
+        jobIds.forEach(id -> jobShards.put(id, target));
+        abortMove(organizerId, eventIds);
+    }
+    
+    void abortMove(Long organizerId, Collection<Long> eventIds) {
+        movingEvents.removeAll(eventIds);
+        movingOrganizers.remove(organizerId);
+    }
+    
+    /**
+     * The shard whose sequence handed out the id. Shards allocate interleaved
+     * ids, see {@link ShardSchemaInitializer}; ids from before sharding was
+     * turned on, or of rows moved since, resolve through the lookup instead.
+     */
+    int allocatedOn(Long id) {
+        int shard = (int) Math.floorMod(id - 1, (long) idStride);
+        return shard < shardCount() ? shard : 0;
+    }
+    
+    private int locate(Cache<Long, Integer> cache, String table, Long id, int first) {
+        Integer cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        for (int i = 0; i < shardCount(); i++) {
+            int shard = (first + i) % shardCount();
+            Integer found = shards.get(shard).queryForObject("select count(*) from " + table + " where id = ?",
+                    Integer.class, id);
+            if (found != null && found > 0) {
+                cache.put(id, shard);
+                return shard;
+            }
+        }
+        // On no shard: the caller's own lookup reports it missing
+        return first;
+    }
+    
+    private <T> Map<Integer, List<T>> groupBy(Collection<T> items, Function<T, Integer> shardOf) {
+        Map<Integer, List<T>> byShard = new TreeMap<>();
+        if (shardCount() == 1) {
+            byShard.put(0, new ArrayList<>(items));
+            return byShard;
+        }
+        for (T item : items) {
+            byShard.computeIfAbsent(shardOf.apply(item), shard -> new ArrayList<>()).add(item);
+        }
+        return byShard;
+    }
+    
+    // Nothing was written on the lock's connection, so rolling back only drops the lock
+    private static void release(Connection connection, DataSource dataSource) {
+        try {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            // Closing a pooled connection mid-transaction rolls it back too
+        }
+        DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+    
+    private static ShardMoveInProgressException moving(String what) {
+        return new ShardMoveInProgressException(what + " is moving to another shard, please retry",
+                MOVE_RETRY_AFTER_SECONDS);
+    }
+    
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Shard query failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.eventmanagement.shard;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Routes a request to the shard of the event, organizer or notification job
+ * in its path, so that everything the handler does runs there. Requests
+ * without one stay on shard 0 and route themselves where they need to.
+ */
+@Component
+public class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+    
+    private final ShardRouter shardRouter;
+    
+    public ShardRoutingInterceptor(ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (shardRouter.shardCount() == 1) {
+            return true;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables == null) {
+            return true;
+        }
+        try {
+            if (variables.containsKey("eventId")) {
+                ShardContext.set(shardRouter.shardOfEvent(Long.valueOf(variables.get("eventId"))));
+            } else if (variables.containsKey("organizerId")) {
+                ShardContext.set(shardRouter.shardOfOrganizer(Long.valueOf(variables.get("organizerId"))));
+            } else if (variables.containsKey("jobId")) {
+                ShardContext.set(shardRouter.shardOfNotificationJob(Long.valueOf(variables.get("jobId"))));
+            }
+        } catch (NumberFormatException e) {
+            // Left to the handler's argument binding to reject
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async work captures the shard itself; don't leave it on a pooled request thread
+        ShardContext.clear();
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ShardContext.clear();
+    }
+}
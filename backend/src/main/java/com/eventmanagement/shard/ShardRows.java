@@ -0,0 +1,87 @@
+package com.eventmanagement.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table-agnostic row copying between shards over plain JDBC, so that moving
+ * an organizer or replicating a venue doesn't go through the entities and
+ * their listeners. Rows are column-name maps as returned by the driver.
+ */
+final class ShardRows {
+    private static final int IN_CHUNK = 1000;
+    
+    private ShardRows() {}
+    
+    static List<Map<String, Object>> select(JdbcTemplate jdbc, String table, String column, Collection<?> values) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (List<?> chunk : chunks(values)) {
+            rows.addAll(jdbc.queryForList("select * from " + table + " where " + column + " in (" + placeholders(chunk.size())
+                    + ") order by id", chunk.toArray()));
+        }
+        return rows;
+    }
+    
+    static void insert(JdbcTemplate jdbc, String table, List<Map<String, Object>> rows) {
+        write(jdbc, "insert into " + table, "", rows);
+    }
+    
+    // H2's MERGE: inserts the row or overwrites the one with the same id
+    static void upsert(JdbcTemplate jdbc, String table, List<Map<String, Object>> rows) {
+        write(jdbc, "merge into " + table, " key (id)", rows);
+    }
+    
+    static int delete(JdbcTemplate jdbc, String table, String column, Collection<?> values) {
+        int deleted = 0;
+        for (List<?> chunk : chunks(values)) {
+            deleted += jdbc.update("delete from " + table + " where " + column + " in (" + placeholders(chunk.size()) + ")",
+                    chunk.toArray());
+        }
+        return deleted;
+    }
+    
+    static long count(JdbcTemplate jdbc, String table, String column, Collection<?> values) {
+        long count = 0;
+        for (List<?> chunk : chunks(values)) {
+            Long rows = jdbc.queryForObject("select count(*) from " + table + " where " + column + " in ("
+                    + placeholders(chunk.size()) + ")", Long.class, chunk.toArray());
+            count += rows != null ? rows : 0;
+        }
+        return count;
+    }
+    
+    private static void write(JdbcTemplate jdbc, String statement, String key, List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> columns = new ArrayList<>(rows.get(0).keySet());
+        String sql = statement + " (" + String.join(", ", columns) + ")" + key
+                + " values (" + placeholders(columns.size()) + ")";
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            args.add(columns.stream().map(row::get).toArray());
+        }
+        jdbc.batchUpdate(sql, args);
+    }
+    
+    private static List<? extends List<?>> chunks(Collection<?> values) {
+        if (values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<?> list = new ArrayList<>(values);
+        List<List<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += IN_CHUNK) {
+            chunks.add(list.subList(from, Math.min(list.size(), from + IN_CHUNK)));
+        }
+        return chunks;
+    }
+    
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
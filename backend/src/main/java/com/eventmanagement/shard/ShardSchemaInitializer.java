@@ -0,0 +1,88 @@
+package com.eventmanagement.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives every shard the schema Hibernate created on shard 0 and makes the
+ * shards hand out interleaved ids, so a row keeps a unique id on whichever
+ * shard it ends up. Shard {@code i} of {@code stride} allocates ids that are
+ * {@code i + 1} modulo the stride, and sequence blocks of size {@code a}
+ * that end on {@code a * (i + 1)} modulo {@code a * stride}. Copying the
+ * schema uses H2's SCRIPT statement.
+ */
+class ShardSchemaInitializer implements InitializingBean {
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+    
+    private final ShardDataSources shards;
+    private final int stride;
+    
+    ShardSchemaInitializer(ShardDataSources shards, int stride) {
+        this.shards = shards;
+        this.stride = stride;
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        JdbcTemplate first = new JdbcTemplate(shards.get(0));
+        List<String> schema = null;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbc = new JdbcTemplate(shards.get(shard));
+            if (shard > 0 && !hasSchema(jdbc)) {
+                if (schema == null) {
+                    schema = first.queryForList("SCRIPT NODATA", String.class).stream()
+                            .filter(statement -> !statement.startsWith("--"))
+                            .toList();
+                }
+                schema.forEach(jdbc::execute);
+                log.info("Created schema on shard {}", shard);
+            }
+            if (!interleaved(jdbc)) {
+                interleave(jdbc, shard);
+            }
+        }
+    }
+    
+    private static boolean hasSchema(JdbcTemplate jdbc) {
+        Integer tables = jdbc.queryForObject("select count(*) from information_schema.tables "
+                + "where table_schema = 'PUBLIC' and table_name = 'EVENTS'", Integer.class);
+        return tables != null && tables > 0;
+    }
+    
+    private boolean interleaved(JdbcTemplate jdbc) {
+        Long increment = jdbc.queryForObject("select identity_increment from information_schema.columns "
+                + "where table_schema = 'PUBLIC' and table_name = 'EVENTS' and column_name = 'ID'", Long.class);
+        return increment != null && increment == stride;
+    }
+    
+    private void interleave(JdbcTemplate jdbc, int shard) {
+        for (Map<String, Object> sequence : jdbc.queryForList("select sequence_name, base_value, increment "
+                + "from information_schema.sequences where sequence_schema = 'PUBLIC' "
+                + "and sequence_name not like 'SYSTEM_SEQUENCE%'")) {
+            long block = ((Number) sequence.get("INCREMENT")).longValue();
+            long next = aligned(((Number) sequence.get("BASE_VALUE")).longValue() + block, block * (shard + 1), block * stride);
+            jdbc.execute("alter sequence \"" + sequence.get("SEQUENCE_NAME") + "\" restart with " + next
+                    + " increment by " + block * stride);
+        }
+        for (Map<String, Object> column : jdbc.queryForList("select table_name, column_name "
+                + "from information_schema.columns where table_schema = 'PUBLIC' and is_identity = 'YES'")) {
+            String table = "\"" + column.get("TABLE_NAME") + "\"";
+            String name = "\"" + column.get("COLUMN_NAME") + "\"";
+            Long max = jdbc.queryForObject("select coalesce(max(" + name + "), 0) from " + table, Long.class);
+            jdbc.execute("alter table " + table + " alter column " + name
+                    + " restart with " + aligned(max + 1, shard + 1, stride));
+            jdbc.execute("alter table " + table + " alter column " + name + " set increment by " + stride);
+        }
+        log.info("Shard {} allocates ids interleaved with stride {}", shard, stride);
+    }
+    
+    // Smallest value at or above min that is offset modulo step
+    static long aligned(long min, long offset, long step) {
+        return min + Math.floorMod(offset - min, step);
+    }
+}
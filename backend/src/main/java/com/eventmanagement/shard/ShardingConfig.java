@@ -0,0 +1,88 @@
+package com.eventmanagement.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opt-in mode (sharding.enabled=true) that spreads organizers, their events
+ * and registrations over several databases. Every shard gets its own pool;
+ * the application's DataSource routes each connection to the shard the
+ * thread is on, see {@link ShardContext}. Venues are copied to every shard
+ * by {@link VenueReplicator}. spring.datasource.* is not used in this mode.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+    
+    @Bean
+    public ShardDataSources shardDataSources(@Value("${sharding.shards:2}") int shards,
+                                             @Value("${sharding.id-stride:16}") int idStride,
+                                             @Value("${sharding.url-template:jdbc:h2:mem:shard-%d;DB_CLOSE_DELAY=-1}") String urlTemplate,
+                                             @Value("${sharding.username:sa}") String username,
+                                             @Value("${sharding.password:}") String password,
+                                             @Value("${sharding.pool-size:10}") int poolSize) {
+        if (shards < 1 || shards > idStride) {
+            throw new IllegalArgumentException("sharding.shards must be between 1 and sharding.id-stride (" + idStride + ")");
+        }
+        List<DataSource> pools = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(String.format(urlTemplate, shard))
+                    .username(username)
+                    .password(password)
+                    .build();
+            pool.setPoolName("shard-" + shard);
+            pool.setMaximumPoolSize(poolSize);
+            pools.add(pool);
+        }
+        return new ShardDataSources(List.copyOf(pools));
+    }
+    
+    // Lazy so a connection is taken when the first statement runs, by then routed, not when the transaction begins
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shards) {
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        ShardRoutingDataSource routing = new ShardRoutingDataSource();
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer shardHibernateProperties() {
+        return properties -> {
+            // Shards hand out interleaved ids, so sequence increments no longer match the allocation sizes
+            properties.put("hibernate.id.sequence.increment_size_mismatch_strategy", "NONE");
+            // Give the connection back after each transaction so the next one can go to another shard
+            properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+        };
+    }
+    
+    // Takes the EntityManagerFactory so that Hibernate has created shard 0's schema first
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDataSources shards,
+                                                         EntityManagerFactory entityManagerFactory,
+                                                         @Value("${sharding.id-stride:16}") int idStride) {
+        return new ShardSchemaInitializer(shards, idStride);
+    }
+}
@@ -0,0 +1,94 @@
+package com.eventmanagement.shard;
+
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.VenueChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copies venues from shard 0, where they are written, to the other shards,
+ * so every shard can book events into them. Changes are collected after
+ * commit and pushed on a short schedule; an event booked on another shard
+ * into a venue created moments ago may have to be retried.
+ */
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class VenueReplicator {
+    private static final Logger log = LoggerFactory.getLogger(VenueReplicator.class);
+    private static final String TABLE = "venues";
+    
+    private final List<JdbcTemplate> shards;
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    
+    public VenueReplicator(ShardDataSources dataSources) {
+        this.shards = dataSources.shards().stream().map(JdbcTemplate::new).toList();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUp() {
+        List<Long> venueIds = shards.get(0).queryForList("select id from " + TABLE, Long.class);
+        for (int shard = 1; shard < shards.size(); shard++) {
+            Set<Long> missing = new HashSet<>(venueIds);
+            missing.removeAll(shards.get(shard).queryForList("select id from " + TABLE, Long.class));
+            if (!missing.isEmpty()) {
+                ShardRows.upsert(shards.get(shard), TABLE, ShardRows.select(shards.get(0), TABLE, "id", missing));
+                log.info("Copied {} venues to shard {}", missing.size(), shard);
+            }
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent change) {
+        // Only shard 0's copy is the source; writes to a replica are overwritten
+        if (ShardContext.current() == 0 || change.changeType() == ChangeType.DELETED) {
+            pending.add(change.venueId());
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${sharding.venue-replication-ms:500}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Long> venueIds = new ArrayList<>(pending);
+        pending.removeAll(venueIds);
+        List<Map<String, Object>> rows;
+        try {
+            rows = ShardRows.select(shards.get(0), TABLE, "id", venueIds);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read {} venues for replication, will retry", venueIds.size(), e);
+            pending.addAll(venueIds);
+            return;
+        }
+        Set<Long> deleted = new HashSet<>(venueIds);
+        rows.forEach(row -> deleted.remove(((Number) row.get("ID")).longValue()));
+        for (int shard = 1; shard < shards.size(); shard++) {
+            try {
+                ShardRows.upsert(shards.get(shard), TABLE, rows);
+            } catch (RuntimeException e) {
+                log.warn("Failed to replicate {} venues to shard {}, will retry", rows.size(), shard, e);
+                pending.addAll(venueIds);
+            }
+            try {
+                ShardRows.delete(shards.get(shard), TABLE, "id", deleted);
+            } catch (RuntimeException e) {
+                // Most likely the shard still has events there; retrying won't help
+                log.warn("Failed to delete venues {} on shard {}", deleted, shard, e);
+            }
+        }
+    }
+}
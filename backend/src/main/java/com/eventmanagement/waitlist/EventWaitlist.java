@@ -0,0 +1,138 @@
+package com.eventmanagement.waitlist;
+
+import com.eventmanagement.dto.AttendeeRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * FIFO waitlist of one event. Joins and leaves are lock-free so a sell-out
+ * can take them at request rate; promotion runs one batch at a time under
+ * a lock that joins never touch.
+ */
+public class EventWaitlist {
+    private final Long eventId;
+    private final ConcurrentLinkedDeque<WaitlistTicket> queue = new ConcurrentLinkedDeque<>();
+    // Waiting tickets by normalized email; also the O(1) size of the waitlist
+    private final Map<String, WaitlistTicket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong nextPosition;
+    private final ReentrantLock promotionLock = new ReentrantLock();
+    private final AtomicBoolean promotionRequested = new AtomicBoolean();
+    private final AtomicBoolean promotionQueued = new AtomicBoolean();
+    
+    public EventWaitlist(Long eventId, long nextPosition) {
+        this.eventId = eventId;
+        this.nextPosition = new AtomicLong(nextPosition);
+    }
+    
+    public Long getEventId() { return eventId; }
+    
+    public int size() {
+        return tickets.size();
+    }
+    
+    public boolean isEmpty() {
+        return tickets.isEmpty();
+    }
+    
+    /**
+     * Reserves the attendee's place, or returns null if they are already
+     * waiting. The ticket is not promotable until it is {@link #enqueue}d.
+     */
+    public WaitlistTicket newTicket(String email, AttendeeRequest attendee) {
+        WaitlistTicket ticket = new WaitlistTicket(eventId, email, attendee, nextPosition.getAndIncrement());
+        return tickets.putIfAbsent(email, ticket) == null ? ticket : null;
+    }
+    
+    public void enqueue(WaitlistTicket ticket) {
+        queue.addLast(ticket);
+    }
+    
+    /**
+     * Restores a persisted ticket; tickets must be restored in position order.
+     */
+    public void restore(WaitlistTicket ticket) {
+        if (tickets.putIfAbsent(ticket.getEmail(), ticket) == null) {
+            queue.addLast(ticket);
+            nextPosition.accumulateAndGet(ticket.getPosition() + 1, Math::max);
+        }
+    }
+    
+    /**
+     * Withdraws the attendee, returning null if they are not waiting or a
+     * promotion has already claimed their ticket.
+     */
+    public WaitlistTicket leave(String email) {
+        WaitlistTicket ticket = tickets.get(email);
+        if (ticket == null || !ticket.leave()) {
+            return null;
+        }
+        // The withdrawn ticket stays in the deque until a promoter skips it
+        tickets.remove(email, ticket);
+        return ticket;
+    }
+    
+    /**
+     * Claims up to {@code max} tickets from the head of the queue.
+     */
+    public List<WaitlistTicket> claim(int max) {
+        List<WaitlistTicket> claimed = new ArrayList<>(Math.min(max, 1024));
+        while (claimed.size() < max) {
+            WaitlistTicket ticket = queue.pollFirst();
+            if (ticket == null) {
+                break;
+            }
+            if (ticket.claim()) {
+                claimed.add(ticket);
+            }
+        }
+        return claimed;
+    }
+    
+    /**
+     * Puts claimed tickets back at the head of the queue in their original order.
+     */
+    public void putBack(List<WaitlistTicket> claimed) {
+        for (int i = claimed.size() - 1; i >= 0; i--) {
+            WaitlistTicket ticket = claimed.get(i);
+            ticket.unclaim();
+            queue.addFirst(ticket);
+        }
+    }
+    
+    public void remove(List<WaitlistTicket> promoted) {
+        for (WaitlistTicket ticket : promoted) {
+            tickets.remove(ticket.getEmail(), ticket);
+        }
+    }
+    
+    public boolean markPromotionQueued() {
+        return promotionQueued.compareAndSet(false, true);
+    }
+    
+    public void clearPromotionQueued() {
+        promotionQueued.set(false);
+    }
+    
+    /**
+     * Runs {@code promotion} unless another thread is already promoting, in
+     * which case that thread is asked to go round once more instead.
+     */
+    public void promote(Runnable promotion) {
+        promotionRequested.set(true);
+        while (promotionRequested.get() && promotionLock.tryLock()) {
+            try {
+                promotionRequested.set(false);
+                promotion.run();
+            } finally {
+                promotionLock.unlock();
+            }
+        }
+    }
+}
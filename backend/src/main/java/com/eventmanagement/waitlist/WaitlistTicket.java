@@ -0,0 +1,46 @@
+package com.eventmanagement.waitlist;
+
+import com.eventmanagement.dto.AttendeeRequest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One place in an event's waitlist. A ticket is claimed by the promoter or
+ * withdrawn by its attendee, never both, so an attendee who leaves while a
+ * promotion is running is not registered behind their back.
+ */
+public class WaitlistTicket {
+    private static final int WAITING = 0;
+    private static final int CLAIMED = 1;
+    private static final int LEFT = 2;
+    
+    private final Long eventId;
+    private final String email;
+    private final AttendeeRequest attendee;
+    private final long position;
+    private final AtomicInteger state = new AtomicInteger(WAITING);
+    
+    public WaitlistTicket(Long eventId, String email, AttendeeRequest attendee, long position) {
+        this.eventId = eventId;
+        this.email = email;
+        this.attendee = attendee;
+        this.position = position;
+    }
+    
+    public Long getEventId() { return eventId; }
+    public String getEmail() { return email; }
+    public AttendeeRequest getAttendee() { return attendee; }
+    public long getPosition() { return position; }
+    
+    boolean claim() {
+        return state.compareAndSet(WAITING, CLAIMED);
+    }
+    
+    void unclaim() {
+        state.compareAndSet(CLAIMED, WAITING);
+    }
+    
+    boolean leave() {
+        return state.compareAndSet(WAITING, LEFT);
+    }
+}
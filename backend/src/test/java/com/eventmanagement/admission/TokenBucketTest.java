@@ -0,0 +1,48 @@
+package com.eventmanagement.admission;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    
+    @Test
+    void availableCountsTokensWithoutTakingThem() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        long now = System.nanoTime();
+        
+        assertEquals(3, bucket.available(now));
+        assertEquals(3, bucket.available(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(2, bucket.available(now));
+    }
+    
+    @Test
+    void refundGivesBackATakenToken() {
+        TokenBucket bucket = new TokenBucket(10, 2);
+        long now = System.nanoTime();
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+        
+        bucket.refund();
+        
+        assertEquals(1, bucket.available(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+    }
+    
+    @Test
+    void takesSeveralPermitsAtOnceOrNone() {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        long now = System.nanoTime();
+        
+        assertEquals(0, bucket.tryAcquire(now, 3));
+        assertTrue(bucket.tryAcquire(now, 3) > 0);
+        assertEquals(2, bucket.available(now));
+        assertEquals(0, bucket.tryAcquire(now, 2));
+        assertThrows(IllegalArgumentException.class, () -> bucket.tryAcquire(now, 6));
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventmanagement.cache;
+
+import com.eventmanagement.listener.ChangeType;
+import com.eventmanagement.listener.VenueChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.repository.OrganizerRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.shard.ShardRouter;
+import com.eventmanagement.support.Fixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogCacheTest {
+    private static final long EVENT_ID = 1L;
+    private static final long VENUE_ID = 10L;
+    private static final long OTHER_VENUE_ID = 11L;
+    
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final AtomicInteger reads = new AtomicInteger();
+    private CatalogCache cache;
+    private String venueName = "Old";
+    
+    @BeforeEach
+    void createCache() {
+        cache = new CatalogCache(eventRepository, mock(VenueRepository.class), mock(OrganizerRepository.class),
+                new ShardRouter(Optional.empty(), 16, 100), new SimpleMeterRegistry(), 1 << 20, 600, true);
+    }
+    
+    @Test
+    void aVenueUpdateCommittedDuringALoadIsNotCached() {
+        // The update commits after the event was read but before the load finished
+        whenRead(() -> {
+            if (reads.get() == 1) {
+                venueName = "New";
+                cache.onVenueChanged(venueChange(VENUE_ID));
+            }
+        });
+        
+        assertEquals("New Hall", cache.getEvent(EVENT_ID).venue().venueName());
+        assertEquals("New Hall", cache.getEvent(EVENT_ID).venue().venueName());
+        assertEquals(2, reads.get());
+    }
+    
+    @Test
+    void aVenueUpdateAfterTheLoadInvalidatesTheEntry() {
+        whenRead(() -> { });
+        assertEquals("Old Hall", cache.getEvent(EVENT_ID).venue().venueName());
+        
+        venueName = "New";
+        cache.onVenueChanged(venueChange(VENUE_ID));
+        
+        assertEquals("New Hall", cache.getEvent(EVENT_ID).venue().venueName());
+        assertEquals(2, reads.get());
+    }
+    
+    @Test
+    void changesToOtherVenuesDuringALoadDoNotForceARead() {
+        whenRead(() -> cache.onVenueChanged(venueChange(OTHER_VENUE_ID)));
+        
+        cache.getEvent(EVENT_ID);
+        cache.getEvent(EVENT_ID);
+        assertEquals(1, reads.get());
+    }
+    
+    @Test
+    void aVenueChangingOnEveryReadIsServedWithoutBeingCached() {
+        whenRead(() -> cache.onVenueChanged(venueChange(VENUE_ID)));
+        
+        assertEquals("Old Hall", cache.getEvent(EVENT_ID).venue().venueName());
+        int firstLookup = reads.get();
+        cache.getEvent(EVENT_ID);
+        assertEquals(firstLookup * 2, reads.get());
+    }
+    
+    // Each read returns the venue as named at that moment, then runs duringRead
+    // as if another transaction committed before the load finished
+    private void whenRead(Runnable duringRead) {
+        when(eventRepository.findWithVenueAndOrganizerById(EVENT_ID)).thenAnswer(invocation -> {
+            reads.incrementAndGet();
+            Event event = event(venueName);
+            duringRead.run();
+            return Optional.of(event);
+        });
+    }
+    
+    private static Event event(String venueName) {
+        Venue venue = Fixtures.venue(venueName, 500);
+        venue.setId(VENUE_ID);
+        Organizer organizer = Fixtures.organizer("Cache");
+        organizer.setId(20L);
+        Event event = new Event();
+        event.setId(EVENT_ID);
+        event.setEventName("Cached event");
+        event.setVenue(venue);
+        event.setOrganizer(organizer);
+        return event;
+    }
+    
+    private static VenueChangedEvent venueChange(long venueId) {
+        Venue venue = new Venue();
+        venue.setId(venueId);
+        return new VenueChangedEvent(venue, ChangeType.UPDATED);
+    }
+}
@@ -0,0 +1,64 @@
+package com.eventmanagement.checkin;
+
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventCheckInTest {
+    private static final int REGISTRATIONS = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    
+    @Test
+    void cancelledTicketsAreRefusedAtTheDoorUntilReactivated() {
+        EventCheckIn checkIn = EventCheckIn.build(1L, List.of(
+                new CheckInRow(1L, RegistrationStatus.CONFIRMED),
+                new CheckInRow(2L, RegistrationStatus.CONFIRMED),
+                new CheckInRow(3L, RegistrationStatus.CANCELLED),
+                new CheckInRow(4L, RegistrationStatus.ATTENDED)), FALSE_POSITIVE_RATE);
+        
+        assertEquals(CheckInOutcome.REVOKED, checkIn.scan(3));
+        assertEquals(CheckInOutcome.DUPLICATE, checkIn.scan(4));
+        assertEquals(CheckInOutcome.ADMITTED, checkIn.scan(1));
+        assertEquals(CheckInOutcome.DUPLICATE, checkIn.scan(1));
+        
+        // Cancelled after the package was built: still in the filter, so only the revocation keeps it out
+        checkIn.revoke(2);
+        assertEquals(CheckInOutcome.REVOKED, checkIn.scan(2));
+        assertEquals(List.of(2L, 3L), checkIn.revoked().stream().sorted().toList());
+        
+        checkIn.register(3);
+        assertEquals(CheckInOutcome.ADMITTED, checkIn.scan(3));
+        assertEquals(CheckInOutcome.DUPLICATE, checkIn.scan(3));
+        assertEquals(List.of(2L), checkIn.revoked());
+    }
+    
+    @Test
+    void everyRegistrationIsAdmittedAndFewStrangersGetThroughTheFilter() {
+        List<CheckInRow> rows = new ArrayList<>(REGISTRATIONS);
+        for (long id = 1; id <= REGISTRATIONS; id++) {
+            rows.add(new CheckInRow(id, RegistrationStatus.CONFIRMED));
+        }
+        EventCheckIn checkIn = EventCheckIn.build(1L, rows, FALSE_POSITIVE_RATE);
+        
+        for (long id = 1; id <= REGISTRATIONS; id++) {
+            assertEquals(CheckInOutcome.ADMITTED, checkIn.scan(id));
+        }
+        int strangersAdmitted = 0;
+        for (long id = REGISTRATIONS + 1; id <= 2L * REGISTRATIONS; id++) {
+            if (checkIn.scan(id) != CheckInOutcome.NOT_REGISTERED) {
+                strangersAdmitted++;
+            }
+        }
+        // The filter has headroom for growth, so the rate at build size is below the target
+        assertTrue(strangersAdmitted <= REGISTRATIONS * FALSE_POSITIVE_RATE * 2,
+                strangersAdmitted + " unregistered ids passed the filter");
+        for (long id = 1; id <= REGISTRATIONS; id++) {
+            assertEquals(CheckInOutcome.DUPLICATE, checkIn.scan(id));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.eventmanagement.checkin;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScanSetTest {
+    private static final int TICKETS = 10_000;
+    private static final int SCANS_PER_TICKET = 4;
+    
+    @Test
+    void simultaneousScansOfATicketAdmitItExactlyOnce() throws Exception {
+        ScanSet admitted = new ScanSet(TICKETS);
+        AtomicIntegerArray admissions = new AtomicIntegerArray(TICKETS + 1);
+        
+        race(TICKETS * SCANS_PER_TICKET, i -> {
+            int registrationId = i % TICKETS + 1;
+            if (admitted.add(registrationId)) {
+                admissions.incrementAndGet(registrationId);
+            }
+        });
+        
+        for (int id = 1; id <= TICKETS; id++) {
+            assertEquals(1, admissions.get(id), "admissions of registration " + id);
+        }
+    }
+    
+    @Test
+    void ticketsPastTheTableThresholdAreStillAdmittedOnce() throws Exception {
+        // Sized for far fewer than arrive, as when walk-ups outnumber the package
+        ScanSet admitted = new ScanSet(64);
+        AtomicIntegerArray admissions = new AtomicIntegerArray(TICKETS + 1);
+        
+        race(TICKETS * SCANS_PER_TICKET, i -> {
+            int registrationId = i % TICKETS + 1;
+            if (admitted.add(registrationId)) {
+                admissions.incrementAndGet(registrationId);
+            }
+        });
+        
+        for (int id = 1; id <= TICKETS; id++) {
+            assertEquals(1, admissions.get(id), "admissions of registration " + id);
+            assertTrue(admitted.contains(id));
+        }
+        assertFalse(admitted.contains(TICKETS + 1));
+        assertFalse(admitted.add(1));
+    }
+    
+    // Starts every task at once on more threads than cores and waits for all of them
+    private static void race(int tasks, Scan scan) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int n = i;
+                Callable<Void> task = () -> {
+                    start.await();
+                    scan.attempt(n);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private interface Scan {
+        void attempt(int n);
+    }
+}
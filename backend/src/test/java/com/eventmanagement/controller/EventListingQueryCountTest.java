@@ -0,0 +1,89 @@
+package com.eventmanagement.controller;
+
+import com.eventmanagement.dto.EventPageResponse;
+import com.eventmanagement.dto.EventSummary;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:listing-query-count;DB_CLOSE_DELAY=-1")
+@AutoConfigureMockMvc
+class EventListingQueryCountTest extends IntegrationTest {
+    private static final int EVENTS = 95;
+    private static final int PAGE_SIZE = 20;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final List<Long> eventIds = new ArrayList<>();
+    
+    @BeforeEach
+    void createEvents() {
+        List<Venue> venues = List.of(createVenue("Listing", 1000), createVenue("Listing Annex", 1000));
+        Organizer organizer = createOrganizer("Listing");
+        LocalDateTime start = Fixtures.monthFromNow();
+        for (int i = 0; i < EVENTS; i++) {
+            // Pairs share a start time in different venues, so the cursor's id tie-break is exercised too
+            LocalDateTime eventStart = start.plusHours(3L * (i / 2));
+            eventIds.add(createEvent("Listing event " + i, eventStart, 100, venues.get(i % 2), organizer));
+        }
+    }
+    
+    @Test
+    void everyPageCostsOneStatementDownToTheLast() throws Exception {
+        List<Long> listed = new ArrayList<>();
+        List<Long> statementsPerPage = new ArrayList<>();
+        String cursor = null;
+        do {
+            long before = statementCount();
+            String url = "/api/events?limit=" + PAGE_SIZE + (cursor != null ? "&cursor=" + cursor : "");
+            String body = mockMvc.perform(get(url)).andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            statementsPerPage.add(statementCount() - before);
+            EventPageResponse page = objectMapper.readValue(body, EventPageResponse.class);
+            page.items().stream().map(EventSummary::id).forEach(listed::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        
+        assertEquals(eventIds, listed);
+        assertEquals(Collections.nCopies((EVENTS + PAGE_SIZE - 1) / PAGE_SIZE, 1L), statementsPerPage);
+    }
+    
+    // Absent only before the first request; after that a missing summary means the counting broke
+    private long statementCount() {
+        DistributionSummary summary = meterRegistry.find("http.server.requests.queries")
+                .tags("method", "GET", "uri", "/api/events")
+                .summary();
+        if (summary == null) {
+            assertEquals(0, meterRegistry.find("http.server.requests").tags("uri", "/api/events").timers().size(),
+                    "Listing requests were served but their statements were not counted");
+            return 0;
+        }
+        return (long) summary.totalAmount();
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventmanagement.facet;
+
+import com.eventmanagement.dto.FacetSearchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FacetIndexTest {
+    // Past Integer.MAX_VALUE, where ids end up with the shard stride
+    private static final long LARGE_ID = 40_000_000_000L;
+    
+    @Test
+    void indexesIdsBeyondTheIntRange() {
+        FacetIndex<VenueFacet> index = new FacetIndex<>(VenueFacet.class);
+        index.put(LARGE_ID, facets("yes", "pool"));
+        index.put(LARGE_ID + 16, facets("no", "pool"));
+        index.put(3L, facets("yes", "garden"));
+        
+        FacetSearchResponse parking = index.query(Map.of(VenueFacet.PARKING, Set.of("yes")), 10);
+        
+        assertEquals(2, parking.total());
+        assertEquals(List.of(LARGE_ID, 3L), parking.ids());
+        assertEquals(Map.of("pool", 1L, "garden", 1L), parking.facets().get("amenity"));
+    }
+    
+    @Test
+    void updatesAndRemovesByEntityId() {
+        FacetIndex<VenueFacet> index = new FacetIndex<>(VenueFacet.class);
+        index.put(LARGE_ID, facets("yes", "pool"));
+        index.put(LARGE_ID + 16, facets("yes", "pool"));
+        
+        index.update(LARGE_ID, VenueFacet.PARKING, "no");
+        index.remove(LARGE_ID + 16);
+        
+        assertEquals(1, index.size());
+        assertEquals(0, index.query(Map.of(VenueFacet.PARKING, Set.of("yes")), 10).total());
+        assertEquals(List.of(LARGE_ID), index.query(Map.of(VenueFacet.PARKING, Set.of("no")), 10).ids());
+    }
+    
+    @Test
+    void reusesTheRowOfARemovedId() {
+        FacetIndex<VenueFacet> index = new FacetIndex<>(VenueFacet.class);
+        index.put(1L, facets("yes", "pool"));
+        index.put(2L, facets("yes", "pool"));
+        index.remove(1L);
+        index.put(LARGE_ID, facets("no", "garden"));
+        
+        FacetSearchResponse all = index.query(Map.of(), 10);
+        
+        assertEquals(2, all.total());
+        assertEquals(Set.of(2L, LARGE_ID), Set.copyOf(all.ids()));
+        assertEquals(Map.of("pool", 1L, "garden", 1L), all.facets().get("amenity"));
+    }
+    
+    private static Map<VenueFacet, Set<String>> facets(String parking, String amenity) {
+        Map<VenueFacet, Set<String>> facets = new EnumMap<>(VenueFacet.class);
+        facets.put(VenueFacet.PARKING, Set.of(parking));
+        facets.put(VenueFacet.AMENITY, Set.of(amenity));
+        return facets;
+    }
+}
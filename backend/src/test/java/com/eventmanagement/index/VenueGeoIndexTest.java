@@ -0,0 +1,150 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.model.Venue;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VenueGeoIndexTest {
+    private static final int VENUES = 3000;
+    // Query points on the antimeridian, next to it, at and near both poles, and on the equator
+    private static final double[][] EDGE_POINTS = {
+            {0, 180}, {0, -180}, {45, 179.95}, {-45, -179.95}, {89.99, 180}, {-89.99, -180},
+            {90, 0}, {-90, 0}, {89.7, 37}, {-89.7, -140}, {0, 0}, {60, 179.5}};
+    private static final double[] RADII_KM = {25, 300, 2500, 25000};
+    
+    @Test
+    void nearestMatchesBruteForceAtTheAntimeridianAndThePoles() {
+        for (double cellDegrees : new double[] {1.0, 0.25}) {
+            Fixture fixture = new Fixture(cellDegrees, new Random(7));
+            Random random = new Random(11);
+            for (double[] point : queryPoints(random)) {
+                for (double radius : RADII_KM) {
+                    int k = 1 + random.nextInt(12);
+                    int minCapacity = random.nextInt(3) == 0 ? 400 : 0;
+                    int amenities = random.nextInt(3) == 0 ? VenueAmenity.WIFI.bit() : 0;
+                    List<GeoHit> expected = fixture.bruteForce(point[0], point[1], radius, minCapacity, amenities, k);
+                    List<GeoHit> actual = fixture.index.nearest(point[0], point[1], k, minCapacity, amenities, radius);
+                    assertSameHits(expected, actual, "nearest", cellDegrees, point, radius);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void withinRadiusMatchesBruteForceAtTheAntimeridianAndThePoles() {
+        for (double cellDegrees : new double[] {1.0, 0.25}) {
+            Fixture fixture = new Fixture(cellDegrees, new Random(13));
+            Random random = new Random(17);
+            for (double[] point : queryPoints(random)) {
+                for (double radius : RADII_KM) {
+                    int minCapacity = random.nextInt(3) == 0 ? 400 : 0;
+                    int amenities = random.nextInt(3) == 0 ? VenueAmenity.PARKING.bit() : 0;
+                    List<GeoHit> expected = fixture.bruteForce(point[0], point[1], radius, minCapacity, amenities,
+                            Integer.MAX_VALUE);
+                    List<GeoHit> actual = fixture.index.withinRadius(point[0], point[1], radius, minCapacity,
+                            amenities, Integer.MAX_VALUE);
+                    assertSameHits(expected, actual, "withinRadius", cellDegrees, point, radius);
+                }
+            }
+        }
+    }
+    
+    @Test
+    void findsAVenueAcrossTheAntimeridian() {
+        VenueGeoIndex index = new VenueGeoIndex(null, 0.1);
+        index.apply(Venue.VenueStatus.ACTIVE, location(1L, 10, -179.98, 100, 0));
+        
+        List<GeoHit> nearest = index.nearest(10, 179.98, 1, 0, 0, 50);
+        List<GeoHit> within = index.withinRadius(10, 179.98, 10, 0, 0, 10);
+        
+        assertEquals(List.of(1L), nearest.stream().map(GeoHit::venueId).toList());
+        assertEquals(List.of(1L), within.stream().map(GeoHit::venueId).toList());
+        assertTrue(nearest.get(0).distanceKm() < 5);
+    }
+    
+    private static List<double[]> queryPoints(Random random) {
+        List<double[]> points = new ArrayList<>(List.of(EDGE_POINTS));
+        for (int i = 0; i < 20; i++) {
+            points.add(new double[] {random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180});
+        }
+        return points;
+    }
+    
+    private static void assertSameHits(List<GeoHit> expected, List<GeoHit> actual, String query,
+                                       double cellDegrees, double[] point, double radius) {
+        String where = query + " at " + point[0] + ", " + point[1] + " within " + radius + " km, "
+                + cellDegrees + "° cells";
+        assertEquals(expected.stream().map(GeoHit::venueId).toList(),
+                actual.stream().map(GeoHit::venueId).toList(), where);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).distanceKm(), actual.get(i).distanceKm(), 1e-9, where);
+        }
+    }
+    
+    private static VenueLocation location(long venueId, double latitude, double longitude, int capacity,
+                                          int amenities) {
+        return new VenueLocation(venueId, latitude, longitude, capacity,
+                (amenities & VenueAmenity.PARKING.bit()) != 0, (amenities & VenueAmenity.WIFI.bit()) != 0,
+                false, false);
+    }
+    
+    // Venues spread over the globe, with extra ones crowded at the antimeridian and the poles
+    private static final class Fixture {
+        private final VenueGeoIndex index;
+        private final List<VenueLocation> venues = new ArrayList<>();
+        
+        Fixture(double cellDegrees, Random random) {
+            // Only rebuild() uses the repository
+            index = new VenueGeoIndex(null, cellDegrees);
+            for (long id = 1; id <= VENUES; id++) {
+                double latitude;
+                double longitude;
+                switch ((int) (id % 4)) {
+                    case 0 -> {
+                        latitude = random.nextDouble() * 180 - 90;
+                        longitude = random.nextDouble() * 360 - 180;
+                    }
+                    case 1 -> {
+                        latitude = random.nextDouble() * 120 - 60;
+                        longitude = random.nextBoolean() ? 180 - random.nextDouble() : -180 + random.nextDouble();
+                    }
+                    case 2 -> {
+                        latitude = 90 - random.nextDouble() * 2;
+                        longitude = random.nextDouble() * 360 - 180;
+                    }
+                    default -> {
+                        latitude = -90 + random.nextDouble() * 2;
+                        longitude = random.nextDouble() * 360 - 180;
+                    }
+                }
+                VenueLocation venue = location(id, latitude, longitude, random.nextInt(1000),
+                        random.nextInt(1 << 2));
+                venues.add(venue);
+                index.apply(Venue.VenueStatus.ACTIVE, venue);
+            }
+        }
+        
+        List<GeoHit> bruteForce(double latitude, double longitude, double radiusKm, int minCapacity,
+                                int amenityMask, int limit) {
+            List<GeoHit> hits = new ArrayList<>();
+            for (VenueLocation venue : venues) {
+                if (venue.capacity() < minCapacity || (venue.amenityMask() & amenityMask) != amenityMask) {
+                    continue;
+                }
+                double distance = VenueGeoIndex.distanceKm(latitude, longitude, venue.latitude(), venue.longitude());
+                if (distance <= radiusKm) {
+                    hits.add(new GeoHit(venue.venueId(), distance));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(GeoHit::distanceKm).thenComparing(GeoHit::venueId));
+            return hits.size() > limit ? hits.subList(0, limit) : hits;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.eventmanagement.index;
+
+import com.eventmanagement.dto.TimeSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VenueScheduleTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 6, 1, 0, 0);
+    
+    @Test
+    void findsAnEarlierLongBookingBehindAShortOne() {
+        VenueSchedule schedule = new VenueSchedule();
+        // Already overlapping when loaded: a whole-day booking and a short one inside it
+        schedule.add(new Booking(1L, 10L, DAY.withHour(8), DAY.withHour(20)));
+        schedule.add(new Booking(2L, 10L, DAY.withHour(9), DAY.withHour(10)));
+        
+        Optional<Booking> conflict = schedule.findConflict(DAY.withHour(15), DAY.withHour(16), Set.of());
+        
+        assertEquals(Optional.of(1L), conflict.map(Booking::eventId));
+    }
+    
+    @Test
+    void skipsExcludedBookingsAndKeepsLooking() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.add(new Booking(1L, 10L, DAY.withHour(8), DAY.withHour(12)));
+        schedule.add(new Booking(2L, 10L, DAY.withHour(9), DAY.withHour(12)));
+        
+        assertEquals(Optional.of(1L), schedule.findConflict(DAY.withHour(10), DAY.withHour(11), Set.of(2L))
+                .map(Booking::eventId));
+        assertTrue(schedule.findConflict(DAY.withHour(10), DAY.withHour(11), Set.of(1L, 2L)).isEmpty());
+    }
+    
+    @Test
+    void adjacentBookingsDoNotConflict() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.add(new Booking(1L, 10L, DAY.withHour(8), DAY.withHour(10)));
+        
+        assertTrue(schedule.findConflict(DAY.withHour(10), DAY.withHour(12), Set.of()).isEmpty());
+        assertTrue(schedule.findConflict(DAY.withHour(6), DAY.withHour(8), Set.of()).isEmpty());
+    }
+    
+    @Test
+    void freeSlotsStartAfterTheLatestEndingEarlierBooking() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.add(new Booking(1L, 10L, DAY.withHour(6), DAY.withHour(14)));
+        schedule.add(new Booking(2L, 10L, DAY.withHour(7), DAY.withHour(8)));
+        
+        List<TimeSlot> free = schedule.freeSlots(DAY.withHour(9), DAY.withHour(18));
+        
+        assertEquals(List.of(new TimeSlot(DAY.withHour(14), DAY.withHour(18))), free);
+    }
+    
+    @Test
+    void removingTheLongBookingFreesItsWholeSpan() {
+        VenueSchedule schedule = new VenueSchedule();
+        schedule.add(new Booking(1L, 10L, DAY.minusDays(30), DAY.withHour(20)));
+        schedule.add(new Booking(2L, 10L, DAY.withHour(9), DAY.withHour(10)));
+        
+        schedule.remove(new Booking(1L, 10L, DAY.minusDays(30), DAY.withHour(20)));
+        
+        assertEquals(1, schedule.size());
+        assertTrue(schedule.findConflict(DAY.withHour(15), DAY.withHour(16), Set.of()).isEmpty());
+        assertEquals(List.of(new TimeSlot(DAY.withHour(8), DAY.withHour(9)),
+                        new TimeSlot(DAY.withHour(10), DAY.withHour(18))),
+                schedule.freeSlots(DAY.withHour(8), DAY.withHour(18)));
+    }
+    
+    @Test
+    void agreesWithAScanOfEveryBookingAfterAddsAndRemoves() {
+        Random random = new Random(42);
+        VenueSchedule schedule = new VenueSchedule();
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(60 * 24 * 60));
+            // Mostly short bookings with the odd week-long one, as a festival would be
+            int minutes = 1 + random.nextInt(random.nextInt(10) == 0 ? 60 * 24 * 7 : 180);
+            Booking booking = new Booking(id, 10L, start, start.plusMinutes(minutes));
+            schedule.add(booking);
+            bookings.add(booking);
+            if (random.nextInt(3) == 0) {
+                Booking removed = bookings.remove(random.nextInt(bookings.size()));
+                schedule.remove(removed);
+            }
+        }
+        assertEquals(bookings.size(), schedule.size());
+        for (int i = 0; i < 500; i++) {
+            LocalDateTime start = DAY.plusMinutes(random.nextInt(60 * 24 * 70));
+            LocalDateTime end = start.plusMinutes(1 + random.nextInt(120));
+            boolean expected = bookings.stream().anyMatch(booking -> booking.overlaps(start, end));
+            Optional<Booking> found = schedule.findConflict(start, end, Set.of());
+            assertEquals(expected, found.isPresent());
+            found.ifPresent(booking -> assertTrue(booking.overlaps(start, end)));
+            assertFalse(expected && schedule.freeSlots(start, end).equals(List.of(new TimeSlot(start, end))));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.eventmanagement.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatCounterTest {
+    private static final int REGISTRATIONS = 10_000;
+    private static final int CAPACITY = 1_000;
+    
+    @Test
+    void tenThousandConcurrentRegistrationsSellExactlyTheCapacity() throws Exception {
+        SeatCounter counter = new SeatCounter(1L, CAPACITY, 0, 8);
+        AtomicInteger granted = new AtomicInteger();
+        
+        race(REGISTRATIONS, i -> {
+            if (counter.tryReserve(1)) {
+                granted.incrementAndGet();
+            }
+        });
+        
+        assertEquals(CAPACITY, granted.get());
+        assertEquals(CAPACITY, counter.currentAttendees());
+        assertEquals(0, counter.availableSpots());
+    }
+    
+    @Test
+    void holdsAndReservationsShareTheCapacity() throws Exception {
+        SeatCounter counter = new SeatCounter(1L, CAPACITY, 0, 8);
+        AtomicInteger reserved = new AtomicInteger();
+        AtomicInteger held = new AtomicInteger();
+        
+        race(REGISTRATIONS, i -> {
+            if (i % 2 == 0 && counter.tryReserve(1)) {
+                reserved.incrementAndGet();
+            } else if (i % 2 == 1 && counter.tryHold(1)) {
+                held.incrementAndGet();
+            }
+        });
+        
+        assertEquals(CAPACITY, reserved.get() + held.get());
+        assertEquals(held.get(), counter.getHeld());
+        assertEquals(0, counter.availableSpots());
+        
+        counter.releaseHeld(held.get());
+        assertEquals(CAPACITY, counter.currentAttendees() + counter.availableSpots());
+    }
+    
+    @Test
+    void cancellationsDuringASellOutAreResold() throws Exception {
+        SeatCounter counter = new SeatCounter(1L, CAPACITY, 0, 8);
+        AtomicInteger net = new AtomicInteger();
+        
+        race(REGISTRATIONS, i -> {
+            if (counter.tryReserve(1)) {
+                if (i % 10 == 0) {
+                    counter.cancel(1);
+                } else {
+                    net.incrementAndGet();
+                }
+            }
+        });
+        
+        assertTrue(net.get() <= CAPACITY);
+        assertEquals(net.get(), counter.currentAttendees());
+        assertEquals(CAPACITY, counter.currentAttendees() + counter.availableSpots());
+    }
+    
+    @Test
+    void onlyCommittedReservationsAreReported() {
+        AtomicInteger reported = new AtomicInteger();
+        SeatCounter counter = new SeatCounter(1L, CAPACITY, 0, 8, new SeatChangeListener() {
+            @Override
+            public void seatsChanged(Long eventId, int delta) {
+                reported.addAndGet(delta);
+            }
+            
+            @Override
+            public void capacityChanged(Long eventId, int capacity) {
+            }
+        });
+        
+        assertTrue(counter.tryReserve(3));
+        assertTrue(counter.tryReserve(2));
+        assertEquals(0, reported.get());
+        assertEquals(0, counter.committedAttendees());
+        assertFalse(counter.markClean());
+        counter.committed(3);
+        counter.unreserve(2);
+        
+        assertEquals(3, reported.get());
+        assertEquals(3, counter.currentAttendees());
+        assertEquals(3, counter.committedAttendees());
+        assertEquals(CAPACITY - 3, counter.availableSpots());
+    }
+    
+    // Starts every task at once on more threads than cores and waits for all of them
+    private static void race(int tasks, Registration registration) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int n = i;
+                Callable<Void> task = () -> {
+                    start.await();
+                    registration.attempt(n);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private interface Registration {
+        void attempt(int n);
+    }
+}
@@ -0,0 +1,85 @@
+package com.eventmanagement.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RegistrationJournalTest {
+    private static final int SEGMENT_ENTRIES = 16;
+    
+    @TempDir
+    Path directory;
+    
+    @Test
+    void aCheckpointReplacesTheSegmentsItCoversWithoutChangingRecovery() throws IOException {
+        RegistrationJournal journal = open();
+        journal.append(JournalEntry.opened(1, 0, 100));
+        journal.append(JournalEntry.opened(2, 5, 50));
+        journal.append(JournalEntry.opened(3, 0, 10));
+        for (int i = 0; i < 60; i++) {
+            journal.append(JournalEntry.seats(1, 1));
+        }
+        journal.append(JournalEntry.closed(3));
+        journal.append(JournalEntry.seats(2, -2)).join();
+        journal.close();
+        
+        journal = open();
+        Map<Long, RecoveredCounter> before = journal.recover();
+        assertTrue(journal.checkpoint());
+        assertFalse(journal.checkpoint());
+        journal.append(JournalEntry.seats(1, 3)).join();
+        journal.close();
+        
+        assertEquals(List.of("checkpoint-000000000003.log", "journal-000000000004.log"), files());
+        Map<Long, RecoveredCounter> after = open().recover();
+        assertEquals(new RecoveredCounter(1, 60, 100), before.get(1L));
+        assertEquals(new RecoveredCounter(1, 63, 100), after.get(1L));
+        assertEquals(before.get(2L), after.get(2L));
+        assertFalse(after.containsKey(3L));
+    }
+    
+    @Test
+    void historyEndsAtTheCheckpointedCount() {
+        RegistrationJournal journal = open();
+        journal.append(JournalEntry.opened(1, 0, 100));
+        journal.append(JournalEntry.opened(2, 0, 100));
+        journal.append(JournalEntry.seats(1, 2));
+        for (int i = 0; i < 39; i++) {
+            journal.append(JournalEntry.seats(2, 1));
+        }
+        journal.append(JournalEntry.seats(2, 1)).join();
+        journal.recover();
+        assertTrue(journal.checkpoint());
+        journal.append(JournalEntry.seats(1, -1)).join();
+        
+        List<JournalEntry> history = journal.history(1, 10);
+        
+        assertEquals(2, history.size());
+        assertEquals(JournalEntryType.CANCELLED, history.get(0).type());
+        assertEquals(JournalEntryType.OPENED, history.get(1).type());
+        assertEquals(2, history.get(1).seats());
+        assertEquals(3, journal.history(2, 3).size());
+        journal.close();
+    }
+    
+    // Checkpoints only when the test asks, so the files are predictable
+    private RegistrationJournal open() {
+        return new RegistrationJournal(true, directory.toString(), SEGMENT_ENTRIES, 8, 1024, 0);
+    }
+    
+    private List<String> files() throws IOException {
+        try (Stream<Path> listed = Files.list(directory)) {
+            return listed.map(path -> path.getFileName().toString()).sorted().toList();
+        }
+    }
+}
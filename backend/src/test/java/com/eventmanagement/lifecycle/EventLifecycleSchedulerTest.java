@@ -0,0 +1,150 @@
+package com.eventmanagement.lifecycle;
+
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event.EventStatus;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.service.SeatInventoryService;
+import com.eventmanagement.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EventLifecycleSchedulerTest {
+    private static final long EVENT_ID = 1L;
+    
+    private final EventRepository eventRepository = mock(EventRepository.class);
+    private final SeatInventoryService seatInventoryService = mock(SeatInventoryService.class);
+    // The events table, as far as the scheduler can see it
+    private final Map<Long, EventStatus> statuses = new HashMap<>();
+    private final List<EventStatusChangedEvent> published = new ArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private EventLifecycleScheduler scheduler;
+    
+    @BeforeEach
+    void createScheduler() {
+        when(eventRepository.lockIdsInStatus(anyCollection(), any())).thenAnswer(invocation -> {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new IllegalStateException("Lock wait timeout");
+            }
+            Collection<Long> ids = invocation.getArgument(0);
+            Set<EventStatus> from = invocation.getArgument(1);
+            return ids.stream().filter(id -> from.contains(statuses.get(id))).toList();
+        });
+        when(eventRepository.updateStatus(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> statuses.put(id, invocation.getArgument(1)));
+            return ids.size();
+        });
+        scheduler = new EventLifecycleScheduler(eventRepository, seatInventoryService,
+                change -> published.add((EventStatusChangedEvent) change), mock(PlatformTransactionManager.class),
+                new ShardRouter(Optional.empty(), 16, 100));
+    }
+    
+    @Test
+    void transitionsDueInTheSameTickApplyInOrder() {
+        LocalDateTime now = LocalDateTime.now();
+        statuses.put(EVENT_ID, EventStatus.PUBLISHED);
+        scheduler.schedule(schedule(EVENT_ID, now.minusMinutes(2), now.minusMinutes(1), now.minusMinutes(3)));
+        
+        scheduler.tick();
+        
+        assertEquals(EventStatus.COMPLETED, statuses.get(EVENT_ID));
+        assertEquals(List.of(EventStatus.ONGOING, EventStatus.COMPLETED),
+                published.stream().map(EventStatusChangedEvent::status).toList());
+        verify(seatInventoryService).releaseHolds(EVENT_ID);
+        assertEquals(0, scheduler.scheduledEvents());
+        assertEquals(0, scheduler.queuedTimers());
+    }
+    
+    @Test
+    void aRescheduleReplacesTheEarlierTimers() {
+        LocalDateTime now = LocalDateTime.now();
+        statuses.put(EVENT_ID, EventStatus.PUBLISHED);
+        scheduler.schedule(schedule(EVENT_ID, now.minusMinutes(2), now.plusHours(2), null));
+        scheduler.schedule(schedule(EVENT_ID, now.plusHours(1), now.plusHours(2), null));
+        
+        scheduler.tick();
+        
+        // The start moved into the future, so the old, overdue one must not fire
+        assertEquals(EventStatus.PUBLISHED, statuses.get(EVENT_ID));
+        assertTrue(published.isEmpty());
+        assertEquals(1, scheduler.scheduledEvents());
+    }
+    
+    @Test
+    void repeatedReschedulesDoNotPileUpStaleTimers() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        for (long id = 1; id <= 10; id++) {
+            scheduler.schedule(schedule(id, start, start.plusHours(3), null));
+        }
+        for (int edit = 0; edit < 10_000; edit++) {
+            long id = 1 + edit % 10;
+            scheduler.schedule(schedule(id, start.plusMinutes(edit), start.plusMinutes(edit).plusHours(3), null));
+        }
+        scheduler.cancel(10L);
+        
+        assertEquals(9, scheduler.scheduledEvents());
+        // Two live timers per event, and never more stale ones than live ones
+        assertTrue(scheduler.queuedTimers() <= 2 * 2 * 9, "queued " + scheduler.queuedTimers());
+    }
+    
+    @Test
+    void aFailedTickIsRetriedOnTheNextOne() {
+        LocalDateTime now = LocalDateTime.now();
+        statuses.put(EVENT_ID, EventStatus.PUBLISHED);
+        scheduler.schedule(schedule(EVENT_ID, now.minusMinutes(2), now.minusMinutes(1), null));
+        failuresLeft.set(1);
+        
+        scheduler.tick();
+        
+        assertEquals(EventStatus.PUBLISHED, statuses.get(EVENT_ID));
+        assertEquals(2, scheduler.queuedTimers());
+        
+        scheduler.tick();
+        
+        assertEquals(EventStatus.COMPLETED, statuses.get(EVENT_ID));
+        assertEquals(0, scheduler.queuedTimers());
+    }
+    
+    @Test
+    void aTimerRequeuedAfterItsEventWasCancelledIsDropped() {
+        LocalDateTime now = LocalDateTime.now();
+        statuses.put(EVENT_ID, EventStatus.PUBLISHED);
+        scheduler.schedule(schedule(EVENT_ID, now.minusMinutes(2), now.plusHours(2), now.minusMinutes(3)));
+        when(eventRepository.lockIdsInStatus(anyCollection(), any())).thenAnswer(invocation -> {
+            // The event is cancelled while its start is being applied
+            scheduler.cancel(EVENT_ID);
+            throw new IllegalStateException("Lock wait timeout");
+        });
+        
+        scheduler.tick();
+        
+        verify(seatInventoryService, never()).releaseHolds(EVENT_ID);
+        assertEquals(0, scheduler.scheduledEvents());
+        assertEquals(0, scheduler.queuedTimers());
+    }
+    
+    private static LifecycleSchedule schedule(long eventId, LocalDateTime start, LocalDateTime end,
+                                              LocalDateTime registrationDeadline) {
+        return new LifecycleSchedule(eventId, EventStatus.PUBLISHED, start, end, registrationDeadline);
+    }
+}
@@ -0,0 +1,37 @@
+package com.eventmanagement.monitoring;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueryCountInspectorTest {
+    private final QueryCountInspector inspector = new QueryCountInspector();
+    
+    @AfterEach
+    void endRequest() {
+        QueryCountInspector.end();
+    }
+    
+    @Test
+    void statementsOfWorkHandedToOtherThreadsCountAgainstTheRequest() {
+        QueryCountInspector.begin();
+        inspector.inspect("select e.id from events e");
+        Supplier<Integer> shardQuery = QueryCountInspector.counted(() -> {
+            inspector.inspect("select e.id from events e where e.status=?");
+            return 1;
+        });
+        
+        List<CompletableFuture<Integer>> shards = List.of(CompletableFuture.supplyAsync(shardQuery),
+                CompletableFuture.supplyAsync(shardQuery), CompletableFuture.supplyAsync(shardQuery));
+        shards.forEach(CompletableFuture::join);
+        
+        QueryTally tally = QueryCountInspector.end();
+        assertEquals(4, tally.getTotal());
+        assertEquals(3, tally.repeatedSelects(3).get(0).getValue());
+    }
+}
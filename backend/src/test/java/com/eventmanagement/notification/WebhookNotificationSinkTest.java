@@ -0,0 +1,145 @@
+package com.eventmanagement.notification;
+
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.model.NotificationJob;
+import com.eventmanagement.model.NotificationJob.JobStatus;
+import com.eventmanagement.model.NotificationJob.NotificationType;
+import com.eventmanagement.repository.NotificationJobRepository;
+import com.eventmanagement.service.RegistrationService;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:webhook-sink;DB_CLOSE_DELAY=-1",
+        "notification.sink=webhook",
+        "notification.batch-size=2",
+        "notification.max-attempts=3",
+        "notification.retry-backoff-ms=1",
+        "notification.rate=10000",
+        "notification.burst=100"})
+class WebhookNotificationSinkTest extends IntegrationTest {
+    private static final int ATTENDEES = 7;
+    private static final int BATCHES_BEFORE_OUTAGE = 2;
+    // As many as the job tries a batch, so the outage fails it
+    private static final int FAILED_POSTS = 3;
+    
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final HttpServer webhook = startWebhook();
+    private static final List<List<Long>> accepted = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger acceptBeforeOutage = new AtomicInteger(BATCHES_BEFORE_OUTAGE);
+    private static final AtomicInteger outage = new AtomicInteger(FAILED_POSTS);
+    
+    @Autowired
+    private NotificationService notificationService;
+    
+    @Autowired
+    private NotificationJobRepository jobRepository;
+    
+    @Autowired
+    private RegistrationService registrationService;
+    
+    @DynamicPropertySource
+    static void webhookProperties(DynamicPropertyRegistry registry) {
+        registry.add("notification.webhook.url",
+                () -> "http://localhost:" + webhook.getAddress().getPort() + "/notifications");
+    }
+    
+    @AfterAll
+    static void stopWebhook() {
+        webhook.stop(0);
+    }
+    
+    @Test
+    void aRestartedJobResumesAfterTheSavedCursorWithoutResendingDeliveredBatches() throws Exception {
+        Long eventId = createEvent("Webhook event", Fixtures.monthFromNow(), 100,
+                createVenue("Webhook", 1000), createOrganizer("Webhook"));
+        List<Long> registrationIds = new ArrayList<>();
+        for (int i = 0; i < ATTENDEES; i++) {
+            registrationIds.add(registrationService.register(eventId,
+                    new RegistrationRequest(Fixtures.attendee("Webhook", "notified" + i), null)).id());
+        }
+        
+        Long jobId = notificationService.notifyAttendees(eventId, NotificationType.POSTPONED).id();
+        NotificationJob failed = await(jobId, JobStatus.FAILED);
+        
+        // The third batch was tried max-attempts times; the two before it were delivered and recorded
+        assertEquals(0, outage.get());
+        assertEquals(registrationIds.subList(0, 4), flatten(accepted));
+        assertEquals(registrationIds.get(3), failed.getCursor());
+        assertEquals(4L, failed.getSent());
+        
+        notificationService.retry(jobId);
+        NotificationJob completed = await(jobId, JobStatus.COMPLETED);
+        
+        List<List<Long>> afterRestart = accepted.subList(BATCHES_BEFORE_OUTAGE, accepted.size());
+        assertTrue(afterRestart.stream().flatMap(List::stream).allMatch(id -> id > failed.getCursor()),
+                "re-sent a batch at or before the saved cursor: " + afterRestart);
+        assertEquals(registrationIds, flatten(accepted));
+        assertEquals((long) ATTENDEES, completed.getSent());
+    }
+    
+    private NotificationJob await(Long jobId, JobStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            NotificationJob job = jobRepository.findById(jobId).orElseThrow();
+            if (job.getStatus() == status) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Notification job " + jobId + " never reached " + status);
+    }
+    
+    private static List<Long> flatten(List<List<Long>> batches) {
+        return batches.stream().flatMap(List::stream).toList();
+    }
+    
+    private static HttpServer startWebhook() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/notifications", WebhookNotificationSinkTest::receive);
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    // Accepts the first batches, rejects the next few posts, then accepts everything again
+    private static void receive(HttpExchange exchange) throws IOException {
+        List<OutboundNotification> batch;
+        try (InputStream body = exchange.getRequestBody()) {
+            batch = objectMapper.readValue(body, new TypeReference<>() { });
+        }
+        if (acceptBeforeOutage.getAndDecrement() <= 0 && outage.getAndDecrement() > 0) {
+            exchange.sendResponseHeaders(503, -1);
+        } else {
+            accepted.add(batch.stream().map(OutboundNotification::registrationId).toList());
+            exchange.sendResponseHeaders(204, -1);
+        }
+        exchange.close();
+    }
+}
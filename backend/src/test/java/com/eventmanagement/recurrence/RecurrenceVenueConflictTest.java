@@ -0,0 +1,79 @@
+package com.eventmanagement.recurrence;
+
+import com.eventmanagement.exception.VenueBookingConflictException;
+import com.eventmanagement.index.VenueScheduleIndex;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:recurrence-venue-conflict;DB_CLOSE_DELAY=-1")
+class RecurrenceVenueConflictTest extends IntegrationTest {
+    
+    @Autowired
+    private RecurrenceService recurrenceService;
+    
+    @Autowired
+    private VenueScheduleIndex venueScheduleIndex;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    private Venue venue;
+    private Organizer organizer;
+    private LocalDateTime start;
+    
+    @BeforeEach
+    void createFixtures() {
+        venue = createVenue("Series", 500);
+        organizer = createOrganizer("Series");
+        start = LocalDateTime.now().plusDays(30).withHour(18).withMinute(0).withSecond(0).withNano(0);
+    }
+    
+    @Test
+    void anOccurrenceNobodyHasRegisteredForStillHoldsTheVenue() {
+        Long seriesId = createEvent("Weekly meetup", start, start.plusHours(2));
+        recurrenceService.setRecurrence(seriesId, "FREQ=WEEKLY");
+        LocalDateTime thirdWeek = start.plusWeeks(2);
+        
+        VenueBookingConflictException conflict = assertThrows(VenueBookingConflictException.class,
+                () -> createEvent("Clashing talk", thirdWeek.plusHours(1), thirdWeek.plusHours(3)));
+        
+        assertEquals(seriesId, conflict.getConflictingEventId());
+        assertFalse(venueScheduleIndex.isFree(venue.getId(), thirdWeek, thirdWeek.plusHours(2)));
+        assertTrue(venueScheduleIndex.isFree(venue.getId(), thirdWeek.plusHours(2), thirdWeek.plusHours(4)));
+    }
+    
+    @Test
+    void aRuleThatWouldRunIntoAnExistingBookingIsRejected() {
+        Long bookedId = createEvent("Booked months out", start.plusWeeks(20), start.plusWeeks(20).plusHours(1));
+        Long seriesId = createEvent("Weekly meetup", start, start.plusHours(2));
+        
+        VenueBookingConflictException conflict = assertThrows(VenueBookingConflictException.class,
+                () -> recurrenceService.setRecurrence(seriesId, "FREQ=WEEKLY"));
+        
+        assertEquals(bookedId, conflict.getConflictingEventId());
+        assertNull(eventRepository.findById(seriesId).orElseThrow().getRecurrenceRule());
+        // One that ends before the booking is fine
+        recurrenceService.setRecurrence(seriesId, "FREQ=WEEKLY;COUNT=10");
+    }
+    
+    private Long createEvent(String name, LocalDateTime eventStart, LocalDateTime eventEnd) {
+        return createEvent(Fixtures.event(name, eventStart, eventEnd, 50, Event.EventStatus.PUBLISHED, venue,
+                organizer));
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports a million registrations with a heap far smaller than the export.
+ * The pom runs this class in its own surefire execution with a small -Xmx,
+ * so holding the rows or the output in memory fails the build with an
+ * OutOfMemoryError. The database is a file so its data stays off the heap.
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:file:./target/export-memory-test/db")
+class RegistrationExportMemoryTest extends IntegrationTest {
+    private static final int ROWS = 1_000_000;
+    private static final int SEED_CHUNK = 50_000;
+    // Clear of the sequences, which only hand out ids for the fixtures
+    private static final long ID_OFFSET = 1_000_000_000L;
+    
+    @Autowired
+    private RegistrationExportService exportService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void exportsAMillionRowsInBoundedMemory() throws Exception {
+        Long eventId = seed();
+        
+        LineCounter csv = new LineCounter();
+        assertEquals(ROWS, exportService.writeCsv(eventId, csv));
+        assertEquals(ROWS + 1, csv.lines);
+        // Phone numbers are numbers, not formulas, and are written as they are
+        assertTrue(csv.firstRow().contains(",+15550000001,"), csv.firstRow());
+        
+        LineCounter ndjson = new LineCounter();
+        assertEquals(ROWS, exportService.writeNdjson(eventId, ndjson));
+        assertEquals(ROWS, ndjson.lines);
+    }
+    
+    // Set-based inserts in chunks, so seeding doesn't build a million entities either
+    private Long seed() {
+        Venue venue = createVenue("Export", ROWS);
+        Organizer organizer = createOrganizer("Export");
+        LocalDateTime start = Fixtures.monthFromNow();
+        Long eventId = createEvent(Fixtures.event("Export event", start, start.plusHours(2), ROWS,
+                Event.EventStatus.PUBLISHED, venue, organizer));
+        for (int from = 1; from <= ROWS; from += SEED_CHUNK) {
+            int to = Math.min(ROWS, from + SEED_CHUNK - 1);
+            jdbcTemplate.update("insert into attendees (id, first_name, last_name, email, phone_number, company, " +
+                    "job_title, status, created_at) select ? + x, 'Export', 'Attendee ' || x, " +
+                    "'attendee' || x || '@export.example', '+1555' || lpad(x, 7, '0'), 'Export Corp', " +
+                    "'Engineer', 'ACTIVE', localtimestamp from system_range(?, ?)", ID_OFFSET, from, to);
+            jdbcTemplate.update("insert into registrations (id, event_id, attendee_id, confirmation_code, status, " +
+                    "amount_paid, registration_date) select ? + x, ?, ? + x, 'EXP' || x, 'CONFIRMED', 10.00, " +
+                    "localtimestamp from system_range(?, ?)", ID_OFFSET, eventId, ID_OFFSET, from, to);
+        }
+        return eventId;
+    }
+    
+    // Counts lines and keeps only the first data row
+    private static final class LineCounter extends OutputStream {
+        private final ByteArrayOutputStream firstRow = new ByteArrayOutputStream();
+        private long lines;
+        
+        @Override
+        public void write(int b) {
+            if (lines == 1 && b != '\n') {
+                firstRow.write(b);
+            }
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                write(bytes[i]);
+            }
+        }
+        
+        String firstRow() {
+            return firstRow.toString(StandardCharsets.UTF_8);
+        }
+    }
+}
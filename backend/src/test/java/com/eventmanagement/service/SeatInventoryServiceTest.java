@@ -0,0 +1,174 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.EventRequest;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.exception.RegistrationClosedException;
+import com.eventmanagement.inventory.SeatHold;
+import com.eventmanagement.listener.EventStatusChangedEvent;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:seat-inventory;DB_CLOSE_DELAY=-1")
+class SeatInventoryServiceTest extends IntegrationTest {
+    private static final int CAPACITY = 10;
+    
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private RegistrationService registrationService;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private Venue venue;
+    private Organizer organizer;
+    private LocalDateTime nextStart = Fixtures.monthFromNow();
+    
+    @BeforeEach
+    void createFixtures() {
+        venue = createVenue("Inventory", 1000);
+        organizer = createOrganizer("Inventory");
+    }
+    
+    @Test
+    void aHoldForAnotherEventIsRefusedWithoutBeingConsumed() {
+        Long held = createEvent();
+        Long other = createEvent();
+        SeatHold hold = seatInventoryService.hold(held, 1);
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> registrationService.register(other, new RegistrationRequest(attendee("wrong"), hold.holdId())));
+        
+        registrationService.register(held, new RegistrationRequest(attendee("right"), hold.holdId()));
+        assertEquals(1, seatInventoryService.counterFor(held).currentAttendees());
+        assertEquals(0, seatInventoryService.counterFor(held).getHeld());
+        assertEquals(0, seatInventoryService.counterFor(other).currentAttendees());
+    }
+    
+    @Test
+    void aRolledBackCapacityChangeLeavesTheCounterAlone() {
+        LocalDateTime start = nextStart;
+        Long eventId = createEvent();
+        seatInventoryService.counterFor(eventId);
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            eventService.updateEvent(eventId, request(start, CAPACITY * 2, Event.EventStatus.PUBLISHED));
+            // Runs the @PreUpdate callback before the rollback
+            eventRepository.flush();
+            status.setRollbackOnly();
+        });
+        assertEquals(CAPACITY, seatInventoryService.counterFor(eventId).getCapacity());
+        
+        eventService.updateEvent(eventId, request(start, CAPACITY * 2, Event.EventStatus.PUBLISHED));
+        assertEquals(CAPACITY * 2, seatInventoryService.counterFor(eventId).getCapacity());
+    }
+    
+    @Test
+    void viewingAnEventDoesNotCreateACounter() {
+        Long eventId = createEvent();
+        
+        assertEquals(CAPACITY, eventService.getEventDetails(eventId).availableSpots());
+        assertTrue(seatInventoryService.findCounter(eventId).isEmpty());
+        
+        registrationService.register(eventId, new RegistrationRequest(attendee("viewer"), null));
+        assertEquals(CAPACITY - 1, eventService.getEventDetails(eventId).availableSpots());
+    }
+    
+    @Test
+    void readingAvailabilityDoesNotCreateACounter() {
+        Long eventId = createEvent();
+        
+        assertEquals(CAPACITY, seatInventoryService.availability(eventId).availableSpots());
+        assertTrue(seatInventoryService.findCounter(eventId).isEmpty());
+    }
+    
+    @Test
+    void holdsAreRefusedForEventsNotTakingRegistrations() {
+        LocalDateTime start = nextStart;
+        Long draft = createEvent(request(start, CAPACITY, Event.EventStatus.DRAFT));
+        nextStart = nextStart.plusHours(3);
+        Long cancelled = createEvent();
+        registrationService.register(cancelled, new RegistrationRequest(attendee("before"), null));
+        eventService.updateEvent(cancelled, request(start.plusHours(3), CAPACITY, Event.EventStatus.CANCELLED));
+        
+        assertThrows(RegistrationClosedException.class, () -> seatInventoryService.hold(draft, 1));
+        assertThrows(RegistrationClosedException.class, () -> seatInventoryService.hold(cancelled, 1));
+        assertTrue(seatInventoryService.findCounter(draft).isEmpty());
+        assertTrue(seatInventoryService.findCounter(cancelled).isEmpty());
+    }
+    
+    @Test
+    void finishedEventsDropTheirCountersAfterWritingTheCount() {
+        LocalDateTime start = nextStart;
+        Long cancelled = createEvent();
+        Long completed = createEvent();
+        registrationService.register(cancelled, new RegistrationRequest(attendee("cancelled"), null));
+        registrationService.register(completed, new RegistrationRequest(attendee("completed"), null));
+        
+        eventService.updateEvent(cancelled, request(start, CAPACITY, Event.EventStatus.CANCELLED));
+        eventPublisher.publishEvent(new EventStatusChangedEvent(List.of(completed), Event.EventStatus.COMPLETED));
+        
+        assertTrue(seatInventoryService.findCounter(cancelled).isEmpty());
+        assertTrue(seatInventoryService.findCounter(completed).isEmpty());
+        assertEquals(1, eventRepository.findById(cancelled).orElseThrow().getCurrentAttendees());
+        assertEquals(1, eventRepository.findById(completed).orElseThrow().getCurrentAttendees());
+    }
+    
+    @Test
+    void aFlushDuringARegistrationWritesOnlyCommittedSeats() {
+        Long eventId = createEvent();
+        registrationService.register(eventId, new RegistrationRequest(attendee("committed"), null));
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            registrationService.register(eventId, new RegistrationRequest(attendee("rolled-back"), null));
+            // The scheduled flush runs on its own thread, in its own transaction
+            CompletableFuture.runAsync(seatInventoryService::flush).join();
+            status.setRollbackOnly();
+        });
+        
+        assertEquals(1, eventRepository.findById(eventId).orElseThrow().getCurrentAttendees());
+        assertEquals(1, seatInventoryService.counterFor(eventId).currentAttendees());
+        assertEquals(CAPACITY - 1, seatInventoryService.counterFor(eventId).availableSpots());
+    }
+    
+    private Long createEvent() {
+        LocalDateTime start = nextStart;
+        nextStart = nextStart.plusHours(3);
+        return createEvent("Inventory event", start, CAPACITY, venue, organizer);
+    }
+    
+    private EventRequest request(LocalDateTime start, int capacity, Event.EventStatus status) {
+        return Fixtures.event("Inventory event", start, start.plusHours(1), capacity, status, venue, organizer);
+    }
+    
+    private static AttendeeRequest attendee(String name) {
+        return Fixtures.attendee("Inventory", name);
+    }
+}
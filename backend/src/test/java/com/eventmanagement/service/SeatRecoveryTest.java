@@ -0,0 +1,73 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.journal.JournalEntry;
+import com.eventmanagement.journal.RegistrationJournal;
+import com.eventmanagement.repository.EventRepository;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seat-recovery;DB_CLOSE_DELAY=-1",
+        "journal.enabled=true",
+        "journal.segment-entries=1024"})
+class SeatRecoveryTest extends IntegrationTest {
+    private static final int CAPACITY = 10;
+    
+    @TempDir
+    static Path journalDirectory;
+    
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private RegistrationService registrationService;
+    
+    @Autowired
+    private RegistrationJournal journal;
+    
+    @Autowired
+    private EventRepository eventRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("journal.directory", () -> journalDirectory.toString());
+    }
+    
+    @Test
+    void aJournalThatLostItsTailNeverLowersTheCount() {
+        Long eventId = createEvent("Recovery event", Fixtures.monthFromNow(), CAPACITY,
+                createVenue("Recovery", 1000), createOrganizer("Recovery"));
+        for (int i = 0; i < 3; i++) {
+            registrationService.register(eventId,
+                    new RegistrationRequest(Fixtures.attendee("Recovery", "recovered" + i), null));
+        }
+        
+        // As after a crash: the journal's last word is one attendee and the last flush never ran
+        seatInventoryService.evict(eventId);
+        journal.append(JournalEntry.opened(eventId, 1, CAPACITY)).join();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                eventRepository.updateCurrentAttendees(eventId, 0));
+        
+        seatInventoryService.recover();
+        
+        assertEquals(3, seatInventoryService.findCounter(eventId).orElseThrow().currentAttendees());
+        assertEquals(3, eventRepository.findById(eventId).orElseThrow().getCurrentAttendees());
+        assertEquals(CAPACITY - 3, seatInventoryService.availableSpots(eventId));
+    }
+}
@@ -0,0 +1,139 @@
+package com.eventmanagement.service;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.exception.ResourceNotFoundException;
+import com.eventmanagement.inventory.SeatCount;
+import com.eventmanagement.model.Registration.RegistrationStatus;
+import com.eventmanagement.repository.RegistrationRepository;
+import com.eventmanagement.support.Fixtures;
+import com.eventmanagement.support.IntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:waitlist;DB_CLOSE_DELAY=-1",
+        "waitlist.promotion-batch-size=3"})
+class WaitlistServiceTest extends IntegrationTest {
+    private static final int CAPACITY = 20;
+    private static final int WAITING = 40;
+    private static final Set<RegistrationStatus> CONFIRMED = Set.of(RegistrationStatus.CONFIRMED);
+    
+    @Autowired
+    private WaitlistService waitlistService;
+    
+    @Autowired
+    private RegistrationService registrationService;
+    
+    @Autowired
+    private SeatInventoryService seatInventoryService;
+    
+    @Autowired
+    private RegistrationRepository registrationRepository;
+    
+    @Test
+    void promotionsRacingCancellationsAndLeavesNeverOversellOrRegisterSomeoneWhoLeft() throws Exception {
+        Long eventId = createEvent("Waitlist event", Fixtures.monthFromNow(), CAPACITY,
+                createVenue("Waitlist", 1000), createOrganizer("Waitlist"));
+        List<Long> registrationIds = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            registrationIds.add(registrationService.register(eventId,
+                    new RegistrationRequest(attendee("registered" + i), null)).id());
+        }
+        for (int i = 0; i < WAITING; i++) {
+            waitlistService.join(eventId, attendee(waiting(i)));
+        }
+        Set<String> left = ConcurrentHashMap.newKeySet();
+        
+        // Every registration is cancelled while the first half of the waitlist tries to leave
+        race(CAPACITY + WAITING / 2, i -> {
+            if (i < CAPACITY) {
+                registrationService.cancel(eventId, registrationIds.get(i));
+            } else {
+                String email = waiting(i - CAPACITY) + "@example.com";
+                try {
+                    waitlistService.leave(eventId, email);
+                    left.add(email);
+                } catch (ResourceNotFoundException e) {
+                    // Already promoted
+                }
+            }
+        });
+        awaitFull(eventId);
+        
+        assertEquals(CAPACITY, confirmed(eventId));
+        assertEquals(CAPACITY, seatInventoryService.counterFor(eventId).currentAttendees());
+        assertTrue(registrationRepository.findRegisteredEmails(eventId, CONFIRMED, left).isEmpty(),
+                "registered after leaving the waitlist");
+        assertEquals(WAITING - left.size() - CAPACITY, waitlistService.size(eventId));
+    }
+    
+    // Promotion runs on the task executor after each cancellation commits, reserving
+    // seats before its registrations commit; the sweep catches any stragglers
+    private void awaitFull(Long eventId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while ((seatInventoryService.counterFor(eventId).availableSpots() > 0 || confirmed(eventId) < CAPACITY)
+                && System.nanoTime() < deadline) {
+            waitlistService.sweep();
+            Thread.sleep(20);
+        }
+    }
+    
+    private long confirmed(Long eventId) {
+        return registrationRepository.countByEvents(List.of(eventId), CONFIRMED).stream()
+                .mapToLong(SeatCount::seats)
+                .sum();
+    }
+    
+    private static String waiting(int n) {
+        return "waiting" + n;
+    }
+    
+    // Plain emails, unlike Fixtures.attendee, so waiters can leave by the email they joined with
+    private static AttendeeRequest attendee(String name) {
+        return new AttendeeRequest("Waitlist", name, name + "@example.com", null, null, null, null, null);
+    }
+    
+    // Starts every task at once and waits for all of them
+    private static void race(int tasks, Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int n = i;
+                Callable<Void> task = () -> {
+                    start.await();
+                    attempt.run(n);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private interface Attempt {
+        void run(int n);
+    }
+}
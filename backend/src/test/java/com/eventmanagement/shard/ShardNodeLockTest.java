@@ -0,0 +1,23 @@
+package com.eventmanagement.shard;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardNodeLockTest {
+    
+    @Test
+    void aSecondNodeCannotStartWhileTheFirstHoldsTheLock() throws Exception {
+        String url = "jdbc:h2:mem:node-lock-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=200";
+        ShardDataSources shards = new ShardDataSources(List.of(new DriverManagerDataSource(url, "sa", "")));
+        ShardNodeLock first = new ShardNodeLock(shards, 1);
+        
+        assertThrows(IllegalStateException.class, () -> new ShardNodeLock(shards, 1));
+        
+        first.release();
+        new ShardNodeLock(shards, 1).release();
+    }
+}
@@ -0,0 +1,128 @@
+package com.eventmanagement.shard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRebalancerTest {
+    private static final long ORGANIZER_ID = 1L;
+    private static final List<String> TABLES = List.of("organizers", "events", "attendees", "registrations",
+            "waitlist_entries", "notification_jobs", "event_rollups");
+    
+    private DataSource source;
+    private DataSource target;
+    
+    @BeforeEach
+    void createShards() {
+        String run = Long.toString(System.nanoTime());
+        source = shard("rebalance-0-" + run);
+        target = shard("rebalance-1-" + run);
+        JdbcTemplate jdbc = new JdbcTemplate(source);
+        jdbc.update("insert into organizers (id) values (?)", ORGANIZER_ID);
+        jdbc.update("insert into events (id, organizer_id, series_template_id) values (10, ?, null)", ORGANIZER_ID);
+        jdbc.update("insert into events (id, organizer_id, series_template_id) values (11, ?, 10)", ORGANIZER_ID);
+        jdbc.update("insert into attendees (id, email) values (100, 'moved@example.com')");
+        jdbc.update("insert into registrations (id, event_id, attendee_id) values (1000, 10, 100)");
+        jdbc.update("insert into waitlist_entries (id, event_id) values (2000, 11)");
+        jdbc.update("insert into notification_jobs (id, event_id, status) values (3000, 10, 'COMPLETED')");
+        jdbc.update("insert into event_rollups (id, organizer_id) values (4000, ?)", ORGANIZER_ID);
+    }
+    
+    @Test
+    void movesEveryRowOfTheOrganizer() {
+        ShardRouter router = router(target);
+        
+        new ShardRebalancer(router, new ShardDataSources(List.of(source, target)), 0).move(ORGANIZER_ID, 1);
+        
+        for (String table : TABLES) {
+            assertEquals(table.equals("attendees") ? 1 : 0, count(source, table), table + " left on the source");
+        }
+        assertEquals(List.of(1, 2, 1, 1, 1, 1, 1), TABLES.stream().map(table -> count(target, table)).toList());
+        assertEquals(1, router.shardOfOrganizer(ORGANIZER_ID));
+        assertEquals(1, router.shardOfEvent(11L));
+    }
+    
+    @Test
+    void aRowWrittenAfterTheCopyRollsTheMoveBackOnBothShards() {
+        // Lands on the source just as the copy commits on the target, as a write that slipped past the fence would
+        AtomicBoolean written = new AtomicBoolean();
+        DataSource lateWriteTarget = beforeCommit(target, () -> {
+            if (written.compareAndSet(false, true)) {
+                new JdbcTemplate(source).update(
+                        "insert into registrations (id, event_id, attendee_id) values (1001, 10, 100)");
+            }
+        });
+        ShardRouter router = router(lateWriteTarget);
+        ShardRebalancer rebalancer =
+                new ShardRebalancer(router, new ShardDataSources(List.of(source, lateWriteTarget)), 0);
+        
+        IllegalStateException failure =
+                assertThrows(IllegalStateException.class, () -> rebalancer.move(ORGANIZER_ID, 1));
+        
+        assertTrue(failure.getMessage().contains("rolled back"), failure.getMessage());
+        assertEquals(List.of(1, 2, 1, 2, 1, 1, 1), TABLES.stream().map(table -> count(source, table)).toList());
+        for (String table : TABLES) {
+            assertEquals(0, count(target, table), table + " left on the target");
+        }
+        // Unfenced and still routed to the source
+        assertEquals(0, router.shardOfOrganizer(ORGANIZER_ID));
+        assertEquals(0, router.shardOfEvent(10L));
+    }
+    
+    private ShardRouter router(DataSource targetShard) {
+        return new ShardRouter(Optional.of(new ShardDataSources(List.of(source, targetShard))), 16, 100);
+    }
+    
+    private static int count(DataSource shard, String table) {
+        return new JdbcTemplate(shard).queryForObject("select count(*) from " + table, Integer.class);
+    }
+    
+    // Only the columns the move reads or matches on
+    private static DataSource shard(String name) {
+        DataSource shard = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(shard);
+        jdbc.execute("create table organizers (id bigint primary key)");
+        jdbc.execute("create table events (id bigint primary key, organizer_id bigint, series_template_id bigint)");
+        jdbc.execute("create table attendees (id bigint primary key, email varchar(255))");
+        jdbc.execute("create table registrations (id bigint primary key, event_id bigint, attendee_id bigint)");
+        jdbc.execute("create table waitlist_entries (id bigint primary key, event_id bigint)");
+        jdbc.execute("create table notification_jobs (id bigint primary key, event_id bigint, status varchar(20))");
+        jdbc.execute("create table event_rollups (id bigint primary key, organizer_id bigint)");
+        return shard;
+    }
+    
+    private static DataSource beforeCommit(DataSource dataSource, Runnable hook) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                            if (method.getName().equals("commit")) {
+                                hook.run();
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+            }
+        };
+    }
+}
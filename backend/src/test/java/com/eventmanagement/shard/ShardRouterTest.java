@@ -0,0 +1,88 @@
+package com.eventmanagement.shard;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRouterTest {
+    private static final long VENUE_ID = 7L;
+    
+    private ShardRouter router;
+    private List<DataSource> shards;
+    
+    @BeforeEach
+    void createShards() {
+        String run = Long.toString(System.nanoTime());
+        shards = List.of(shard("venue-lock-0-" + run), shard("venue-lock-1-" + run), shard("venue-lock-2-" + run));
+        for (DataSource shard : shards) {
+            JdbcTemplate jdbc = new JdbcTemplate(shard);
+            jdbc.execute("create table venues (id bigint primary key)");
+            jdbc.update("insert into venues (id) values (?)", VENUE_ID);
+        }
+        router = new ShardRouter(Optional.of(new ShardDataSources(shards)), 16, 100);
+    }
+    
+    @Test
+    void bookingsOnDifferentShardsWaitForEachOtherAtTheVenue() throws Exception {
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> onShard(1, () -> {
+            router.lockVenue(VENUE_ID);
+            locked.countDown();
+            await(release);
+        }));
+        assertTrue(locked.await(5, TimeUnit.SECONDS));
+        
+        CountDownLatch secondLocked = new CountDownLatch(1);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> onShard(2, () -> {
+            router.lockVenue(VENUE_ID);
+            secondLocked.countDown();
+        }));
+        assertFalse(secondLocked.await(300, TimeUnit.MILLISECONDS));
+        
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(secondLocked.await(0, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void gatherQueriesEveryShardOnPlatformThreadsInShardOrder() {
+        List<String> answers = router.gather(() -> List.of(ShardContext.current() + " "
+                + (Thread.currentThread().isVirtual() ? "virtual" : "platform")));
+        
+        assertEquals(List.of("0 platform", "1 platform", "2 platform"), answers);
+    }
+    
+    private void onShard(int shard, Runnable work) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(shards.get(shard)));
+        ShardContext.run(shard, () -> transaction.executeWithoutResult(status -> work.run()));
+    }
+    
+    private static DataSource shard(String name) {
+        // Long enough for the second booking to wait out the first rather than time out
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000", "sa", "");
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
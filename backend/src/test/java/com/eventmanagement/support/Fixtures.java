@@ -0,0 +1,51 @@
+package com.eventmanagement.support;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.EventRequest;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * The venues, organizers, events and attendees tests are built from, named
+ * after the test so rows from different tests are easy to tell apart.
+ */
+public final class Fixtures {
+    public static final String CITY = "Springfield";
+    public static final String CONTACT = "Jordan Smith";
+    public static final String PHONE = "+15555550100";
+    
+    private Fixtures() {}
+    
+    // Far enough out that no lifecycle timer starts or finishes the event mid-test
+    public static LocalDateTime monthFromNow() {
+        return LocalDateTime.now().plusDays(30).withNano(0);
+    }
+    
+    public static Venue venue(String name, int capacity) {
+        return new Venue(name + " Hall", "1 " + name + " Way", CITY, capacity);
+    }
+    
+    // The email is unique per call, as organizers are created per test or per test method
+    public static Organizer organizer(String name) {
+        String email = name.toLowerCase(Locale.ROOT) + System.nanoTime() + "@example.com";
+        return new Organizer(name + " Events", CONTACT, email, PHONE, "2 " + name + " Way");
+    }
+    
+    public static EventRequest event(String name, LocalDateTime start, LocalDateTime end, int capacity,
+                                     Event.EventStatus status, Venue venue, Organizer organizer) {
+        return new EventRequest(name, "Created by a test", start, end, "Technology", Event.EventType.CONFERENCE,
+                capacity, BigDecimal.TEN, false, null, status, null, null, null, null, null, venue.getId(),
+                organizer.getId());
+    }
+    
+    // The email is unique per call too, so the same name can register more than once
+    public static AttendeeRequest attendee(String firstName, String lastName) {
+        return new AttendeeRequest(firstName, lastName, lastName + System.nanoTime() + "@example.com", null, null,
+                null, null, null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.eventmanagement.support;
+
+import com.eventmanagement.dto.EventRequest;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.OrganizerRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.service.EventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+/**
+ * Base of the tests that boot the whole application. Each subclass names its
+ * own database with a {@code @TestPropertySource}, so contexts never share
+ * rows, and adds any other properties it needs there; those win over the
+ * defaults here.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "journal.enabled=false"})
+public abstract class IntegrationTest {
+    @Autowired
+    protected EventService eventService;
+    
+    @Autowired
+    protected VenueRepository venueRepository;
+    
+    @Autowired
+    protected OrganizerRepository organizerRepository;
+    
+    protected Venue createVenue(String name, int capacity) {
+        return venueRepository.save(Fixtures.venue(name, capacity));
+    }
+    
+    protected Organizer createOrganizer(String name) {
+        return organizerRepository.save(Fixtures.organizer(name));
+    }
+    
+    protected Long createEvent(EventRequest request) {
+        return eventService.createEvent(request).id();
+    }
+    
+    // A published event an hour long, open for registration
+    protected Long createEvent(String name, LocalDateTime start, int capacity, Venue venue, Organizer organizer) {
+        return createEvent(Fixtures.event(name, start, start.plusHours(1), capacity, Event.EventStatus.PUBLISHED,
+                venue, organizer));
+    }
+}
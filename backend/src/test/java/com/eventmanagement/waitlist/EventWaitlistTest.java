@@ -0,0 +1,126 @@
+package com.eventmanagement.waitlist;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventWaitlistTest {
+    private static final int WAITING = 10_000;
+    
+    @Test
+    void everyTicketIsEitherPromotedOrWithdrawnNeverBoth() throws Exception {
+        EventWaitlist waitlist = waitlistOf(WAITING);
+        Set<String> promoted = ConcurrentHashMap.newKeySet();
+        Set<String> withdrawn = ConcurrentHashMap.newKeySet();
+        
+        race(WAITING * 2, i -> {
+            if (i % 2 == 0) {
+                WaitlistTicket left = waitlist.leave(email(i / 2));
+                if (left != null) {
+                    withdrawn.add(left.getEmail());
+                }
+            } else {
+                waitlist.claim(1).forEach(ticket -> promoted.add(ticket.getEmail()));
+            }
+        });
+        waitlist.claim(WAITING).forEach(ticket -> promoted.add(ticket.getEmail()));
+        
+        Set<String> both = new HashSet<>(promoted);
+        both.retainAll(withdrawn);
+        assertTrue(both.isEmpty(), "promoted after leaving: " + both);
+        assertEquals(WAITING, promoted.size() + withdrawn.size());
+        assertEquals(WAITING - withdrawn.size(), waitlist.size());
+    }
+    
+    @Test
+    void putBackTicketsAreClaimedFirstInTheirOriginalOrderUnlessTheyLeave() {
+        EventWaitlist waitlist = waitlistOf(6);
+        List<WaitlistTicket> claimed = waitlist.claim(4);
+        
+        // As when a promotion could only reserve one of the four seats
+        waitlist.putBack(new ArrayList<>(claimed.subList(1, 4)));
+        assertEquals(email(2), waitlist.leave(email(2)).getEmail());
+        
+        assertEquals(List.of(email(1), email(3), email(4), email(5)),
+                waitlist.claim(10).stream().map(WaitlistTicket::getEmail).toList());
+    }
+    
+    @Test
+    void promotionRequestedWhilePromotingRunsAgainRatherThanBeingDropped() throws Exception {
+        EventWaitlist waitlist = waitlistOf(0);
+        AtomicInteger requested = new AtomicInteger();
+        AtomicInteger promoting = new AtomicInteger();
+        AtomicInteger overlapping = new AtomicInteger();
+        AtomicInteger seen = new AtomicInteger();
+        
+        race(WAITING, i -> {
+            requested.incrementAndGet();
+            waitlist.promote(() -> {
+                if (promoting.incrementAndGet() > 1) {
+                    overlapping.incrementAndGet();
+                }
+                seen.set(requested.get());
+                promoting.decrementAndGet();
+            });
+        });
+        
+        assertEquals(0, overlapping.get());
+        // The last run started after the last request, so it saw every cancellation that asked for it
+        assertEquals(WAITING, seen.get());
+    }
+    
+    private static EventWaitlist waitlistOf(int waiting) {
+        EventWaitlist waitlist = new EventWaitlist(1L, 0);
+        for (int i = 0; i < waiting; i++) {
+            waitlist.enqueue(waitlist.newTicket(email(i), new AttendeeRequest("Waiting", "Attendee" + i, email(i),
+                    null, null, null, null, null)));
+        }
+        return waitlist;
+    }
+    
+    private static String email(int n) {
+        return "waiting" + n + "@example.com";
+    }
+    
+    // Starts every task at once on more threads than cores and waits for all of them
+    private static void race(int tasks, Attempt attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int n = i;
+                Callable<Void> task = () -> {
+                    start.await();
+                    attempt.run(n);
+                    return null;
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private interface Attempt {
+        void run(int n);
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.live.AvailabilityStreamService;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.service.SeatInventoryService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opens many availability streams on one event against an in-process server,
+ * reports heap and threads per open connection, then changes availability
+ * at a steady rate and reports how many updates reached the subscribers.
+ * Client and server share the JVM, so the heap figure is an upper bound for
+ * the server side alone. Not a JMH benchmark; run it with
+ * {@code mvn exec:java -Dexec.mainClass=com.eventmanagement.benchmark.AvailabilityStreamLoadTest -Dexec.args="50000 10"}
+ * (subscribers, seconds of seat changes). Large counts need a raised open
+ * file limit, and past ~28k connections more local ports
+ * (net.ipv4.ip_local_port_range).
+ */
+public final class AvailabilityStreamLoadTest {
+    
+    private AvailabilityStreamLoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        int subscribers = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        
+        ConfigurableApplicationContext context = EmbeddedBackend.startServer("stream");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        AvailabilityStreamService streams = context.getBean(AvailabilityStreamService.class);
+        SeatInventoryService seatInventoryService = context.getBean(SeatInventoryService.class);
+        Venue venue = EmbeddedBackend.createVenue(context, "Stream Arena", 1_000_000);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "stream@bench.example");
+        Long eventId = EmbeddedBackend.createEvent(context, venue, organizer, LocalDateTime.now().plusDays(30), 1_000_000);
+        
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+        long heapBefore = usedHeapAfterGc(memory);
+        
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + "/api/events/" + eventId + "/availability/stream"))
+                .header("Accept", "text/event-stream")
+                .build();
+        LongAdder received = new LongAdder();
+        long connectStarted = System.nanoTime();
+        for (int i = 0; i < subscribers; i++) {
+            client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new DataLineCounter(received)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+        while (streams.subscriberCount() < subscribers && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        int open = streams.subscriberCount();
+        long connectMillis = Duration.ofNanos(System.nanoTime() - connectStarted).toMillis();
+        long heapAfter = usedHeapAfterGc(memory);
+        int threadsAfter = ManagementFactory.getThreadMXBean().getThreadCount();
+        System.out.printf("open streams: %d of %d in %d ms%n", open, subscribers, connectMillis);
+        System.out.printf("heap per stream (client + server): %d bytes%n", (heapAfter - heapBefore) / Math.max(1, open));
+        System.out.printf("live threads: %d before, %d with streams open%n", threadsBefore, threadsAfter);
+        
+        // One seat every millisecond; subscribers should see one update per broadcast tick at most
+        long initial = received.sum();
+        long changes = 0;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < end) {
+            seatInventoryService.reserve(eventId, 1);
+            changes++;
+            Thread.sleep(1);
+        }
+        Thread.sleep(1000);
+        long delivered = received.sum() - initial;
+        System.out.printf("seat changes: %d, updates delivered: %d (%.1f per stream per second)%n",
+                changes, delivered, (double) delivered / Math.max(1, open) / seconds);
+        
+        context.close();
+        clientExecutor.shutdownNow();
+        System.exit(0);
+    }
+    
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+    
+    private static final class DataLineCounter implements Flow.Subscriber<String> {
+        private final LongAdder received;
+        
+        DataLineCounter(LongAdder received) {
+            this.received = received;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+        
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("data:")) {
+                received.increment();
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+        }
+        
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Event detail pages under concurrent load, once with the catalog cache and
+ * once with it disabled (cache.catalog.enabled=false), against an in-process
+ * server. Each run gets its own database with the same fixtures; the first
+ * seconds of each are a discarded warm-up, which also fills the cache. All
+ * runs share one JVM and later ones come out faster, so after a discarded
+ * round of each, the measured runs go on, off, off, on and the mean of each
+ * setting is what to compare. Not a
+ * JMH benchmark; run it with
+ * {@code mvn exec:java -Dexec.mainClass=com.eventmanagement.benchmark.CatalogCacheLoadTest -Dexec.args="64 30"}
+ * (concurrent clients, seconds per run).
+ */
+public final class CatalogCacheLoadTest {
+    private static final int EVENTS = 1000;
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    
+    private CatalogCacheLoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (boolean cached : new boolean[] {true, false}) {
+            run(client, cached, clients, null);
+        }
+        double[] throughput = new double[2];
+        for (boolean cached : new boolean[] {true, false, false, true}) {
+            HttpLoad.Result result = run(client, cached, clients, Duration.ofSeconds(seconds));
+            System.out.printf("catalog cache %s: %s%n", cached ? "on " : "off", result);
+            throughput[cached ? 0 : 1] += result.throughput() / 2;
+        }
+        System.out.printf("catalog cache on : %,.0f req/s mean%ncatalog cache off: %,.0f req/s mean%n",
+                throughput[0], throughput[1]);
+        System.exit(0);
+    }
+    
+    // Only warms up when measurement is null
+    private static HttpLoad.Result run(HttpClient client, boolean cached, int clients, Duration measurement)
+            throws Exception {
+        ConfigurableApplicationContext context = EmbeddedBackend.startServer("catalog-" + cached,
+                "cache.catalog.enabled=" + cached);
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        Venue venue = EmbeddedBackend.createVenue(context, "Catalog Hall", 10_000);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "catalog@bench.example");
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<URI> pages = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            // One venue for all, so events are a few hours apart to avoid booking conflicts
+            Long eventId = EmbeddedBackend.createEvent(context, venue, organizer, start.plusHours(3L * i), 10_000);
+            pages.add(URI.create("http://localhost:" + port + "/api/events/" + eventId));
+        }
+        
+        HttpLoad.run(client, () -> detailPage(pages), clients, WARM_UP);
+        HttpLoad.Result result = measurement != null
+                ? HttpLoad.run(client, () -> detailPage(pages), clients, measurement) : null;
+        context.close();
+        return result;
+    }
+    
+    private static HttpRequest detailPage(List<URI> pages) {
+        return HttpRequest.newBuilder(pages.get(ThreadLocalRandom.current().nextInt(pages.size()))).GET().build();
+    }
+}
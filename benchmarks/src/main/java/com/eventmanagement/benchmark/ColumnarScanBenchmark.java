@@ -0,0 +1,112 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.analytics.EventColumnarSnapshot;
+import com.eventmanagement.analytics.EventScanFilter;
+import com.eventmanagement.dto.EventScanResponse;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same ad-hoc filter and aggregation answered by the columnar snapshot
+ * and by the JPA path it replaces: a JPQL query over the events table whose
+ * entities are then summed in Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarScanBenchmark {
+    private static final int EVENTS_PER_VENUE = 200;
+    
+    @Param({"10000"})
+    public int events;
+    
+    private ConfigurableApplicationContext context;
+    private EventColumnarSnapshot snapshot;
+    private EntityManagerFactory entityManagerFactory;
+    private EventScanFilter filter;
+    
+    @Setup
+    public void setUp() {
+        context = EmbeddedBackend.start("columnar", "analytics.columnar.enabled=true");
+        snapshot = context.getBean(EventColumnarSnapshot.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "columnar@bench.example");
+        LocalDateTime base = LocalDateTime.now().plusDays(7).withNano(0);
+        Venue venue = null;
+        for (int i = 0; i < events; i++) {
+            if (i % EVENTS_PER_VENUE == 0) {
+                venue = EmbeddedBackend.createVenue(context, "Venue " + i, 1000);
+            }
+            EmbeddedBackend.createEvent(context, venue, organizer, base.plusHours(3L * i), 500);
+        }
+        // Roughly a third of the seeded start times fall in the window
+        filter = new EventScanFilter(Set.of(Event.EventStatus.PUBLISHED), Set.of(Event.EventType.CONFERENCE),
+                "Technology", base, base.plusHours(events), 0.2, new BigDecimal("50"), null);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public EventScanResponse columnarScan() {
+        return snapshot.scan(filter, 100);
+    }
+    
+    @Benchmark
+    public long[] jpaScan() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Event> matches = entityManager.createQuery(
+                            "select e from Event e where e.status in :statuses and e.eventType in :types " +
+                            "and lower(e.category) = lower(:category) " +
+                            "and e.startDateTime >= :startFrom and e.startDateTime < :startTo " +
+                            "and e.currentAttendees < cast(:maxFillRate as Double) * e.maxAttendees " +
+                            "and e.ticketPrice < :maxPrice",
+                            Event.class)
+                    .setParameter("statuses", filter.statuses())
+                    .setParameter("types", filter.types())
+                    .setParameter("category", filter.category())
+                    .setParameter("startFrom", filter.startFrom())
+                    .setParameter("startTo", filter.startTo())
+                    .setParameter("maxFillRate", filter.maxFillRate())
+                    .setParameter("maxPrice", filter.maxPrice())
+                    .getResultList();
+            long[] totals = new long[3];
+            for (Event event : matches) {
+                totals[0] += event.getCurrentAttendees();
+                totals[1] += event.getMaxAttendees();
+                totals[2] += event.getTicketPrice().movePointRight(2).longValue() * event.getCurrentAttendees();
+            }
+            return totals;
+        } finally {
+            entityManager.close();
+        }
+    }
+}
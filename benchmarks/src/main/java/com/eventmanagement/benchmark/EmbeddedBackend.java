@@ -0,0 +1,101 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.EventManagementApplication;
+import com.eventmanagement.dto.EventRequest;
+import com.eventmanagement.dto.EventResponse;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.repository.OrganizerRepository;
+import com.eventmanagement.repository.VenueRepository;
+import com.eventmanagement.service.EventService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Starts the backend without the web layer against a private in-memory H2
+ * database, and creates the fixtures the persistence benchmarks share.
+ */
+final class EmbeddedBackend {
+    
+    private EmbeddedBackend() {}
+    
+    static ConfigurableApplicationContext start(String name, String... extraProperties) {
+        return run(new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false), extraProperties,
+                "spring.datasource.url=jdbc:h2:mem:bench-" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "journal.directory=" + journalDirectory(name),
+                "logging.level.root=WARN");
+    }
+    
+    /**
+     * Like {@link #start(String, String...)} but with the servlet container on
+     * a random port, for load tests that need real HTTP connections.
+     */
+    static ConfigurableApplicationContext startServer(String name, String... extraProperties) {
+        return run(new SpringApplicationBuilder(EventManagementApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false), extraProperties,
+                "spring.datasource.url=jdbc:h2:mem:bench-" + name + ";DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "journal.directory=" + journalDirectory(name),
+                "server.port=0",
+                "management.server.port=0",
+                "logging.level.root=WARN");
+    }
+    
+    // Passed as command line arguments: builder properties are only defaults,
+    // so application.properties would win over them
+    private static ConfigurableApplicationContext run(SpringApplicationBuilder builder, String[] extraProperties,
+                                                      String... properties) {
+        return builder.run(Stream.concat(Arrays.stream(properties), Arrays.stream(extraProperties))
+                .map(property -> "--" + property)
+                .toArray(String[]::new));
+    }
+    
+    // A fresh registration journal per run, so nothing is recovered into the new database
+    private static String journalDirectory(String name) {
+        try {
+            return Files.createTempDirectory("bench-journal-" + name).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    static Venue createVenue(ConfigurableApplicationContext context, String name, int capacity) {
+        Venue venue = new Venue(name, "1 Benchmark Way", "Springfield", capacity);
+        venue.setState("IL");
+        venue.setPostalCode("62701");
+        venue.setCountry("USA");
+        return context.getBean(VenueRepository.class).save(venue);
+    }
+    
+    static Organizer createOrganizer(ConfigurableApplicationContext context, String email) {
+        Organizer organizer = new Organizer("Benchmark Events", "Jordan Smith", email, "+15555550100",
+                "2 Benchmark Way");
+        return context.getBean(OrganizerRepository.class).save(organizer);
+    }
+    
+    static Long createEvent(ConfigurableApplicationContext context, Venue venue, Organizer organizer,
+                            LocalDateTime start, int capacity) {
+        EventRequest request = new EventRequest("Benchmark event " + start, "Synthetic event used by benchmarks",
+                start, start.plusHours(2), "Technology", Event.EventType.CONFERENCE, capacity, BigDecimal.TEN,
+                false, null, Event.EventStatus.PUBLISHED, null, null, null, null, null,
+                venue.getId(), organizer.getId());
+        EventResponse response = context.getBean(EventService.class).createEvent(request);
+        return response.id();
+    }
+}
@@ -0,0 +1,80 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.inventory.SeatCounter;
+import com.eventmanagement.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability reads on a shared Event while other threads sell and cancel
+ * seats through the striped counter behind it. The event never gets close
+ * to sold out here; {@link SellOutBenchmark} checks that it can't oversell.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventAvailabilityBenchmark {
+    private static final int CAPACITY = 1_000_000;
+    
+    private Event event;
+    private SeatCounter counter;
+    
+    @Setup
+    public void setUp() {
+        event = new Event("Benchmark", "Availability benchmark", LocalDateTime.now().plusDays(30),
+                LocalDateTime.now().plusDays(30).plusHours(3), "Technology", CAPACITY, null, null);
+        event.setId(1L);
+        event.setStatus(Event.EventStatus.PUBLISHED);
+        event.setRegistrationDeadline(LocalDateTime.now().plusDays(29));
+        event.setCurrentAttendees(0);
+        counter = new SeatCounter(1L, CAPACITY, CAPACITY / 2, 8);
+        event.setSeatAvailability(counter);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean isRegistrationOpen() {
+        return event.isRegistrationOpen();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean hasAvailableSpots() {
+        return event.hasAvailableSpots();
+    }
+    
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(6)
+    public boolean contendedRead() {
+        return event.isRegistrationOpen();
+    }
+    
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(2)
+    public boolean contendedSellAndCancel() {
+        boolean sold = counter.tryReserve(1);
+        if (sold) {
+            counter.cancel(1);
+        }
+        return sold;
+    }
+}
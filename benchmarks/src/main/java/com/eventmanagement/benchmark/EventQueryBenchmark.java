@@ -0,0 +1,87 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.EventPageResponse;
+import com.eventmanagement.dto.EventSearchHit;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.search.EventSearchIndex;
+import com.eventmanagement.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event listing and search over a seeded catalog. The deep page starts from
+ * a cursor near the end of the table and should cost the same as the first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventQueryBenchmark {
+    private static final int PAGE_SIZE = 50;
+    private static final int EVENTS_PER_VENUE = 200;
+    
+    @Param({"10000"})
+    public int events;
+    
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private EventSearchIndex eventSearchIndex;
+    private String deepCursor;
+    
+    @Setup
+    public void setUp() {
+        context = EmbeddedBackend.start("query");
+        eventService = context.getBean(EventService.class);
+        eventSearchIndex = context.getBean(EventSearchIndex.class);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "query@bench.example");
+        LocalDateTime base = LocalDateTime.now().plusDays(7).withNano(0);
+        Venue venue = null;
+        for (int i = 0; i < events; i++) {
+            if (i % EVENTS_PER_VENUE == 0) {
+                venue = EmbeddedBackend.createVenue(context, "Venue " + i, 1000);
+            }
+            // Non-overlapping slots so every venue booking is accepted
+            EmbeddedBackend.createEvent(context, venue, organizer, base.plusHours(3L * i), 500);
+        }
+        EventPageResponse page = eventService.listEvents(null, null, null, null, events - PAGE_SIZE);
+        deepCursor = page.nextCursor();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public EventPageResponse firstPage() {
+        return eventService.listEvents(null, null, null, null, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public EventPageResponse deepPage() {
+        return eventService.listEvents(null, null, null, deepCursor, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public List<EventSearchHit> search() {
+        return eventSearchIndex.search("benchmark conf", null, null, 20);
+    }
+}
@@ -0,0 +1,97 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.EventSearchHit;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.search.EventSearchIndex;
+import com.eventmanagement.search.SearchDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency over a million synthetic events, indexed straight into
+ * {@link EventSearchIndex} without the application context; seeding that
+ * many through the service would take far longer than the measurement.
+ * Words follow a skewed distribution, so common terms have long posting
+ * lists and rare ones short. Sampled, so the JSON result carries the p50,
+ * p99 and p99.9 of each query shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class EventSearchBenchmark {
+    private static final String[] CATEGORIES = {"Technology", "Music", "Business", "Sports", "Arts", "Health",
+            "Education", "Food", "Science", "Community"};
+    private static final int VOCABULARY = 20_000;
+    private static final int DESCRIPTION_WORDS = 30;
+    
+    @Param({"1000000"})
+    public int events;
+    
+    private EventSearchIndex index;
+    private String[] words;
+    
+    @Setup
+    public void setUp() {
+        // Only rebuild() uses the repository and router
+        index = new EventSearchIndex(null, null, 5000);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "word" + Integer.toString(i, 36);
+        }
+        Random random = new Random(42);
+        Event.EventStatus[] statuses = Event.EventStatus.values();
+        Event.EventType[] types = Event.EventType.values();
+        for (long id = 1; id <= events; id++) {
+            StringBuilder description = new StringBuilder(DESCRIPTION_WORDS * 8);
+            for (int w = 0; w < DESCRIPTION_WORDS; w++) {
+                description.append(word(random)).append(' ');
+            }
+            index.index(new SearchDocument(id, word(random) + " " + word(random) + " conference " + id,
+                    description.toString(), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                    random.nextInt(4) == 0 ? "Bring " + word(random) : null,
+                    statuses[random.nextInt(statuses.length)], types[random.nextInt(types.length)]));
+        }
+    }
+    
+    @Benchmark
+    public List<EventSearchHit> commonTerm() {
+        return index.search(words[0], null, null, 20);
+    }
+    
+    @Benchmark
+    public List<EventSearchHit> rareTerm() {
+        return index.search(words[VOCABULARY - 1], null, null, 20);
+    }
+    
+    @Benchmark
+    public List<EventSearchHit> twoTermsWithPrefix() {
+        return index.search(words[1] + " conf", null, null, 20);
+    }
+    
+    @Benchmark
+    public List<EventSearchHit> filteredByStatusAndType() {
+        return index.search(words[2] + " " + words[3], Event.EventStatus.PUBLISHED, Event.EventType.CONCERT, 20);
+    }
+    
+    // Roughly Zipf: low ranks come up far more often than high ones
+    private String word(Random random) {
+        double u = random.nextDouble();
+        return words[(int) Math.min(VOCABULARY - 1, Math.floor(Math.pow(VOCABULARY, u)) - 1)];
+    }
+}
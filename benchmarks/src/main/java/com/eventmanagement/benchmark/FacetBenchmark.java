@@ -0,0 +1,92 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.FacetSearchResponse;
+import com.eventmanagement.facet.EventFacet;
+import com.eventmanagement.facet.FacetIndex;
+import com.eventmanagement.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facet intersection and counting over synthetic event rows, without the
+ * application context: an unfiltered query (counts only), a single-field
+ * selection and a selection on three fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacetBenchmark {
+    private static final String[] CATEGORIES = {"technology", "music", "business", "sports", "arts", "health",
+            "education", "food", "science", "community"};
+    private static final String[] AGE_RESTRICTIONS = {"none", "none", "none", "18+", "21+"};
+    
+    @Param({"1000000"})
+    public int rows;
+    
+    private FacetIndex<EventFacet> index;
+    private Map<EventFacet, Set<String>> singleField;
+    private Map<EventFacet, Set<String>> threeFields;
+    
+    @Setup
+    public void setUp() {
+        index = new FacetIndex<>(EventFacet.class);
+        Random random = new Random(42);
+        Event.EventType[] types = Event.EventType.values();
+        Event.EventStatus[] statuses = Event.EventStatus.values();
+        Map<Long, Map<EventFacet, Set<String>>> batch = new HashMap<>();
+        for (long id = 1; id <= rows; id++) {
+            Map<EventFacet, Set<String>> facets = new EnumMap<>(EventFacet.class);
+            facets.put(EventFacet.EVENT_TYPE, Set.of(types[random.nextInt(types.length)].name()));
+            facets.put(EventFacet.STATUS, Set.of(statuses[random.nextInt(statuses.length)].name()));
+            facets.put(EventFacet.CATEGORY, Set.of(CATEGORIES[random.nextInt(CATEGORIES.length)]));
+            facets.put(EventFacet.FREE, Set.of(String.valueOf(random.nextInt(4) == 0)));
+            facets.put(EventFacet.AGE_RESTRICTION, Set.of(AGE_RESTRICTIONS[random.nextInt(AGE_RESTRICTIONS.length)]));
+            batch.put(id, facets);
+            if (batch.size() == 50_000) {
+                index.putAll(batch);
+                batch.clear();
+            }
+        }
+        index.putAll(batch);
+        index.optimize();
+        singleField = Map.of(EventFacet.STATUS, Set.of("PUBLISHED"));
+        threeFields = Map.of(
+                EventFacet.STATUS, Set.of("PUBLISHED"),
+                EventFacet.CATEGORY, Set.of("technology", "science"),
+                EventFacet.FREE, Set.of("false"));
+    }
+    
+    @Benchmark
+    public FacetSearchResponse countsOnly() {
+        return index.query(Map.of(), 20);
+    }
+    
+    @Benchmark
+    public FacetSearchResponse singleField() {
+        return index.query(singleField, 20);
+    }
+    
+    @Benchmark
+    public FacetSearchResponse threeFields() {
+        return index.query(threeFields, 20);
+    }
+}
@@ -0,0 +1,115 @@
+package com.eventmanagement.benchmark;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load for the load tests: a fixed number of clients each
+ * send a request, wait for the response and send the next, for a set time.
+ * Every latency is kept, so percentiles are exact rather than bucketed.
+ * Clients run on virtual threads so that the client side is never what runs
+ * out of threads.
+ */
+final class HttpLoad {
+    
+    private HttpLoad() {}
+    
+    record Result(long requests, long errors, double seconds, long p50Micros, long p99Micros, long p999Micros,
+                  long maxMicros) {
+        
+        double throughput() {
+            return requests / seconds;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%,.0f req/s, %d errors, p50 %d us, p99 %d us, p99.9 %d us, max %d us",
+                    throughput(), errors, p50Micros, p99Micros, p999Micros, maxMicros);
+        }
+    }
+    
+    static Result run(HttpClient client, Supplier<HttpRequest> requests, int clients, Duration duration)
+            throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        List<Future<Latencies>> workers = new ArrayList<>(clients);
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                workers.add(executor.submit(() -> {
+                    Latencies latencies = new Latencies();
+                    while (System.nanoTime() < end) {
+                        HttpRequest request = requests.get();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            latencies.add(System.nanoTime() - sent, status >= 300);
+                        } catch (IOException e) {
+                            latencies.add(System.nanoTime() - sent, true);
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        Latencies all = new Latencies();
+        long errors = 0;
+        for (Future<Latencies> worker : workers) {
+            Latencies latencies = worker.get();
+            all.addAll(latencies);
+            errors += latencies.errors;
+        }
+        long[] sorted = all.sorted();
+        if (sorted.length == 0) {
+            return new Result(0, errors, seconds, 0, 0, 0, 0);
+        }
+        return new Result(sorted.length, errors, seconds, micros(sorted, 0.50), micros(sorted, 0.99),
+                micros(sorted, 0.999), TimeUnit.NANOSECONDS.toMicros(sorted[sorted.length - 1]));
+    }
+    
+    private static long micros(long[] sorted, double quantile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]);
+    }
+    
+    private static final class Latencies {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+        
+        void add(long latency, boolean error) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+            if (error) {
+                errors++;
+            }
+        }
+        
+        void addAll(Latencies other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(nanos.length * 2, size + other.size));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+        }
+        
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(nanos, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.journal.JournalEntry;
+import com.eventmanagement.journal.RecoveredCounter;
+import com.eventmanagement.journal.RegistrationJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Time to fold a registration journal back into seat counters, as happens at
+ * startup. The journal is written once through {@link RegistrationJournal}
+ * itself (an OPENED entry per event, then reservations, cancellations and
+ * the odd resize spread over the events) and then recovered cold on every
+ * iteration. Needs about 32 bytes of disk per entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalRecoveryBenchmark {
+    
+    @Param({"50000000"})
+    public int entries;
+    
+    @Param({"10000"})
+    public int events;
+    
+    private Path directory;
+    private RegistrationJournal journal;
+    
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal-bench");
+        // Checkpoints off, so recovery folds every segment written
+        RegistrationJournal writer = new RegistrationJournal(true, directory.toString(), 1 << 20, 4096, 1 << 18, 0);
+        Random random = new Random(42);
+        CompletableFuture<Void> last = null;
+        for (long eventId = 1; eventId <= events; eventId++) {
+            last = writer.append(JournalEntry.opened(eventId, 0, 1_000_000));
+        }
+        for (int i = events; i < entries; i++) {
+            long eventId = 1 + random.nextInt(events);
+            int roll = random.nextInt(100);
+            JournalEntry entry = roll < 85 ? JournalEntry.seats(eventId, 1 + random.nextInt(4))
+                    : roll < 99 ? JournalEntry.seats(eventId, -1)
+                    : JournalEntry.resized(eventId, 1_000_000 + random.nextInt(1000));
+            last = writer.append(entry);
+        }
+        last.join();
+        writer.close();
+        journal = new RegistrationJournal(true, directory.toString(), 1 << 20, 4096, 1 << 18, 0);
+    }
+    
+    @Benchmark
+    public Map<Long, RecoveredCounter> recover() {
+        return journal.recover();
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException {
+        journal.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.BulkRegistrationRequest;
+import com.eventmanagement.dto.NotificationJobResponse;
+import com.eventmanagement.model.NotificationJob.JobStatus;
+import com.eventmanagement.model.NotificationJob.NotificationType;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.notification.NotificationService;
+import com.eventmanagement.service.RegistrationService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registers many attendees on one event, then fans a reminder out to them
+ * through the webhook sink into a local fake endpoint and reports the
+ * delivery rate, batches the endpoint rejected and recipients reached more
+ * than once. The endpoint fails every n-th batch with 503 to exercise the
+ * retry path. Not a JMH benchmark; run it with
+ * {@code mvn exec:java -Dexec.mainClass=com.eventmanagement.benchmark.NotificationFanOutLoadTest -Dexec.args="100000 5000 20"}
+ * (recipients, messages per second, fail every n-th batch or 0).
+ */
+public final class NotificationFanOutLoadTest {
+    private static final int REGISTRATION_GROUP = 5_000;
+    
+    private NotificationFanOutLoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        int recipients = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int rate = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int failEvery = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        
+        FakeWebhook webhook = new FakeWebhook(failEvery);
+        ConfigurableApplicationContext context = EmbeddedBackend.start("notification",
+                "notification.sink=webhook",
+                "notification.webhook.url=http://localhost:" + webhook.port() + "/notify",
+                "notification.rate=" + rate,
+                "notification.burst=" + rate / 10,
+                "notification.retry-backoff-ms=100");
+        Venue venue = EmbeddedBackend.createVenue(context, "Notification Hall", recipients);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "notification@bench.example");
+        Long eventId = EmbeddedBackend.createEvent(context, venue, organizer, LocalDateTime.now().plusDays(30), recipients);
+        RegistrationService registrationService = context.getBean(RegistrationService.class);
+        for (int from = 0; from < recipients; from += REGISTRATION_GROUP) {
+            List<AttendeeRequest> attendees = new ArrayList<>(REGISTRATION_GROUP);
+            for (int n = from; n < Math.min(recipients, from + REGISTRATION_GROUP); n++) {
+                attendees.add(new AttendeeRequest("Attendee", "Number" + n, "attendee" + n + "@bench.example",
+                        null, null, "Bench Corp", "Engineer", null));
+            }
+            registrationService.registerBulk(eventId, new BulkRegistrationRequest(attendees));
+        }
+        
+        NotificationService notificationService = context.getBean(NotificationService.class);
+        long started = System.nanoTime();
+        NotificationJobResponse job = notificationService.notifyAttendees(eventId, NotificationType.REMINDER);
+        long enqueueMicros = (System.nanoTime() - started) / 1_000;
+        while (job.status() == JobStatus.PENDING || job.status() == JobStatus.RUNNING) {
+            Thread.sleep(200);
+            job = notificationService.getJob(job.id());
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("trigger returned in %d us%n", enqueueMicros);
+        System.out.printf("job %d %s: %d recorded as sent in %.1f s (%.0f per second, limit %d)%n",
+                job.id(), job.status(), job.sent(), seconds, job.sent() / seconds, rate);
+        System.out.printf("endpoint: %d batches, %d rejected, %d distinct recipients, %d duplicates%n",
+                webhook.batches.sum(), webhook.rejected.sum(), webhook.seen.size(), webhook.duplicates.sum());
+        
+        context.close();
+        webhook.stop();
+        System.exit(0);
+    }
+    
+    private static final class FakeWebhook {
+        private final HttpServer server;
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final int failEvery;
+        private final AtomicLong requests = new AtomicLong();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder duplicates = new LongAdder();
+        private final Set<Long> seen = ConcurrentHashMap.newKeySet();
+        
+        FakeWebhook(int failEvery) throws IOException {
+            this.failEvery = failEvery;
+            this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/notify", this::handle);
+            server.start();
+        }
+        
+        int port() {
+            return server.getAddress().getPort();
+        }
+        
+        void stop() {
+            server.stop(0);
+        }
+        
+        private void handle(HttpExchange exchange) throws IOException {
+            JsonNode batch = objectMapper.readTree(exchange.getRequestBody());
+            if (failEvery > 0 && requests.incrementAndGet() % failEvery == 0) {
+                rejected.increment();
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            batches.increment();
+            for (JsonNode message : batch) {
+                if (!seen.add(message.get("registrationId").asLong())) {
+                    duplicates.increment();
+                }
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.BulkRegistrationRequest;
+import com.eventmanagement.dto.BulkRegistrationResponse;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.dto.RegistrationResponse;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.service.RegistrationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration persistence against embedded H2, one attendee per request
+ * versus groups through the batched bulk path. Scores are per attendee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistrationBenchmark {
+    private static final int GROUP_SIZE = 500;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private RegistrationService registrationService;
+    private Long eventId;
+    
+    @Setup
+    public void setUp() {
+        context = EmbeddedBackend.start("registration");
+        registrationService = context.getBean(RegistrationService.class);
+        Venue venue = EmbeddedBackend.createVenue(context, "Registration Hall", 100_000_000);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "registration@bench.example");
+        eventId = EmbeddedBackend.createEvent(context, venue, organizer, LocalDateTime.now().plusDays(30), 100_000_000);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public RegistrationResponse registerSingle() {
+        return registrationService.register(eventId, new RegistrationRequest(nextAttendee(), null));
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GROUP_SIZE)
+    public BulkRegistrationResponse registerBulk() {
+        List<AttendeeRequest> attendees = new ArrayList<>(GROUP_SIZE);
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            attendees.add(nextAttendee());
+        }
+        return registrationService.registerBulk(eventId, new BulkRegistrationRequest(attendees));
+    }
+    
+    private AttendeeRequest nextAttendee() {
+        long n = sequence.incrementAndGet();
+        return new AttendeeRequest("Attendee", "Number" + n, "attendee" + n + "@bench.example",
+                null, null, "Bench Corp", "Engineer", null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.inventory.SeatCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A ticket drop: 10,000 registrations released at once against a small
+ * event, racing the striped counter until it is sold out. Each invocation
+ * fails the run if more seats were granted than exist, or if the event is
+ * left with seats while registrations were turned away.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class SellOutBenchmark {
+    
+    @Param({"10000"})
+    public int registrations;
+    
+    @Param({"500"})
+    public int capacity;
+    
+    @Param({"8"})
+    public int stripes;
+    
+    private ExecutorService executor;
+    private SeatCounter counter;
+    private CountDownLatch start;
+    private AtomicInteger granted;
+    private List<Future<?>> tasks;
+    
+    @Setup(Level.Trial)
+    public void startExecutor() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+    
+    // Every registration is parked at the gate before the measured part begins
+    @Setup(Level.Invocation)
+    public void prepareDrop() {
+        counter = new SeatCounter(1L, capacity, 0, stripes);
+        start = new CountDownLatch(1);
+        granted = new AtomicInteger();
+        tasks = new ArrayList<>(registrations);
+        for (int i = 0; i < registrations; i++) {
+            tasks.add(executor.submit(() -> {
+                start.await();
+                if (counter.tryReserve(1)) {
+                    granted.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+    }
+    
+    @Benchmark
+    public int sellOut() throws Exception {
+        start.countDown();
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+        if (granted.get() != capacity || counter.currentAttendees() != capacity || counter.availableSpots() != 0) {
+            throw new IllegalStateException("Sold " + granted.get() + " seats of " + capacity + ", counter shows "
+                    + counter.currentAttendees() + " confirmed and " + counter.availableSpots() + " available");
+        }
+        return granted.get();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stopExecutor() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,111 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.dto.AttendeeRequest;
+import com.eventmanagement.dto.EventPageResponse;
+import com.eventmanagement.dto.RegistrationRequest;
+import com.eventmanagement.dto.RegistrationResponse;
+import com.eventmanagement.model.Event;
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import com.eventmanagement.service.EventService;
+import com.eventmanagement.service.RegistrationService;
+import com.eventmanagement.shard.ShardContext;
+import com.eventmanagement.shard.ShardRouter;
+import com.eventmanagement.shard.VenueReplicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration and listing throughput with organizers spread over 1, 2 and 4
+ * embedded H2 shards. The organizers and their events are the same in every
+ * run; only the number of databases they are spread over changes, so the
+ * scores show what separate databases (and their locks and pools) buy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 6, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class ShardScalingBenchmark {
+    private static final int ORGANIZERS = 16;
+    private static final int EVENTS_PER_ORGANIZER = 4;
+    
+    @Param({"1", "2", "4"})
+    private int shards;
+    
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private RegistrationService registrationService;
+    private EventService eventService;
+    private ShardRouter shardRouter;
+    private final List<Long> eventIds = new ArrayList<>();
+    
+    @Setup
+    public void setUp() {
+        context = EmbeddedBackend.start("shards-" + shards,
+                "sharding.enabled=true",
+                "sharding.shards=" + shards,
+                "sharding.url-template=jdbc:h2:mem:bench-shards-" + shards + "-%d;DB_CLOSE_DELAY=-1",
+                "sharding.pool-size=16");
+        registrationService = context.getBean(RegistrationService.class);
+        eventService = context.getBean(EventService.class);
+        shardRouter = context.getBean(ShardRouter.class);
+        Venue venue = EmbeddedBackend.createVenue(context, "Shard Hall", 100_000_000);
+        context.getBean(VenueReplicator.class).flush();
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        for (int i = 0; i < ORGANIZERS; i++) {
+            String email = "organizer" + i + "@bench.example";
+            Organizer organizer = ShardContext.call(shardRouter.placeOrganizer(),
+                    () -> EmbeddedBackend.createOrganizer(context, email));
+            for (int j = 0; j < EVENTS_PER_ORGANIZER; j++) {
+                // One venue for all, so events are a day apart to avoid booking conflicts
+                LocalDateTime eventStart = start.plusDays((long) i * EVENTS_PER_ORGANIZER + j);
+                eventIds.add(shardRouter.callForOrganizer(organizer.getId(),
+                        () -> EmbeddedBackend.createEvent(context, venue, organizer, eventStart, 100_000_000)));
+            }
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public RegistrationResponse register() {
+        Long eventId = eventIds.get(ThreadLocalRandom.current().nextInt(eventIds.size()));
+        long n = sequence.incrementAndGet();
+        AttendeeRequest attendee = new AttendeeRequest("Attendee", "Number" + n, "attendee" + n + "@bench.example",
+                null, null, "Bench Corp", "Engineer", null);
+        return shardRouter.callForEvent(eventId, () -> registrationService.register(eventId,
+                new RegistrationRequest(attendee, null)));
+    }
+    
+    // The scatter-gather path: every shard is queried and the pages merged
+    @Benchmark
+    public EventPageResponse listPublished() {
+        return eventService.listEvents(EnumSet.of(Event.EventStatus.PUBLISHED), null, null, null, 20);
+    }
+}
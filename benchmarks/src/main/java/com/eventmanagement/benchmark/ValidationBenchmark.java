@@ -0,0 +1,82 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation cost per entity, as paid by the bulk import pipeline.
+ * Invalid entities are measured separately since building violations
+ * (message interpolation, paths) dominates their cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+    
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Organizer validOrganizer;
+    private Organizer invalidOrganizer;
+    private Venue validVenue;
+    private Venue invalidVenue;
+    
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        validOrganizer = new Organizer("Acme Conferences", "Jordan Smith", "events@acme.example",
+                "+14155550123", "500 Main Street");
+        invalidOrganizer = new Organizer("A", "", "not-an-email", "12-34", "");
+        validVenue = new Venue("Convention Center", "1200 Exhibition Boulevard", "San Francisco", 5000);
+        validVenue.setContactPhone("+14155550199");
+        validVenue.setContactEmail("bookings@center.example");
+        invalidVenue = new Venue("X", "", "", 0);
+        invalidVenue.setContactPhone("call us");
+    }
+    
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Organizer>> validOrganizer() {
+        return validator.validate(validOrganizer);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Organizer>> invalidOrganizer() {
+        return validator.validate(invalidOrganizer);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Venue>> validVenue() {
+        return validator.validate(validVenue);
+    }
+    
+    @Benchmark
+    public Set<ConstraintViolation<Venue>> invalidVenue() {
+        return validator.validate(invalidVenue);
+    }
+}
@@ -0,0 +1,46 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VenueAddressBenchmark {
+    
+    private Venue fullAddress;
+    private Venue minimalAddress;
+    
+    @Setup
+    public void setUp() {
+        fullAddress = new Venue("Convention Center", "1200 Exhibition Boulevard, Hall B", "San Francisco", 5000);
+        fullAddress.setState("CA");
+        fullAddress.setPostalCode("94103");
+        fullAddress.setCountry("USA");
+        minimalAddress = new Venue("Loft", "12 Market Street", null, 40);
+    }
+    
+    @Benchmark
+    public String fullAddress() {
+        return fullAddress.getFullAddress();
+    }
+    
+    @Benchmark
+    public String minimalAddress() {
+        return minimalAddress.getFullAddress();
+    }
+}
@@ -0,0 +1,99 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.index.GeoHit;
+import com.eventmanagement.index.VenueAmenity;
+import com.eventmanagement.index.VenueGeoIndex;
+import com.eventmanagement.index.VenueLocation;
+import com.eventmanagement.model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearby-venue lookups over half a million venues, indexed straight into
+ * {@link VenueGeoIndex} without the application context. Venues cluster
+ * around a few hundred city centres, as real ones do, and queries start
+ * from a random city, so dense and sparse cells both come up. Sampled, so
+ * the JSON result carries the p50, p99 and p99.9 of each query shape.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VenueGeoBenchmark {
+    private static final int CITIES = 300;
+    // About 50 km of spread around each centre
+    private static final double CITY_SPREAD_DEGREES = 0.45;
+    
+    @Param({"500000"})
+    public int venues;
+    
+    private VenueGeoIndex index;
+    private double[][] cities;
+    
+    @Setup
+    public void setUp() {
+        // Only rebuild() uses the repository
+        index = new VenueGeoIndex(null, 0.1);
+        Random random = new Random(42);
+        cities = new double[CITIES][];
+        for (int i = 0; i < CITIES; i++) {
+            cities[i] = new double[] {random.nextDouble() * 120 - 60, random.nextDouble() * 360 - 180};
+        }
+        for (long id = 1; id <= venues; id++) {
+            double[] city = cities[random.nextInt(CITIES)];
+            double latitude = Math.max(-90, Math.min(90, city[0] + random.nextGaussian() * CITY_SPREAD_DEGREES));
+            double longitude = wrap(city[1] + random.nextGaussian() * CITY_SPREAD_DEGREES);
+            index.apply(Venue.VenueStatus.ACTIVE, new VenueLocation(id, latitude, longitude,
+                    50 + random.nextInt(2000), random.nextBoolean(), random.nextBoolean(), random.nextBoolean(),
+                    random.nextBoolean()));
+        }
+    }
+    
+    @Benchmark
+    public List<GeoHit> nearest20() {
+        double[] city = city();
+        return index.nearest(city[0], city[1], 20, 0, 0, 100);
+    }
+    
+    @Benchmark
+    public List<GeoHit> nearest20WithFilters() {
+        double[] city = city();
+        return index.nearest(city[0], city[1], 20, 500, VenueAmenity.PARKING.bit() | VenueAmenity.WIFI.bit(), 100);
+    }
+    
+    @Benchmark
+    public List<GeoHit> within5Km() {
+        double[] city = city();
+        return index.withinRadius(city[0], city[1], 5, 0, 0, 50);
+    }
+    
+    @Benchmark
+    public List<GeoHit> within25Km() {
+        double[] city = city();
+        return index.withinRadius(city[0], city[1], 25, 0, 0, 50);
+    }
+    
+    private double[] city() {
+        return cities[ThreadLocalRandom.current().nextInt(CITIES)];
+    }
+    
+    private static double wrap(double longitude) {
+        return longitude > 180 ? longitude - 360 : longitude < -180 ? longitude + 360 : longitude;
+    }
+}
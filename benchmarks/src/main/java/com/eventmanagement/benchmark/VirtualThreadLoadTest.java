@@ -0,0 +1,101 @@
+package com.eventmanagement.benchmark;
+
+import com.eventmanagement.model.Organizer;
+import com.eventmanagement.model.Venue;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An on-sale spike against an in-process server, once on Tomcat's platform
+ * thread pool and once in the virtual-thread mode (the "virtual" profile).
+ * Many more clients than request threads hit event detail pages and
+ * registrations, both of which block on JDBC; the catalog cache is off so
+ * that every detail page does. Both modes use the same connection pool size,
+ * so only the execution model differs. Non-2xx responses, such as the 503s
+ * from a connection timeout, are counted as errors. All runs share one JVM
+ * and later ones come out faster, so after a discarded round of each mode
+ * the measured runs go platform, virtual, virtual, platform and the mean of
+ * each mode is what to compare. Not a JMH benchmark; run it with
+ * {@code mvn exec:java -Dexec.mainClass=com.eventmanagement.benchmark.VirtualThreadLoadTest -Dexec.args="2000 30"}
+ * (concurrent clients, seconds per run). Large client counts need a raised
+ * open file limit.
+ */
+public final class VirtualThreadLoadTest {
+    private static final int EVENTS = 100;
+    private static final int POOL_SIZE = 20;
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+    
+    private VirtualThreadLoadTest() {}
+    
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicLong sequence = new AtomicLong();
+        for (boolean virtual : new boolean[] {false, true}) {
+            run(client, virtual, clients, sequence, null);
+        }
+        double[] throughput = new double[2];
+        for (boolean virtual : new boolean[] {false, true, true, false}) {
+            HttpLoad.Result result = run(client, virtual, clients, sequence, Duration.ofSeconds(seconds));
+            System.out.printf("%s threads: %s%n", virtual ? "virtual " : "platform", result);
+            throughput[virtual ? 1 : 0] += result.throughput() / 2;
+        }
+        System.out.printf("platform threads: %,.0f req/s mean%nvirtual threads : %,.0f req/s mean%n",
+                throughput[0], throughput[1]);
+        System.exit(0);
+    }
+    
+    // Only warms up when measurement is null
+    private static HttpLoad.Result run(HttpClient client, boolean virtual, int clients, AtomicLong sequence,
+                                       Duration measurement) throws Exception {
+        ConfigurableApplicationContext context = EmbeddedBackend.startServer("threads-" + virtual,
+                "spring.profiles.active=" + (virtual ? "virtual" : "default"),
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                "cache.catalog.enabled=false");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        Venue venue = EmbeddedBackend.createVenue(context, "Spike Arena", 100_000_000);
+        Organizer organizer = EmbeddedBackend.createOrganizer(context, "spike@bench.example");
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<Long> eventIds = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            // One venue for all, so events are a few hours apart to avoid booking conflicts
+            eventIds.add(EmbeddedBackend.createEvent(context, venue, organizer, start.plusHours(3L * i),
+                    100_000_000));
+        }
+        String base = "http://localhost:" + port + "/api/events/";
+        
+        HttpLoad.run(client, () -> nextRequest(base, eventIds, sequence), clients, WARM_UP);
+        HttpLoad.Result result = measurement != null
+                ? HttpLoad.run(client, () -> nextRequest(base, eventIds, sequence), clients, measurement) : null;
+        context.close();
+        return result;
+    }
+    
+    // Four detail page reads for every registration
+    private static HttpRequest nextRequest(String base, List<Long> eventIds, AtomicLong sequence) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long eventId = eventIds.get(random.nextInt(eventIds.size()));
+        if (random.nextInt(5) != 0) {
+            return HttpRequest.newBuilder(URI.create(base + eventId)).GET().build();
+        }
+        long n = sequence.incrementAndGet();
+        String body = "{\"attendee\":{\"firstName\":\"Attendee\",\"lastName\":\"Number" + n
+                + "\",\"email\":\"attendee" + n + "@bench.example\",\"company\":\"Bench Corp\"}}";
+        return HttpRequest.newBuilder(URI.create(base + eventId + "/registrations"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}